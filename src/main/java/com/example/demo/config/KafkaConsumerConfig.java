@@ -10,7 +10,9 @@ import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.util.backoff.FixedBackOff;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -26,10 +28,15 @@ public class KafkaConsumerConfig {
 
     @Bean
     public ConsumerFactory<String, AlarmMessage> consumerFactory() {
+        return consumerFactory(ConsumerConfig.DEFAULT_MAX_POLL_RECORDS);
+    }
+
+    private ConsumerFactory<String, AlarmMessage> consumerFactory(int maxPollRecords) {
         Map<String, Object> config = new HashMap<>();
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServersConfig);
         config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
 
         JsonDeserializer<AlarmMessage> deserializer = new JsonDeserializer<>(AlarmMessage.class);
         deserializer.addTrustedPackages("kea.memberservice.entity");
@@ -46,4 +53,17 @@ public class KafkaConsumerConfig {
         factory.setConsumerFactory(consumerFactory());
         return factory;
     }
+
+    // poll 한 번에 받은 레코드를 List로 전달하는 배치 리스너용 팩토리 (AlarmConsumer)
+    // 리스너가 BatchListenerFailedException으로 실패한 레코드를 알리면 그 앞까지 커밋하고, 실패한 레코드는 1초 간격으로 3번 더 시도한 뒤 건너뜀
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, AlarmMessage> batchKafkaListenerContainerFactory(
+            @Value("${spring.kafka.consumer.max-poll-records:500}") int maxPollRecords) {
+        ConcurrentKafkaListenerContainerFactory<String, AlarmMessage> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setConsumerFactory(consumerFactory(maxPollRecords));
+        factory.setBatchListener(true);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(1000L, 3L)));
+        return factory;
+    }
 }
\ No newline at end of file
@@ -20,12 +20,21 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap.servers.config}")
     private String bootstrapServersConfig;
 
+    // 팔로워 알림처럼 한꺼번에 발행되는 레코드를 묶어 보내기 위한 배치 설정
+    @Value("${spring.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${spring.kafka.producer.linger-ms:10}")
+    private int lingerMs;
+
     @Bean
     public ProducerFactory<String, AlarmMessage> producerFactory() {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServersConfig);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
         return new DefaultKafkaProducerFactory<>(config);
     }
 
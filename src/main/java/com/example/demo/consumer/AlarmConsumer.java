@@ -5,9 +5,13 @@ import com.example.demo.service.users.alarm.AlarmService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 @RequiredArgsConstructor
 @Component
@@ -15,10 +19,43 @@ public class AlarmConsumer {
 
     private final AlarmService alarmService;
 
-    @KafkaListener(topics = "alarm")
-    public void consumeAlarm(AlarmMessage message, Acknowledgment ack){
-        log.info("consume the event {} ", message);
-        alarmService.send(message.getAlarmType(),message.getAlarmArgs(),message.getReceiveUserId());
+    // 한 번의 poll로 받은 알람을 일괄 저장하고 묶음 단위로 커밋
+    // 저장과 전송을 나눠, 한 건씩 다시 저장하는 것은 저장이 실패했을 때뿐 (전송 실패로 알람이 두 번 저장되지 않음)
+    @KafkaListener(topics = "alarm", containerFactory = "batchKafkaListenerContainerFactory")
+    public void consumeAlarms(List<AlarmMessage> messages, Acknowledgment ack){
+        log.info("consume {} events", messages.size());
+        List<AlarmMessage> savedMessages;
+        try {
+            savedMessages = alarmService.saveAll(messages);
+        } catch (RuntimeException e) {
+            log.warn("ALARM_BATCH_SAVE_FAILED - size: {}, {}", messages.size(), e.getMessage());
+            savedMessages = saveEach(messages);
+        }
+        deliver(savedMessages);
         ack.acknowledge();
     }
+
+    // 묶음 저장이 실패하면 한 건씩 저장해 실패한 레코드를 찾고, 그 앞까지 저장한 알람은 전송한 뒤
+    // 실패한 레코드부터 다시 받도록 함 (에러 핸들러가 재시도 후에도 실패하는 레코드는 건너뜀)
+    private List<AlarmMessage> saveEach(List<AlarmMessage> messages) {
+        List<AlarmMessage> savedMessages = new ArrayList<>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            try {
+                savedMessages.addAll(alarmService.saveAll(List.of(messages.get(i))));
+            } catch (RuntimeException e) {
+                deliver(savedMessages);
+                throw new BatchListenerFailedException("ALARM_SAVE_FAILED", e, i);
+            }
+        }
+        return savedMessages;
+    }
+
+    // 이미 저장된 알람은 다시 받으면 중복 저장되므로 전송 실패는 기록만 함 (클라이언트는 알람 목록이나 재연결로 받음)
+    private void deliver(List<AlarmMessage> savedMessages) {
+        try {
+            alarmService.deliverAll(savedMessages);
+        } catch (RuntimeException e) {
+            log.warn("ALARM_DELIVERY_FAILED - size: {}, {}", savedMessages.size(), e.getMessage());
+        }
+    }
 }
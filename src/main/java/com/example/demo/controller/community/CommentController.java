@@ -1,5 +1,6 @@
 package com.example.demo.controller.community;
 
+import com.example.demo.dto.community.CursorPageDto;
 import com.example.demo.dto.community.comment.CommentRequestDto;
 import com.example.demo.dto.community.comment.CommentResponseDto;
 import com.example.demo.entity.users.user.User;
@@ -33,14 +34,39 @@ public class CommentController {
     }
 
     /**
-     * 특정 게시글에 있는 모든 댓글을 조회합니다.
+     * 특정 게시글의 최상위 댓글을 작성 순으로 조회합니다. 각 댓글의 답글은 답글 조회 API로 따로 불러옵니다.
      *
      * @param postId   게시글 ID
-     * @return 해당 게시글에 대한 댓글 리스트가 포함된 ResponseEntity
+     * @param cursor   이전 응답의 nextCursor (첫 페이지면 생략)
+     * @param size     페이지 크기
+     * @return 최상위 댓글 페이지와 다음 페이지 커서가 포함된 ResponseEntity
      */
     @GetMapping("/post/{postId}/comments")
-    public ResponseEntity<List<CommentResponseDto>> getCommentsByPostId(@PathVariable Long postId) {
-        return ResponseEntity.ok(commentService.getCommentsByPostId(postId));
+    public ResponseEntity<CursorPageDto<CommentResponseDto>> getCommentsByPostId(@PathVariable Long postId,
+                                                                                 @RequestParam(required = false) String cursor,
+                                                                                 @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(commentService.getCommentsByPostId(postId, cursor, size));
+    }
+
+    /**
+     * 댓글 스레드의 답글을 작성 순으로 조회합니다.
+     *
+     * @param postId         게시글 ID
+     * @param commentId      스레드의 최상위 댓글 ID
+     * @param cursor         이전 응답의 nextCursor (첫 페이지면 생략)
+     * @param size           페이지 크기
+     * @param authentication 현재 사용자 정보를 포함한 인증 객체
+     * @return 답글 페이지와 다음 페이지 커서가 포함된 ResponseEntity. 게시글에 없는 스레드이거나 볼 수 없는 게시글이면 404
+     */
+    @GetMapping("/post/{postId}/comment/{commentId}/replies")
+    public ResponseEntity<CursorPageDto<CommentResponseDto>> getReplies(@PathVariable Long postId,
+                                                                        @PathVariable Long commentId,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "20") int size,
+                                                                        Authentication authentication) {
+        String userId = ((User) authentication.getPrincipal()).getUserId();
+        CursorPageDto<CommentResponseDto> replyPage = commentService.getReplies(postId, commentId, userId, cursor, size);
+        return replyPage == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(replyPage);
     }
 
     /**
@@ -0,0 +1,50 @@
+package com.example.demo.controller.community;
+
+import com.example.demo.entity.users.user.User;
+import com.example.demo.service.community.export.CommunityExportService;
+import com.example.demo.service.users.user.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * ExportController는 관리자 도구용 게시글/댓글 전체 내보내기 요청을 처리하는 컨트롤러입니다.
+ * 응답은 한 줄에 JSON 하나씩 담긴 NDJSON으로 스트리밍됩니다.
+ */
+@RequiredArgsConstructor
+@RequestMapping("/community/admin/export")
+@RestController
+public class ExportController {
+
+    private final CommunityExportService communityExportService;
+    private final UserService userService;
+
+    /**
+     * 모든 게시글을 NDJSON으로 내보냅니다.
+     *
+     * @param authentication 인증 정보 (관리자만 허용)
+     * @return 게시글을 한 줄씩 쓰는 스트리밍 응답
+     */
+    @GetMapping(value = "/posts", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportPosts(Authentication authentication) {
+        userService.checkAdmin((User) authentication.getPrincipal());
+        return ResponseEntity.ok(communityExportService::exportPosts);
+    }
+
+    /**
+     * 모든 댓글을 NDJSON으로 내보냅니다.
+     *
+     * @param authentication 인증 정보 (관리자만 허용)
+     * @return 댓글을 한 줄씩 쓰는 스트리밍 응답
+     */
+    @GetMapping(value = "/comments", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportComments(Authentication authentication) {
+        userService.checkAdmin((User) authentication.getPrincipal());
+        return ResponseEntity.ok(communityExportService::exportComments);
+    }
+}
@@ -1,12 +1,21 @@
 package com.example.demo.controller.community;
 
+import com.example.demo.dto.community.CursorPageDto;
+import com.example.demo.dto.community.post.OrphanSweepStatsDto;
+import com.example.demo.dto.community.post.PostCacheStatsDto;
 import com.example.demo.dto.community.post.PostRequestDto;
 import com.example.demo.dto.community.post.PostResponseDto;
-import com.example.demo.entity.community.post.Post;
+import com.example.demo.dto.community.post.PostSummaryDto;
+import com.example.demo.dto.community.post.PresignedUploadRequestDto;
+import com.example.demo.dto.community.post.PresignedUploadResponseDto;
+import com.example.demo.dto.community.post.UploadCompleteRequestDto;
 import com.example.demo.entity.users.user.User;
 import com.example.demo.service.community.post.AttachmentFileService;
+import com.example.demo.service.community.post.OrphanAttachmentCollector;
 import com.example.demo.service.community.post.PostService;
+import com.example.demo.service.community.post.PresignedUploadService;
 import com.example.demo.service.community.post.S3ImageService;
+import com.example.demo.service.users.user.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -27,15 +36,87 @@ public class PostController {
     private final PostService postService;
     private final S3ImageService s3ImageService;
     private final AttachmentFileService attachmentFileService;
+    private final PresignedUploadService presignedUploadService;
+    private final OrphanAttachmentCollector orphanAttachmentCollector;
+    private final UserService userService;
 
     /**
-     * 모든 게시글을 조회합니다.
+     * 공개 게시글 피드를 최신순으로 조회합니다.
      *
-     * @return 모든 게시글 리스트를 반환
+     * @param cursor 이전 응답의 nextCursor (첫 페이지면 생략)
+     * @param size   페이지 크기
+     * @return 게시글 페이지와 다음 페이지 커서를 반환
      */
     @GetMapping("/posts")
-    public ResponseEntity<List<PostResponseDto>> getAllPosts() {
-        return ResponseEntity.ok(postService.getAllPosts());
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> getPostFeed(@RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(postService.getPostFeed(cursor, size));
+    }
+
+    /**
+     * 팔로우한 사용자의 게시글로 구성된 홈 피드를 최신순으로 조회합니다.
+     *
+     * @param cursor         이전 응답의 nextCursor (첫 페이지면 생략)
+     * @param size           페이지 크기
+     * @param authentication 인증된 사용자 정보
+     * @return 홈 피드 페이지와 다음 페이지 커서를 반환
+     */
+    @GetMapping("/posts/home")
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> getHomeFeed(@RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "20") int size,
+                                                                     Authentication authentication) {
+        String userId = ((User) authentication.getPrincipal()).getUserId();
+        return ResponseEntity.ok(postService.getHomeFeed(userId, cursor, size));
+    }
+
+    /**
+     * 게시글 제목과 본문을 검색합니다.
+     *
+     * @param query 검색어
+     * @param page  페이지 번호 (0부터 시작)
+     * @param size  페이지 크기
+     * @return 관련도 순으로 정렬된 게시글 요약 리스트를 반환
+     */
+    @GetMapping("/posts/search")
+    public ResponseEntity<List<PostSummaryDto>> searchPosts(@RequestParam String query,
+                                                            @RequestParam(defaultValue = "0") int page,
+                                                            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(postService.searchPosts(query, page, size));
+    }
+
+    /**
+     * 최근 조회수, 좋아요, 댓글이 많은 인기 게시글을 조회합니다.
+     *
+     * @param size 조회할 게시글 수
+     * @return 인기 순으로 정렬된 게시글 요약 리스트를 반환
+     */
+    @GetMapping("/posts/hot")
+    public ResponseEntity<List<PostSummaryDto>> getHotPosts(@RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(postService.getHotPosts(size));
+    }
+
+    /**
+     * 게시글 상세 캐시의 적중률 등 통계를 조회합니다.
+     *
+     * @param authentication 인증 정보 (관리자만 허용)
+     * @return 캐시 통계를 반환
+     */
+    @GetMapping("/posts/cache/stats")
+    public ResponseEntity<PostCacheStatsDto> getPostCacheStats(Authentication authentication) {
+        userService.checkAdmin((User) authentication.getPrincipal());
+        return ResponseEntity.ok(postService.getPostCacheStats());
+    }
+
+    /**
+     * 게시물에 연결되지 않은 첨부 파일 정리 작업의 결과와 회수한 용량을 조회합니다.
+     *
+     * @param authentication 인증 정보 (관리자만 허용)
+     * @return 고아 첨부 파일 정리 통계를 반환
+     */
+    @GetMapping("/posts/attachments/orphans/stats")
+    public ResponseEntity<OrphanSweepStatsDto> getOrphanSweepStats(Authentication authentication) {
+        userService.checkAdmin((User) authentication.getPrincipal());
+        return ResponseEntity.ok(orphanAttachmentCollector.getStats());
     }
 
     /**
@@ -54,18 +135,22 @@ public class PostController {
     }
 
     /**
-     * 특정 사용자가 작성한 모든 게시글을 조회합니다.
+     * 특정 사용자가 작성한 게시글을 커서 기반으로 최신순 조회합니다.
      *
      * @param requestedUserId 요청된 사용자 ID
+     * @param cursor          이전 페이지에서 받은 커서 (첫 페이지면 생략)
+     * @param size            페이지 크기
      * @param authentication  인증된 사용자 정보
-     * @return 해당 사용자가 작성한 게시글 리스트를 반환
+     * @return 해당 사용자가 작성한 게시글 요약 페이지와 다음 페이지 커서를 반환
      */
     @GetMapping("/posts/user/{requestedUserId}")
-    public ResponseEntity<List<PostResponseDto>> getAllPostsByUserId(@PathVariable String requestedUserId,
-                                                                     Authentication authentication) {
+    public ResponseEntity<CursorPageDto<PostSummaryDto>> getAllPostsByUserId(@PathVariable String requestedUserId,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(defaultValue = "20") int size,
+                                                                             Authentication authentication) {
         String userId = ((User) authentication.getPrincipal()).getUserId();
 
-        return ResponseEntity.ok(postService.getPostsByUserId(requestedUserId, userId));
+        return ResponseEntity.ok(postService.getPostsByUserId(requestedUserId, userId, cursor, size));
     }
 
     /**
@@ -79,9 +164,9 @@ public class PostController {
     public ResponseEntity<String> increaseLikes(@PathVariable Long postId,
                                                 Authentication authentication) {
         String userId = ((User) authentication.getPrincipal()).getUserId();
-        Post post = postService.increaseLike(postId, userId);
+        long likeCount = postService.increaseLike(postId, userId);
 
-        return ResponseEntity.ok("INCREASE_LIKE_SUCCESS_NEW_LIKES: " + post.getPostLikes().size());
+        return ResponseEntity.ok("INCREASE_LIKE_SUCCESS_NEW_LIKES: " + likeCount);
     }
 
     /**
@@ -95,9 +180,9 @@ public class PostController {
     public ResponseEntity<String> decreaseLikes(@PathVariable Long postId,
                                                 Authentication authentication) {
         String userId = ((User) authentication.getPrincipal()).getUserId();
-        int postLikeSize = postService.decreaseLike(postId, userId);
+        long likeCount = postService.decreaseLike(postId, userId);
 
-        return ResponseEntity.ok("DECREASE_LIKE_SUCCESS_NEW_LIKES: " + postLikeSize);
+        return ResponseEntity.ok("DECREASE_LIKE_SUCCESS_NEW_LIKES: " + likeCount);
     }
 
     /**
@@ -169,6 +254,41 @@ public class PostController {
         return ResponseEntity.ok("![]("+multipartFilePath+")");
     }
 
+    /**
+     * 브라우저가 S3에 직접 업로드할 수 있는 presigned URL을 발급합니다.
+     *
+     * @param presignedUploadRequestDto 업로드할 파일명과 Content-Type
+     * @param postId                    이미지가 첨부될 게시글 ID
+     * @param authentication            인증된 사용자 정보
+     * @return 객체 키와 presigned URL을 반환
+     */
+    @PostMapping("/post/{postId}/s3/presigned")
+    public ResponseEntity<PresignedUploadResponseDto> issuePresignedUpload(@RequestBody PresignedUploadRequestDto presignedUploadRequestDto,
+                                                                           @PathVariable Long postId,
+                                                                           Authentication authentication) {
+        String userId = ((User) authentication.getPrincipal()).getUserId();
+
+        return ResponseEntity.ok(presignedUploadService.issueUploadUrl(presignedUploadRequestDto, postId, userId));
+    }
+
+    /**
+     * presigned URL로 업로드를 마친 이미지를 확인하고 첨부 파일로 등록합니다.
+     *
+     * @param uploadCompleteRequestDto 업로드한 객체 키와 원본 파일명
+     * @param postId                   이미지가 첨부될 게시글 ID
+     * @param authentication           인증된 사용자 정보
+     * @return 본문에 넣을 이미지 마크다운을 반환
+     */
+    @PostMapping("/post/{postId}/s3/complete")
+    public ResponseEntity<String> completePresignedUpload(@RequestBody UploadCompleteRequestDto uploadCompleteRequestDto,
+                                                          @PathVariable Long postId,
+                                                          Authentication authentication) {
+        String userId = ((User) authentication.getPrincipal()).getUserId();
+
+        String imageAddress = presignedUploadService.completeUpload(uploadCompleteRequestDto, postId, userId);
+        return ResponseEntity.ok("![](" + imageAddress + ")");
+    }
+
     /**
      * S3에 저장된 이미지를 삭제합니다.
      *
@@ -185,7 +305,6 @@ public class PostController {
 
         if (postService.isFileInPost(path, postId)) {
             attachmentFileService.deleteFileData(path, postId, userId);
-            s3ImageService.deleteImageFromS3(path);
             return ResponseEntity.ok("DELETE_SUCCESS");
         }
 
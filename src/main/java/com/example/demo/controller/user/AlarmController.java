@@ -1,10 +1,13 @@
 package com.example.demo.controller.user;
 
+import com.example.demo.dto.users.alarm.AlarmReplayStatsDto;
 import com.example.demo.dto.users.alarm.AlarmSettingsDto;
+import com.example.demo.dto.users.alarm.PostAlarmFanOutStatsDto;
 import com.example.demo.entity.users.user.User;
 import com.example.demo.event.AlarmMessage;
 import com.example.demo.exception.AlarmConnectionException;
 import com.example.demo.service.users.alarm.AlarmService;
+import com.example.demo.service.users.user.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -22,6 +25,7 @@ import java.util.List;
 public class AlarmController {
 
     private final AlarmService alarmService;
+    private final UserService userService;
 
     /**
      * 사용자가 서버로부터 실시간 알람을 구독합니다.
@@ -39,6 +43,30 @@ public class AlarmController {
         return ResponseEntity.ok(alarmService.subscribeAlarm(userId, lastEventId));
     }
 
+    /**
+     * SSE 재연결용 알람 재전송 버퍼의 크기와 통계를 조회합니다.
+     *
+     * @param authentication 인증 정보 (관리자만 허용)
+     * @return 재전송 버퍼 통계
+     */
+    @GetMapping("/users/alarm/replay/stats")
+    public ResponseEntity<AlarmReplayStatsDto> getAlarmReplayStats(Authentication authentication) {
+        userService.checkAdmin((User) authentication.getPrincipal());
+        return ResponseEntity.ok(alarmService.getReplayStats());
+    }
+
+    /**
+     * 새 게시글 알림 팬아웃의 대기 작업 수와 지연 시간을 조회합니다.
+     *
+     * @param authentication 인증 정보 (관리자만 허용)
+     * @return 팬아웃 통계
+     */
+    @GetMapping("/users/alarm/fan-out/stats")
+    public ResponseEntity<PostAlarmFanOutStatsDto> getPostAlarmFanOutStats(Authentication authentication) {
+        userService.checkAdmin((User) authentication.getPrincipal());
+        return ResponseEntity.ok(alarmService.getPostAlarmFanOutStats());
+    }
+
     /**
      * 사용자가 받은 모든 알람을 조회합니다.
      *
@@ -0,0 +1,27 @@
+package com.example.demo.dto.community;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 커서 기반 페이지 조회 결과를 담는 DTO.
+ * 다음 페이지가 없으면 nextCursor는 null입니다.
+ *
+ * @param <T> 페이지 항목 타입
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+    private List<T> items;          // 현재 페이지 항목
+
+    private String nextCursor;      // 다음 페이지 요청 시 전달할 커서
+
+    public static <T> CursorPageDto<T> of(List<T> items, String nextCursor) {
+        return new CursorPageDto<>(items, nextCursor);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.demo.dto.community.comment;
+
+import com.example.demo.entity.community.comment.Comment;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 실시간 댓글 스트림으로 전달되는 댓글 하나의 변경 내용.
+ * 삭제된 댓글은 본문 없이 ID와 스레드 정보만 담습니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentDeltaDto {
+
+    private CommentDeltaType type;
+    private Long commentId;
+    private Long parentCommentId;
+    private Long rootCommentId;
+    private CommentResponseDto comment;     // 삭제된 경우 null
+
+    public static CommentDeltaDto created(CommentResponseDto comment) {
+        return of(CommentDeltaType.CREATED, comment);
+    }
+
+    public static CommentDeltaDto updated(CommentResponseDto comment) {
+        return of(CommentDeltaType.UPDATED, comment);
+    }
+
+    public static CommentDeltaDto deleted(Comment comment) {
+        return new CommentDeltaDto(CommentDeltaType.DELETED, comment.getCommentId(),
+                comment.getParentCommentId(), comment.getRootCommentId(), null);
+    }
+
+    private static CommentDeltaDto of(CommentDeltaType type, CommentResponseDto comment) {
+        return new CommentDeltaDto(type, comment.getCommentId(),
+                comment.getParentCommentId(), comment.getRootCommentId(), comment);
+    }
+}
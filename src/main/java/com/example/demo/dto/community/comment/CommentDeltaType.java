@@ -0,0 +1,10 @@
+package com.example.demo.dto.community.comment;
+
+/**
+ * 실시간 댓글 스트림으로 전달되는 댓글 변경 종류.
+ */
+public enum CommentDeltaType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
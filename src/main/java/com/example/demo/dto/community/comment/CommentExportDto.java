@@ -0,0 +1,25 @@
+package com.example.demo.dto.community.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 관리자용 댓글 내보내기의 한 줄(NDJSON)에 해당하는 DTO.
+ * CommentRepository의 JPQL 생성자 표현식으로 만들어지므로 엔티티를 영속성 컨텍스트에 올리지 않습니다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class CommentExportDto {
+
+    private Long commentId;
+    private Long postId;
+    private String userId;
+    private Long parentCommentId;
+    private Long rootCommentId;
+    private String content;
+    private LocalDateTime createdAt;
+}
@@ -15,13 +15,14 @@ import lombok.Setter;
 public class CommentRequestDto {
     private Long parentCommentId;
     private String content;
+    private Long version;           // 수정 시 클라이언트가 마지막으로 받은 댓글 버전 (생략하면 버전 확인 없이 수정)
 
     public static CommentRequestDto of(String content) {
-        return new CommentRequestDto(null, content);
+        return new CommentRequestDto(null, content, null);
     }
 
     public static CommentRequestDto of(Long parentCommentId, String content) {
-        return new CommentRequestDto(parentCommentId, content);
+        return new CommentRequestDto(parentCommentId, content, null);
     }
 
     public static Comment toEntity(Post post, User user, String content, Long parentCommentId) {
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,19 +18,35 @@ public class CommentResponseDto {
 
     private Long commentId;
     private Long parentCommentId;
+    private Long rootCommentId;         // 스레드의 최상위 댓글 ID (최상위 댓글이면 null)
     private Long postId;
     private String userId;
     private String content;
     private List<CommentResponseDto> childComments;
+    private long replyCount;            // 스레드의 답글 수 (최상위 댓글 목록에서만 채워짐)
+    private LocalDateTime modifiedAt;   // 마지막 수정 시간 (수정된 적 없으면 null)
+    private long version;               // 수정 요청 시 함께 보내는 댓글 버전
+
+    /**
+     * 최상위 댓글 목록 조회용 생성자. CommentRepository의 JPQL 생성자 표현식에서 사용합니다.
+     */
+    public CommentResponseDto(Long commentId, Long postId, String userId, String content,
+                              LocalDateTime modifiedAt, Long version, Long replyCount) {
+        this(commentId, null, null, postId, userId, content, new ArrayList<>(), replyCount, modifiedAt, version);
+    }
 
     public static CommentResponseDto toDto(Comment comment) {
         return new CommentResponseDto(
                 comment.getCommentId(),
                 comment.getParentCommentId(),
+                comment.getRootCommentId(),
                 comment.getPost().getPostId(),
                 comment.getUser().getUserId(),
                 comment.getContent(),
-                new ArrayList<>()
+                new ArrayList<>(),
+                0L,
+                comment.getModifiedAt(),
+                comment.getVersion()
         );
     }
 
@@ -0,0 +1,22 @@
+package com.example.demo.dto.community.comment;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 한 게시글의 댓글 변경을 짧은 시간 단위로 묶어 /sub/post/{postId}/comments로 전송하는 DTO.
+ * 변경 내용은 발생 순서대로 담깁니다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentStreamBatchDto {
+
+    private Long postId;
+    private List<CommentDeltaDto> deltas;
+}
@@ -0,0 +1,16 @@
+package com.example.demo.dto.community.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 고아 첨부 파일 정리 한 묶음의 결과를 담는 DTO.
+ */
+@Getter
+@AllArgsConstructor
+public class OrphanSweepResultDto {
+
+    private int deletedCount;       // 삭제한 첨부 파일 행 수
+
+    private long reclaimedBytes;    // S3 삭제를 예약한 원본 객체의 크기 합 (다른 첨부 파일이 공유 중인 객체는 제외)
+}
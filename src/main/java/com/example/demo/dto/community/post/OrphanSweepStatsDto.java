@@ -0,0 +1,24 @@
+package com.example.demo.dto.community.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 고아 첨부 파일 정리 작업의 최근 결과와 누적 통계를 담는 DTO.
+ */
+@Getter
+@AllArgsConstructor
+public class OrphanSweepStatsDto {
+
+    private LocalDateTime lastSweepFinishedAt;  // 마지막으로 끝난 정리 작업의 종료 시각
+
+    private long lastDeletedCount;              // 마지막 정리 작업에서 삭제한 첨부 파일 수
+
+    private long lastReclaimedBytes;            // 마지막 정리 작업에서 회수한 바이트 수
+
+    private long totalDeletedCount;             // 기동 이후 삭제한 첨부 파일 수
+
+    private long totalReclaimedBytes;           // 기동 이후 회수한 바이트 수
+}
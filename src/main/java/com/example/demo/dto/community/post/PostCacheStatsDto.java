@@ -0,0 +1,27 @@
+package com.example.demo.dto.community.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 게시글 상세 캐시의 누적 통계를 담는 DTO.
+ */
+@Getter
+@AllArgsConstructor
+public class PostCacheStatsDto {
+
+    private long hitCount;          // 캐시 적중 수
+
+    private long missCount;         // 캐시 미스 수
+
+    private long loadCount;         // 실제 DB 로드 수 (동시 미스는 한 번만 로드)
+
+    private long evictionCount;     // 크기 제한/만료로 제거된 항목 수
+
+    private int size;               // 현재 캐시 항목 수
+
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 0.0 : (double) hitCount / requestCount;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.dto.community.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 관리자용 게시글 내보내기의 한 줄(NDJSON)에 해당하는 DTO.
+ * PostRepository의 JPQL 생성자 표현식으로 만들어지므로 엔티티와 연관 컬렉션을 영속성 컨텍스트에 올리지 않습니다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+public class PostExportDto {
+
+    private Long postId;
+    private String userId;
+    private String title;
+    private String content;
+    private String thumbnailImageId;
+    private boolean open;
+    private LocalDateTime createdAt;
+    private long viewCount;
+    private long likeCount;
+    private long commentCount;
+}
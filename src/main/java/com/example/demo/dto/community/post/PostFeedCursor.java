@@ -0,0 +1,53 @@
+package com.example.demo.dto.community.post;
+
+import com.example.demo.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 게시글 피드의 keyset 페이지네이션 커서.
+ * (createdAt, postId) 쌍을 클라이언트가 해석할 수 없는 문자열 토큰으로 인코딩합니다.
+ */
+@Getter
+@AllArgsConstructor
+public class PostFeedCursor {
+
+    private static final String DELIMITER = "_";
+
+    private final LocalDateTime createdAt;  // 마지막으로 반환된 게시글의 작성 시간
+
+    private final Long postId;              // 마지막으로 반환된 게시글 ID
+
+    /**
+     * 커서를 URL-safe Base64 토큰으로 인코딩합니다.
+     *
+     * @return 인코딩된 커서 토큰
+     */
+    public String encode() {
+        String raw = createdAt + DELIMITER + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 토큰을 디코딩합니다.
+     *
+     * @param token 클라이언트로부터 전달받은 커서 토큰
+     * @return 디코딩된 커서
+     * @throws InvalidCursorException 토큰 형식이 올바르지 않은 경우
+     */
+    public static PostFeedCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(DELIMITER);
+            return new PostFeedCursor(LocalDateTime.parse(raw.substring(0, index)),
+                    Long.parseLong(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("INVALID_CURSOR");
+        }
+    }
+}
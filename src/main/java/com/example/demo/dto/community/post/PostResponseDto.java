@@ -1,10 +1,14 @@
 package com.example.demo.dto.community.post;
 
+import com.example.demo.entity.community.post.Attachment;
+import com.example.demo.entity.community.post.DerivativeStatus;
 import com.example.demo.entity.community.post.Post;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 @Getter
@@ -22,12 +26,23 @@ public class PostResponseDto {
 
     private String thumbnailImageId;    //썸네일 주소
 
+    private String thumbnailUrl;        // 목록 표시용 썸네일 크기 이미지 주소 (파생 이미지가 없으면 원본)
+
+    private Map<String, String> imageVariants; // 본문 이미지 원본 주소 -> 중간 크기 이미지 주소
+
     private LocalDateTime createdAt;
 
+    private boolean open;               // 공개 여부
+
     private Set<ViewResponseDto> views; // 조회
 
     private Set<PostLikeResponseDto> postLikes; // 조회
-    public static PostResponseDto toDto(Post post) {
+
+    private long viewCount;             // 조회수
+
+    private long likeCount;             // 좋아요 수
+
+    public static PostResponseDto toDto(Post post, long viewCount, long likeCount) {
         Set<ViewResponseDto> viewResponseDtoSet = new HashSet<>();
         Set<PostLikeResponseDto> postLikeResponseDtoSet = new HashSet<>();
 
@@ -40,16 +55,44 @@ public class PostResponseDto {
                 }
         );
 
+        // 파생 이미지가 준비된 첨부 파일만 대체 주소를 내려 줌
+        String thumbnailUrl = post.getThumbnailImageId();
+        Map<String, String> imageVariantMap = new HashMap<>();
+        for (Attachment attachment : post.getAttachmentList()) {
+            if (attachment.getDerivativeStatus() != DerivativeStatus.READY)
+                continue;
+            imageVariantMap.put(attachment.getFilePath(), attachment.getMediumPath());
+            if (attachment.getFilePath().equals(post.getThumbnailImageId()))
+                thumbnailUrl = attachment.getThumbnailPath();
+        }
+
         return new PostResponseDto(
                 post.getPostId(),
                 post.getUser().getUserId(),
                 post.getTitle(),
                 post.getContent(),
                 post.getThumbnailImageId(),
+                thumbnailUrl,
+                imageVariantMap,
                 post.getCreatedAt(),
+                post.isOpen(),
                 viewResponseDtoSet,
-                postLikeResponseDtoSet
+                postLikeResponseDtoSet,
+                viewCount,
+                likeCount
         );
     }
 
+    /**
+     * 카운터만 바꾼 사본을 반환합니다. 캐시된 응답을 수정하지 않고 최신 카운터를 붙이기 위해 사용합니다.
+     *
+     * @param viewCount 조회수
+     * @param likeCount 좋아요 수
+     * @return 카운터가 바뀐 새 PostResponseDto
+     */
+    public PostResponseDto withCounts(long viewCount, long likeCount) {
+        return new PostResponseDto(postId, userId, title, content, thumbnailImageId, thumbnailUrl, imageVariants, createdAt, open,
+                views, postLikes, viewCount, likeCount);
+    }
+
 }
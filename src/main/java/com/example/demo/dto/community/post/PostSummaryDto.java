@@ -0,0 +1,82 @@
+package com.example.demo.dto.community.post;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.regex.Pattern;
+
+/**
+ * 게시글 목록 화면에 필요한 요약 정보만 담는 DTO.
+ * PostRepository의 JPQL 생성자 표현식으로 SQL에서 바로 만들어지므로 조회/좋아요 컬렉션을 불러오지 않습니다.
+ */
+@Getter
+@Setter
+public class PostSummaryDto {
+
+    public static final int EXCERPT_LENGTH = 100;
+    // 목록 쿼리가 잘라오는 본문 길이. 이미지/링크 마크다운을 걷어낸 뒤에도 미리보기를 채울 수 있도록 넉넉히 가져옴
+    public static final int EXCERPT_SOURCE_LENGTH = 1000;
+    private static final Pattern IMAGE_MARKDOWN_PATTERN = Pattern.compile("!\\[[^\\]]*\\]\\([^)]*\\)");
+    private static final Pattern LINK_MARKDOWN_PATTERN = Pattern.compile("\\[([^\\]]*)\\]\\([^)]*\\)");
+    // 본문이 잘리면서 닫히지 않은 채 끝에 남은 이미지/링크 (URL 일부가 미리보기에 섞이지 않도록 제거)
+    private static final Pattern TRAILING_PARTIAL_MARKDOWN_PATTERN = Pattern.compile("!?\\[[^\\]]*(\\]\\([^)]*)?$");
+    private static final Pattern FORMATTING_PATTERN = Pattern.compile("(?m)^\\s{0,3}(#{1,6}|>|[-*+]|\\d+\\.)\\s+|[*~`]");
+    private static final Pattern WHITESPACE_PATTERN = Pattern.compile("\\s+");
+
+    private Long postId;                //게시글 id
+
+    private String userId;              //작성자 id
+
+    private String nickname;            //작성자 닉네임
+
+    private String title;               //제목
+
+    private String excerpt;             //본문 미리보기
+
+    private String thumbnailImageId;    //썸네일 주소
+
+    private String thumbnailUrl;        // 목록 표시용 썸네일 크기 이미지 주소 (파생 이미지가 없으면 원본)
+
+    private LocalDateTime createdAt;
+
+    private long viewCount;             // 조회수
+
+    private long likeCount;             // 좋아요 수
+
+    private long commentCount;          // 댓글 수
+
+    public PostSummaryDto(Long postId, String userId, String nickname, String title, String content,
+                          String thumbnailImageId, String thumbnailUrl, LocalDateTime createdAt,
+                          Long viewCount, Long likeCount, Long commentCount) {
+        this.postId = postId;
+        this.userId = userId;
+        this.nickname = nickname;
+        this.title = title;
+        this.excerpt = toExcerpt(content);
+        this.thumbnailImageId = thumbnailImageId;
+        this.thumbnailUrl = thumbnailUrl != null ? thumbnailUrl : thumbnailImageId;
+        this.createdAt = createdAt;
+        this.viewCount = viewCount;
+        this.likeCount = likeCount;
+        this.commentCount = commentCount;
+    }
+
+    /**
+     * 본문 앞부분에서 마크다운을 걷어낸 평문을 미리보기 길이로 자릅니다.
+     * 이미지는 제거하고 링크는 텍스트만 남기며, 잘리면서 닫히지 않은 마크다운도 제거한 뒤에 자릅니다.
+     *
+     * @param content 본문 (앞부분만 전달될 수 있음)
+     * @return 미리보기 문자열
+     */
+    static String toExcerpt(String content) {
+        if (content == null)
+            return "";
+        String text = IMAGE_MARKDOWN_PATTERN.matcher(content).replaceAll(" ");
+        text = LINK_MARKDOWN_PATTERN.matcher(text).replaceAll("$1");
+        text = TRAILING_PARTIAL_MARKDOWN_PATTERN.matcher(text).replaceAll("");
+        text = FORMATTING_PATTERN.matcher(text).replaceAll("");
+        text = WHITESPACE_PATTERN.matcher(text).replaceAll(" ").strip();
+        return text.length() > EXCERPT_LENGTH ? text.substring(0, EXCERPT_LENGTH) : text;
+    }
+}
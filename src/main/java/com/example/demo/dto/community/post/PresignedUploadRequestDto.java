@@ -0,0 +1,17 @@
+package com.example.demo.dto.community.post;
+
+import lombok.*;
+
+/**
+ * 브라우저가 S3에 직접 업로드할 presigned URL을 요청할 때 사용하는 DTO.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresignedUploadRequestDto {
+
+    private String fileName;        // 원본 파일명
+
+    private String contentType;     // 업로드할 파일의 Content-Type
+}
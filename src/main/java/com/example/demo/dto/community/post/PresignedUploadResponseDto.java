@@ -0,0 +1,23 @@
+package com.example.demo.dto.community.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * 발급된 presigned 업로드 정보를 담는 DTO.
+ * 클라이언트는 uploadUrl로 contentType 헤더와 함께 PUT 요청을 보낸 뒤 key로 업로드 완료를 알립니다.
+ */
+@Getter
+@AllArgsConstructor
+public class PresignedUploadResponseDto {
+
+    private String key;             // S3 객체 키
+
+    private String uploadUrl;       // PUT 요청을 보낼 presigned URL
+
+    private String contentType;     // PUT 요청에 그대로 넣어야 하는 Content-Type
+
+    private Date expiresAt;         // presigned URL 만료 시각
+}
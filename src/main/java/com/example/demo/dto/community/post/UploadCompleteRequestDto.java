@@ -0,0 +1,17 @@
+package com.example.demo.dto.community.post;
+
+import lombok.*;
+
+/**
+ * presigned URL로 업로드를 마친 뒤 완료를 알릴 때 사용하는 DTO.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class UploadCompleteRequestDto {
+
+    private String key;             // 발급받은 S3 객체 키
+
+    private String fileName;        // 원본 파일명
+}
@@ -0,0 +1,28 @@
+package com.example.demo.dto.users.alarm;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * SSE 재연결용 알람 재전송 버퍼의 현재 크기와 누적 통계를 담는 DTO.
+ */
+@Getter
+@AllArgsConstructor
+public class AlarmReplayStatsDto {
+
+    private int bufferedUsers;          // 버퍼를 가진 사용자 수
+
+    private long bufferedEvents;        // 버퍼에 남아 있는 알람 수
+
+    private int capacityPerUser;        // 사용자별 최대 보관 알람 수
+
+    private int maxUsers;               // 버퍼를 유지하는 최대 사용자 수
+
+    private long overwrittenEvents;     // 용량 초과로 덮어쓴 알람 수
+
+    private long evictedUsers;          // 사용자 수 제한/유휴 만료로 제거된 버퍼 수
+
+    private long replayedEvents;        // 재연결 시 다시 보낸 알람 수
+
+    private long missedReplays;         // 버퍼로 이어 주지 못해 DB에서 다시 조회한 재연결 수
+}
@@ -0,0 +1,28 @@
+package com.example.demo.dto.users.alarm;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 새 게시글 알림 팬아웃 작업의 대기 상태와 지연 시간 통계를 담는 DTO.
+ */
+@Getter
+@AllArgsConstructor
+public class PostAlarmFanOutStatsDto {
+
+    private int pendingJobs;            // 대기 중이거나 처리 중인 팬아웃 작업 수
+
+    private long currentLagMillis;      // 가장 오래 기다린 미완료 작업의 경과 시간
+
+    private long lastLagMillis;         // 마지막으로 끝난 작업의 요청부터 완료까지 걸린 시간
+
+    private long maxLagMillis;          // 기동 이후 가장 길었던 요청부터 완료까지 걸린 시간
+
+    private long completedJobs;         // 완료한 작업 수
+
+    private long failedJobs;            // 오류로 중단된 작업 수
+
+    private long droppedJobs;           // 큐가 가득 차 받지 못한 작업 수
+
+    private long publishedAlarms;       // Kafka로 발행한 알림 수
+}
@@ -0,0 +1,16 @@
+package com.example.demo.dto.users.alarm;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 새 게시글 알림을 받을 팔로워와 페이지 커서로 쓰는 팔로우 ID를 담는 DTO.
+ */
+@Getter
+@AllArgsConstructor
+public class PostAlarmRecipientDto {
+
+    private Long followId;  // 팔로우 ID (다음 페이지 조회 기준)
+
+    private String userId;  // 알림을 받을 팔로워 ID
+}
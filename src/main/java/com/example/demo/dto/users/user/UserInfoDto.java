@@ -4,6 +4,7 @@ import com.example.demo.dto.community.post.PostResponseDto;
 import com.example.demo.entity.community.block.Block;
 import com.example.demo.entity.community.follow.Follow;
 import com.example.demo.entity.community.post.Post;
+import com.example.demo.entity.community.post.PostStats;
 import com.example.demo.entity.planner.Trip;
 import com.example.demo.entity.users.user.User;
 import lombok.AllArgsConstructor;
@@ -11,6 +12,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.util.List;
+import java.util.Map;
 
 @Getter
 @Setter
@@ -22,12 +24,16 @@ public class UserInfoDto {
     private List<Trip> trips;
     private List<PostResponseDto> postResponseDtoList;
 
-    public static UserInfoDto toDto(User user) {
+    // 조회수와 좋아요 수는 게시글 ID별 post_stats 카운터에서 가져옴
+    public static UserInfoDto toDto(User user, Map<Long, PostStats> postStatsMap) {
         return new UserInfoDto(
                 user.getUserId(),
                 user.getNickname(),
                 user.getTripList(),
-                user.getPostList().stream().map(PostResponseDto::toDto).toList()
+                user.getPostList().stream().map(post -> {
+                    PostStats postStats = postStatsMap.getOrDefault(post.getPostId(), PostStats.of(post.getPostId()));
+                    return PostResponseDto.toDto(post, postStats.getViewCount(), postStats.getLikeCount());
+                }).toList()
         );
     }
 
@@ -5,12 +5,14 @@ import com.example.demo.entity.users.user.User;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 /**
  * 댓글을 나타내는 엔티티 클래스.
  * 댓글은 특정 사용자에 의해 특정 게시물에 작성되며, 부모 댓글을 가질 수 있습니다.
+ * 답글은 스레드의 최상위 댓글 ID(rootCommentId)를 함께 저장해 스레드별 답글을 인덱스 한 번으로 조회합니다.
  */
 @Builder
 @Getter
@@ -19,6 +21,10 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 @ToString(callSuper = true)
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_comment_post_parent", columnList = "postId, parentCommentId, commentId"),
+        @Index(name = "idx_comment_root", columnList = "rootCommentId, commentId")
+})
 public class Comment {
 
     @Id
@@ -38,12 +44,23 @@ public class Comment {
     @Setter
     private Long parentCommentId = null; // 부모 댓글 ID
 
+    @Setter
+    private Long rootCommentId; // 스레드의 최상위 댓글 ID (최상위 댓글이면 null)
+
     @Setter
     private String content; // 댓글 본문
 
     @Setter
     private LocalDateTime createdAt; // 댓글 생성 시간
 
+    @Setter
+    private LocalDateTime modifiedAt; // 댓글 수정 시간 (수정된 적 없으면 null)
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version; // 낙관적 잠금 버전 (수정할 때마다 증가)
+
     /**
      * 댓글 객체를 생성하는 생성자.
      *
@@ -18,6 +18,7 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @RequiredArgsConstructor
 @Entity
+@Table(indexes = @Index(name = "idx_follow_following", columnList = "followingUserId, followId"))
 public class Follow {
 
     @Id
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.time.LocalDateTime;
+
 /**
  * 게시물에 첨부된 파일 정보를 나타내는 엔티티 클래스.
  * 게시물과 연관된 파일의 메타데이터를 저장합니다.
@@ -13,6 +15,10 @@ import lombok.*;
 @AllArgsConstructor
 @RequiredArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_attachment_derivative_status", columnList = "derivativeStatus"),
+        @Index(name = "idx_attachment_post_created", columnList = "postId, createdAt")
+})
 public class Attachment {
 
     @Id
@@ -37,4 +43,19 @@ public class Attachment {
     @Column(nullable = false)
     private String fileType; // 파일 타입 (예: image/png, application/pdf 등)
 
+    private String uploaderId; // 업로드한 사용자 ID
+
+    private LocalDateTime createdAt; // 업로드 시간
+
+    private String thumbnailPath; // 썸네일 크기 파생 이미지 URL (원본이 작으면 원본 URL)
+
+    private String mediumPath; // 본문 표시용 중간 크기 파생 이미지 URL (원본이 작으면 원본 URL)
+
+    @Enumerated(EnumType.STRING)
+    private DerivativeStatus derivativeStatus; // 파생 이미지 생성 상태
+
+    private LocalDateTime derivativeLeaseUntil; // 파생 이미지를 만드는 노드가 작업을 선점한 임대 만료 시각
+
+    private Boolean uploadPending; // presigned URL만 발급되고 업로드 완료가 확인되지 않은 첨부 파일이면 true
+
 }
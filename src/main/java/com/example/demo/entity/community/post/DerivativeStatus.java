@@ -0,0 +1,11 @@
+package com.example.demo.entity.community.post;
+
+/**
+ * 첨부 이미지의 파생 이미지(썸네일, 중간 크기) 생성 상태.
+ */
+public enum DerivativeStatus {
+    PENDING,        // 생성 대기
+    READY,          // 생성 완료
+    FAILED,         // 생성 실패
+    UNSUPPORTED     // 이미지가 아니거나 처리할 수 없는 형식
+}
@@ -23,6 +23,10 @@ import java.util.Set;
 @AllArgsConstructor
 @RequiredArgsConstructor
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_post_feed", columnList = "open, createdAt, postId"),
+        @Index(name = "idx_post_user", columnList = "userId, postId")
+})
 public class Post {
 
     @Id
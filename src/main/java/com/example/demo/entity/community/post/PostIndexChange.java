@@ -0,0 +1,41 @@
+package com.example.demo.entity.community.post;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 검색 색인에 반영해야 할 게시글 변경을 나타내는 엔티티 클래스.
+ * 게시글 변경과 같은 트랜잭션에 저장되므로 커밋된 변경만 남고, 각 노드는 이 행을 순서대로 읽어 자신의 색인을 맞춥니다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "post_index_change", indexes = @Index(name = "idx_post_index_change_created", columnList = "createdAt"))
+public class PostIndexChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long changeId; // 변경 ID (노드별 반영 위치로 사용)
+
+    @Column(nullable = false)
+    private Long postId; // 변경된 게시글 ID
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt; // 변경 기록 시간
+
+    /**
+     * 게시글 변경 기록을 생성하는 정적 팩토리 메서드.
+     * @param postId 변경된 게시글 ID
+     * @return 새롭게 생성된 PostIndexChange 인스턴스
+     */
+    public static PostIndexChange of(Long postId) {
+        PostIndexChange change = new PostIndexChange();
+        change.setPostId(postId);
+        change.setCreatedAt(LocalDateTime.now());
+        return change;
+    }
+}
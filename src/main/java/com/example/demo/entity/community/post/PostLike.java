@@ -17,16 +17,20 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_post_like_post_user", columnNames = {"post_post_id", "user_user_id"}))
 public class PostLike {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id; // 좋아요 ID
 
+    // 기존 스키마의 암묵적 조인 컬럼명을 유니크 제약에서 참조할 수 있도록 명시
+    @JoinColumn(name = "user_user_id")
     @ManyToOne(fetch = FetchType.LAZY)
     private User user; // 좋아요를 누른 사용자
 
     @JsonBackReference // 순환 참조 방지
+    @JoinColumn(name = "post_post_id")
     @ManyToOne(fetch = FetchType.LAZY)
     private Post post; // 좋아요가 눌린 게시글
 
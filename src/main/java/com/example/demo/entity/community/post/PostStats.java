@@ -0,0 +1,44 @@
+package com.example.demo.entity.community.post;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/**
+ * 게시글별 집계 카운터를 나타내는 엔티티 클래스.
+ * 조회수, 좋아요 수, 댓글 수 등 자식 테이블을 세어야 하는 값을 게시글 ID 기준으로 비정규화하여 저장합니다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "post_stats")
+public class PostStats {
+
+    @Id
+    private Long postId; // 게시글 ID
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long viewCount; // 조회수
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long likeCount; // 좋아요 수
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long commentCount; // 댓글 수
+
+    /**
+     * 카운터가 모두 0인 집계 엔티티를 생성하는 정적 팩토리 메서드.
+     * @param postId 게시글 ID
+     * @return 새롭게 생성된 PostStats 인스턴스
+     */
+    public static PostStats of(Long postId) {
+        PostStats postStats = new PostStats();
+        postStats.setPostId(postId);
+        return postStats;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.entity.community.post;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * S3에서 삭제해야 할 객체를 나타내는 엔티티 클래스.
+ * 요청 처리 중에는 이 행만 저장하고, 실제 삭제는 S3DeletionQueue가 백그라운드에서 일괄로 수행합니다.
+ * 처리하는 노드는 claimToken과 임대 만료 시각(nextAttemptAt)을 기록해 작업을 선점하므로 여러 노드가 같은 작업을 중복 처리하지 않습니다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "s3_deletion_task", indexes = {
+        @Index(name = "idx_s3_deletion_next_attempt", columnList = "nextAttemptAt"),
+        @Index(name = "idx_s3_deletion_claim", columnList = "claimToken")
+})
+public class S3DeletionTask {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long taskId; // 작업 ID
+
+    @Column(nullable = false, length = 1024)
+    private String objectKey; // 삭제할 S3 객체 키
+
+    @Column(nullable = false)
+    private int attempts; // 실패한 삭제 시도 횟수
+
+    @Column(nullable = false)
+    private LocalDateTime nextAttemptAt; // 다음 삭제 시도 가능 시각 (선점된 작업은 임대 만료 시각)
+
+    @Column(length = 36)
+    private String claimToken; // 작업을 선점한 처리 회차의 토큰
+
+    private LocalDateTime createdAt; // 작업 생성 시간
+
+    /**
+     * 즉시 삭제를 시도할 작업을 생성하는 정적 팩토리 메서드.
+     * @param objectKey 삭제할 S3 객체 키
+     * @return 새롭게 생성된 S3DeletionTask 인스턴스
+     */
+    public static S3DeletionTask of(String objectKey) {
+        S3DeletionTask task = new S3DeletionTask();
+        task.setObjectKey(objectKey);
+        task.setCreatedAt(LocalDateTime.now());
+        task.setNextAttemptAt(task.getCreatedAt());
+        return task;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.entity.community.post;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * S3에 저장된 첨부 파일 객체를 나타내는 엔티티 클래스.
+ * 내용이 같은 업로드는 하나의 객체를 공유하며, refCount는 이 객체를 가리키는 첨부 파일 수입니다.
+ * 참조 수가 0이 되었을 때만 S3 객체를 삭제합니다.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "stored_object", indexes = {
+        @Index(name = "uk_stored_object_content_hash", columnList = "contentHash", unique = true),
+        @Index(name = "uk_stored_object_file_path", columnList = "filePath", unique = true)
+})
+public class StoredObject {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long objectId; // 객체 ID
+
+    @Column(length = 64)
+    private String contentHash; // 내용의 SHA-256 (16진수), 직접 업로드처럼 해시를 모르는 객체는 null
+
+    @Column(nullable = false, length = 512)
+    private String filePath; // 파일 저장 경로 (URL)
+
+    @Column(nullable = false)
+    private Long fileSize; // 파일 크기 (바이트 단위)
+
+    @Column(nullable = false)
+    private int refCount; // 이 객체를 가리키는 첨부 파일 수
+
+    private LocalDateTime createdAt; // 업로드 시간
+
+    /**
+     * 첫 번째 참조를 가진 객체를 생성하는 정적 팩토리 메서드.
+     * @param contentHash 내용의 SHA-256, 모르면 null
+     * @param filePath    파일 저장 경로 (URL)
+     * @param fileSize    파일 크기
+     * @return 새롭게 생성된 StoredObject 인스턴스
+     */
+    public static StoredObject of(String contentHash, String filePath, long fileSize) {
+        StoredObject storedObject = new StoredObject();
+        storedObject.setContentHash(contentHash);
+        storedObject.setFilePath(filePath);
+        storedObject.setFileSize(fileSize);
+        storedObject.setRefCount(1);
+        storedObject.setCreatedAt(LocalDateTime.now());
+        return storedObject;
+    }
+}
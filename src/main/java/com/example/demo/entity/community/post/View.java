@@ -53,4 +53,15 @@ public class View {
     public static View toEntity(User user, Post post) {
         return new View(user, post, LocalDateTime.now());
     }
+
+    /**
+     * 조회 시간을 지정하여 조회 엔티티를 생성하는 정적 팩토리 메서드.
+     * @param user 조회한 사용자
+     * @param post 조회된 게시글
+     * @param createdAt 실제 조회가 발생한 시간
+     * @return 새롭게 생성된 View 인스턴스
+     */
+    public static View toEntity(User user, Post post, LocalDateTime createdAt) {
+        return new View(user, post, createdAt);
+    }
 }
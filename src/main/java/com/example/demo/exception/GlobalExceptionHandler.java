@@ -5,6 +5,7 @@ import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
 import io.lettuce.core.RedisConnectionException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -54,6 +55,25 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String> handleInvalidCursorException(InvalidCursorException ex) {
+        log.warn("InvalidCursorException Occurred: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidUploadException.class)
+    public ResponseEntity<String> handleInvalidUploadException(InvalidUploadException ex) {
+        log.warn("InvalidUploadException Occurred: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+
+    // 낙관적 잠금 충돌 (같은 댓글을 동시에 수정한 경우 등)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.warn("OptimisticLockingFailureException Occurred: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("CONFLICTING_UPDATE");
+    }
+
     @ExceptionHandler(IndexOutOfBoundsException.class)
     public ResponseEntity<String> handleIndexOutOfBoundsException(IndexOutOfBoundsException ex) {
         log.error("IndexOutOfBoundsException Occurred: {}", ex.getMessage(), ex);
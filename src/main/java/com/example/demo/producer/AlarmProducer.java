@@ -1,25 +1,41 @@
 package com.example.demo.producer;
 
 import com.example.demo.event.AlarmMessage;
-import com.example.demo.repository.users.alarm.EmitterRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class AlarmProducer {
 
     private final KafkaTemplate<String, AlarmMessage> kafkaTemplate;
-    private final EmitterRepository emitterRepository;
 
     private String topic = "alarm";
 
     public void send(AlarmMessage message) {
-        emitterRepository.saveEventCache(message.getReceiveUserId()+"_"+System.currentTimeMillis(),message);
         kafkaTemplate.send(topic, message.getReceiveUserId(), message);
         log.info("send to kafka finished");
     }
+
+    /**
+     * 알람 묶음을 한 번에 발행하고 모두 브로커에 기록될 때까지 기다립니다.
+     * 레코드는 프로듀서 배치로 묶여 전송되며, 하나라도 실패하면 예외가 발생합니다.
+     *
+     * @param messageList 발행할 알람 메시지 목록
+     */
+    public void sendAll(List<AlarmMessage> messageList) {
+        CompletableFuture<?>[] futures = messageList.stream()
+                .map(message -> kafkaTemplate.send(topic, message.getReceiveUserId(), message))
+                .toArray(CompletableFuture[]::new);
+        // linger 시간을 기다리지 않고 쌓인 배치를 바로 전송
+        kafkaTemplate.flush();
+        CompletableFuture.allOf(futures).join();
+        log.info("send {} alarms to kafka finished", messageList.size());
+    }
 }
@@ -1,14 +1,22 @@
 package com.example.demo.repository.community.comment;
 
 
+import com.example.demo.dto.community.comment.CommentExportDto;
+import com.example.demo.dto.community.comment.CommentResponseDto;
 import com.example.demo.entity.community.comment.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
@@ -19,10 +27,43 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     Optional<Comment> findByCommentId(Long commentId);
 
-    void deleteByCommentId(Long commentId);
+    // 실제로 삭제된 행 수를 반환해 동시에 같은 댓글을 삭제해도 카운터는 한 번만 줄어들게 함
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.commentId = :commentId")
+    int deleteByCommentId(@Param("commentId") Long commentId);
 
+    // 최상위 댓글과 함께 스레드의 답글을 모두 삭제하고 삭제된 답글 수를 반환 (idx_comment_root)
     @Transactional
-    @Query("SELECT c FROM Comment c WHERE c.post.postId = :postId")
-    List<Comment> findByPostId(@Param("postId") Long postId);
+    @Modifying
+    @Query("DELETE FROM Comment c WHERE c.rootCommentId = :rootCommentId")
+    int deleteByRootCommentId(@Param("rootCommentId") Long rootCommentId);
+
+    // 최상위 댓글을 ID 순으로 키셋 페이지 조회하면서 스레드별 답글 수를 함께 가져옴 (idx_comment_post_parent, idx_comment_root)
+    @Query("SELECT new com.example.demo.dto.community.comment.CommentResponseDto(" +
+            "c.commentId, c.post.postId, c.user.userId, c.content, c.modifiedAt, c.version, " +
+            "(SELECT COUNT(r) FROM Comment r WHERE r.rootCommentId = c.commentId)) " +
+            "FROM Comment c WHERE c.post.postId = :postId AND c.parentCommentId IS NULL AND c.commentId > :after " +
+            "ORDER BY c.commentId ASC")
+    List<CommentResponseDto> findRootComments(@Param("postId") Long postId,
+                                              @Param("after") Long after,
+                                              Pageable pageable);
+
+    // 한 스레드의 답글을 작성 순으로 키셋 페이지 조회 (idx_comment_root)
+    @Query("SELECT c FROM Comment c JOIN FETCH c.user WHERE c.rootCommentId = :rootCommentId AND c.commentId > :after " +
+            "ORDER BY c.commentId ASC")
+    List<Comment> findReplies(@Param("rootCommentId") Long rootCommentId,
+                              @Param("after") Long after,
+                              Pageable pageable);
+
+    // 관리자 내보내기용. MySQL 드라이버가 결과를 한 행씩 스트리밍하도록 fetch size를 Integer.MIN_VALUE로 지정
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.example.demo.dto.community.comment.CommentExportDto(" +
+            "c.commentId, c.post.postId, c.user.userId, c.parentCommentId, c.rootCommentId, c.content, c.createdAt) " +
+            "FROM Comment c ORDER BY c.commentId ASC")
+    Stream<CommentExportDto> streamAllForExport();
+
+    // 스레드 정보가 없는 기존 답글 (rootCommentId 채우기용)
+    List<Comment> findByParentCommentIdIsNotNullAndRootCommentIdIsNullOrderByCommentIdAsc(Pageable pageable);
 
 }
@@ -1,7 +1,9 @@
 package com.example.demo.repository.community.follow;
 
+import com.example.demo.dto.users.alarm.PostAlarmRecipientDto;
 import com.example.demo.entity.community.follow.Follow;
 import com.example.demo.entity.users.user.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,6 +16,20 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     List<Follow> findByUser(User user);
     List<Follow> findByFollowingUser(User user);
 
+    long countByFollowingUser_UserId(String followingUserId);
+
+    @Query("SELECT f.user.userId FROM Follow f WHERE f.followingUser.userId = :followingUserId")
+    List<String> findFollowerIds(@Param("followingUserId") String followingUserId);
+
+    // 게시글 알림을 켠 팔로워를 팔로우 ID 순으로 afterFollowId 다음부터 조회 (알림 설정을 함께 조인해 팔로워별 조회를 없앰)
+    @Query("SELECT new com.example.demo.dto.users.alarm.PostAlarmRecipientDto(f.followId, u.userId) " +
+            "FROM Follow f JOIN f.user u JOIN u.alarmSettings s " +
+            "WHERE f.followingUser.userId = :followingUserId AND f.followId > :afterFollowId AND s.postAlarm = true " +
+            "ORDER BY f.followId")
+    List<PostAlarmRecipientDto> findPostAlarmRecipients(@Param("followingUserId") String followingUserId,
+                                                        @Param("afterFollowId") Long afterFollowId,
+                                                        Pageable pageable);
+
     @Transactional
     @Query("SELECT f FROM Follow f WHERE f.user.userId = :userId AND f.followingUser.userId = :followingUserId")
     Optional<Follow> findByUserAndFollowingUser(@Param("userId") String userId, @Param("followingUserId") String followingUserId);
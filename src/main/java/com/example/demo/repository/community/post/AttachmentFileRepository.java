@@ -1,17 +1,97 @@
 package com.example.demo.repository.community.post;
 
 import com.example.demo.entity.community.post.Attachment;
+import com.example.demo.entity.community.post.DerivativeStatus;
 import com.example.demo.entity.community.post.Post;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface AttachmentFileRepository extends JpaRepository<Attachment,String> {
 
-    public void deleteByFilePath(String path);
-
     public List<Attachment> findByPost(Post post);
 
-    public Optional<Attachment> findByFilePath(String filePath);
+    // 작성자가 올린 아직 연결되지 않은 첨부 파일이나 이미 이 게시물에 연결된 첨부 파일만 연결
+    // (같은 내용의 업로드는 URL을 공유하므로 다른 사용자가 올린 첨부 파일은 건드리지 않음)
+    @Modifying
+    @Query("UPDATE Attachment a SET a.post = :post WHERE a.filePath IN :filePaths " +
+            "AND (a.post = :post OR (a.post IS NULL AND (a.uploaderId = :uploaderId OR a.uploaderId IS NULL)))")
+    int linkToPost(@Param("post") Post post,
+                   @Param("uploaderId") String uploaderId,
+                   @Param("filePaths") Collection<String> filePaths);
+
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.post.postId = :postId AND a.filePath IN :filePaths")
+    int deleteByPostIdAndFilePaths(@Param("postId") Long postId, @Param("filePaths") Collection<String> filePaths);
+
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.post.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    public Optional<Attachment> findByFileId(Long fileId);
+
+    public List<Attachment> findByPostPostIdAndFilePathIn(Long postId, Collection<String> filePaths);
+
+    public Optional<Attachment> findFirstByFilePathAndDerivativeStatus(String filePath, DerivativeStatus derivativeStatus);
+
+    // presigned URL을 발급할 때 남긴 업로드 대기 첨부 파일
+    public Optional<Attachment> findFirstByFilePathAndUploaderIdAndUploadPendingTrue(String filePath, String uploaderId);
+
+    @Query("SELECT a FROM Attachment a LEFT JOIN a.post p WHERE a.filePath = :filePath " +
+            "AND (p.postId = :postId OR (p IS NULL AND a.uploaderId = :uploaderId))")
+    List<Attachment> findDeletableByFilePath(@Param("filePath") String filePath,
+                                             @Param("postId") Long postId,
+                                             @Param("uploaderId") String uploaderId);
+
+    @Modifying
+    @Query("DELETE FROM Attachment a WHERE a.fileId IN :fileIds")
+    int deleteByFileIds(@Param("fileIds") Collection<Long> fileIds);
+
+    // 다른 노드가 선점하지 않았거나 임대가 끝난 PENDING 첨부 파일
+    @Query("SELECT a.fileId FROM Attachment a " +
+            "WHERE a.derivativeStatus = com.example.demo.entity.community.post.DerivativeStatus.PENDING " +
+            "AND (a.derivativeLeaseUntil IS NULL OR a.derivativeLeaseUntil <= :now) ORDER BY a.fileId ASC")
+    List<Long> findClaimableDerivativeFileIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // PENDING 첨부 파일의 파생 이미지 작업을 한 번의 UPDATE로 선점하고 임대 만료 시각까지 다른 노드가 가져가지 못하게 함
+    // (선점한 노드가 중간에 종료되면 임대가 끝난 뒤 다른 노드가 다시 선점)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Attachment a SET a.derivativeLeaseUntil = :leaseUntil WHERE a.fileId = :fileId " +
+            "AND a.derivativeStatus = com.example.demo.entity.community.post.DerivativeStatus.PENDING " +
+            "AND (a.derivativeLeaseUntil IS NULL OR a.derivativeLeaseUntil <= :now)")
+    int claimDerivative(@Param("fileId") Long fileId,
+                        @Param("now") LocalDateTime now,
+                        @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // 파생 이미지 생성 결과를 엔티티를 불러오지 않고 한 번에 기록
+    @Transactional
+    @Modifying
+    @Query("UPDATE Attachment a SET a.thumbnailPath = :thumbnailPath, a.mediumPath = :mediumPath, " +
+            "a.derivativeStatus = :status WHERE a.fileId = :fileId")
+    int updateDerivatives(@Param("fileId") Long fileId,
+                          @Param("thumbnailPath") String thumbnailPath,
+                          @Param("mediumPath") String mediumPath,
+                          @Param("status") DerivativeStatus status);
+
+    // 게시물에 연결되지 않은 채 기준 시각 이전에 올라온 첨부 파일
+    // 삭제하는 동안 같은 행이 게시물에 연결되지 않도록 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Attachment a WHERE a.post IS NULL AND a.createdAt < :cutoff ORDER BY a.fileId ASC")
+    List<Attachment> findOrphans(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // 업로드 시간 기록 전에 올라와 시간이 없는 미연결 첨부 파일에 주어진 시각을 기록
+    @Modifying
+    @Query("UPDATE Attachment a SET a.createdAt = :now WHERE a.post IS NULL AND a.createdAt IS NULL")
+    int fillMissingCreatedAt(@Param("now") LocalDateTime now);
 }
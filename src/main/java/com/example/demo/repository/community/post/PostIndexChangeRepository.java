@@ -0,0 +1,34 @@
+package com.example.demo.repository.community.post;
+
+import com.example.demo.entity.community.post.PostIndexChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PostIndexChangeRepository extends JpaRepository<PostIndexChange, Long> {
+
+    List<PostIndexChange> findByChangeIdGreaterThanOrderByChangeIdAsc(Long changeId, Pageable pageable);
+
+    @Query("SELECT MIN(c.changeId) FROM PostIndexChange c")
+    Long findMinChangeId();
+
+    @Query("SELECT MAX(c.changeId) FROM PostIndexChange c")
+    Long findMaxChangeId();
+
+    @Query("SELECT MAX(c.changeId) FROM PostIndexChange c WHERE c.createdAt < :before")
+    Long findMaxChangeIdCreatedBefore(@Param("before") LocalDateTime before);
+
+    // 가장 최근 변경은 남겨 두어 반영 위치가 보관 기간보다 오래된 노드를 알아볼 수 있게 함
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PostIndexChange c WHERE c.createdAt < :before AND c.changeId < :maxChangeId")
+    int deleteExpired(@Param("before") LocalDateTime before, @Param("maxChangeId") Long maxChangeId);
+}
@@ -9,14 +9,23 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Set;
 
 @Repository
 public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
 
     Set<PostLike> getPostLikeByPost(Post post);
+
+    // (게시글, 사용자) 유니크 키에 걸리면 무시되므로 이미 좋아요한 경우 0을 반환
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_like (post_post_id, user_user_id, created_at) " +
+            "VALUES (:postId, :userId, :createdAt)", nativeQuery = true)
+    int insertIgnore(@Param("postId") Long postId, @Param("userId") String userId, @Param("createdAt") LocalDateTime createdAt);
+
     @Transactional
     @Modifying
     @Query("DELETE FROM PostLike pl WHERE pl.post.postId = :postId AND pl.user.userId = :userId")
-    void deleteByPostId(@Param("postId") Long postId, @Param("userId") String userId);
+    int deleteByPostIdAndUserId(@Param("postId") Long postId, @Param("userId") String userId);
 }
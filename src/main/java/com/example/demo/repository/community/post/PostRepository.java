@@ -1,14 +1,106 @@
 package com.example.demo.repository.community.post;
 
 
+import com.example.demo.dto.community.post.PostExportDto;
+import com.example.demo.dto.community.post.PostSummaryDto;
 import com.example.demo.entity.community.post.Post;
 import com.example.demo.entity.users.user.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface PostRepository extends JpaRepository<Post,Long> {
 
+    // 목록 조회용 요약 프로젝션. 본문은 미리보기를 만들 만큼만 잘라오고 카운터는 post_stats에서 가져옴
+    String SUMMARY_SELECT = "SELECT new com.example.demo.dto.community.post.PostSummaryDto(" +
+            "p.postId, u.userId, u.nickname, p.title, SUBSTRING(p.content, 1, " + PostSummaryDto.EXCERPT_SOURCE_LENGTH + "), " +
+            "p.thumbnailImageId, " +
+            "(SELECT MAX(ta.thumbnailPath) FROM Attachment ta WHERE ta.post.postId = p.postId " +
+            "AND ta.filePath = p.thumbnailImageId " +
+            "AND ta.derivativeStatus = com.example.demo.entity.community.post.DerivativeStatus.READY), " +
+            "p.createdAt, " +
+            "COALESCE(ps.viewCount, 0L), COALESCE(ps.likeCount, 0L), " +
+            "COALESCE(ps.commentCount, 0L)) " +
+            "FROM Post p JOIN p.user u LEFT JOIN PostStats ps ON ps.postId = p.postId ";
+
     public List<Post> findByUser(User user);
 
+    @Query(SUMMARY_SELECT + "WHERE p.open = true ORDER BY p.createdAt DESC, p.postId DESC")
+    List<PostSummaryDto> findOpenFeed(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.open = true " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.postId < :postId)) " +
+            "ORDER BY p.createdAt DESC, p.postId DESC")
+    List<PostSummaryDto> findOpenFeedBefore(@Param("createdAt") LocalDateTime createdAt,
+                                            @Param("postId") Long postId,
+                                            Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE u.userId = :userId AND (p.open = true OR :includePrivate = true) " +
+            "ORDER BY p.createdAt DESC, p.postId DESC")
+    List<PostSummaryDto> findSummariesByUserId(@Param("userId") String userId,
+                                               @Param("includePrivate") boolean includePrivate,
+                                               Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE u.userId = :userId AND (p.open = true OR :includePrivate = true) " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.postId < :postId)) " +
+            "ORDER BY p.createdAt DESC, p.postId DESC")
+    List<PostSummaryDto> findSummariesByUserIdBefore(@Param("userId") String userId,
+                                                     @Param("includePrivate") boolean includePrivate,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("postId") Long postId,
+                                                     Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE p.open = true AND p.postId IN :postIds")
+    List<PostSummaryDto> findOpenSummariesByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    List<Post> findByPostIdGreaterThanOrderByPostIdAsc(Long postId, Pageable pageable);
+
+    boolean existsByOpen(boolean open);
+
+    @Query("SELECT p.postId FROM Post p WHERE p.postId IN :postIds")
+    List<Long> findExistingPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT MAX(p.postId) FROM Post p")
+    Long findMaxPostId();
+
+    // 공개 게시글이거나 요청한 사용자가 작성자인 경우 true (userId가 null이면 공개 게시글만)
+    @Query("SELECT CASE WHEN COUNT(p) > 0 THEN true ELSE false END FROM Post p " +
+            "WHERE p.postId = :postId AND (p.open = true OR p.user.userId = :userId)")
+    boolean isVisibleTo(@Param("postId") Long postId, @Param("userId") String userId);
+
+    @Query("SELECT p.postId FROM Post p WHERE p.open = true AND p.user.userId = :userId ORDER BY p.postId DESC")
+    List<Long> findOpenPostIdsByUserId(@Param("userId") String userId, Pageable pageable);
+
+    // 팔로우 중인 작성자 중 주어진 작성자들의 공개 게시글 ID (팬아웃하지 않는 작성자의 글을 읽기 시점에 합치기 위함)
+    @Query("SELECT p.postId FROM Post p WHERE p.open = true AND p.postId < :before " +
+            "AND p.user.userId IN :authorIds " +
+            "AND p.user.userId IN (SELECT f.followingUser.userId FROM Follow f WHERE f.user.userId = :userId) " +
+            "ORDER BY p.postId DESC")
+    List<Long> findFollowedOpenPostIdsBefore(@Param("userId") String userId,
+                                             @Param("authorIds") Collection<String> authorIds,
+                                             @Param("before") Long before,
+                                             Pageable pageable);
+
+    @Query("SELECT p.postId FROM Post p WHERE p.open = true " +
+            "AND p.user.userId IN (SELECT f.followingUser.userId FROM Follow f WHERE f.user.userId = :userId) " +
+            "ORDER BY p.postId DESC")
+    List<Long> findFollowedOpenPostIds(@Param("userId") String userId, Pageable pageable);
+
+    // 관리자 내보내기용. MySQL 드라이버가 결과를 한 행씩 스트리밍하도록 fetch size를 Integer.MIN_VALUE로 지정
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("SELECT new com.example.demo.dto.community.post.PostExportDto(" +
+            "p.postId, p.user.userId, p.title, p.content, p.thumbnailImageId, p.open, p.createdAt, " +
+            "COALESCE(ps.viewCount, 0L), COALESCE(ps.likeCount, 0L), COALESCE(ps.commentCount, 0L)) " +
+            "FROM Post p LEFT JOIN PostStats ps ON ps.postId = p.postId ORDER BY p.postId ASC")
+    Stream<PostExportDto> streamAllForExport();
+
 }
@@ -0,0 +1,79 @@
+package com.example.demo.repository.community.post;
+
+import com.example.demo.entity.community.post.PostStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface PostStatsRepository extends JpaRepository<PostStats, Long> {
+
+    // 집계 행이 없는 기존 게시글도 처리할 수 있도록 upsert로 증가시키되, 삭제된 게시글의 집계 행은 만들지 않음
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO post_stats (post_id, view_count) SELECT p.post_id, :delta FROM post p WHERE p.post_id = :postId " +
+            "ON DUPLICATE KEY UPDATE view_count = post_stats.view_count + :delta", nativeQuery = true)
+    int increaseViewCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO post_stats (post_id, like_count) VALUES (:postId, 1) " +
+            "ON DUPLICATE KEY UPDATE like_count = like_count + 1", nativeQuery = true)
+    void increaseLikeCount(@Param("postId") Long postId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PostStats ps SET ps.likeCount = ps.likeCount - 1 WHERE ps.postId = :postId AND ps.likeCount > 0")
+    void decreaseLikeCount(@Param("postId") Long postId);
+
+    // 카운터 도입 전부터 있던 좋아요를 post_like 행 수로 한 번에 채움 (좋아요가 있는 게시글만 대상)
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO post_stats (post_id, like_count) " +
+            "SELECT l.post_id, l.like_count FROM (SELECT pl.post_post_id AS post_id, COUNT(*) AS like_count " +
+            "FROM post_like pl JOIN post p ON p.post_id = pl.post_post_id GROUP BY pl.post_post_id) l " +
+            "ON DUPLICATE KEY UPDATE like_count = l.like_count", nativeQuery = true)
+    int backfillLikeCounts();
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO post_stats (post_id, comment_count) VALUES (:postId, 1) " +
+            "ON DUPLICATE KEY UPDATE comment_count = comment_count + 1", nativeQuery = true)
+    void increaseCommentCount(@Param("postId") Long postId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PostStats ps SET ps.commentCount = ps.commentCount - 1 WHERE ps.postId = :postId AND ps.commentCount > 0")
+    void decreaseCommentCount(@Param("postId") Long postId);
+
+    // 스레드째 삭제된 댓글 수만큼 줄임 (0 아래로 내려가지 않음)
+    @Transactional
+    @Modifying
+    @Query("UPDATE PostStats ps SET ps.commentCount = CASE WHEN ps.commentCount > :count THEN ps.commentCount - :count ELSE 0 END " +
+            "WHERE ps.postId = :postId")
+    void decreaseCommentCountBy(@Param("postId") Long postId, @Param("count") long count);
+
+    // 집계 행이 없는 기존 게시글에 카운터가 0인 행을 만들어 둠 (postId 범위: after 초과 until 이하)
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_stats (post_id) " +
+            "SELECT p.post_id FROM post p WHERE p.post_id > :after AND p.post_id <= :until", nativeQuery = true)
+    int insertMissing(@Param("after") Long after, @Param("until") Long until);
+
+    // 조회/좋아요/댓글 행을 다시 세어 어긋난 카운터만 바로잡고, 바로잡은 행 수를 반환
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE post_stats ps JOIN (" +
+            "SELECT p.post_id, " +
+            "(SELECT COUNT(*) FROM `view` v WHERE v.post_post_id = p.post_id) AS view_total, " +
+            "(SELECT COUNT(*) FROM post_like pl WHERE pl.post_post_id = p.post_id) AS like_total, " +
+            "(SELECT COUNT(*) FROM comment c WHERE c.post_id = p.post_id) AS comment_total " +
+            "FROM post p WHERE p.post_id > :after AND p.post_id <= :until) actual ON actual.post_id = ps.post_id " +
+            "SET ps.view_count = actual.view_total, ps.like_count = actual.like_total, ps.comment_count = actual.comment_total " +
+            "WHERE ps.view_count <> actual.view_total OR ps.like_count <> actual.like_total " +
+            "OR ps.comment_count <> actual.comment_total", nativeQuery = true)
+    int reconcileCounts(@Param("after") Long after, @Param("until") Long until);
+}
@@ -0,0 +1,29 @@
+package com.example.demo.repository.community.post;
+
+import com.example.demo.entity.community.post.S3DeletionTask;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface S3DeletionTaskRepository extends JpaRepository<S3DeletionTask, Long> {
+
+    // 시도 시각이 된 작업을 한 번의 UPDATE로 선점하고 임대 만료 시각까지 다른 노드가 가져가지 못하게 함
+    // (선점한 노드가 중간에 종료되면 임대가 끝난 뒤 다른 노드가 다시 선점)
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE s3_deletion_task SET claim_token = :claimToken, next_attempt_at = :leaseUntil " +
+            "WHERE next_attempt_at <= :now ORDER BY task_id LIMIT :limit", nativeQuery = true)
+    int claimDue(@Param("now") LocalDateTime now,
+                 @Param("leaseUntil") LocalDateTime leaseUntil,
+                 @Param("claimToken") String claimToken,
+                 @Param("limit") int limit);
+
+    List<S3DeletionTask> findByClaimToken(String claimToken);
+}
@@ -0,0 +1,40 @@
+package com.example.demo.repository.community.post;
+
+import com.example.demo.entity.community.post.StoredObject;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StoredObjectRepository extends JpaRepository<StoredObject, Long> {
+
+    Optional<StoredObject> findByContentHash(String contentHash);
+
+    List<StoredObject> findByFilePathIn(Collection<String> filePaths);
+
+    // 아직 참조 중인 객체만 참조 수를 올림. 0이 되어 삭제 중인 객체는 재사용하지 않음
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredObject s SET s.refCount = s.refCount + 1 WHERE s.contentHash = :contentHash AND s.refCount > 0")
+    int acquire(@Param("contentHash") String contentHash);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE StoredObject s SET s.refCount = s.refCount - :count WHERE s.filePath = :filePath")
+    int release(@Param("filePath") String filePath, @Param("count") int count);
+
+    @Query("SELECT s.filePath FROM StoredObject s WHERE s.filePath IN :filePaths AND s.refCount <= 0")
+    List<String> findUnreferencedFilePaths(@Param("filePaths") Collection<String> filePaths);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM StoredObject s WHERE s.filePath IN :filePaths AND s.refCount <= 0")
+    int deleteUnreferenced(@Param("filePaths") Collection<String> filePaths);
+}
@@ -0,0 +1,9 @@
+package com.example.demo.repository.community.post;
+
+import com.example.demo.entity.community.post.View;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ViewRepository extends JpaRepository<View, Long> {
+}
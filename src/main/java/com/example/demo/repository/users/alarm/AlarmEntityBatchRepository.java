@@ -0,0 +1,83 @@
+package com.example.demo.repository.users.alarm;
+
+import com.example.demo.entity.users.Alarm.AlarmEntity;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 알림 엔티티를 JDBC 배치로 한 번에 저장하는 저장소.
+ * AlarmEntity는 IDENTITY 전략이라 JPA saveAll로는 Hibernate가 INSERT를 배치로 묶지 않으므로,
+ * Kafka에서 한 번에 받은 알림들은 JdbcTemplate 배치로 저장하고 생성된 ID를 엔티티에 채워 줍니다.
+ */
+@RequiredArgsConstructor
+@Repository
+public class AlarmEntityBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO alarm_entity (user_id, alarm_type, args, created_at, text) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 알림 엔티티들을 한 트랜잭션에서 배치로 저장하고, 생성된 ID를 각 엔티티에 설정합니다.
+     * ID는 SSE 이벤트 ID로 쓰이므로, 드라이버가 행마다 키를 돌려주지 않으면 저장을 롤백하고 예외를 던집니다.
+     *
+     * @param alarmEntityList 저장할 알림 엔티티 목록
+     * @throws IncorrectResultSizeDataAccessException 생성된 키 수가 저장한 행 수와 다른 경우
+     */
+    @Transactional
+    public void insertAll(List<AlarmEntity> alarmEntityList) {
+        if (alarmEntityList.isEmpty())
+            return;
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        AlarmEntity alarmEntity = alarmEntityList.get(i);
+                        ps.setString(1, alarmEntity.getUser().getUserId());
+                        ps.setString(2, alarmEntity.getAlarmType().name());
+                        ps.setString(3, toJson(alarmEntity));
+                        ps.setTimestamp(4, Timestamp.valueOf(alarmEntity.getCreatedAt()));
+                        ps.setString(5, alarmEntity.getText());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return alarmEntityList.size();
+                    }
+                }, keyHolder);
+
+        List<Map<String, Object>> keyList = keyHolder.getKeyList();
+        if (keyList.size() != alarmEntityList.size())
+            throw new IncorrectResultSizeDataAccessException("ALARM_ID_NOT_RETURNED", alarmEntityList.size(), keyList.size());
+        for (int i = 0; i < keyList.size(); i++) {
+            Object key = keyList.get(i).values().iterator().next();
+            alarmEntityList.get(i).setId(((Number) key).longValue());
+        }
+    }
+
+    private String toJson(AlarmEntity alarmEntity) throws SQLException {
+        try {
+            return objectMapper.writeValueAsString(alarmEntity.getArgs());
+        } catch (JsonProcessingException e) {
+            throw new SQLException("ALARM_ARGS_SERIALIZATION_FAILED", e);
+        }
+    }
+}
@@ -1,10 +1,20 @@
 package com.example.demo.repository.users.alarm;
 
+import com.example.demo.dto.users.alarm.AlarmSettingsDto;
 import com.example.demo.entity.users.Alarm.AlarmSettings;
 import com.example.demo.entity.users.user.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface AlarmSettingsRepository extends JpaRepository<AlarmSettings,Long> {
 
     public AlarmSettings findByUser(User user);
+
+    // 사용자 엔티티를 읽지 않고 알림 설정 값만 조회
+    @Query("SELECT new com.example.demo.dto.users.alarm.AlarmSettingsDto(s.announcementAlarm, s.inquiryAlarm, s.postAlarm, " +
+            "s.commentAlarm, s.likeAlarm, s.messageAlarm) FROM User u JOIN u.alarmSettings s WHERE u.userId = :userId")
+    Optional<AlarmSettingsDto> findSettingsByUserId(@Param("userId") String userId);
 }
@@ -1,20 +1,73 @@
 package com.example.demo.repository.users.alarm;
 
+import com.example.demo.dto.users.alarm.AlarmReplayStatsDto;
 import com.example.demo.event.AlarmMessage;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * 사용자별 SSE 연결과, 재연결(Last-Event-ID) 시 다시 보낼 최근 알람을 보관하는 저장소.
+ * 알람은 사용자별 고정 크기 링 버퍼에 알람 ID 순으로 쌓이므로 재전송 비용은 놓친 알람 수에 비례하고,
+ * 버퍼를 가진 사용자 수도 제한되어 전체 메모리 사용량은 (사용자별 용량 x 최대 사용자 수)를 넘지 않습니다.
+ * 버퍼가 없거나 마지막으로 받은 알람 이후의 알람이 이미 밀려났으면 버퍼로 이어 줄 수 없음을 알려 호출자가 DB에서 다시 읽게 합니다.
+ * 오래 알람이 없던 사용자의 버퍼는 주기적으로 제거합니다.
+ */
 @Slf4j
 @Repository
 public class EmitterRepository {
+
     private final Map<String, SseEmitter> emitters = new ConcurrentHashMap<>();
-    private final Map<String, AlarmMessage> eventCache = new ConcurrentHashMap<>();
+
+    private final int capacityPerUser;
+    private final int maxUsers;
+    private final Duration idleTimeout;
+    private final Clock clock;
+
+    // 접근 순서를 유지해 사용자 수 제한을 넘으면 가장 오래 쓰이지 않은 버퍼부터 제거
+    private final Map<String, ReplayBuffer> replayBuffers;
+
+    private final AtomicLong overwrittenEvents = new AtomicLong();
+    private final AtomicLong evictedUsers = new AtomicLong();
+    private final AtomicLong replayedEvents = new AtomicLong();
+    private final AtomicLong missedReplays = new AtomicLong();
+
+    @Autowired
+    public EmitterRepository(@Value("${alarm.replay.capacity-per-user:100}") int capacityPerUser,
+                             @Value("${alarm.replay.max-users:10000}") int maxUsers,
+                             @Value("${alarm.replay.idle-minutes:30}") long idleMinutes) {
+        this(capacityPerUser, maxUsers, Duration.ofMinutes(idleMinutes), Clock.systemDefaultZone());
+    }
+
+    EmitterRepository(int capacityPerUser, int maxUsers, Duration idleTimeout, Clock clock) {
+        this.capacityPerUser = capacityPerUser;
+        this.maxUsers = maxUsers;
+        this.idleTimeout = idleTimeout;
+        this.clock = clock;
+        this.replayBuffers = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ReplayBuffer> eldest) {
+                if (size() <= EmitterRepository.this.maxUsers)
+                    return false;
+                evictedUsers.incrementAndGet();
+                return true;
+            }
+        };
+    }
 
     public SseEmitter save(String userId, SseEmitter sseEmitter) {
         final String key = getKey(userId);
@@ -23,31 +76,202 @@ public class EmitterRepository {
         return sseEmitter;
     }
 
-    public void saveEventCache(String emitterId, AlarmMessage event) {
-        eventCache.put(emitterId,event);
+    /**
+     * 재연결 시 다시 보낼 수 있도록 사용자에게 보낸 알람을 버퍼에 기록합니다.
+     * 늦게 도착한 알람도 ID 순서 위치에 끼워 넣고, 이미 기록된 알람 ID는 다시 기록하지 않습니다.
+     *
+     * @param userId 수신자 ID
+     * @param event  알람 메시지 (id는 SSE 이벤트 ID로 쓰는 알람 ID)
+     */
+    public void saveEvent(String userId, AlarmMessage event) {
+        if (event.getId() == null)
+            return;
+        ReplayBuffer replayBuffer;
+        synchronized (replayBuffers) {
+            replayBuffer = replayBuffers.computeIfAbsent(userId, id -> new ReplayBuffer(capacityPerUser, event.getId()));
+        }
+        if (replayBuffer.add(event.getId(), event, clock.millis()))
+            overwrittenEvents.incrementAndGet();
     }
 
+    /**
+     * 마지막으로 받은 알람 이후에 기록된 알람을 순서대로 반환합니다.
+     *
+     * @param userId      수신자 ID
+     * @param lastEventId 클라이언트가 마지막으로 받은 알람 ID
+     * @return 놓친 알람 목록, 버퍼가 없거나 놓친 알람 일부가 이미 밀려났으면 빈 Optional
+     */
+    public Optional<List<AlarmMessage>> findEventsAfter(String userId, long lastEventId) {
+        ReplayBuffer replayBuffer;
+        synchronized (replayBuffers) {
+            replayBuffer = replayBuffers.get(userId);
+        }
+        Optional<List<AlarmMessage>> missedEvents = replayBuffer == null
+                ? Optional.empty()
+                : replayBuffer.after(lastEventId, clock.millis());
+        if (missedEvents.isPresent())
+            replayedEvents.addAndGet(missedEvents.get().size());
+        else
+            missedReplays.incrementAndGet();
+        return missedEvents;
+    }
 
     public Optional<SseEmitter> get(String userId) {
         final String key = getKey(userId);
         return Optional.ofNullable(emitters.get(key));
     }
 
-    public Map<String, AlarmMessage> getAllEventCache(String memberId) {
-        return eventCache.entrySet().stream()
-                .filter(entry -> entry.getKey().startsWith(memberId))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    }
-
     public void delete(String userId){
         emitters.remove(getKey(userId));
     }
 
-    public void deleteEventCache(String userId){
-        eventCache.remove(getKey(userId));
+    /**
+     * 주어진 연결이 현재 사용자의 연결일 때만 제거합니다.
+     * 같은 사용자가 다시 연결한 뒤 이전 연결이 끝나도 새 연결은 남겨 둡니다.
+     *
+     * @param userId     사용자 ID
+     * @param sseEmitter 끝난 연결
+     * @return 제거했으면 true
+     */
+    public boolean delete(String userId, SseEmitter sseEmitter) {
+        return emitters.remove(getKey(userId), sseEmitter);
+    }
+
+    /**
+     * 유휴 시간 동안 알람 기록이나 재전송이 없었던 사용자의 버퍼를 제거합니다.
+     */
+    @Scheduled(fixedDelay = 60 * 1000L)
+    public void evictIdleBuffers() {
+        long idleBefore = clock.millis() - idleTimeout.toMillis();
+        int evictedCount = 0;
+        synchronized (replayBuffers) {
+            var iterator = replayBuffers.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().lastAccessAt() < idleBefore) {
+                    iterator.remove();
+                    evictedCount++;
+                }
+            }
+        }
+        evictedUsers.addAndGet(evictedCount);
+        if (evictedCount > 0)
+            log.debug("idle alarm replay buffers evicted - users: {}", evictedCount);
+    }
+
+    /**
+     * 재전송 버퍼의 크기와 누적 통계를 반환합니다.
+     *
+     * @return 재전송 버퍼 통계
+     */
+    public AlarmReplayStatsDto getReplayStats() {
+        List<ReplayBuffer> bufferList;
+        synchronized (replayBuffers) {
+            bufferList = new ArrayList<>(replayBuffers.values());
+        }
+        long bufferedEvents = bufferList.stream().mapToLong(ReplayBuffer::size).sum();
+        return new AlarmReplayStatsDto(bufferList.size(), bufferedEvents, capacityPerUser, maxUsers,
+                overwrittenEvents.get(), evictedUsers.get(), replayedEvents.get(), missedReplays.get());
     }
 
     private String getKey(String userId) {
         return "Emitter:UID:" + userId;
     }
+
+    /**
+     * 알람 ID 오름차순으로 최근 알람을 보관하는 고정 크기 링 버퍼.
+     * 가득 차면 가장 오래된 알람을 밀어내고, 밀려난 알람 ID까지는 버퍼로 재전송할 수 없는 구간으로 기록합니다.
+     */
+    static final class ReplayBuffer {
+
+        private final long[] eventIds;
+        private final AlarmMessage[] events;
+        private int head;           // 가장 오래된 알람의 위치
+        private int size;
+        private long floorId;       // 이 ID보다 큰 알람은 모두 버퍼에 있음
+        private long lastAccessAt;
+
+        ReplayBuffer(int capacity, long firstEventId) {
+            this.eventIds = new long[capacity];
+            this.events = new AlarmMessage[capacity];
+            // 버퍼를 만들기 전의 알람은 알 수 없으므로 첫 알람부터 보장
+            this.floorId = firstEventId - 1;
+        }
+
+        // 가장 오래된 알람을 밀어냈으면 true
+        synchronized boolean add(long eventId, AlarmMessage event, long now) {
+            lastAccessAt = now;
+            // 이미 밀려난 구간의 늦은 알람은 어차피 재전송 대상이 아님
+            if (eventId <= floorId)
+                return false;
+            int position = firstAfter(eventId - 1);
+            if (position < size && eventIds[index(position)] == eventId)
+                return false;
+
+            boolean overwritten = false;
+            if (size == eventIds.length) {
+                // 새 알람이 가장 오래된 알람이면 새 알람을 밀려난 것으로 처리
+                if (position == 0) {
+                    floorId = eventId;
+                    return true;
+                }
+                floorId = eventIds[head];
+                events[head] = null;
+                head = (head + 1) % eventIds.length;
+                size--;
+                position--;
+                overwritten = true;
+            }
+
+            // 뒤쪽 알람을 한 칸씩 밀고 ID 순서 위치에 끼워 넣음 (보통은 맨 뒤라 옮기지 않음)
+            for (int i = size; i > position; i--) {
+                eventIds[index(i)] = eventIds[index(i - 1)];
+                events[index(i)] = events[index(i - 1)];
+            }
+            eventIds[index(position)] = eventId;
+            events[index(position)] = event;
+            size++;
+            return overwritten;
+        }
+
+        synchronized Optional<List<AlarmMessage>> after(long lastEventId, long now) {
+            lastAccessAt = now;
+            if (lastEventId < floorId)
+                return Optional.empty();
+
+            int low = firstAfter(lastEventId);
+            if (low == size)
+                return Optional.of(List.of());
+
+            List<AlarmMessage> missedEvents = new ArrayList<>(size - low);
+            for (int i = low; i < size; i++)
+                missedEvents.add(events[index(i)]);
+            return Optional.of(Collections.unmodifiableList(missedEvents));
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long lastAccessAt() {
+            return lastAccessAt;
+        }
+
+        // eventId보다 큰 첫 알람의 위치를 이진 탐색
+        private int firstAfter(long eventId) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (eventIds[index(mid)] <= eventId)
+                    low = mid + 1;
+                else
+                    high = mid;
+            }
+            return low;
+        }
+
+        private int index(int offset) {
+            return (head + offset) % eventIds.length;
+        }
+    }
 }
@@ -28,6 +28,18 @@ public class RedisUtil {
         return (String) valueOperations.get(key);
     }
 
+    /**
+     * 지정된 키(key)에 해당하는 데이터를 가져오면서 삭제하는 메서드 (GETDEL).
+     * 여러 요청이 같은 키로 동시에 호출해도 데이터는 한 요청에만 반환됩니다.
+     *
+     * @param key Redis에서 가져올 데이터의 키
+     * @return 지정된 키에 대한 데이터, 데이터가 없거나 다른 요청이 먼저 가져갔으면 null
+     */
+    public String getAndDeleteData(String key) {
+        ValueOperations<Object, Object> valueOperations = redisTemplate.opsForValue();
+        return (String) valueOperations.getAndDelete(key);
+    }
+
     /**
      * 지정된 키(key)에 값을 저장하는 메서드.
      *
@@ -0,0 +1,17 @@
+package com.example.demo.service.community.comment;
+
+import com.example.demo.dto.community.comment.CommentDeltaDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 댓글이 생성/수정/삭제되었음을 알리는 애플리케이션 이벤트.
+ * CommentService가 발행하며, 실시간 댓글 스트림처럼 댓글 변경을 따라가야 하는 컴포넌트가 구독합니다.
+ */
+@Getter
+@AllArgsConstructor
+public class CommentChangedEvent {
+
+    private final Long postId;              // 댓글이 달린 게시글 ID
+    private final CommentDeltaDto delta;    // 댓글 변경 내용
+}
@@ -0,0 +1,123 @@
+package com.example.demo.service.community.comment;
+
+import com.example.demo.entity.community.comment.Comment;
+import com.example.demo.repository.community.comment.CommentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스레드 정보가 없는 기존 답글의 rootCommentId를 부모 댓글을 따라 올라가며 채우는 백필러.
+ * 답글을 페이지 단위로 나누어 페이지마다 따로 커밋하므로, 중간에 실패해도 채운 페이지는 남고 다음 기동 때 남은 답글부터 이어서 채웁니다.
+ * 조상 댓글은 한 단계씩 묶어서 조회하며, 여러 노드가 동시에 기동해도 Redis 잠금으로 한 노드만 실행합니다.
+ */
+@Slf4j
+@Component
+public class CommentRootBackfill {
+
+    static final String DONE_KEY = "comment:root-backfill:done";
+    static final String LOCK_KEY = "comment:root-backfill:lock";
+    private static final long LOCK_TTL_MINUTES = 30L;
+    private static final int PAGE_SIZE = 500;
+
+    private final CommentRepository commentRepository;
+    private final RedisTemplate<Object, Object> redisTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public CommentRootBackfill(CommentRepository commentRepository,
+                               RedisTemplate<Object, Object> redisTemplate,
+                               PlatformTransactionManager transactionManager) {
+        this.commentRepository = commentRepository;
+        this.redisTemplate = redisTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 아직 백필을 마치지 않았으면 스레드 정보가 없는 답글을 모두 채웁니다.
+     * 부모가 이미 삭제된 답글은 삭제된 부모 댓글 ID를 스레드로 사용합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillRootCommentIds() {
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(DONE_KEY)))
+                return;
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", LOCK_TTL_MINUTES, TimeUnit.MINUTES)))
+                return;
+
+            int filledCount = 0;
+            int pageCount;
+            do {
+                // 채운 답글은 다음 조회에서 빠지므로 항상 첫 페이지를 조회
+                pageCount = Objects.requireNonNull(transactionTemplate.execute(status -> fillPage()));
+                filledCount += pageCount;
+            } while (pageCount == PAGE_SIZE);
+
+            redisTemplate.opsForValue().set(DONE_KEY, "1");
+            redisTemplate.delete(LOCK_KEY);
+            if (filledCount > 0)
+                log.info("comment thread roots backfilled - replies: {}", filledCount);
+        } catch (DataAccessException e) {
+            // 완료 표시를 남기지 않았으므로 다음 기동 때 남은 답글부터 다시 시도 (잠금은 TTL로 풀림)
+            log.warn("COMMENT_ROOT_BACKFILL_FAILED - {}", e.getMessage());
+        }
+    }
+
+    // 한 페이지의 답글을 채우고 채운 답글 수를 반환
+    private int fillPage() {
+        List<Comment> replyList = commentRepository.findByParentCommentIdIsNotNullAndRootCommentIdIsNullOrderByCommentIdAsc(
+                PageRequest.of(0, PAGE_SIZE));
+        Map<Long, Comment> ancestorMap = loadAncestors(replyList);
+        for (Comment reply : replyList)
+            reply.setRootCommentId(resolveRootCommentId(reply, ancestorMap));
+        return replyList.size();
+    }
+
+    // 답글들의 조상 댓글을 한 단계씩 묶어서 조회 (스레드 정보가 있는 조상에서 멈춤)
+    private Map<Long, Comment> loadAncestors(List<Comment> replyList) {
+        Map<Long, Comment> ancestorMap = new HashMap<>();
+        replyList.forEach(reply -> ancestorMap.put(reply.getCommentId(), reply));
+
+        Set<Long> requestedIds = new HashSet<>(ancestorMap.keySet());
+        Set<Long> nextIds = new HashSet<>();
+        replyList.forEach(reply -> nextIds.add(reply.getParentCommentId()));
+        nextIds.removeAll(requestedIds);
+        while (!nextIds.isEmpty()) {
+            requestedIds.addAll(nextIds);
+            List<Comment> ancestorList = commentRepository.findAllById(nextIds);
+            nextIds.clear();
+            for (Comment ancestor : ancestorList) {
+                ancestorMap.put(ancestor.getCommentId(), ancestor);
+                if (ancestor.getParentCommentId() != null && ancestor.getRootCommentId() == null
+                        && !requestedIds.contains(ancestor.getParentCommentId()))
+                    nextIds.add(ancestor.getParentCommentId());
+            }
+        }
+        return ancestorMap;
+    }
+
+    private static Long resolveRootCommentId(Comment reply, Map<Long, Comment> ancestorMap) {
+        Long ancestorId = reply.getParentCommentId();
+        // 순환 참조가 있는 잘못된 데이터에서 멈추지 않도록 방문한 ID를 기록
+        Set<Long> visited = new HashSet<>();
+        while (visited.add(ancestorId)) {
+            Comment ancestor = ancestorMap.get(ancestorId);
+            if (ancestor == null || ancestor.getParentCommentId() == null)
+                break;
+            if (ancestor.getRootCommentId() != null) {
+                ancestorId = ancestor.getRootCommentId();
+                break;
+            }
+            ancestorId = ancestor.getParentCommentId();
+        }
+        return ancestorId;
+    }
+}
@@ -1,23 +1,32 @@
 package com.example.demo.service.community.comment;
 
 import com.example.demo.converter.DtoConverter;
+import com.example.demo.dto.community.CursorPageDto;
+import com.example.demo.dto.community.comment.CommentDeltaDto;
 import com.example.demo.dto.community.comment.CommentRequestDto;
 import com.example.demo.dto.community.comment.CommentResponseDto;
 import com.example.demo.entity.community.comment.Comment;
 import com.example.demo.entity.community.post.Post;
 import com.example.demo.entity.users.user.User;
 import com.example.demo.exception.ComponentNotFoundException;
+import com.example.demo.exception.InvalidCursorException;
 import com.example.demo.exception.UnAuthorizedUserException;
 import com.example.demo.repository.community.comment.CommentRepository;
 import com.example.demo.repository.community.post.PostRepository;
+import com.example.demo.repository.community.post.PostStatsRepository;
 import com.example.demo.repository.users.user.UserRepository;
+import com.example.demo.service.community.trending.TrendingPostRanker;
 import com.example.demo.service.users.alarm.AlarmService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.*;
 
 /**
@@ -28,10 +37,15 @@ import java.util.*;
 @Service
 public class CommentService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
+    private final PostStatsRepository postStatsRepository;
     private final UserRepository userRepository;
     private final AlarmService alarmService;
+    private final TrendingPostRanker trendingPostRanker;
+    private final ApplicationEventPublisher applicationEventPublisher;
 
     /**
      * 모든 댓글을 조회하여 반환합니다.
@@ -44,38 +58,78 @@ public class CommentService {
     }
 
     /**
-     * 특정 게시글에 달린 댓글들을 조회하여 반환합니다.
-     * 댓글은 생성 시간 순서로 정렬됩니다.
+     * 특정 게시글의 최상위 댓글을 작성 순으로 한 페이지 조회합니다.
+     * 각 댓글에는 스레드의 답글 수가 담기며, 답글은 getReplies로 스레드별로 따로 조회합니다.
      *
      * @param postId 댓글이 달린 게시글의 ID
-     * @return 게시글에 달린 댓글 리스트를 CommentResponseDto로 변환하여 반환
+     * @param cursor 이전 페이지에서 받은 커서 (첫 페이지면 null)
+     * @param size   페이지 크기
+     * @return 최상위 댓글 페이지와 다음 페이지 커서
+     * @throws InvalidCursorException 커서 형식이 올바르지 않은 경우
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<CommentResponseDto> getCommentsByPostId(Long postId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        // 다음 페이지 존재 여부를 확인하기 위해 하나 더 조회
+        List<CommentResponseDto> commentList = commentRepository.findRootComments(postId, parseCursor(cursor),
+                PageRequest.of(0, pageSize + 1));
+        return toPage(commentList, pageSize);
+    }
+
+    /**
+     * 한 스레드의 답글을 작성 순으로 한 페이지 조회합니다.
+     * 답글에 달린 답글도 같은 스레드에 포함되며, parentCommentId로 어느 댓글에 대한 답글인지 알 수 있습니다.
+     *
+     * @param postId        스레드가 속한 게시글의 ID
+     * @param rootCommentId 스레드의 최상위 댓글 ID
+     * @param userId        조회하는 사용자의 ID
+     * @param cursor        이전 페이지에서 받은 커서 (첫 페이지면 null)
+     * @param size          페이지 크기
+     * @return 답글 페이지와 다음 페이지 커서. 스레드가 게시글에 없거나 볼 수 없는 비공개 게시글이면 null
+     * @throws InvalidCursorException 커서 형식이 올바르지 않은 경우
      */
     @Transactional(readOnly = true)
-    public List<CommentResponseDto> getCommentsByPostId(Long postId) {
+    public CursorPageDto<CommentResponseDto> getReplies(Long postId, Long rootCommentId, String userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Long after = parseCursor(cursor);
+
+        // 최상위 댓글이 요청한 게시글에 있고, 작성자가 아닌 사람이 요청하면 공개 게시글일 때만 답글을 반환
+        Optional<Comment> rootComment = commentRepository.findByCommentId(rootCommentId)
+                .filter(comment -> comment.getParentCommentId() == null)
+                .filter(comment -> comment.getPost().getPostId().equals(postId));
+        if (rootComment.isEmpty())
+            return null;
+        Post post = rootComment.get().getPost();
+        if (!post.isOpen() && !post.getUser().getUserId().equalsIgnoreCase(userId))
+            return null;
 
-        // 생성 시간 순서로 정렬된 댓글 리스트 조회
-        List<Comment> commentList = commentRepository.findByPostId(postId)
+        List<CommentResponseDto> replyList = commentRepository.findReplies(rootCommentId, after,
+                        PageRequest.of(0, pageSize + 1))
                 .stream()
-                .sorted(Comparator.comparing(Comment::getCreatedAt))
+                .map(CommentResponseDto::toDto)
                 .toList();
+        return toPage(replyList, pageSize);
+    }
 
-        List<CommentResponseDto> returnList = new ArrayList<>();
-        Map<Long, CommentResponseDto> commentMap = new HashMap<>();
+    // 커서는 마지막으로 받은 댓글 ID
+    private static Long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank())
+            return 0L;
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("INVALID_CURSOR");
+        }
+    }
 
-        for (Comment comment : commentList) {
-            CommentResponseDto commentResponseDto = CommentResponseDto.toDto(comment);
-            commentMap.put(comment.getCommentId(), commentResponseDto);
-            if (comment.getParentCommentId() == null) {
-                returnList.add(commentResponseDto);
-            } else {
-                CommentResponseDto parentDto = commentMap.get(comment.getParentCommentId());
-                // TODO: 대댓글이 달린 댓글을 나중에 삭제할 경우 고려해야 함
-                if (parentDto != null) {
-                    parentDto.getChildComments().add(commentResponseDto);
-                }
-            }
+    private static CursorPageDto<CommentResponseDto> toPage(List<CommentResponseDto> commentList, int pageSize) {
+        String nextCursor = null;
+        if (commentList.size() > pageSize) {
+            commentList = commentList.subList(0, pageSize);
+            nextCursor = String.valueOf(commentList.get(pageSize - 1).getCommentId());
         }
-        return returnList;
+        return CursorPageDto.of(commentList, nextCursor);
     }
 
     /**
@@ -109,6 +163,8 @@ public class CommentService {
                     commentRequestDto.getContent(),
                     commentRequestDto.getParentCommentId()
             );
+            if (comment.getParentCommentId() != null)
+                comment.setRootCommentId(findRootCommentId(comment.getParentCommentId(), postId));
 
             alarmService.createCommentAlarm(
                     userId,
@@ -117,21 +173,36 @@ public class CommentService {
             );
 
             commentRepository.save(comment);
+            postStatsRepository.increaseCommentCount(postId);
+            trendingPostRanker.recordComment(postId);
 
-            return CommentResponseDto.toDto(comment);
+            CommentResponseDto commentResponseDto = CommentResponseDto.toDto(comment);
+            applicationEventPublisher.publishEvent(new CommentChangedEvent(postId, CommentDeltaDto.created(commentResponseDto)));
+            return commentResponseDto;
         } catch (EntityNotFoundException e) {
             log.warn("COMMENT_SAVE_FAILED - {}", e.getLocalizedMessage());
             throw new EntityNotFoundException("COMMENT_SAVE_FAIL_COULD_NOT_FOUND_COMMENT_INFO");
         }
     }
 
+    // 부모 댓글이 속한 스레드의 최상위 댓글 ID를 반환 (다른 게시글의 댓글은 부모로 쓸 수 없음)
+    private Long findRootCommentId(Long parentCommentId, Long postId) {
+        Comment parentComment = commentRepository.findByCommentId(parentCommentId)
+                .filter(comment -> comment.getPost().getPostId().equals(postId))
+                .orElseThrow(() -> new ComponentNotFoundException("PARENT_COMMENT_NOT_FOUND"));
+        return parentComment.getRootCommentId() != null ? parentComment.getRootCommentId() : parentComment.getCommentId();
+    }
+
     /**
-     * 특정 댓글을 수정합니다.
+     * 특정 댓글의 본문을 제자리에서 수정합니다.
+     * 변경 감지로 UPDATE 한 번만 실행되며, 요청에 버전이 있으면 현재 버전과 같을 때만 수정합니다.
+     * 동시에 다른 수정이 먼저 커밋되어도 버전 확인에 걸려 나중 수정은 거절됩니다.
      *
      * @param commentRequestDto 수정할 댓글 정보가 담긴 DTO
      * @param commentId         수정하려는 댓글의 ID
      * @param userId            댓글을 수정하려는 사용자의 ID
      * @return 수정된 댓글을 CommentResponseDto로 변환하여 반환
+     * @throws OptimisticLockingFailureException 다른 수정이 먼저 반영된 경우
      */
     @Transactional
     public CommentResponseDto updateComment(CommentRequestDto commentRequestDto, Long commentId, String userId) {
@@ -141,19 +212,32 @@ public class CommentService {
         if (!comment.getUser().getUserId().equalsIgnoreCase(userId))
             throw new UnAuthorizedUserException("UNAUTHORIZED_USER");
 
+        if (commentRequestDto.getVersion() != null && commentRequestDto.getVersion() != comment.getVersion())
+            throw new OptimisticLockingFailureException("CONFLICTING_UPDATE");
+
+        // 본문이 그대로면 쓰기 없이 현재 상태를 반환
+        if (Objects.equals(comment.getContent(), commentRequestDto.getContent()))
+            return CommentResponseDto.toDto(comment);
+
         comment.setContent(commentRequestDto.getContent());
+        comment.setModifiedAt(LocalDateTime.now());
+        // 증가된 버전을 응답에 담기 위해 바로 반영
+        commentRepository.flush();
 
-        commentRepository.deleteByCommentId(commentId);
-        commentRepository.save(comment);
-        return CommentResponseDto.toDto(comment);
+        CommentResponseDto commentResponseDto = CommentResponseDto.toDto(comment);
+        applicationEventPublisher.publishEvent(new CommentChangedEvent(comment.getPost().getPostId(), CommentDeltaDto.updated(commentResponseDto)));
+        return commentResponseDto;
     }
 
     /**
      * 특정 댓글을 삭제합니다.
+     * 최상위 댓글을 삭제하면 스레드의 답글도 함께 삭제하고 삭제된 수만큼 댓글 수를 줄입니다.
+     * 실시간 스트림에는 최상위 댓글의 삭제만 전달되므로 클라이언트는 그 스레드의 답글도 함께 지웁니다.
      *
      * @param commentId 삭제하려는 댓글의 ID
      * @param userId    댓글을 삭제하려는 사용자의 ID
      */
+    @Transactional
     public void deleteArticleComment(Long commentId, String userId) {
         Comment comment = commentRepository.findByCommentId(commentId).orElseThrow(() -> new ComponentNotFoundException("COMMENT_NOT_FOUND"));
 
@@ -161,6 +245,14 @@ public class CommentService {
         if (!comment.getUser().getUserId().equalsIgnoreCase(userId))
             throw new UnAuthorizedUserException("UNAUTHORIZED_USER");
 
-        commentRepository.deleteByCommentId(commentId);
+        if (commentRepository.deleteByCommentId(commentId) == 1) {
+            // 최상위 댓글이 없어지면 답글을 조회할 방법이 없으므로 스레드째 삭제
+            int replyCount = comment.getParentCommentId() == null ? commentRepository.deleteByRootCommentId(commentId) : 0;
+            if (replyCount > 0)
+                postStatsRepository.decreaseCommentCountBy(comment.getPost().getPostId(), replyCount + 1L);
+            else
+                postStatsRepository.decreaseCommentCount(comment.getPost().getPostId());
+            applicationEventPublisher.publishEvent(new CommentChangedEvent(comment.getPost().getPostId(), CommentDeltaDto.deleted(comment)));
+        }
     }
 }
@@ -0,0 +1,213 @@
+package com.example.demo.service.community.comment;
+
+import com.example.demo.dto.community.comment.CommentDeltaDto;
+import com.example.demo.dto.community.comment.CommentDeltaType;
+import com.example.demo.dto.community.comment.CommentStreamBatchDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.MessagingException;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 댓글 생성/수정/삭제를 게시글별 STOMP 구독 경로(/sub/post/{postId}/comments)로 전달하는 퍼블리셔.
+ * 변경은 트랜잭션이 커밋된 뒤에만 버퍼에 쌓이고, 짧은 주기마다 게시글별로 묶어서 한 번에 전송합니다.
+ * 같은 주기 안에서 같은 댓글이 여러 번 바뀌면 마지막 상태 하나로 합칩니다.
+ * STOMP 구독은 각 노드의 메모리 브로커에 있으므로, 묶음은 Redis 채널로 모든 노드에 보내고 각 노드가 자기 브로커로 전달합니다.
+ * Redis로 보내지 못하면 이 노드의 구독자에게만 전달합니다.
+ * 전송은 전용 스레드에서 돌리므로 다른 @Scheduled 작업이 길어져도 묶음 주기가 밀리지 않습니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class CommentStreamPublisher implements MessageListener {
+
+    private static final long BATCH_WINDOW_MS = 250L;
+    private static final int MAX_BATCH_SIZE = 50;
+    private static final String DESTINATION_FORMAT = "/sub/post/%d/comments";
+    private static final String RELAY_CHANNEL = "comment:stream";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 5L;
+
+    private final SimpMessageSendingOperations simpMessageSendingOperations;
+    private final RedisTemplate<Object, Object> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final ObjectMapper objectMapper;
+
+    // 게시글 ID별 아직 전송하지 않은 변경 (댓글 ID 기준으로 합쳐지며 발생 순서를 유지)
+    private final Map<Long, LinkedHashMap<Long, CommentDeltaDto>> pendingDeltas = new ConcurrentHashMap<>();
+
+    // 공용 스케줄러 스레드와 분리된 전송 전용 스레드
+    private final ScheduledExecutorService flushExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "comment-stream-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    void start() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(RELAY_CHANNEL));
+        flushExecutor.scheduleWithFixedDelay(this::flushSafely, BATCH_WINDOW_MS, BATCH_WINDOW_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 애플리케이션 종료 시 남은 변경을 전송하고 전송 스레드를 정리합니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flushExecutor.shutdown();
+        try {
+            if (!flushExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                flushExecutor.shutdownNow();
+        } catch (InterruptedException e) {
+            flushExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * CommentService가 발행한 댓글 변경 이벤트를 전송 대기열에 추가합니다.
+     *
+     * @param event 댓글 변경 이벤트
+     */
+    @EventListener
+    public void onCommentChanged(CommentChangedEvent event) {
+        publish(event.getPostId(), event.getDelta());
+    }
+
+    /**
+     * 댓글 변경을 전송 대기열에 추가합니다.
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 추가되므로 롤백된 변경은 전달되지 않습니다.
+     *
+     * @param postId 댓글이 달린 게시글 ID
+     * @param delta  댓글 변경 내용
+     */
+    public void publish(Long postId, CommentDeltaDto delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(postId, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(postId, delta);
+            }
+        });
+    }
+
+    private void enqueue(Long postId, CommentDeltaDto delta) {
+        pendingDeltas.compute(postId, (id, deltas) -> {
+            if (deltas == null)
+                deltas = new LinkedHashMap<>();
+            merge(deltas, delta);
+            return deltas.isEmpty() ? null : deltas;
+        });
+    }
+
+    private static void merge(LinkedHashMap<Long, CommentDeltaDto> deltas, CommentDeltaDto delta) {
+        CommentDeltaDto previous = deltas.get(delta.getCommentId());
+        if (previous == null || previous.getType() != CommentDeltaType.CREATED) {
+            // 순서가 최신 변경 기준이 되도록 기존 항목을 지우고 다시 넣음
+            deltas.remove(delta.getCommentId());
+            deltas.put(delta.getCommentId(), delta);
+            return;
+        }
+
+        // 아직 전송하지 않은 새 댓글은 구독자가 모르므로 수정은 생성에 합치고, 삭제되면 둘 다 버림
+        if (delta.getType() == CommentDeltaType.DELETED)
+            deltas.remove(delta.getCommentId());
+        else if (delta.getType() == CommentDeltaType.UPDATED)
+            deltas.put(delta.getCommentId(), CommentDeltaDto.created(delta.getComment()));
+    }
+
+    // 예외가 나가면 이후 주기가 실행되지 않으므로 기록만 하고 다음 주기로 넘김
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("COMMENT_STREAM_FLUSH_FAILED - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 대기 중인 댓글 변경을 게시글별로 묶어 모든 노드로 전송합니다.
+     */
+    public void flush() {
+        for (Long postId : new ArrayList<>(pendingDeltas.keySet())) {
+            LinkedHashMap<Long, CommentDeltaDto> deltas = pendingDeltas.remove(postId);
+            if (deltas == null)
+                continue;
+
+            List<CommentDeltaDto> deltaList = new ArrayList<>(deltas.values());
+            for (int from = 0; from < deltaList.size(); from += MAX_BATCH_SIZE) {
+                List<CommentDeltaDto> batch = deltaList.subList(from, Math.min(from + MAX_BATCH_SIZE, deltaList.size()));
+                relay(new CommentStreamBatchDto(postId, new ArrayList<>(batch)));
+            }
+        }
+    }
+
+    // 이 노드도 채널을 구독하고 있으므로 발행에 성공하면 로컬 구독자에게는 onMessage로 전달됨
+    private void relay(CommentStreamBatchDto batch) {
+        Long receiverCount;
+        try {
+            byte[] channel = RELAY_CHANNEL.getBytes(StandardCharsets.UTF_8);
+            byte[] payload = objectMapper.writeValueAsBytes(batch);
+            receiverCount = redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, payload));
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("COMMENT_STREAM_RELAY_FAILED - postId: {}, {}", batch.getPostId(), e.getMessage());
+            receiverCount = null;
+        }
+
+        if (receiverCount == null || receiverCount == 0L)
+            sendLocally(batch);
+    }
+
+    /**
+     * 다른 노드(또는 이 노드)가 보낸 댓글 변경 묶음을 받아 이 노드의 구독자에게 전달합니다.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CommentStreamBatchDto batch;
+        try {
+            batch = objectMapper.readValue(message.getBody(), CommentStreamBatchDto.class);
+        } catch (IOException e) {
+            log.warn("COMMENT_STREAM_RELAY_INVALID - {}", e.getMessage());
+            return;
+        }
+        sendLocally(batch);
+    }
+
+    private void sendLocally(CommentStreamBatchDto batch) {
+        try {
+            simpMessageSendingOperations.convertAndSend(String.format(DESTINATION_FORMAT, batch.getPostId()), batch);
+        } catch (MessagingException e) {
+            // 실시간 전달은 최선 노력으로 처리하고, 놓친 변경은 클라이언트가 목록을 다시 조회해 맞춤
+            log.warn("COMMENT_STREAM_SEND_FAILED - postId: {}, size: {}, {}", batch.getPostId(), batch.getDeltas().size(), e.getMessage());
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.example.demo.exception.ComponentNotFoundException;
 import com.example.demo.repository.community.block.BlockRepository;
 import com.example.demo.repository.community.follow.FollowRepository;
 import com.example.demo.repository.users.user.UserRepository;
+import com.example.demo.service.community.timeline.TimelineService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -25,6 +26,7 @@ public class CommunityService {
     private final UserRepository userRepository;
     private final FollowRepository followRepository;
     private final BlockRepository blockRepository;
+    private final TimelineService timelineService;
 
     /**
      * 주어진 유저가 다른 유저를 팔로우합니다.
@@ -39,9 +41,11 @@ public class CommunityService {
         User followingUser = userRepository.findById(requestedUserId).orElseThrow(() -> new ComponentNotFoundException("USER_NOT_FOUND"));
 
         // 이미 팔로우 중인 경우 팔로우를 생성하지 않음
-        if (followRepository.findByUserAndFollowingUser(user.getUserId(), requestedUserId).isEmpty())
-            return followRepository.save(Follow.of(user, followingUser));
-        else
+        if (followRepository.findByUserAndFollowingUser(user.getUserId(), requestedUserId).isEmpty()) {
+            Follow follow = followRepository.save(Follow.of(user, followingUser));
+            timelineService.onFollow(user.getUserId(), requestedUserId);
+            return follow;
+        } else
             return null;
     }
 
@@ -77,6 +81,7 @@ public class CommunityService {
         User user = userRepository.findById(userId).orElseThrow(() -> new ComponentNotFoundException("USER_NOT_FOUND"));
         userRepository.findById(requestedUserId).orElseThrow(() -> new ComponentNotFoundException("USER_NOT_FOUND"));
         followRepository.deleteByUser_UserIdAndFollowingUser_UserId(user.getUserId(), requestedUserId);
+        timelineService.onUnfollow(user.getUserId(), requestedUserId);
     }
 
     /**
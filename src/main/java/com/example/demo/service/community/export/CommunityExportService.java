@@ -0,0 +1,102 @@
+package com.example.demo.service.community.export;
+
+import com.example.demo.repository.community.comment.CommentRepository;
+import com.example.demo.repository.community.post.PostRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 관리자 도구용으로 게시글과 댓글 전체를 NDJSON(한 줄에 JSON 하나)으로 내보내는 서비스 클래스.
+ * 테이블 전체를 List로 만들지 않고 DB 커서에서 한 행씩 읽어 바로 출력 스트림에 쓰므로,
+ * 행 수와 관계없이 힙 사용량이 일정하고 응답은 첫 행부터 바로 전송됩니다.
+ */
+@Slf4j
+@Service
+public class CommunityExportService {
+
+    // 일정 행 수마다 버퍼를 비워 클라이언트가 진행 중에도 데이터를 받도록 함
+    private static final int FLUSH_EVERY_ROWS = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public CommunityExportService(PostRepository postRepository,
+                                  CommentRepository commentRepository,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.commentRepository = commentRepository;
+        this.objectMapper = objectMapper;
+        // StreamingResponseBody는 요청 스레드 밖에서 실행되므로 스트림을 여는 동안 읽기 전용 트랜잭션을 직접 염
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * 모든 게시글을 게시글 ID 순으로 NDJSON으로 씁니다.
+     *
+     * @param outputStream 응답 출력 스트림
+     * @return 내보낸 게시글 수
+     * @throws IOException 출력 스트림에 쓰지 못한 경우 (클라이언트 연결 종료 등)
+     */
+    public long exportPosts(OutputStream outputStream) throws IOException {
+        return export("posts", postRepository::streamAllForExport, outputStream);
+    }
+
+    /**
+     * 모든 댓글을 댓글 ID 순으로 NDJSON으로 씁니다.
+     *
+     * @param outputStream 응답 출력 스트림
+     * @return 내보낸 댓글 수
+     * @throws IOException 출력 스트림에 쓰지 못한 경우 (클라이언트 연결 종료 등)
+     */
+    public long exportComments(OutputStream outputStream) throws IOException {
+        return export("comments", commentRepository::streamAllForExport, outputStream);
+    }
+
+    private <T> long export(String target, Supplier<Stream<T>> query, OutputStream outputStream) throws IOException {
+        BufferedOutputStream bufferedOutputStream = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        Long exportedCount;
+        try {
+            exportedCount = transactionTemplate.execute(status -> {
+                try (Stream<T> rows = query.get()) {
+                    return writeRows(rows, bufferedOutputStream);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            log.warn("COMMUNITY_EXPORT_ABORTED - target: {}, {}", target, e.getCause().getMessage());
+            throw e.getCause();
+        }
+        bufferedOutputStream.flush();
+        log.info("community export finished - target: {}, rows: {}", target, exportedCount);
+        return exportedCount == null ? 0L : exportedCount;
+    }
+
+    private <T> long writeRows(Stream<T> rows, OutputStream outputStream) {
+        long count = 0L;
+        try {
+            for (T row : (Iterable<T>) rows::iterator) {
+                outputStream.write(objectMapper.writeValueAsBytes(row));
+                outputStream.write('\n');
+                if (++count % FLUSH_EVERY_ROWS == 0)
+                    outputStream.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.demo.service.community.post;
 
+import com.example.demo.dto.community.post.OrphanSweepResultDto;
 import com.example.demo.entity.community.post.Attachment;
+import com.example.demo.entity.community.post.DerivativeStatus;
 import com.example.demo.entity.community.post.Post;
 import com.example.demo.exception.ComponentNotFoundException;
 import com.example.demo.exception.UnAuthorizedUserException;
@@ -8,12 +10,17 @@ import com.example.demo.repository.community.post.AttachmentFileRepository;
 import com.example.demo.repository.community.post.PostRepository;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -23,30 +30,43 @@ public class AttachmentFileService {
 
     private final AttachmentFileRepository attachmentFileRepository;
     private final PostRepository postRepository;
+    private final S3DeletionQueue s3DeletionQueue;
+    private final ImageDerivativeService imageDerivativeService;
+    private final StoredObjectService storedObjectService;
+
+    // 본문의 마크다운 이미지(![](경로))에서 경로를 추출하는 패턴
+    private static final Pattern IMAGE_PATTERN = Pattern.compile("!\\[\\]\\((.*?)\\)");
 
     /**
      * 주어진 게시물에서 콘텐츠를 사용하여 첨부 파일을 설정합니다.
+     * 본문을 한 번만 훑어 이미지 경로를 모은 뒤 하나의 벌크 UPDATE로 게시물에 연결하므로
+     * 이미지 수와 관계없이 쿼리는 한 번만 실행됩니다.
+     * 다른 게시물에 이미 연결된 첨부 파일, 다른 사용자가 올린 첨부 파일, 존재하지 않는 경로는 무시합니다.
      *
      * @param post 첨부 파일을 설정할 게시물입니다.
      */
     @Transactional
     public void setAttachmentsByContent(Post post) {
+        Set<String> filePathSet = extractImagePaths(post.getContent());
+        if (!filePathSet.isEmpty())
+            attachmentFileRepository.linkToPost(post, post.getUser().getUserId(), filePathSet);
+    }
 
-        List<Attachment> attachmentList = new ArrayList<>();
-
-        // 정규 표현식을 사용하여 content에서 모든 첨부 파일 경로를 추출합니다.
-        String content = post.getContent();
-        // 정규 표현식 패턴 설정
-        String patternString = "!\\[\\]\\((.*?)\\)";
-        Pattern pattern = Pattern.compile(patternString);
-        Matcher matcher = pattern.matcher(content);
+    /**
+     * 본문에 포함된 마크다운 이미지 경로를 등장 순서대로 중복 없이 추출합니다.
+     *
+     * @param content 게시물 본문입니다.
+     * @return 이미지 경로 집합입니다.
+     */
+    static Set<String> extractImagePaths(String content) {
+        Set<String> filePathSet = new LinkedHashSet<>();
+        if (content == null)
+            return filePathSet;
 
-        // 매칭된 문자열 추출
-        while (matcher.find()) {
-            String matchedString = matcher.group(1); // 괄호 안의 내용을 가져옴
-            Attachment attachment = attachmentFileRepository.findByFilePath(matchedString).get();
-            attachment.setPost(post);
-        }
+        Matcher matcher = IMAGE_PATTERN.matcher(content);
+        while (matcher.find())
+            filePathSet.add(matcher.group(1)); // 괄호 안의 내용을 가져옴
+        return filePathSet;
     }
 
     /**
@@ -58,31 +78,210 @@ public class AttachmentFileService {
      * @param userId      이미지를 업로드하는 사용자의 ID입니다.
      */
     public void uploadImageMetadata(String profileImage, MultipartFile image, Long postId, String userId) {
+        uploadImageMetadata(profileImage, image.getOriginalFilename(), image.getSize(), image.getContentType(), postId, userId);
+    }
+
+    /**
+     * presigned URL을 발급하면서 업로드 대기 첨부 파일을 게시물에 연결하지 않은 채로 기록합니다.
+     * 업로드만 하고 완료 요청을 보내지 않아도 이 행이 고아 첨부 파일로 정리되면서 S3 객체 삭제가 예약되므로 객체가 남지 않습니다.
+     *
+     * @param filePath         업로드될 객체의 URL입니다.
+     * @param originalFileName 원본 파일명입니다.
+     * @param fileType         업로드할 Content-Type입니다.
+     * @param userId           업로드하는 사용자의 ID입니다.
+     */
+    @Transactional
+    public void reserveUpload(String filePath, String originalFileName, String fileType, String userId) {
+        attachmentFileRepository.save(Attachment.builder()
+                .filePath(filePath)
+                .originalFileName(originalFileName)
+                .fileSize(0L)
+                .fileType(fileType)
+                .uploaderId(userId)
+                .createdAt(LocalDateTime.now())
+                // 업로드가 확인되기 전에는 파생 이미지를 만들지 않음
+                .derivativeStatus(DerivativeStatus.UNSUPPORTED)
+                .uploadPending(true)
+                .build());
+    }
+
+    /**
+     * S3에 직접 업로드된 이미지의 메타데이터를 데이터베이스에 저장합니다.
+     * 이미지 파일이면 파생 이미지 생성을 백그라운드 워커에 요청하고 바로 반환합니다.
+     * 같은 객체를 공유하는 첨부 파일의 파생 이미지가 이미 있으면 새로 만들지 않고 그대로 사용합니다.
+     * 객체 참조 수는 업로드할 때 이미 올렸으므로, 첨부 파일을 저장하지 못하면 참조를 반납해 객체가 남지 않게 합니다.
+     * presigned URL 발급 때 남긴 업로드 대기 첨부 파일이 있으면 새로 만들지 않고 그 행을 채웁니다.
+     *
+     * @param profileImage     업로드된 이미지의 URL입니다.
+     * @param originalFileName 원본 파일명입니다.
+     * @param fileSize         파일 크기(바이트)입니다.
+     * @param fileType         파일의 Content-Type입니다.
+     * @param postId           이미지와 연관된 게시물의 ID입니다.
+     * @param userId           이미지를 업로드하는 사용자의 ID입니다.
+     */
+    public void uploadImageMetadata(String profileImage, String originalFileName, long fileSize, String fileType,
+                                    Long postId, String userId) {
 
         Attachment attachment = Attachment.builder()
                 .filePath(profileImage)
-                .originalFileName(image.getOriginalFilename())
-                .fileSize(image.getSize())
-                .fileType(image.getContentType())
+                .originalFileName(originalFileName)
+                .fileSize(fileSize)
+                .fileType(fileType)
+                .uploaderId(userId)
+                .createdAt(LocalDateTime.now())
+                .derivativeStatus(isImage(fileType) ? DerivativeStatus.PENDING : DerivativeStatus.UNSUPPORTED)
                 .build();
+        Attachment savedAttachment;
+        try {
+            attachmentFileRepository.findFirstByFilePathAndUploaderIdAndUploadPendingTrue(profileImage, userId)
+                    .ifPresent(reserved -> {
+                        attachment.setFileId(reserved.getFileId());
+                        attachment.setPost(reserved.getPost());
+                        attachment.setCreatedAt(reserved.getCreatedAt());
+                    });
+            if (attachment.getDerivativeStatus() == DerivativeStatus.PENDING) {
+                attachmentFileRepository.findFirstByFilePathAndDerivativeStatus(profileImage, DerivativeStatus.READY)
+                        .ifPresent(existing -> {
+                            attachment.setThumbnailPath(existing.getThumbnailPath());
+                            attachment.setMediumPath(existing.getMediumPath());
+                            attachment.setDerivativeStatus(DerivativeStatus.READY);
+                        });
+            }
+
+            // mongodb에 파일 메타데이터 저장.(s3 url, size, 이름, 타입)
+            savedAttachment = attachmentFileRepository.save(attachment);
+        } catch (RuntimeException e) {
+            Set<String> unreferenced = storedObjectService.release(List.of(profileImage));
+            if (!unreferenced.isEmpty())
+                s3DeletionQueue.enqueue(unreferenced);
+            throw e;
+        }
+        if (savedAttachment.getDerivativeStatus() == DerivativeStatus.PENDING)
+            imageDerivativeService.submit(savedAttachment.getFileId());
+    }
+
+    private static boolean isImage(String fileType) {
+        return fileType != null && fileType.toLowerCase().startsWith("image/");
+    }
+
+    /**
+     * 게시물에서 빠진 첨부 파일을 한 번의 쿼리로 삭제하고, 더 이상 참조되지 않는 객체만 파생 이미지와 함께 S3 삭제를 예약합니다.
+     * S3 삭제는 S3DeletionQueue가 트랜잭션 커밋 이후 백그라운드에서 일괄 처리합니다.
+     *
+     * @param postId    첨부 파일과 연관된 게시물의 ID입니다.
+     * @param filePaths 삭제할 첨부 파일 경로 목록입니다.
+     */
+    @Transactional
+    public void deleteAttachments(Long postId, Collection<String> filePaths) {
+        if (filePaths.isEmpty())
+            return;
+        List<Attachment> attachmentList = attachmentFileRepository.findByPostPostIdAndFilePathIn(postId, filePaths);
+        if (attachmentList.isEmpty())
+            return;
+        attachmentFileRepository.deleteByPostIdAndFilePaths(postId, filePaths);
+        releaseObjects(attachmentList);
+    }
+
+    /**
+     * 게시물의 모든 첨부 파일을 한 번의 쿼리로 삭제하고, 더 이상 참조되지 않는 객체의 S3 삭제를 예약합니다.
+     *
+     * @param post 첨부 파일을 삭제할 게시물입니다.
+     */
+    @Transactional
+    public void deleteAllAttachments(Post post) {
+        List<Attachment> attachmentList = attachmentFileRepository.findByPost(post);
+        if (attachmentList.isEmpty())
+            return;
+        attachmentFileRepository.deleteByPostId(post.getPostId());
+        releaseObjects(attachmentList);
+    }
+
+    /**
+     * 업로드 시간이 기록되기 전에 올라와 게시물에 연결되지 않은 첨부 파일의 업로드 시간을 주어진 시각으로 채웁니다.
+     * 이렇게 하면 이 첨부 파일들도 지금부터 유예 시간이 지난 뒤에야 고아로 정리됩니다.
+     *
+     * @param now 기록할 시각입니다.
+     * @return 업로드 시간을 채운 첨부 파일 수입니다.
+     */
+    @Transactional
+    public int fillMissingUploadTimes(LocalDateTime now) {
+        return attachmentFileRepository.fillMissingCreatedAt(now);
+    }
+
+    /**
+     * 게시물에 연결되지 않은 채 cutoff 이전에 업로드된 첨부 파일을 최대 batchSize개 삭제하고 S3 객체 삭제를 예약합니다.
+     * 에디터에서 이미지를 올린 뒤 게시물을 저장하지 않고 떠난 경우 남는 행과 객체를 정리하기 위해 사용합니다.
+     *
+     * @param cutoff    이 시각 이전에 업로드된 첨부 파일만 삭제합니다.
+     * @param batchSize 한 번에 삭제할 최대 첨부 파일 수입니다.
+     * @return 삭제한 첨부 파일 수와 회수한 바이트 수입니다.
+     */
+    @Transactional
+    public OrphanSweepResultDto deleteOrphanedAttachments(LocalDateTime cutoff, int batchSize) {
+        List<Attachment> orphanList = attachmentFileRepository.findOrphans(cutoff, PageRequest.of(0, batchSize));
+        if (orphanList.isEmpty())
+            return new OrphanSweepResultDto(0, 0L);
+
+        attachmentFileRepository.deleteByFileIds(orphanList.stream().map(Attachment::getFileId).toList());
+        long reclaimedBytes = 0L;
+        Set<String> countedPaths = new LinkedHashSet<>();
+        for (Attachment attachment : releaseObjects(orphanList)) {
+            if (countedPaths.add(attachment.getFilePath()))
+                reclaimedBytes += attachment.getFileSize();
+        }
+        return new OrphanSweepResultDto(orphanList.size(), reclaimedBytes);
+    }
 
-        // mongodb에 파일 메타데이터 저장.(s3 url, size, 이름, 타입)
-        attachmentFileRepository.save(attachment);
+    // 삭제된 첨부 파일의 객체 참조를 반납하고, 참조 수가 0이 된 객체만 파생 이미지와 함께 삭제를 예약
+    private List<Attachment> releaseObjects(List<Attachment> attachmentList) {
+        Set<String> unreferenced = storedObjectService.release(
+                attachmentList.stream().map(Attachment::getFilePath).toList());
+        List<Attachment> deletableList = attachmentList.stream()
+                .filter(attachment -> unreferenced.contains(attachment.getFilePath()))
+                .toList();
+        if (!deletableList.isEmpty())
+            s3DeletionQueue.enqueue(collectObjectPaths(deletableList));
+        return deletableList;
     }
 
     /**
-     * 특정 게시물과 연관된 파일 데이터를 사용자가 권한이 있는 경우 삭제합니다.
+     * 첨부 파일의 원본과 파생 이미지 S3 주소를 중복 없이 모읍니다.
+     * 원본이 작아 원본 주소를 그대로 쓰는 파생 이미지는 한 번만 포함됩니다.
+     *
+     * @param attachments 첨부 파일 목록입니다.
+     * @return 삭제할 S3 주소 집합입니다.
+     */
+    static Set<String> collectObjectPaths(Collection<Attachment> attachments) {
+        Set<String> objectPaths = new LinkedHashSet<>();
+        for (Attachment attachment : attachments) {
+            objectPaths.add(attachment.getFilePath());
+            if (attachment.getThumbnailPath() != null)
+                objectPaths.add(attachment.getThumbnailPath());
+            if (attachment.getMediumPath() != null)
+                objectPaths.add(attachment.getMediumPath());
+        }
+        return objectPaths;
+    }
+
+    /**
+     * 특정 게시물과 연관된 파일 데이터를 사용자가 권한이 있는 경우 삭제하고 S3 객체 삭제를 예약합니다.
+     * 이 게시물에 연결되었거나 사용자가 올리고 아직 연결되지 않은 첨부 파일만 삭제합니다.
      *
      * @param path   삭제할 첨부 파일의 경로입니다.
      * @param postId 첨부 파일과 연관된 게시물의 ID입니다.
      * @param userId 파일을 삭제하려는 사용자의 ID입니다.
      * @return 삭제 작업의 결과를 나타내는 ResponseEntity입니다.
+     * @throws ComponentNotFoundException 게시물 ID가 존재하지 않을 경우
      */
     @Transactional
     public ResponseEntity<?> deleteFileData(String path, Long postId, String userId) {
-        Post post = postRepository.findById(postId).orElseThrow(() -> new IllegalArgumentException("해당하는 글이 존재하지 않습니다."));
+        Post post = postRepository.findById(postId).orElseThrow(() -> new ComponentNotFoundException("POST_NOT_FOUND"));
         if (post.getUser().getUserId().equalsIgnoreCase(userId)) {
-            attachmentFileRepository.deleteByFilePath(path);
+            List<Attachment> attachmentList = attachmentFileRepository.findDeletableByFilePath(path, postId, userId);
+            if (!attachmentList.isEmpty()) {
+                attachmentFileRepository.deleteByFileIds(attachmentList.stream().map(Attachment::getFileId).toList());
+                releaseObjects(attachmentList);
+            }
             return ResponseEntity.ok().body("DELETE_SUCCESS");
         } else {
             throw new UnAuthorizedUserException("COULD_NOT_DELETE_FILE");
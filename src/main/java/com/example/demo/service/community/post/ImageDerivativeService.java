@@ -0,0 +1,205 @@
+package com.example.demo.service.community.post;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.CannedAccessControlList;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PutObjectRequest;
+import com.amazonaws.services.s3.model.S3Object;
+import com.example.demo.entity.community.post.Attachment;
+import com.example.demo.entity.community.post.DerivativeStatus;
+import com.example.demo.repository.community.post.AttachmentFileRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 업로드된 이미지의 파생 이미지(썸네일, 중간 크기)를 요청 스레드 밖에서 만드는 백그라운드 처리기.
+ * 작업은 크기가 고정된 워커 풀과 큐에서 처리되며, 큐가 가득 차면 새 작업을 받지 않고
+ * 첨부 파일을 PENDING 상태로 남겨 두었다가 주기적인 스윕에서 큐에 여유가 생길 때 다시 넣습니다.
+ * 워커는 처리 전에 첨부 파일에 임대 만료 시각을 기록해 작업을 선점하므로, 여러 노드의 스윕이 같은 PENDING 행을 읽어도 한 노드만 처리합니다.
+ */
+@Slf4j
+@Component
+public class ImageDerivativeService {
+
+    static final int THUMBNAIL_WIDTH = 320;
+    static final int MEDIUM_WIDTH = 1080;
+    private static final String DERIVATIVE_PREFIX = "derivatives/";
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+    // 작업 선점 유지 시간 (처리 중 노드가 종료되거나 S3 오류로 PENDING에 남으면 이 시간이 지난 뒤 다시 처리)
+    private static final long LEASE_SECONDS = 5 * 60L;
+
+    private final AmazonS3 amazonS3;
+    private final AttachmentFileRepository attachmentFileRepository;
+    private final PostDetailCache postDetailCache;
+    private final String bucketName;
+    private final ThreadPoolExecutor executor;
+    // 큐에 들어갔거나 처리 중인 첨부 파일 ID (스윕이 같은 작업을 중복으로 넣지 않도록)
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    public ImageDerivativeService(AmazonS3 amazonS3,
+                                  AttachmentFileRepository attachmentFileRepository,
+                                  PostDetailCache postDetailCache,
+                                  @Value("${cloud.aws.s3.bucketName}") String bucketName,
+                                  @Value("${community.image.derivative-workers:2}") int workers,
+                                  @Value("${community.image.derivative-queue-size:100}") int queueSize) {
+        this.amazonS3 = amazonS3;
+        this.attachmentFileRepository = attachmentFileRepository;
+        this.postDetailCache = postDetailCache;
+        this.bucketName = bucketName;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivative-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 첨부 파일의 파생 이미지 생성을 워커 풀에 요청합니다. 호출한 스레드는 기다리지 않습니다.
+     *
+     * @param fileId 첨부 파일 ID
+     * @return 큐에 들어갔으면 true, 이미 처리 중이거나 큐가 가득 찬 경우 false
+     */
+    public boolean submit(Long fileId) {
+        if (!inFlight.add(fileId))
+            return false;
+        try {
+            executor.execute(() -> {
+                try {
+                    process(fileId);
+                } finally {
+                    inFlight.remove(fileId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            // 백프레셔: 작업은 PENDING 상태로 DB에 남아 있으므로 스윕이 나중에 다시 넣음
+            inFlight.remove(fileId);
+            log.debug("IMAGE_DERIVATIVE_QUEUE_FULL - fileId: {}", fileId);
+            return false;
+        }
+    }
+
+    /**
+     * 큐가 가득 차 밀려났거나 재시작으로 처리되지 못한 PENDING 첨부 파일을 큐의 남은 자리만큼 다시 넣습니다.
+     * 다른 노드가 선점 중인 첨부 파일은 임대가 끝날 때까지 넣지 않습니다.
+     */
+    @Scheduled(fixedDelay = 60 * 1000L)
+    public void resubmitPending() {
+        int capacity = executor.getQueue().remainingCapacity();
+        if (capacity == 0 || executor.isShutdown())
+            return;
+
+        List<Long> fileIds = attachmentFileRepository.findClaimableDerivativeFileIds(
+                LocalDateTime.now(), PageRequest.of(0, capacity + inFlight.size()));
+        for (Long fileId : fileIds) {
+            if (inFlight.contains(fileId))
+                continue;
+            if (!submit(fileId))
+                break;
+        }
+    }
+
+    /**
+     * 파생 이미지를 만들어 S3에 올리고 첨부 파일에 경로를 기록합니다.
+     * 디코딩할 수 없는 파일은 UNSUPPORTED/FAILED로 표시하고, S3 통신 오류는 PENDING으로 남겨 임대가 끝난 뒤 스윕에서 다시 시도합니다.
+     * 다른 노드가 이미 선점한 첨부 파일은 처리하지 않습니다.
+     *
+     * @param fileId 첨부 파일 ID
+     */
+    void process(Long fileId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (attachmentFileRepository.claimDerivative(fileId, now, now.plusSeconds(LEASE_SECONDS)) == 0)
+            return;
+
+        Attachment attachment = attachmentFileRepository.findByFileId(fileId).orElse(null);
+        if (attachment == null || attachment.getDerivativeStatus() != DerivativeStatus.PENDING)
+            return;
+
+        String originalAddress = attachment.getFilePath();
+        try {
+            String key = S3ImageService.getKeyFromImageAddress(originalAddress);
+            BufferedImage source;
+            try (S3Object s3Object = amazonS3.getObject(bucketName, key);
+                 InputStream inputStream = s3Object.getObjectContent()) {
+                source = ImageResizer.read(inputStream, MEDIUM_WIDTH);
+            }
+            if (source == null) {
+                attachmentFileRepository.updateDerivatives(fileId, null, null, DerivativeStatus.UNSUPPORTED);
+                return;
+            }
+
+            // 중간 크기를 먼저 만들고 썸네일은 중간 크기에서 축소해 연산량을 줄임
+            BufferedImage medium = ImageResizer.scaleToWidth(source, MEDIUM_WIDTH);
+            String mediumPath = store(key, "medium", source, medium, originalAddress);
+            BufferedImage thumbnail = ImageResizer.scaleToWidth(medium, THUMBNAIL_WIDTH);
+            String thumbnailPath = store(key, "thumbnail", source, thumbnail, originalAddress);
+
+            attachmentFileRepository.updateDerivatives(fileId, thumbnailPath, mediumPath, DerivativeStatus.READY);
+            if (attachment.getPost() != null)
+                postDetailCache.invalidate(attachment.getPost().getPostId());
+        } catch (SdkClientException e) {
+            log.warn("IMAGE_DERIVATIVE_S3_ERROR - fileId: {}, {}", fileId, e.getMessage());
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("IMAGE_DERIVATIVE_FAILED - fileId: {}, {}", fileId, e.getMessage());
+            attachmentFileRepository.updateDerivatives(fileId, null, null, DerivativeStatus.FAILED);
+        }
+    }
+
+    // 원본이 이미 충분히 작아 축소되지 않았으면(서브샘플링도 되지 않음) 원본 주소를 그대로 쓰고, 아니면 인코딩해 derivatives/{variant}/ 아래에 올림
+    private String store(String key, String variant, BufferedImage source, BufferedImage image, String originalAddress)
+            throws IOException {
+        if (image == source)
+            return originalAddress;
+
+        ImageResizer.Encoded encoded = ImageResizer.encode(image);
+        String derivativeKey = derivativeKey(key, variant, encoded.extension());
+
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentLength(encoded.bytes().length);
+        metadata.setContentType(encoded.contentType());
+        amazonS3.putObject(new PutObjectRequest(bucketName, derivativeKey, new ByteArrayInputStream(encoded.bytes()), metadata)
+                .withCannedAcl(CannedAccessControlList.PublicRead));
+        return amazonS3.getUrl(bucketName, derivativeKey).toString();
+    }
+
+    static String derivativeKey(String key, String variant, String extension) {
+        int dot = key.lastIndexOf('.');
+        String baseName = dot > key.lastIndexOf('/') && dot > 0 ? key.substring(0, dot) : key;
+        return DERIVATIVE_PREFIX + variant + "/" + baseName + "." + extension;
+    }
+
+    /**
+     * 애플리케이션 종료 시 워커 풀을 정리합니다. 끝나지 않은 작업은 PENDING으로 남아 다음 기동 후 스윕에서 처리됩니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                executor.shutdownNow();
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.service.community.post;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * 첨부 이미지의 파생 이미지를 만드는 유틸리티 클래스.
+ * 원본을 디코딩할 때 목표 크기에 맞춰 서브샘플링하므로 큰 원본도 전체 해상도로 메모리에 올리지 않습니다.
+ */
+final class ImageResizer {
+
+    // 디코딩을 허용하는 최대 원본 픽셀 수 (압축 폭탄 방지)
+    static final long MAX_SOURCE_PIXELS = 50_000_000L;
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private ImageResizer() {
+    }
+
+    /**
+     * 인코딩된 파생 이미지.
+     */
+    record Encoded(byte[] bytes, String contentType, String extension, int width, int height) {
+    }
+
+    /**
+     * 이미지를 디코딩합니다. 원본 너비가 targetWidth의 두 배 이상이면 디코딩 단계에서 서브샘플링합니다.
+     *
+     * @param inputStream 원본 이미지 스트림
+     * @param targetWidth 만들려는 파생 이미지 중 가장 큰 너비
+     * @return 디코딩된 이미지, 읽을 수 없는 형식이면 null
+     * @throws IOException 스트림을 읽지 못했거나 원본이 너무 큰 경우
+     */
+    static BufferedImage read(InputStream inputStream, int targetWidth) throws IOException {
+        try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(inputStream)) {
+            if (imageInputStream == null)
+                return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+            if (!readers.hasNext())
+                return null;
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInputStream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > MAX_SOURCE_PIXELS)
+                    throw new IOException("IMAGE_TOO_LARGE: " + width + "x" + height);
+
+                ImageReadParam param = reader.getDefaultReadParam();
+                int subsampling = Math.max(1, width / (targetWidth * 2));
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 너비가 maxWidth를 넘지 않도록 비율을 유지해 축소합니다. 이미 작은 이미지는 확대하지 않고 그대로 반환합니다.
+     *
+     * @param source   원본 이미지
+     * @param maxWidth 최대 너비
+     * @return 축소된 이미지
+     */
+    static BufferedImage scaleToWidth(BufferedImage source, int maxWidth) {
+        if (source.getWidth() <= maxWidth)
+            return source;
+
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * maxWidth / source.getWidth()));
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage scaled = new BufferedImage(maxWidth, height, type);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, maxWidth, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * 투명도가 있으면 PNG, 없으면 JPEG로 인코딩합니다.
+     *
+     * @param image 인코딩할 이미지
+     * @return 인코딩 결과
+     * @throws IOException 인코딩에 실패한 경우
+     */
+    static Encoded encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (image.getColorModel().hasAlpha()) {
+            ImageIO.write(image, "png", out);
+            return new Encoded(out.toByteArray(), "image/png", "png", image.getWidth(), image.getHeight());
+        }
+
+        BufferedImage rgb = toRgb(image);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return new Encoded(out.toByteArray(), "image/jpeg", "jpg", rgb.getWidth(), rgb.getHeight());
+    }
+
+    // JPEG 인코더가 처리할 수 있도록 RGB 이미지로 변환 (그레이스케일, 인덱스 컬러 등)
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_3BYTE_BGR)
+            return image;
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+}
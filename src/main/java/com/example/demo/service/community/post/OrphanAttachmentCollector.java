@@ -0,0 +1,114 @@
+package com.example.demo.service.community.post;
+
+import com.example.demo.dto.community.post.OrphanSweepResultDto;
+import com.example.demo.dto.community.post.OrphanSweepStatsDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 게시물에 연결되지 않은 채 남은 첨부 파일을 정리하는 스케줄러.
+ * 에디터에서 업로드만 하고 게시물을 저장하지 않으면 첨부 파일 행과 S3 객체가 계속 남으므로,
+ * 유예 시간이 지난 고아 첨부 파일을 주기마다 한 묶음씩만 삭제해 일반 요청과 DB/S3 자원을 다투지 않게 합니다.
+ * 묶음이 가득 차면 다음 주기에 이어서 정리하고, 남은 고아가 없으면 한 번의 정리가 끝난 것으로 보고 결과를 기록합니다.
+ * 업로드 시간이 없는 기존 첨부 파일은 기동 시 현재 시각을 채워, 바로 삭제하지 않고 유예 시간을 준 뒤 정리합니다.
+ */
+@Slf4j
+@Component
+public class OrphanAttachmentCollector {
+
+    private final AttachmentFileService attachmentFileService;
+    private final Duration gracePeriod;
+    private final int batchSize;
+    private final Clock clock;
+
+    // 진행 중인 정리 작업의 누적 값
+    private long sweepDeletedCount;
+    private long sweepReclaimedBytes;
+
+    private LocalDateTime lastSweepFinishedAt;
+    private long lastDeletedCount;
+    private long lastReclaimedBytes;
+    private long totalDeletedCount;
+    private long totalReclaimedBytes;
+
+    @Autowired
+    public OrphanAttachmentCollector(AttachmentFileService attachmentFileService,
+                                     @Value("${community.attachment.orphan-grace-hours:24}") long graceHours,
+                                     @Value("${community.attachment.orphan-batch-size:100}") int batchSize) {
+        this(attachmentFileService, Duration.ofHours(graceHours), batchSize, Clock.systemDefaultZone());
+    }
+
+    OrphanAttachmentCollector(AttachmentFileService attachmentFileService, Duration gracePeriod, int batchSize, Clock clock) {
+        this.attachmentFileService = attachmentFileService;
+        this.gracePeriod = gracePeriod;
+        this.batchSize = batchSize;
+        this.clock = clock;
+    }
+
+    /**
+     * 업로드 시간이 없는 미연결 첨부 파일에 현재 시각을 기록합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillMissingUploadTimes() {
+        try {
+            int filledCount = attachmentFileService.fillMissingUploadTimes(LocalDateTime.now(clock));
+            if (filledCount > 0)
+                log.info("ORPHAN_ATTACHMENT_UPLOAD_TIME_FILLED - count: {}", filledCount);
+        } catch (DataAccessException e) {
+            // 채우지 못한 행은 고아 조회에 걸리지 않으므로 다음 기동 때 다시 시도
+            log.warn("ORPHAN_ATTACHMENT_UPLOAD_TIME_FILL_FAILED - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 유예 시간이 지난 고아 첨부 파일을 한 묶음 삭제합니다.
+     */
+    @Scheduled(fixedDelay = 30 * 1000L)
+    public synchronized void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(gracePeriod);
+        OrphanSweepResultDto result;
+        try {
+            result = attachmentFileService.deleteOrphanedAttachments(cutoff, batchSize);
+        } catch (DataAccessException e) {
+            log.warn("ORPHAN_ATTACHMENT_SWEEP_FAILED - {}", e.getMessage());
+            return;
+        }
+
+        sweepDeletedCount += result.getDeletedCount();
+        sweepReclaimedBytes += result.getReclaimedBytes();
+        totalDeletedCount += result.getDeletedCount();
+        totalReclaimedBytes += result.getReclaimedBytes();
+
+        // 묶음이 가득 찼으면 남은 고아가 더 있을 수 있으므로 다음 주기에 이어서 정리
+        if (result.getDeletedCount() >= batchSize)
+            return;
+
+        if (sweepDeletedCount > 0)
+            log.info("ORPHAN_ATTACHMENT_SWEEP - deleted: {}, reclaimedBytes: {}", sweepDeletedCount, sweepReclaimedBytes);
+        lastSweepFinishedAt = LocalDateTime.now(clock);
+        lastDeletedCount = sweepDeletedCount;
+        lastReclaimedBytes = sweepReclaimedBytes;
+        sweepDeletedCount = 0;
+        sweepReclaimedBytes = 0;
+    }
+
+    /**
+     * 마지막 정리 작업의 결과와 기동 이후 누적 통계를 반환합니다.
+     *
+     * @return 고아 첨부 파일 정리 통계
+     */
+    public synchronized OrphanSweepStatsDto getStats() {
+        return new OrphanSweepStatsDto(lastSweepFinishedAt, lastDeletedCount, lastReclaimedBytes,
+                totalDeletedCount, totalReclaimedBytes);
+    }
+}
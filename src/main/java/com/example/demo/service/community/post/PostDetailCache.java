@@ -0,0 +1,182 @@
+package com.example.demo.service.community.post;
+
+import com.example.demo.dto.community.post.PostCacheStatsDto;
+import com.example.demo.dto.community.post.PostResponseDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 게시글 상세 응답을 메모리에 보관하는 read-through 캐시.
+ * 항목 수와 TTL로 제한하며, 같은 게시글에 대한 동시 미스는 하나의 로드로 합쳐집니다.
+ * 게시글 수정/삭제, 좋아요 변경 시 커밋된 뒤 해당 게시글 항목을 무효화하고, 조회수 반영은 항목의 조회수만 고칩니다.
+ * 응답에 포함된 조회 기록 목록은 조회수 반영마다 무효화하지 않으므로 TTL이 지나 다시 읽을 때 갱신됩니다.
+ */
+@Component
+public class PostDetailCache {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    // 접근 순서 LinkedHashMap으로 가장 오래 사용되지 않은 항목부터 제거
+    private final LinkedHashMap<Long, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // 게시글 ID별 진행 중인 로드
+    private final Map<Long, CompletableFuture<PostResponseDto>> loadingPosts = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder evictionCount = new LongAdder();
+
+    @Autowired
+    public PostDetailCache(@Value("${community.post-cache.max-size:1000}") int maxSize,
+                           @Value("${community.post-cache.ttl-seconds:60}") long ttlSeconds) {
+        this(maxSize, ttlSeconds * 1000L, Clock.systemUTC());
+    }
+
+    PostDetailCache(int maxSize, long ttlMillis, Clock clock) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * 캐시된 게시글 응답을 반환하고, 없으면 loader로 읽어 캐시에 넣습니다.
+     * 같은 게시글을 동시에 요청한 스레드는 먼저 시작된 로드의 결과를 함께 기다립니다.
+     *
+     * @param postId 게시글 ID
+     * @param loader 캐시 미스 시 게시글 응답을 만드는 함수
+     * @return 게시글 응답
+     */
+    public PostResponseDto get(Long postId, Supplier<PostResponseDto> loader) {
+        PostResponseDto cached = getIfPresent(postId);
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+        missCount.increment();
+
+        CompletableFuture<PostResponseDto> loading = new CompletableFuture<>();
+        CompletableFuture<PostResponseDto> existing = loadingPosts.putIfAbsent(postId, loading);
+        if (existing != null)
+            return await(existing);
+
+        try {
+            loadCount.increment();
+            PostResponseDto loaded = loader.get();
+            store(postId, loading, loaded);
+            loading.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            loadingPosts.remove(postId, loading);
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 게시글 항목과 진행 중인 로드를 무효화합니다.
+     * 무효화 이전에 시작된 로드의 결과는 캐시에 저장되지 않습니다.
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 무효화하므로 커밋 전의 값을 다시 읽어 캐시에 남기지 않습니다.
+     *
+     * @param postId 게시글 ID
+     */
+    public void invalidate(Long postId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(postId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(postId);
+            }
+        });
+    }
+
+    /**
+     * DB에 반영된 조회수만큼 캐시된 항목의 조회수를 늘립니다. 항목이 없으면 아무것도 하지 않습니다.
+     * 반영 전에 시작된 로드는 반영 전 조회수를 읽었을 수 있으므로 결과를 캐시에 저장하지 않습니다.
+     *
+     * @param postId 게시글 ID
+     * @param delta  DB에 반영된 조회수
+     */
+    public synchronized void addViewCount(Long postId, long delta) {
+        loadingPosts.remove(postId);
+        CacheEntry entry = entries.get(postId);
+        if (entry == null)
+            return;
+        PostResponseDto value = entry.value();
+        entries.put(postId, new CacheEntry(value.withCounts(value.getViewCount() + delta, value.getLikeCount()), entry.expiresAt()));
+    }
+
+    private synchronized void evict(Long postId) {
+        entries.remove(postId);
+        loadingPosts.remove(postId);
+    }
+
+    /**
+     * 캐시 적중률 등 누적 통계를 반환합니다.
+     *
+     * @return 캐시 통계
+     */
+    public PostCacheStatsDto getStats() {
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+        return new PostCacheStatsDto(hitCount.sum(), missCount.sum(), loadCount.sum(), evictionCount.sum(), size);
+    }
+
+    private synchronized PostResponseDto getIfPresent(Long postId) {
+        CacheEntry entry = entries.get(postId);
+        if (entry == null)
+            return null;
+        if (entry.expiresAt() <= clock.millis()) {
+            entries.remove(postId);
+            evictionCount.increment();
+            return null;
+        }
+        return entry.value();
+    }
+
+    private synchronized void store(Long postId, CompletableFuture<PostResponseDto> loading, PostResponseDto value) {
+        // 로드 중에 무효화되었다면 오래된 값이므로 저장하지 않음
+        if (!loadingPosts.remove(postId, loading) || value == null)
+            return;
+
+        entries.put(postId, new CacheEntry(value, clock.millis() + ttlMillis));
+        Iterator<CacheEntry> iterator = entries.values().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictionCount.increment();
+        }
+    }
+
+    private static PostResponseDto await(CompletableFuture<PostResponseDto> loading) {
+        try {
+            return loading.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    private record CacheEntry(PostResponseDto value, long expiresAt) {
+    }
+}
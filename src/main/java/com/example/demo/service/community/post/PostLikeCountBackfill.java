@@ -0,0 +1,51 @@
+package com.example.demo.service.community.post;
+
+import com.example.demo.repository.community.post.PostStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * post_stats의 좋아요 수를 카운터 도입 전부터 있던 post_like 행 수로 한 번 채우는 백필러.
+ * 좋아요 카운터는 새 좋아요/취소 때만 증감하므로, 기존 게시글은 백필 전까지 0으로 보입니다.
+ * 여러 노드가 동시에 기동해도 Redis 잠금으로 한 노드만 실행하고, 끝나면 완료 표시를 남겨 다시 실행하지 않습니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class PostLikeCountBackfill {
+
+    static final String DONE_KEY = "post-stats:like-count-backfill:done";
+    static final String LOCK_KEY = "post-stats:like-count-backfill:lock";
+    private static final long LOCK_TTL_MINUTES = 30L;
+
+    private final PostStatsRepository postStatsRepository;
+    private final RedisTemplate<Object, Object> redisTemplate;
+
+    /**
+     * 아직 백필하지 않았으면 게시글별 좋아요 수를 post_like 행 수로 맞춥니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLikeCounts() {
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(DONE_KEY)))
+                return;
+            if (!Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, "1", LOCK_TTL_MINUTES, TimeUnit.MINUTES)))
+                return;
+
+            int updatedCount = postStatsRepository.backfillLikeCounts();
+            redisTemplate.opsForValue().set(DONE_KEY, "1");
+            redisTemplate.delete(LOCK_KEY);
+            log.info("post like counts backfilled - rows: {}", updatedCount);
+        } catch (DataAccessException e) {
+            // 완료 표시를 남기지 않았으므로 다음 기동 때 다시 시도 (잠금은 TTL로 풀림)
+            log.warn("POST_LIKE_COUNT_BACKFILL_FAILED - {}", e.getMessage());
+        }
+    }
+}
@@ -1,23 +1,33 @@
 package com.example.demo.service.community.post;
 
-import com.example.demo.converter.DtoConverter;
+import com.example.demo.dto.community.CursorPageDto;
+import com.example.demo.dto.community.post.PostCacheStatsDto;
+import com.example.demo.dto.community.post.PostFeedCursor;
 import com.example.demo.dto.community.post.PostRequestDto;
 import com.example.demo.dto.community.post.PostResponseDto;
+import com.example.demo.dto.community.post.PostSummaryDto;
 import com.example.demo.entity.community.post.Attachment;
 import com.example.demo.entity.community.post.Post;
-import com.example.demo.entity.community.post.PostLike;
-import com.example.demo.entity.community.post.View;
+import com.example.demo.entity.community.post.PostStats;
 import com.example.demo.entity.users.user.User;
 import com.example.demo.exception.ComponentNotFoundException;
+import com.example.demo.exception.InvalidCursorException;
 import com.example.demo.exception.UnAuthorizedUserException;
 import com.example.demo.repository.community.post.PostLikeRepository;
 import com.example.demo.repository.community.post.PostRepository;
+import com.example.demo.repository.community.post.PostStatsRepository;
 import com.example.demo.repository.users.user.UserRepository;
+import com.example.demo.service.community.search.PostSearchService;
+import com.example.demo.service.community.timeline.TimelineService;
+import com.example.demo.service.community.trending.TrendingPostRanker;
 import com.example.demo.service.users.alarm.AlarmService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -25,12 +35,19 @@ import java.util.stream.Collectors;
 @Service
 public class PostService {
 
+    private static final int MAX_FEED_SIZE = 50;
+
     private final PostRepository postRepository;
     private final UserRepository userRepository;
     private final PostLikeRepository postLikeRepository;
     private final AttachmentFileService attachmentFileService;
-    private final S3ImageService s3ImageService;
     private final AlarmService alarmService;
+    private final PostStatsRepository postStatsRepository;
+    private final ViewCountBuffer viewCountBuffer;
+    private final PostSearchService postSearchService;
+    private final TrendingPostRanker trendingPostRanker;
+    private final TimelineService timelineService;
+    private final PostDetailCache postDetailCache;
 
     /**
      * 새 게시글을 생성합니다.
@@ -44,12 +61,15 @@ public class PostService {
     public PostResponseDto createPost(PostRequestDto postRequestDto, String userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new ComponentNotFoundException("USER_NOT_FOUND"));
         Post post = postRepository.save(postRequestDto.toEntity(user));
+        postStatsRepository.save(PostStats.of(post.getPostId()));
         attachmentFileService.setAttachmentsByContent(post);
+        postSearchService.indexPost(post);
+        timelineService.fanOutPost(post);
 
         // 새 게시글 생성에 대해 이 사용자를 팔로우하는 사용자에게 알림 생성
         alarmService.createFollowersCreatePostAlarm(post.getPostId(), post.getUser().getUserId());
 
-        return PostResponseDto.toDto(post);
+        return PostResponseDto.toDto(post, 0L, 0L);
     }
 
     /**
@@ -68,33 +88,128 @@ public class PostService {
         if (!post.getUser().getUserId().equalsIgnoreCase(userId))
             throw new UnAuthorizedUserException("UNAUTHORIZED_USER");
 
-        // 게시글 수정 시 삭제된 파일을 확인하기 위해 해당 게시글에 있는 모든 이미지 경로 불러오기
-        List<String> filePathList = attachmentFileService.getAllFilePathsByPostId(postId, userId);
-
-        // 수정된 게시글의 본문에 이미지가 존재하는지 확인하고 존재하지 않으면 S3와 MongoDB에서 삭제
-        filePathList.forEach(filePath -> {
-            if (!postRequestDto.getContent().contains(filePath)) {
-                s3ImageService.deleteImageFromS3(filePath);
-                attachmentFileService.deleteFileData(filePath, postId, userId);
-            }
-        });
+        // 수정된 게시글의 본문에서 빠진 이미지는 한 번에 삭제하고 S3 삭제는 백그라운드 큐에 맡김
+        List<String> removedFilePathList = attachmentFileService.getAttachmentsByPost(post).stream()
+                .map(Attachment::getFilePath)
+                .filter(filePath -> !postRequestDto.getContent().contains(filePath))
+                .toList();
+        attachmentFileService.deleteAttachments(postId, removedFilePathList);
 
         List<Attachment> attachmentList = attachmentFileService.getAttachmentsByPost(post);
         post = postRepository.save(Post.of(post, postRequestDto, attachmentList));
-        return PostResponseDto.toDto(post);
+        // 수정하면서 새로 추가된 이미지도 게시글에 연결
+        attachmentFileService.setAttachmentsByContent(post);
+        postDetailCache.invalidate(postId);
+        postSearchService.indexPost(post);
+        // 비공개로 바뀐 게시글은 인기 순위에서 뺌
+        if (!post.isOpen())
+            trendingPostRanker.remove(postId);
+        return toResponseDto(post);
     }
 
     /**
-     * 모든 게시글을 조회합니다.
+     * 공개 게시글 피드를 커서 기반으로 조회합니다.
+     * (createdAt, postId) 내림차순 keyset 페이지네이션을 사용하므로 게시글 수와 무관하게 한 페이지만 조회합니다.
      *
-     * @return 모든 게시글의 응답 데이터 리스트
+     * @param cursor 이전 페이지에서 받은 커서 (첫 페이지면 null)
+     * @param size   페이지 크기
+     * @return 게시글 피드 페이지와 다음 페이지 커서
+     * @throws InvalidCursorException 커서 형식이 올바르지 않은 경우
      */
-    public List<PostResponseDto> getAllPosts() {
-        return DtoConverter.convertEntityListToDtoList(postRepository.findAll(),PostResponseDto::toDto);
+    public CursorPageDto<PostSummaryDto> getPostFeed(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+        // 다음 페이지 존재 여부를 확인하기 위해 하나 더 조회
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<PostSummaryDto> postList;
+        if (cursor == null || cursor.isBlank()) {
+            postList = postRepository.findOpenFeed(pageable);
+        } else {
+            PostFeedCursor feedCursor = PostFeedCursor.decode(cursor);
+            postList = postRepository.findOpenFeedBefore(feedCursor.getCreatedAt(), feedCursor.getPostId(), pageable);
+        }
+
+        return toSummaryPage(postList, pageSize);
+    }
+
+    // pageSize + 1개까지 조회한 목록을 한 페이지로 자르고, 더 남아 있으면 마지막 게시글로 다음 커서를 만듦
+    private CursorPageDto<PostSummaryDto> toSummaryPage(List<PostSummaryDto> postList, int pageSize) {
+        String nextCursor = null;
+        if (postList.size() > pageSize) {
+            postList = postList.subList(0, pageSize);
+            PostSummaryDto last = postList.get(pageSize - 1);
+            nextCursor = new PostFeedCursor(last.getCreatedAt(), last.getPostId()).encode();
+        }
+
+        return CursorPageDto.of(addPendingViewCounts(postList), nextCursor);
+    }
+
+    /**
+     * 팔로우한 작성자의 공개 게시글로 구성된 홈 피드를 최신순으로 조회합니다.
+     *
+     * @param userId 조회하는 사용자의 ID
+     * @param cursor 이전 페이지에서 받은 커서 (첫 페이지면 null)
+     * @param size   페이지 크기
+     * @return 홈 피드 페이지와 다음 페이지 커서
+     * @throws InvalidCursorException 커서 형식이 올바르지 않은 경우
+     */
+    public CursorPageDto<PostSummaryDto> getHomeFeed(String userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+
+        Long before = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                before = Long.parseLong(cursor);
+            } catch (NumberFormatException e) {
+                throw new InvalidCursorException("INVALID_CURSOR");
+            }
+        }
+
+        // 다음 페이지 존재 여부를 확인하기 위해 하나 더 조회
+        List<Long> postIdList = timelineService.getTimelinePostIds(userId, before, pageSize + 1);
+        String nextCursor = null;
+        if (postIdList.size() > pageSize) {
+            postIdList = postIdList.subList(0, pageSize);
+            nextCursor = String.valueOf(postIdList.get(pageSize - 1));
+        }
+
+        return CursorPageDto.of(findSummariesInOrder(postIdList), nextCursor);
+    }
+
+    /**
+     * 게시글 제목과 본문에서 검색어를 찾아 관련도 순으로 조회합니다.
+     *
+     * @param query 검색어
+     * @param page  페이지 번호 (0부터 시작)
+     * @param size  페이지 크기
+     * @return 관련도 순으로 정렬된 게시글 요약 리스트
+     */
+    public List<PostSummaryDto> searchPosts(String query, int page, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+        List<Long> postIdList = postSearchService.searchPostIds(query, Math.max(page, 0), pageSize);
+        return findSummariesInOrder(postIdList);
+    }
+
+    /**
+     * 조회수, 좋아요, 댓글에 시간 감쇠를 적용한 점수 순으로 인기 게시글을 조회합니다.
+     *
+     * @param size 조회할 게시글 수
+     * @return 인기 순으로 정렬된 게시글 요약 리스트
+     */
+    public List<PostSummaryDto> getHotPosts(int size) {
+        int limit = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+        List<Long> topPostIdList = trendingPostRanker.getTopPostIds(TrendingPostRanker.TOP_K);
+
+        // 상위 집합에는 비공개 게시글이 섞여 있을 수 있으므로 limit개씩 나누어 조회하다가 공개 게시글이 limit개 차면 멈춤
+        List<PostSummaryDto> postList = new ArrayList<>(limit);
+        for (int from = 0; from < topPostIdList.size() && postList.size() < limit; from += limit)
+            postList.addAll(findSummariesInOrder(topPostIdList.subList(from, Math.min(from + limit, topPostIdList.size()))));
+        return postList.size() > limit ? new ArrayList<>(postList.subList(0, limit)) : postList;
     }
 
     /**
      * 특정 게시글을 ID로 조회합니다.
+     * 게시글 응답은 PostDetailCache를 거쳐 읽고, 아직 DB에 반영되지 않은 조회수만 요청마다 더합니다.
      *
      * @param postId 게시글의 ID
      * @param userId 조회하는 사용자의 ID
@@ -102,37 +217,59 @@ public class PostService {
      * @throws ComponentNotFoundException 게시글 ID가 존재하지 않을 경우
      */
     public PostResponseDto getPostByPostId(Long postId, String userId) {
-        Post post = postRepository.findById(postId).orElseThrow(() -> new ComponentNotFoundException("POST_NOT_FOUND"));
+        PostResponseDto postResponseDto = postDetailCache.get(postId, () -> loadResponseDto(postId));
 
         // 작성자가 아닌 사람이 요청하는 게시글이 비공개 게시글인 경우
-        if (post.isOpen() || post.getUser().getUserId().equalsIgnoreCase(userId))
+        if (!postResponseDto.isOpen() && !postResponseDto.getUserId().equalsIgnoreCase(userId))
             return null;
 
         // 조회수 하나 증가
         increaseViews(postId, userId);
-        return PostResponseDto.toDto(post);
+        return postResponseDto.withCounts(
+                postResponseDto.getViewCount() + viewCountBuffer.getPendingCount(postId),
+                postResponseDto.getLikeCount());
     }
 
     /**
-     * 특정 사용자가 작성한 게시글을 조회합니다.
+     * 게시글 상세 캐시의 적중률 등 통계를 조회합니다.
      *
-     * @param requestedUserId 요청하는 사용자의 ID
-     * @param userId          게시글 작성자의 ID
-     * @return 요청된 사용자가 작성한 게시글의 응답 데이터 리스트
-     * @throws ComponentNotFoundException 사용자 ID가 존재하지 않을 경우
+     * @return 캐시 통계
      */
-    public List<PostResponseDto> getPostsByUserId(String requestedUserId, String userId) {
-        User user = userRepository.findById(requestedUserId).orElseThrow(() -> new ComponentNotFoundException("USER_NOT_FOUND"));
-        List<Post> postList = postRepository.findByUser(user);
-
-        // 요청한 사람이 작성자 본인이면 비공개, 공개글 모두 반환
-        if (requestedUserId.equalsIgnoreCase(userId))
-            return DtoConverter.convertEntityListToDtoList(postList, PostResponseDto::toDto);
+    public PostCacheStatsDto getPostCacheStats() {
+        return postDetailCache.getStats();
+    }
 
-        // 요청한 사람이 작성자가 아니면 비공개글은 필터링
-        return DtoConverter.convertEntityListToDtoList(postList.stream()
-                .filter(Post::isOpen)
-                .collect(Collectors.toList()), PostResponseDto::toDto);
+    /**
+     * 특정 사용자가 작성한 게시글을 커서 기반으로 최신순 조회합니다.
+     *
+     * @param requestedUserId 게시글 작성자의 ID
+     * @param userId          요청하는 사용자의 ID
+     * @param cursor          이전 페이지에서 받은 커서 (첫 페이지면 null)
+     * @param size            페이지 크기
+     * @return 요청된 사용자가 작성한 게시글 요약 페이지와 다음 페이지 커서
+     * @throws ComponentNotFoundException 사용자 ID가 존재하지 않을 경우
+     * @throws InvalidCursorException     커서 형식이 올바르지 않은 경우
+     */
+    public CursorPageDto<PostSummaryDto> getPostsByUserId(String requestedUserId, String userId, String cursor, int size) {
+        if (!userRepository.existsById(requestedUserId))
+            throw new ComponentNotFoundException("USER_NOT_FOUND");
+
+        // 요청한 사람이 작성자 본인이면 비공개, 공개글 모두 반환하고 아니면 비공개글은 쿼리에서 필터링
+        boolean includePrivate = requestedUserId.equalsIgnoreCase(userId);
+        int pageSize = Math.max(1, Math.min(size, MAX_FEED_SIZE));
+        // 다음 페이지 존재 여부를 확인하기 위해 하나 더 조회
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<PostSummaryDto> postList;
+        if (cursor == null || cursor.isBlank()) {
+            postList = postRepository.findSummariesByUserId(requestedUserId, includePrivate, pageable);
+        } else {
+            PostFeedCursor feedCursor = PostFeedCursor.decode(cursor);
+            postList = postRepository.findSummariesByUserIdBefore(requestedUserId, includePrivate,
+                    feedCursor.getCreatedAt(), feedCursor.getPostId(), pageable);
+        }
+
+        return toSummaryPage(postList, pageSize);
     }
 
     /**
@@ -143,60 +280,68 @@ public class PostService {
      * @throws ComponentNotFoundException 게시글 ID가 존재하지 않을 경우
      * @throws UnAuthorizedUserException  사용자가 게시글의 작성자가 아닐 경우
      */
+    @Transactional
     public void deletePostByPostId(Long postId, String userId) {
         Post post = postRepository.findById(postId).orElseThrow(() -> new ComponentNotFoundException("POST_NOT_FOUND"));
         if (!post.getUser().getUserId().equalsIgnoreCase(userId))
             throw new UnAuthorizedUserException("UNAUTHORIZED_USER");
 
-        List<String> filePathList = attachmentFileService.getAllFilePathsByPostId(postId, userId);
-        filePathList.forEach(filePath -> {
-            s3ImageService.deleteImageFromS3(filePath);
-            attachmentFileService.deleteFileData(filePath, postId, userId);
-        });
+        // 첨부 파일 행은 바로 삭제하고 S3 객체는 백그라운드에서 일괄 삭제
+        attachmentFileService.deleteAllAttachments(post);
 
         postRepository.deleteById(postId);
+        postStatsRepository.deleteById(postId);
+        postDetailCache.invalidate(postId);
+        postSearchService.removePost(postId);
+        trendingPostRanker.remove(postId);
     }
 
     /**
      * 특정 게시글의 조회수를 증가시킵니다.
+     * 조회 기록은 ViewCountBuffer에 쌓였다가 주기적으로 DB에 일괄 반영됩니다.
      *
      * @param postId 게시글의 ID
      * @param userId 조회를 수행하는 사용자의 ID
-     * @return 조회수가 증가한 게시글 객체
-     * @throws ComponentNotFoundException 게시글 ID가 존재하지 않을 경우
      */
-    public Post increaseViews(Long postId, String userId) {
-        Post post = postRepository.findById(postId).orElseThrow(() -> new ComponentNotFoundException("POST_NOT_FOUND"));
-        User user = userRepository.findById(userId).orElseThrow(() -> new ComponentNotFoundException("USER_NOT_FOUND"));
-
-        Set<View> originalViews = post.getViews();
-        originalViews.add(View.toEntity(user, post));
-        post.setViews(originalViews);
-        postRepository.save(post);
+    public void increaseViews(Long postId, String userId) {
+        if (viewCountBuffer.record(postId, userId))
+            trendingPostRanker.recordView(postId);
+    }
 
-        return postRepository.findById(postId).get();
+    /**
+     * 특정 게시글의 조회수를 조회합니다.
+     * DB에 반영된 집계 값과 아직 버퍼에 남아 있는 조회수를 합산합니다.
+     *
+     * @param postId 게시글의 ID
+     * @return 게시글의 조회수
+     */
+    public long getViewCount(Long postId) {
+        long storedCount = postStatsRepository.findById(postId).map(PostStats::getViewCount).orElse(0L);
+        return storedCount + viewCountBuffer.getPendingCount(postId);
     }
 
     /**
      * 특정 게시글에 좋아요를 추가합니다.
+     * (게시글, 사용자) 유니크 키로 좋아요 한 행만 삽입하므로 이미 좋아요한 경우 아무 변화가 없습니다.
      *
      * @param postId 게시글의 ID
      * @param userId 좋아요를 누르는 사용자의 ID
-     * @return 좋아요가 추가된 게시글 객체
+     * @return 현재 게시글의 좋아요 수
      * @throws ComponentNotFoundException 게시글 ID가 존재하지 않을 경우
      */
-    public Post increaseLike(Long postId, String userId) {
+    @Transactional
+    public long increaseLike(Long postId, String userId) {
         Post post = postRepository.findById(postId).orElseThrow(() -> new ComponentNotFoundException("POST_NOT_FOUND"));
-        User user = userRepository.findById(userId).orElseThrow(() -> new ComponentNotFoundException("USER_NOT_FOUND"));
 
-        alarmService.createLikeAlarm(userId, postId, post.getUser().getUserId());
+        if (postLikeRepository.insertIgnore(postId, userId, LocalDateTime.now()) == 1) {
+            postStatsRepository.increaseLikeCount(postId);
+            postDetailCache.invalidate(postId);
+            if (post.isOpen())
+                trendingPostRanker.recordLike(postId);
+            alarmService.createLikeAlarm(userId, postId, post.getUser().getUserId());
+        }
 
-        Set<PostLike> postLikeSet = post.getPostLikes();
-        postLikeSet.add(PostLike.toEntity(user, post));
-        post.setPostLikes(postLikeSet);
-        postRepository.save(post);
-
-        return postRepository.findById(post.getPostId()).orElseThrow(() -> new RuntimeException("ERROR_ON_INCREASE_LIKE"));
+        return getLikeCount(postId);
     }
 
     /**
@@ -207,15 +352,27 @@ public class PostService {
      * @return 현재 게시글에 남아 있는 좋아요 수
      * @throws ComponentNotFoundException 게시글 ID가 존재하지 않을 경우
      */
-    public int decreaseLike(Long postId, String userId) {
-        Post post = postRepository.findById(postId).orElseThrow(() -> new ComponentNotFoundException("POST_NOT_FOUND"));
+    @Transactional
+    public long decreaseLike(Long postId, String userId) {
+        if (!postRepository.existsById(postId))
+            throw new ComponentNotFoundException("POST_NOT_FOUND");
 
-        Set<PostLike> postLikeSet = post.getPostLikes();
-        postLikeSet.removeIf(postLike -> postLike.getUser().getUserId().equalsIgnoreCase(userId));
-        post.setPostLikes(postLikeSet);
-        postRepository.save(post);
+        if (postLikeRepository.deleteByPostIdAndUserId(postId, userId) == 1) {
+            postStatsRepository.decreaseLikeCount(postId);
+            postDetailCache.invalidate(postId);
+        }
 
-        return postLikeSet.size();
+        return getLikeCount(postId);
+    }
+
+    /**
+     * 특정 게시글의 좋아요 수를 조회합니다.
+     *
+     * @param postId 게시글의 ID
+     * @return 게시글의 좋아요 수
+     */
+    public long getLikeCount(Long postId) {
+        return postStatsRepository.findById(postId).map(PostStats::getLikeCount).orElse(0L);
     }
 
     /**
@@ -229,4 +386,40 @@ public class PostService {
         Post post = postRepository.findById(postId).orElseThrow(() -> new ComponentNotFoundException("POST_NOT_FOUND"));
         return post.getContent().contains(path);
     }
+
+    // 캐시에 넣을 응답은 DB에 반영된 카운터만 담음 (버퍼의 조회수는 조회 시점에 더함)
+    private PostResponseDto loadResponseDto(Long postId) {
+        Post post = postRepository.findById(postId).orElseThrow(() -> new ComponentNotFoundException("POST_NOT_FOUND"));
+        PostStats postStats = postStatsRepository.findById(postId).orElse(PostStats.of(postId));
+        return PostResponseDto.toDto(post, postStats.getViewCount(), postStats.getLikeCount());
+    }
+
+    private PostResponseDto toResponseDto(Post post) {
+        PostStats postStats = postStatsRepository.findById(post.getPostId()).orElse(PostStats.of(post.getPostId()));
+        return PostResponseDto.toDto(post,
+                postStats.getViewCount() + viewCountBuffer.getPendingCount(post.getPostId()),
+                postStats.getLikeCount());
+    }
+
+    private List<PostSummaryDto> addPendingViewCounts(List<PostSummaryDto> postSummaryList) {
+        // 아직 DB에 반영되지 않은 조회수를 더해 줌
+        postSummaryList.forEach(summary ->
+                summary.setViewCount(summary.getViewCount() + viewCountBuffer.getPendingCount(summary.getPostId())));
+        return postSummaryList;
+    }
+
+    private List<PostSummaryDto> findSummariesInOrder(List<Long> postIdList) {
+        if (postIdList.isEmpty())
+            return new ArrayList<>();
+
+        // IN 쿼리 결과는 순서가 보장되지 않으므로 전달받은 ID 순서로 다시 정렬
+        Map<Long, PostSummaryDto> summaryMap = new HashMap<>();
+        postRepository.findOpenSummariesByPostIds(postIdList).forEach(summary -> summaryMap.put(summary.getPostId(), summary));
+
+        List<PostSummaryDto> postList = postIdList.stream()
+                .map(summaryMap::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return addPendingViewCounts(postList);
+    }
 }
@@ -0,0 +1,91 @@
+package com.example.demo.service.community.post;
+
+import com.example.demo.repository.community.post.PostRepository;
+import com.example.demo.repository.community.post.PostStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * post_stats의 조회수, 좋아요 수, 댓글 수를 실제 행 수와 맞추는 스케줄러.
+ * 카운터는 조회 기록/좋아요/댓글 변경과 같은 트랜잭션에서 증감되지만, 카운터 도입 이전 데이터나 직접 수정된 데이터로
+ * 어긋날 수 있으므로 게시글 ID 구간을 주기마다 하나씩 다시 세어 어긋난 행만 바로잡습니다.
+ * 모든 구간을 한 번 돌고 나면 다음 점검 주기까지 쉽니다.
+ * ViewCountBuffer에 남아 있는 조회는 조회 기록과 조회수 어느 쪽에도 아직 반영되지 않았으므로 점검에 영향을 주지 않습니다.
+ */
+@Slf4j
+@Component
+public class PostStatsReconciler {
+
+    private final PostStatsRepository postStatsRepository;
+    private final PostRepository postRepository;
+    private final int chunkSize;
+    private final Duration passInterval;
+    private final Clock clock;
+
+    // 진행 중인 점검의 위치 (이 ID까지 점검함)와 점검 범위의 끝
+    private long cursor;
+    private long passEndId;
+    private long passCorrectedCount;
+
+    private LocalDateTime nextPassAt;
+
+    @Autowired
+    public PostStatsReconciler(PostStatsRepository postStatsRepository,
+                               PostRepository postRepository,
+                               @Value("${community.post-stats.reconcile-chunk-size:1000}") int chunkSize,
+                               @Value("${community.post-stats.reconcile-interval-minutes:60}") long intervalMinutes) {
+        this(postStatsRepository, postRepository, chunkSize, Duration.ofMinutes(intervalMinutes), Clock.systemDefaultZone());
+    }
+
+    PostStatsReconciler(PostStatsRepository postStatsRepository, PostRepository postRepository,
+                        int chunkSize, Duration passInterval, Clock clock) {
+        this.postStatsRepository = postStatsRepository;
+        this.postRepository = postRepository;
+        this.chunkSize = chunkSize;
+        this.passInterval = passInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * 다음 게시글 ID 구간의 카운터를 점검합니다.
+     */
+    @Scheduled(fixedDelay = 10 * 1000L)
+    public synchronized void reconcile() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        try {
+            if (cursor == 0L) {
+                if (nextPassAt != null && now.isBefore(nextPassAt))
+                    return;
+                // 점검을 시작할 때의 마지막 게시글까지만 돌고, 이후 생성된 게시글은 다음 점검에서 확인
+                Long maxPostId = postRepository.findMaxPostId();
+                passEndId = maxPostId == null ? 0L : maxPostId;
+            }
+
+            long until = cursor + chunkSize;
+            postStatsRepository.insertMissing(cursor, until);
+            passCorrectedCount += postStatsRepository.reconcileCounts(cursor, until);
+            cursor = until;
+        } catch (DataAccessException e) {
+            // 같은 구간을 다음 주기에 다시 점검
+            log.warn("POST_STATS_RECONCILE_FAILED - after: {}, {}", cursor, e.getMessage());
+            return;
+        }
+
+        if (cursor < passEndId)
+            return;
+
+        if (passCorrectedCount > 0)
+            log.info("POST_STATS_RECONCILED - corrected: {}", passCorrectedCount);
+        cursor = 0L;
+        passCorrectedCount = 0L;
+        nextPassAt = now.plus(passInterval);
+    }
+}
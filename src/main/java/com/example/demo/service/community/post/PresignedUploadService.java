@@ -0,0 +1,132 @@
+package com.example.demo.service.community.post;
+
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.example.demo.dto.community.post.PresignedUploadRequestDto;
+import com.example.demo.dto.community.post.PresignedUploadResponseDto;
+import com.example.demo.dto.community.post.UploadCompleteRequestDto;
+import com.example.demo.entity.community.post.Post;
+import com.example.demo.exception.ComponentNotFoundException;
+import com.example.demo.exception.InvalidUploadException;
+import com.example.demo.exception.UnAuthorizedUserException;
+import com.example.demo.repository.community.post.PostRepository;
+import com.example.demo.service.RedisUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파일 바이트가 애플리케이션 서버를 거치지 않도록 S3 직접 업로드를 처리하는 서비스 클래스.
+ * presigned URL을 발급할 때 (사용자, 게시글, 객체 키)와 선언된 Content-Type을 Redis에 기록해 두고,
+ * 완료 요청이 오면 HEAD 요청으로 실제 객체의 크기와 타입을 확인한 뒤 첨부 파일 메타데이터를 저장합니다.
+ * 이미지 확장자와 그에 맞는 Content-Type만 허용합니다.
+ * URL은 게시글 작성자에게만 발급하며, 발급할 때 업로드 대기 첨부 파일을 DB에 남겨 완료되지 않은 업로드도 고아 첨부 파일로 정리되게 합니다.
+ */
+@Slf4j
+@Service
+public class PresignedUploadService {
+
+    private static final String PENDING_UPLOAD_PREFIX = "presigned-upload:";
+    // 업로드가 URL 만료 직전에 끝나도 완료 요청을 받을 수 있도록 둔 여유 시간
+    private static final long COMPLETE_GRACE_MILLIS = 10 * 60 * 1000L;
+
+    private final S3ImageService s3ImageService;
+    private final AttachmentFileService attachmentFileService;
+    private final S3DeletionQueue s3DeletionQueue;
+    private final StoredObjectService storedObjectService;
+    private final PostRepository postRepository;
+    private final RedisUtil redisUtil;
+    private final long maxUploadSize;
+
+    public PresignedUploadService(S3ImageService s3ImageService,
+                                  AttachmentFileService attachmentFileService,
+                                  S3DeletionQueue s3DeletionQueue,
+                                  StoredObjectService storedObjectService,
+                                  PostRepository postRepository,
+                                  RedisUtil redisUtil,
+                                  @Value("${cloud.aws.s3.max-upload-size:52428800}") long maxUploadSize) {
+        this.s3ImageService = s3ImageService;
+        this.attachmentFileService = attachmentFileService;
+        this.s3DeletionQueue = s3DeletionQueue;
+        this.storedObjectService = storedObjectService;
+        this.postRepository = postRepository;
+        this.redisUtil = redisUtil;
+        this.maxUploadSize = maxUploadSize;
+    }
+
+    /**
+     * S3 직접 업로드용 presigned URL을 발급합니다.
+     *
+     * @param presignedUploadRequestDto 업로드할 파일명과 Content-Type
+     * @param postId                    이미지가 첨부될 게시글 ID (완료 요청도 같은 게시글로 와야 함)
+     * @param userId                    업로드하는 사용자의 ID
+     * @return 객체 키와 presigned URL
+     * @throws ComponentNotFoundException 게시글이 존재하지 않는 경우
+     * @throws UnAuthorizedUserException  게시글 작성자가 아닌 경우
+     * @throws InvalidUploadException 파일명이나 Content-Type이 유효하지 않은 경우
+     */
+    public PresignedUploadResponseDto issueUploadUrl(PresignedUploadRequestDto presignedUploadRequestDto, Long postId, String userId) {
+        Post post = postRepository.findById(postId).orElseThrow(() -> new ComponentNotFoundException("POST_NOT_FOUND"));
+        if (!post.getUser().getUserId().equalsIgnoreCase(userId))
+            throw new UnAuthorizedUserException("UNAUTHORIZED_USER");
+
+        PresignedUploadResponseDto presignedUpload = s3ImageService.createPresignedUpload(
+                presignedUploadRequestDto.getFileName(), presignedUploadRequestDto.getContentType());
+        attachmentFileService.reserveUpload(s3ImageService.getImageAddress(presignedUpload.getKey()),
+                presignedUploadRequestDto.getFileName(), presignedUpload.getContentType(), userId);
+
+        long ttlMillis = presignedUpload.getExpiresAt().getTime() - System.currentTimeMillis() + COMPLETE_GRACE_MILLIS;
+        redisUtil.setData(pendingUploadKey(presignedUpload.getKey(), postId, userId), presignedUpload.getContentType(),
+                ttlMillis, TimeUnit.MILLISECONDS);
+        return presignedUpload;
+    }
+
+    /**
+     * presigned URL로 업로드된 객체를 확인하고 첨부 파일 메타데이터를 저장합니다.
+     * 크기 제한을 넘거나 키의 확장자에 맞는 Content-Type과 다른 객체는 삭제를 예약하고 거절합니다.
+     * 대기 기록은 GETDEL로 가져가며 지우므로, 같은 키로 동시에 완료 요청이 와도 한 요청만 등록합니다.
+     *
+     * @param uploadCompleteRequestDto 업로드한 객체 키와 원본 파일명
+     * @param postId                   이미지가 첨부될 게시글 ID
+     * @param userId                   업로드한 사용자의 ID
+     * @return 본문에 넣을 이미지 URL
+     * @throws InvalidUploadException 발급하지 않은 키이거나 객체가 없거나 검증에 실패한 경우
+     */
+    public String completeUpload(UploadCompleteRequestDto uploadCompleteRequestDto, Long postId, String userId) {
+        String key = uploadCompleteRequestDto.getKey();
+        if (key == null)
+            throw new InvalidUploadException("UPLOAD_NOT_FOUND");
+        String imageContentType = S3ImageService.resolveImageContentType(key);
+        String pendingUploadKey = pendingUploadKey(key, postId, userId);
+        if (redisUtil.getData(pendingUploadKey) == null)
+            throw new InvalidUploadException("UPLOAD_NOT_FOUND");
+
+        // 아직 업로드가 끝나지 않았을 수 있으므로 대기 기록은 남겨 두고 다시 요청할 수 있게 함
+        ObjectMetadata metadata = s3ImageService.getObjectMetadata(key);
+        if (metadata == null)
+            throw new InvalidUploadException("UPLOADED_FILE_NOT_FOUND");
+        // 대기 기록을 가져간 요청만 진행 (동시에 들어온 다른 완료 요청은 여기서 거절)
+        if (redisUtil.getAndDeleteData(pendingUploadKey) == null)
+            throw new InvalidUploadException("UPLOAD_NOT_FOUND");
+
+        String imageAddress = s3ImageService.getImageAddress(key);
+        if (metadata.getContentLength() > maxUploadSize || !imageContentType.equalsIgnoreCase(metadata.getContentType())) {
+            log.warn("INVALID_UPLOADED_FILE - key: {}, size: {}, type: {}", key, metadata.getContentLength(), metadata.getContentType());
+            s3DeletionQueue.enqueue(List.of(imageAddress));
+            throw new InvalidUploadException("INVALID_UPLOADED_FILE");
+        }
+
+        s3ImageService.makePublic(key);
+        // 직접 업로드는 내용을 서버에서 읽지 않으므로 해시 없이 참조 수만 관리
+        storedObjectService.register(null, imageAddress, metadata.getContentLength());
+        attachmentFileService.uploadImageMetadata(imageAddress, uploadCompleteRequestDto.getFileName(),
+                metadata.getContentLength(), metadata.getContentType(), postId, userId);
+        return imageAddress;
+    }
+
+    private static String pendingUploadKey(String key, Long postId, String userId) {
+        return PENDING_UPLOAD_PREFIX + userId + ":" + postId + ":" + key;
+    }
+}
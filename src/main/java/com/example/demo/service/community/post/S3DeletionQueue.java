@@ -0,0 +1,127 @@
+package com.example.demo.service.community.post;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.example.demo.entity.community.post.S3DeletionTask;
+import com.example.demo.repository.community.post.S3DeletionTaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * S3 객체 삭제를 요청 처리와 분리하는 백그라운드 삭제 큐.
+ * 요청 중에는 삭제할 키를 DB에 작업으로 저장만 하고, 스케줄러가 최대 1000개씩 묶어
+ * S3 다중 객체 삭제(DeleteObjects) 한 번으로 처리합니다. 실패한 키는 지수 백오프로 다시 시도합니다.
+ * 작업은 처리 전에 토큰과 임대 시간으로 선점하므로 여러 노드에서 실행되어도 같은 작업을 한 번만 처리합니다.
+ */
+@Slf4j
+@Component
+public class S3DeletionQueue {
+
+    // S3 DeleteObjects 요청 하나에 담을 수 있는 최대 키 수
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int MAX_ATTEMPTS = 5;
+    private static final long RETRY_BASE_SECONDS = 30L;
+    // 선점한 작업을 처리하지 못하고 노드가 종료되었을 때 다른 노드가 다시 가져가기까지의 시간
+    private static final long LEASE_SECONDS = 5 * 60L;
+
+    private final AmazonS3 amazonS3;
+    private final S3DeletionTaskRepository s3DeletionTaskRepository;
+    private final String bucketName;
+
+    public S3DeletionQueue(AmazonS3 amazonS3,
+                           S3DeletionTaskRepository s3DeletionTaskRepository,
+                           @Value("${cloud.aws.s3.bucketName}") String bucketName) {
+        this.amazonS3 = amazonS3;
+        this.s3DeletionTaskRepository = s3DeletionTaskRepository;
+        this.bucketName = bucketName;
+    }
+
+    /**
+     * 이미지 주소들을 삭제 작업으로 저장합니다. 호출한 트랜잭션이 커밋되면 백그라운드에서 삭제됩니다.
+     *
+     * @param imageAddresses 삭제할 이미지의 S3 URL 목록
+     */
+    public void enqueue(Collection<String> imageAddresses) {
+        List<S3DeletionTask> taskList = new ArrayList<>(imageAddresses.size());
+        for (String imageAddress : imageAddresses) {
+            try {
+                taskList.add(S3DeletionTask.of(S3ImageService.getKeyFromImageAddress(imageAddress)));
+            } catch (IllegalArgumentException e) {
+                log.warn("S3_DELETE_INVALID_ADDRESS - {}", imageAddress);
+            }
+        }
+        if (!taskList.isEmpty())
+            s3DeletionTaskRepository.saveAll(taskList);
+    }
+
+    /**
+     * 삭제 시각이 된 작업을 묶어서 S3에서 삭제합니다.
+     */
+    @Scheduled(fixedDelay = 10 * 1000L)
+    public void processPending() {
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            String claimToken = UUID.randomUUID().toString();
+            int claimedCount = s3DeletionTaskRepository.claimDue(now, now.plusSeconds(LEASE_SECONDS), claimToken, MAX_BATCH_SIZE);
+            if (claimedCount == 0)
+                return;
+
+            List<S3DeletionTask> batch = s3DeletionTaskRepository.findByClaimToken(claimToken);
+            if (batch.isEmpty() || !deleteBatch(batch) || claimedCount < MAX_BATCH_SIZE)
+                return;
+        }
+    }
+
+    // S3 전체 장애로 실패하면 false를 반환해 이번 주기의 처리를 멈춤
+    private boolean deleteBatch(List<S3DeletionTask> batch) {
+        DeleteObjectsRequest request = new DeleteObjectsRequest(bucketName)
+                .withKeys(batch.stream().map(S3DeletionTask::getObjectKey).distinct().toArray(String[]::new))
+                .withQuiet(true);
+
+        try {
+            amazonS3.deleteObjects(request);
+            s3DeletionTaskRepository.deleteAllInBatch(batch);
+            return true;
+        } catch (MultiObjectDeleteException e) {
+            Set<String> failedKeys = e.getErrors().stream()
+                    .map(MultiObjectDeleteException.DeleteError::getKey)
+                    .collect(Collectors.toSet());
+            Map<Boolean, List<S3DeletionTask>> partitioned = batch.stream()
+                    .collect(Collectors.partitioningBy(task -> failedKeys.contains(task.getObjectKey())));
+            s3DeletionTaskRepository.deleteAllInBatch(partitioned.get(false));
+            retry(partitioned.get(true));
+            return true;
+        } catch (SdkClientException e) {
+            log.warn("S3_DELETE_FAILED - size: {}, {}", batch.size(), e.getMessage());
+            retry(batch);
+            return false;
+        }
+    }
+
+    private void retry(List<S3DeletionTask> taskList) {
+        LocalDateTime now = LocalDateTime.now();
+        List<S3DeletionTask> retryList = new ArrayList<>();
+        List<S3DeletionTask> abandonedList = new ArrayList<>();
+        for (S3DeletionTask task : taskList) {
+            task.setAttempts(task.getAttempts() + 1);
+            task.setClaimToken(null);
+            if (task.getAttempts() >= MAX_ATTEMPTS) {
+                log.error("S3_DELETE_ABANDONED - key: {}", task.getObjectKey());
+                abandonedList.add(task);
+            } else {
+                task.setNextAttemptAt(now.plusSeconds(RETRY_BASE_SECONDS << (task.getAttempts() - 1)));
+                retryList.add(task);
+            }
+        }
+        s3DeletionTaskRepository.deleteAllInBatch(abandonedList);
+        s3DeletionTaskRepository.saveAll(retryList);
+    }
+}
@@ -1,12 +1,11 @@
 package com.example.demo.service.community.post;
 
-import com.amazonaws.SdkClientException;
+import com.amazonaws.HttpMethod;
 import com.amazonaws.services.s3.AmazonS3;
-import com.amazonaws.services.s3.model.CannedAccessControlList;
-import com.amazonaws.services.s3.model.DeleteObjectRequest;
-import com.amazonaws.services.s3.model.ObjectMetadata;
-import com.amazonaws.services.s3.model.PutObjectRequest;
-import com.amazonaws.util.IOUtils;
+import com.amazonaws.services.s3.model.*;
+import com.example.demo.dto.community.post.PresignedUploadResponseDto;
+import com.example.demo.exception.InvalidUploadException;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,13 +15,21 @@ import org.springframework.web.multipart.MultipartFile;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLDecoder;
-import java.util.Arrays;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -30,104 +37,280 @@ import java.util.UUID;
 @Service
 public class S3ImageService {
 
+    // 허용하는 확장자별로 저장할 Content-Type. 객체가 공개 읽기로 제공되므로 클라이언트가 보낸 Content-Type은 쓰지 않음
+    // (text/html 등으로 저장되면 버킷 도메인에서 스크립트가 실행될 수 있음)
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "jpeg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "pdf", "application/pdf",
+            "ppt", "application/vnd.ms-powerpoint",
+            "word", "application/msword");
+    // presigned URL로 직접 업로드할 수 있는 이미지 Content-Type
+    private static final Set<String> IMAGE_CONTENT_TYPES = Set.of("image/jpeg", "image/png", "image/gif");
+    // S3 멀티파트 업로드의 최소 파트 크기 (마지막 파트 제외)
+    static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
     private final AmazonS3 amazonS3;
-    private final List<String> allowedExtentionList = Arrays.asList("jpg", "jpeg", "png",
-            "gif", "pdf", "ppt", "word");
+    private final StoredObjectService storedObjectService;
     @Value("${cloud.aws.s3.bucketName}")
     public String bucketName;
+    // 이 크기 이상인 파일은 멀티파트로 업로드 (바이트)
+    @Value("${cloud.aws.s3.multipart-threshold:16777216}")
+    private long multipartThreshold;
+    // 멀티파트 업로드의 파트 크기이자 업로드당 버퍼 크기 (바이트, S3 최소 파트 크기는 5MB)
+    @Value("${cloud.aws.s3.part-size:8388608}")
+    private int partSize;
+    // presigned 업로드 URL 유효 시간 (초)
+    @Value("${cloud.aws.s3.presigned-url-expiration-seconds:600}")
+    private long presignedUrlExpirationSeconds;
+
+    /**
+     * 파트 크기가 S3 최소 파트 크기보다 작으면 멀티파트 업로드가 완료 단계에서 실패하므로 기동 시 거부합니다.
+     *
+     * @throws IllegalStateException 파트 크기가 5MB보다 작은 경우
+     */
+    @PostConstruct
+    void validatePartSize() {
+        if (partSize < MIN_PART_SIZE)
+            throw new IllegalStateException("cloud.aws.s3.part-size must be at least " + MIN_PART_SIZE + " bytes: " + partSize);
+    }
 
     /**
      * 주어진 이미지를 S3에 업로드합니다.
      *
      * @param image 업로드할 이미지 파일
      * @return S3에 업로드된 이미지의 URL
-     * @throws IllegalArgumentException 이미지가 비어있거나 파일 이름이 null일 경우
+     * @throws InvalidUploadException 이미지가 비어있거나 파일 이름이 null이거나 확장자가 유효하지 않은 경우
      */
     public String upload(MultipartFile image) {
-        if(image.isEmpty() || Objects.isNull(image.getOriginalFilename())){
-            throw new IllegalArgumentException();
+        if(image == null || image.isEmpty() || Objects.isNull(image.getOriginalFilename())){
+            throw new InvalidUploadException("EMPTY_FILE");
         }
         return this.uploadImage(image);
     }
 
     /**
      * 실제로 이미지를 S3에 업로드합니다.
+     * 업로드 전에 내용의 SHA-256을 계산해 같은 내용의 객체가 이미 있으면 업로드하지 않고 그 객체를 공유합니다.
      *
      * @param image 업로드할 이미지 파일
      * @return S3에 업로드된 이미지의 URL
-     * @throws IllegalArgumentException 이미지 파일 확장자가 유효하지 않거나 I/O 오류가 발생한 경우
+     * @throws InvalidUploadException 이미지 파일 확장자가 유효하지 않거나 파일을 읽지 못한 경우
      */
     private String uploadImage(MultipartFile image) {
-        this.validateImageFileExtension(image.getOriginalFilename());
+        resolveContentType(image.getOriginalFilename());
         try {
-            return this.uploadImageToS3(image);
+            String contentHash = hashContent(image);
+            String existingFilePath = storedObjectService.acquire(contentHash);
+            if (existingFilePath != null)
+                return existingFilePath;
+            return storedObjectService.register(contentHash, this.uploadImageToS3(image), image.getSize());
         } catch (IOException e) {
-            throw new IllegalArgumentException();
+            log.warn("UPLOAD_FILE_READ_FAILED - {}", e.getMessage());
+            throw new InvalidUploadException("FILE_READ_FAILED");
         }
     }
 
     /**
-     * 이미지 파일의 확장자를 검증합니다.
+     * 파일 내용의 SHA-256을 16진수 문자열로 계산합니다.
+     * 멀티파트 본문은 이미 서버에 임시 저장되어 있으므로 작은 버퍼로 한 번 읽기만 하고 메모리에 올리지 않습니다.
+     *
+     * @param image 해시를 계산할 파일
+     * @return SHA-256 16진수 문자열
+     * @throws IOException I/O 오류가 발생한 경우
+     */
+    static String hashContent(MultipartFile image) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (InputStream is = new DigestInputStream(image.getInputStream(), digest)) {
+            is.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 이미지 파일의 확장자를 검증하고 확장자에 맞는 Content-Type을 반환합니다.
      *
      * @param filename 검증할 파일 이름
-     * @throws IllegalArgumentException 파일 확장자가 유효하지 않은 경우
+     * @return 확장자에 해당하는 Content-Type
+     * @throws InvalidUploadException 파일 확장자가 유효하지 않은 경우
      */
-    private void validateImageFileExtension(String filename) {
+    static String resolveContentType(String filename) {
         int lastDotIndex = filename.lastIndexOf(".");
         if (lastDotIndex == -1) {
-            throw new IllegalArgumentException();
+            throw new InvalidUploadException("INVALID_FILE_EXTENSION");
         }
 
-        String extension = filename.substring(lastDotIndex + 1).toLowerCase();
+        String contentType = CONTENT_TYPES.get(filename.substring(lastDotIndex + 1).toLowerCase());
+        if (contentType == null) {
+            throw new InvalidUploadException("INVALID_FILE_EXTENSION");
+        }
+        return contentType;
+    }
 
-        if (!allowedExtentionList.contains(extension)) {
-            throw new IllegalArgumentException();
+    /**
+     * 이미지 파일의 확장자를 검증하고 확장자에 맞는 이미지 Content-Type을 반환합니다.
+     *
+     * @param filename 검증할 파일 이름 (객체 키도 원본 파일명의 확장자를 유지하므로 키를 넘겨도 됨)
+     * @return 확장자에 해당하는 이미지 Content-Type
+     * @throws InvalidUploadException 이미지 확장자가 아닌 경우
+     */
+    static String resolveImageContentType(String filename) {
+        String contentType = resolveContentType(filename);
+        if (!IMAGE_CONTENT_TYPES.contains(contentType)) {
+            throw new InvalidUploadException("INVALID_FILE_EXTENSION");
         }
+        return contentType;
     }
 
     /**
      * S3에 이미지를 업로드하는 메소드입니다.
+     * 파일 전체를 메모리에 올리지 않고 스트림으로 전송합니다. 작은 파일은 한 번의 PUT으로 바로 보내고,
+     * multipartThreshold 이상인 파일은 partSize 크기의 버퍼 하나를 재사용하는 멀티파트 업로드로 보내므로
+     * 업로드 하나가 사용하는 힙은 파일 크기와 관계없이 partSize로 제한됩니다.
+     * Content-Type은 클라이언트가 보낸 값 대신 파일 확장자로 정합니다.
      *
      * @param image 업로드할 이미지 파일
      * @return S3에 업로드된 이미지의 URL
      * @throws IOException I/O 오류가 발생한 경우
+     * @throws InvalidUploadException 파일 확장자가 유효하지 않은 경우
      */
     public String uploadImageToS3(MultipartFile image) throws IOException {
         String originalFilename = image.getOriginalFilename(); // 원본 파일 명
-        String extension = originalFilename.substring(originalFilename.lastIndexOf(".")); // 확장자 명
-
         String s3FileName = UUID.randomUUID().toString().substring(0, 10) + originalFilename; // 변경된 파일 명
+        String contentType = resolveContentType(originalFilename);
 
-        InputStream is = image.getInputStream();
-        byte[] bytes = IOUtils.toByteArray(is);
+        try (InputStream is = image.getInputStream()) {
+            if (image.getSize() < multipartThreshold)
+                putObject(s3FileName, is, image.getSize(), contentType);
+            else
+                multipartUpload(s3FileName, is, contentType);
+        }
+
+        return amazonS3.getUrl(bucketName, s3FileName).toString();
+    }
 
+    private void putObject(String key, InputStream is, long size, String contentType) {
         ObjectMetadata metadata = new ObjectMetadata();
-        metadata.setContentType("image/" + extension);
-        metadata.setContentLength(bytes.length);
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(bytes);
+        metadata.setContentType(contentType);
+        // 길이를 알려 주면 SDK가 스트림을 버퍼링하지 않고 그대로 전송함
+        metadata.setContentLength(size);
+
+        PutObjectRequest putObjectRequest = new PutObjectRequest(bucketName, key, is, metadata)
+                .withCannedAcl(CannedAccessControlList.PublicRead);
+        amazonS3.putObject(putObjectRequest); // S3에 이미지 저장
+    }
+
+    private void multipartUpload(String key, InputStream is, String contentType) throws IOException {
+        ObjectMetadata metadata = new ObjectMetadata();
+        metadata.setContentType(contentType);
+        String uploadId = amazonS3.initiateMultipartUpload(new InitiateMultipartUploadRequest(bucketName, key, metadata)
+                .withCannedACL(CannedAccessControlList.PublicRead)).getUploadId();
 
         try {
-            PutObjectRequest putObjectRequest =
-                    new PutObjectRequest(bucketName, s3FileName, byteArrayInputStream, metadata)
-                            .withCannedAcl(CannedAccessControlList.PublicRead);
-            amazonS3.putObject(putObjectRequest); // S3에 이미지 저장
-        } catch (SdkClientException e) {
-            throw new SdkClientException(e.getMessage(), e);
-        } finally {
-            byteArrayInputStream.close();
-            is.close();
+            List<PartETag> partETagList = new ArrayList<>();
+            byte[] buffer = new byte[partSize];
+            int partNumber = 1;
+            int read;
+            while ((read = is.readNBytes(buffer, 0, partSize)) > 0) {
+                UploadPartRequest uploadPartRequest = new UploadPartRequest()
+                        .withBucketName(bucketName)
+                        .withKey(key)
+                        .withUploadId(uploadId)
+                        .withPartNumber(partNumber++)
+                        .withInputStream(new ByteArrayInputStream(buffer, 0, read))
+                        .withPartSize(read);
+                partETagList.add(amazonS3.uploadPart(uploadPartRequest).getPartETag());
+            }
+            amazonS3.completeMultipartUpload(new CompleteMultipartUploadRequest(bucketName, key, uploadId, partETagList));
+        } catch (IOException | RuntimeException e) {
+            // 완료되지 않은 업로드의 파트가 버킷에 남지 않도록 중단
+            amazonS3.abortMultipartUpload(new AbortMultipartUploadRequest(bucketName, key, uploadId));
+            throw e;
         }
+    }
 
-        return amazonS3.getUrl(bucketName, s3FileName).toString();
+    /**
+     * 클라이언트가 S3에 직접 PUT 할 수 있는 presigned URL을 발급합니다.
+     * 이미지 확장자만 허용하고, 선언한 Content-Type은 확장자에 맞는 이미지 타입과 같아야 합니다.
+     * 서명에 Content-Type이 포함되므로 클라이언트는 같은 Content-Type 헤더로 업로드해야 합니다.
+     * 업로드된 객체는 완료 확인 전까지 비공개로 남습니다.
+     *
+     * @param originalFilename 원본 파일명
+     * @param contentType      업로드할 파일의 Content-Type
+     * @return 객체 키와 presigned URL
+     * @throws InvalidUploadException 파일명이나 Content-Type이 없거나, 이미지 확장자가 아니거나, Content-Type이 확장자와 다른 경우
+     */
+    public PresignedUploadResponseDto createPresignedUpload(String originalFilename, String contentType) {
+        if (Objects.isNull(originalFilename) || Objects.isNull(contentType) || contentType.isBlank())
+            throw new InvalidUploadException("INVALID_UPLOAD_REQUEST");
+        String imageContentType = resolveImageContentType(originalFilename);
+        if (!imageContentType.equalsIgnoreCase(contentType.trim()))
+            throw new InvalidUploadException("CONTENT_TYPE_MISMATCH");
+
+        // 파일명에 경로 구분자가 있으면 다른 경로의 키가 만들어지지 않도록 치환
+        String s3FileName = UUID.randomUUID().toString().substring(0, 10) + originalFilename.replaceAll("[/\\\\]", "_");
+        Date expiration = new Date(System.currentTimeMillis() + presignedUrlExpirationSeconds * 1000L);
+
+        GeneratePresignedUrlRequest request = new GeneratePresignedUrlRequest(bucketName, s3FileName, HttpMethod.PUT)
+                .withExpiration(expiration)
+                .withContentType(imageContentType);
+        String uploadUrl = amazonS3.generatePresignedUrl(request).toString();
+        return new PresignedUploadResponseDto(s3FileName, uploadUrl, imageContentType, expiration);
+    }
+
+    /**
+     * HEAD 요청으로 업로드된 객체의 메타데이터를 조회합니다.
+     *
+     * @param key S3 객체 키
+     * @return 객체 메타데이터, 객체가 없으면 null
+     */
+    public ObjectMetadata getObjectMetadata(String key) {
+        try {
+            return amazonS3.getObjectMetadata(bucketName, key);
+        } catch (AmazonS3Exception e) {
+            if (e.getStatusCode() == 404)
+                return null;
+            throw e;
+        }
+    }
+
+    /**
+     * 확인이 끝난 객체를 기존 업로드와 같이 공개 읽기로 전환합니다.
+     *
+     * @param key S3 객체 키
+     */
+    public void makePublic(String key) {
+        amazonS3.setObjectAcl(bucketName, key, CannedAccessControlList.PublicRead);
+    }
+
+    /**
+     * 객체 키에 해당하는 이미지 URL을 반환합니다.
+     *
+     * @param key S3 객체 키
+     * @return 이미지 URL
+     */
+    public String getImageAddress(String key) {
+        return amazonS3.getUrl(bucketName, key).toString();
     }
 
     /**
-     * S3에서 이미지를 삭제합니다.
+     * S3에서 이미지를 즉시 삭제합니다.
+     * 요청 처리 중에는 S3DeletionQueue를 사용하고, 이 메서드는 단건 동기 삭제가 필요한 경우에만 사용합니다.
+     * 내용이 같은 업로드는 객체를 공유하므로 다른 첨부 파일이 참조 중이면 삭제하지 않습니다.
      *
      * @param imageAddress 삭제할 이미지의 S3 URL
      * @throws IllegalArgumentException 이미지 삭제 중 오류가 발생한 경우
      */
     public void deleteImageFromS3(String imageAddress) {
+        if (storedObjectService.release(List.of(imageAddress)).isEmpty())
+            return;
         String key = getKeyFromImageAddress(imageAddress);
         try {
             amazonS3.deleteObject(new DeleteObjectRequest(bucketName, key));
@@ -143,7 +326,7 @@ public class S3ImageService {
      * @return S3 키
      * @throws IllegalArgumentException URL 형식이 잘못되었거나 인코딩 오류가 발생한 경우
      */
-    private String getKeyFromImageAddress(String imageAddress) {
+    static String getKeyFromImageAddress(String imageAddress) {
         try {
             URL url = new URL(imageAddress);
             String decodingKey = URLDecoder.decode(url.getPath(), "UTF-8");
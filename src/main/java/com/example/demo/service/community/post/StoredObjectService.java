@@ -0,0 +1,101 @@
+package com.example.demo.service.community.post;
+
+import com.example.demo.entity.community.post.StoredObject;
+import com.example.demo.repository.community.post.StoredObjectRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 내용 해시로 S3 객체를 공유하고 참조 수를 관리하는 서비스 클래스.
+ * 첨부 파일 하나가 객체 참조 하나를 가지며, 첨부 파일이 삭제되어 참조 수가 0이 된 객체만 S3에서 삭제합니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class StoredObjectService {
+
+    private final StoredObjectRepository storedObjectRepository;
+    private final S3DeletionQueue s3DeletionQueue;
+
+    /**
+     * 같은 내용의 객체가 이미 있으면 참조 수를 올리고 그 주소를 반환합니다.
+     *
+     * @param contentHash 업로드할 내용의 SHA-256
+     * @return 재사용할 객체의 URL, 없으면 null
+     */
+    @Transactional
+    public String acquire(String contentHash) {
+        if (storedObjectRepository.acquire(contentHash) == 0)
+            return null;
+        return storedObjectRepository.findByContentHash(contentHash)
+                .map(StoredObject::getFilePath)
+                .orElse(null);
+    }
+
+    /**
+     * 새로 업로드한 객체를 참조 수 1로 등록합니다.
+     * 같은 내용이 동시에 업로드되어 다른 요청이 먼저 등록한 경우, 방금 올린 객체는 삭제를 예약하고 먼저 등록된 객체를 사용합니다.
+     *
+     * @param contentHash 내용의 SHA-256, 모르면 null
+     * @param filePath    업로드한 객체의 URL
+     * @param fileSize    파일 크기
+     * @return 첨부 파일이 사용할 객체의 URL
+     */
+    public String register(String contentHash, String filePath, long fileSize) {
+        try {
+            storedObjectRepository.saveAndFlush(StoredObject.of(contentHash, filePath, fileSize));
+            return filePath;
+        } catch (DataIntegrityViolationException e) {
+            String existingFilePath = contentHash != null ? acquire(contentHash) : null;
+            if (existingFilePath == null) {
+                // 먼저 등록된 객체가 그 사이 삭제된 경우 해시 없이 방금 올린 객체를 등록
+                storedObjectRepository.saveAndFlush(StoredObject.of(null, filePath, fileSize));
+                return filePath;
+            }
+            log.info("DUPLICATE_UPLOAD_MERGED - {} -> {}", filePath, existingFilePath);
+            s3DeletionQueue.enqueue(List.of(filePath));
+            return existingFilePath;
+        }
+    }
+
+    /**
+     * 삭제되는 첨부 파일들의 참조를 반납하고, 더 이상 참조되지 않는 객체의 URL을 반환합니다.
+     * 이 기능 도입 전에 업로드되어 등록되지 않은 객체는 공유될 수 없으므로 바로 삭제 대상으로 반환합니다.
+     *
+     * @param filePaths 삭제되는 첨부 파일의 URL 목록 (같은 URL이 여러 번 나오면 그만큼 반납)
+     * @return S3에서 삭제해도 되는 URL 집합
+     */
+    @Transactional
+    public Set<String> release(Collection<String> filePaths) {
+        Map<String, Long> releaseCountMap = filePaths.stream()
+                .collect(Collectors.groupingBy(Function.identity(), LinkedHashMap::new, Collectors.counting()));
+        if (releaseCountMap.isEmpty())
+            return Set.of();
+
+        Set<String> unreferenced = new LinkedHashSet<>(releaseCountMap.keySet());
+        Set<String> trackedFilePaths = storedObjectRepository.findByFilePathIn(releaseCountMap.keySet()).stream()
+                .map(StoredObject::getFilePath)
+                .collect(Collectors.toSet());
+        if (trackedFilePaths.isEmpty())
+            return unreferenced;
+        unreferenced.removeAll(trackedFilePaths);
+
+        for (String filePath : trackedFilePaths)
+            storedObjectRepository.release(filePath, releaseCountMap.get(filePath).intValue());
+
+        // 참조 수가 0이 된 행은 UPDATE로 잠겨 있으므로 커밋 전까지 다른 업로드가 재사용하지 못함
+        List<String> releasedFilePaths = storedObjectRepository.findUnreferencedFilePaths(trackedFilePaths);
+        if (!releasedFilePaths.isEmpty()) {
+            storedObjectRepository.deleteUnreferenced(releasedFilePaths);
+            unreferenced.addAll(releasedFilePaths);
+        }
+        return unreferenced;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.demo.service.community.post;
+
+import com.example.demo.entity.community.post.View;
+import com.example.demo.repository.community.post.PostRepository;
+import com.example.demo.repository.community.post.PostStatsRepository;
+import com.example.demo.repository.community.post.ViewRepository;
+import com.example.demo.repository.users.user.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+/**
+ * 게시글 조회수를 메모리에 모아 두었다가 주기적으로 DB에 일괄 반영하는 write-behind 버퍼.
+ * 같은 사용자가 같은 게시글을 하루에 여러 번 조회해도 한 번만 집계합니다.
+ * 조회 기록과 게시글별 조회수는 묶음마다 한 트랜잭션으로 반영하므로 둘이 서로 어긋나지 않습니다.
+ * 중복 확인용 키는 두 세대로 나누어 최대 개수를 넘지 않게 하며, 넘치면 가장 오래된 세대부터 버립니다.
+ */
+@Slf4j
+@Component
+public class ViewCountBuffer {
+
+    private static final long FLUSH_INTERVAL_MS = 5000L;
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    private final ViewRepository viewRepository;
+    private final PostStatsRepository postStatsRepository;
+    private final PostRepository postRepository;
+    private final UserRepository userRepository;
+    private final PostDetailCache postDetailCache;
+    private final TransactionTemplate transactionTemplate;
+
+    // 게시글 ID별 아직 반영되지 않은 조회수 (ConcurrentHashMap의 bin 단위 락으로 스트라이핑됨)
+    private final Map<Long, Long> pendingCounts = new ConcurrentHashMap<>();
+    private final Queue<PendingView> pendingViews = new ConcurrentLinkedQueue<>();
+
+    // 오늘 집계된 (게시글, 사용자) 키. 현재 세대가 차면 이전 세대를 버리고 세대를 넘김
+    private final int maxKeysPerGeneration;
+    private volatile Set<String> viewedKeys = ConcurrentHashMap.newKeySet();
+    private volatile Set<String> previousViewedKeys = ConcurrentHashMap.newKeySet();
+    private volatile LocalDate viewedDate = LocalDate.now();
+
+    public ViewCountBuffer(ViewRepository viewRepository,
+                           PostStatsRepository postStatsRepository,
+                           PostRepository postRepository,
+                           UserRepository userRepository,
+                           PostDetailCache postDetailCache,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${community.view.max-dedup-keys:1000000}") int maxDedupKeys) {
+        this.viewRepository = viewRepository;
+        this.postStatsRepository = postStatsRepository;
+        this.postRepository = postRepository;
+        this.userRepository = userRepository;
+        this.postDetailCache = postDetailCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxKeysPerGeneration = Math.max(1, maxDedupKeys / 2);
+    }
+
+    /**
+     * 조회 이벤트를 버퍼에 기록합니다. 같은 날 같은 사용자의 중복 조회는 무시됩니다.
+     *
+     * @param postId 조회된 게시글 ID
+     * @param userId 조회한 사용자 ID
+     * @return 새로 집계된 조회이면 true, 오늘 이미 집계된 조회이면 false
+     */
+    public boolean record(Long postId, String userId) {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(viewedDate))
+            rotateDay(today);
+
+        String key = postId + ":" + userId;
+        if (previousViewedKeys.contains(key))
+            return false;
+        if (viewedKeys.size() >= maxKeysPerGeneration)
+            rotateGeneration();
+        if (!viewedKeys.add(key))
+            return false;
+
+        pendingViews.add(new PendingView(postId, userId, LocalDateTime.now(), 0));
+        pendingCounts.merge(postId, 1L, Long::sum);
+        return true;
+    }
+
+    /**
+     * 아직 DB에 반영되지 않은 조회수를 반환합니다.
+     *
+     * @param postId 게시글 ID
+     * @return 버퍼에 남아 있는 조회수
+     */
+    public long getPendingCount(Long postId) {
+        return pendingCounts.getOrDefault(postId, 0L);
+    }
+
+    /**
+     * 버퍼에 쌓인 조회 기록과 조회수를 DB에 일괄 반영합니다.
+     * 반영에 실패한 묶음은 다음 주기에 다시 시도하도록 버퍼에 되돌립니다.
+     */
+    @Scheduled(fixedDelay = FLUSH_INTERVAL_MS)
+    public void flush() {
+        while (!pendingViews.isEmpty()) {
+            if (!flushViews())
+                break;
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private boolean flushViews() {
+        List<PendingView> batch = new ArrayList<>(MAX_BATCH_SIZE);
+        PendingView pendingView;
+        while (batch.size() < MAX_BATCH_SIZE && (pendingView = pendingViews.poll()) != null)
+            batch.add(pendingView);
+        Map<Long, Long> batchCounts = batch.stream()
+                .collect(Collectors.groupingBy(PendingView::postId, Collectors.counting()));
+
+        Map<Long, Long> writtenCounts;
+        try {
+            writtenCounts = transactionTemplate.execute(status -> writeViews(batch, batchCounts));
+        } catch (RuntimeException e) {
+            log.warn("VIEW_FLUSH_FAILED - size: {}, {}", batch.size(), e.getMessage());
+            for (PendingView view : batch) {
+                if (view.attempts() + 1 < MAX_FLUSH_ATTEMPTS)
+                    pendingViews.add(view.retry());
+                else
+                    // 포기한 조회는 대기 조회수에서도 뺌
+                    subtractPending(view.postId(), 1L);
+            }
+            return false;
+        }
+
+        // 반영이 끝날 때까지 버퍼에 남겨 두어 그동안의 조회수 조회가 적게 나오지 않게 함
+        batchCounts.forEach((postId, count) -> {
+            subtractPending(postId, count);
+            // 캐시된 상세 응답은 무효화하지 않고 반영한 조회수만 옮겨 줌 (대기 조회수에서 뺀 만큼 더함)
+            if (writtenCounts != null && writtenCounts.containsKey(postId))
+                postDetailCache.addViewCount(postId, count);
+        });
+        return true;
+    }
+
+    // 조회 기록과 게시글별 조회수를 쓰고 반영한 게시글별 조회수를 반환 (버퍼에 있는 동안 삭제된 게시글의 조회는 버림)
+    private Map<Long, Long> writeViews(List<PendingView> batch, Map<Long, Long> batchCounts) {
+        Set<Long> existingPostIds = new HashSet<>(postRepository.findExistingPostIds(batchCounts.keySet()));
+
+        List<View> viewList = batch.stream()
+                .filter(view -> existingPostIds.contains(view.postId()))
+                .map(view -> View.toEntity(
+                        userRepository.getReferenceById(view.userId()),
+                        postRepository.getReferenceById(view.postId()),
+                        view.viewedAt()))
+                .toList();
+        viewRepository.saveAll(viewList);
+
+        Map<Long, Long> writtenCounts = new HashMap<>(batchCounts);
+        writtenCounts.keySet().retainAll(existingPostIds);
+        writtenCounts.forEach(postStatsRepository::increaseViewCount);
+        return writtenCounts;
+    }
+
+    // 반영한 만큼만 빼서 반영하는 동안 새로 쌓인 조회수는 남김
+    private void subtractPending(Long postId, long delta) {
+        pendingCounts.computeIfPresent(postId, (id, count) -> count - delta == 0 ? null : count - delta);
+    }
+
+    private synchronized void rotateDay(LocalDate today) {
+        if (!today.equals(viewedDate)) {
+            viewedKeys = ConcurrentHashMap.newKeySet();
+            previousViewedKeys = ConcurrentHashMap.newKeySet();
+            viewedDate = today;
+        }
+    }
+
+    private synchronized void rotateGeneration() {
+        if (viewedKeys.size() < maxKeysPerGeneration)
+            return;
+        previousViewedKeys = viewedKeys;
+        viewedKeys = ConcurrentHashMap.newKeySet();
+    }
+
+    private record PendingView(Long postId, String userId, LocalDateTime viewedAt, int attempts) {
+
+        PendingView retry() {
+            return new PendingView(postId, userId, viewedAt, attempts + 1);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.example.demo.service.community.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 게시글 제목/본문에 대한 메모리 역색인.
+ * 변경 사항은 로컬 디스크의 작업 로그에 추가되고 주기적으로 스냅샷으로 압축되므로
+ * 재시작 시 스냅샷과 로그만 읽어 색인을 복구할 수 있습니다.
+ * DB 변경 기록 중 어디까지 반영했는지도 함께 저장해 재시작 후 그 다음 변경부터 이어서 반영합니다.
+ * 점수는 BM25로 계산하며 제목 토큰에는 가중치를 더 줍니다.
+ */
+@Slf4j
+@Component
+public class PostSearchIndex {
+
+    private static final String SNAPSHOT_FILE = "posts.snapshot";
+    private static final String LOG_FILE = "posts.log";
+    private static final String CHECKPOINT_FILE = "posts.checkpoint";
+    private static final byte OP_UPSERT = 1;
+    private static final byte OP_DELETE = 2;
+    private static final int TITLE_WEIGHT = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Comparator<Map.Entry<Long, Double>> SCORE_ORDER =
+            Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey());
+
+    private final Path snapshotPath;
+    private final Path logPath;
+    private final Path checkpointPath;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 토큰 -> (게시글 ID -> 가중 빈도)
+    private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+    // 게시글 ID -> 게시글의 토큰 빈도 (삭제/수정 시 역색인에서 빼기 위해 보관)
+    private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+    // 게시글 ID -> 가중 토큰 수 (BM25 길이 정규화용)
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    private long totalLength;
+    private int pendingLogOps;
+    // 색인에 반영된 마지막 DB 변경 기록 ID
+    private volatile long appliedChangeId;
+
+    private DataOutputStream logWriter;
+
+    public PostSearchIndex(@Value("${community.search.index-dir:data/search-index}") String indexDir) {
+        Path directory = Path.of(indexDir);
+        this.snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        this.logPath = directory.resolve(LOG_FILE);
+        this.checkpointPath = directory.resolve(CHECKPOINT_FILE);
+        try {
+            Files.createDirectories(directory);
+            load();
+            // 잘린 작업 뒤에 새 작업이 이어 쓰이지 않도록 재생한 로그는 바로 스냅샷으로 합침
+            if (Files.exists(logPath))
+                writeSnapshot();
+            else
+                logWriter = openLogWriter();
+        } catch (IOException e) {
+            throw new UncheckedIOException("SEARCH_INDEX_LOAD_FAILED", e);
+        }
+    }
+
+    /**
+     * 게시글을 색인에 추가하거나 기존 색인을 교체합니다.
+     *
+     * @param postId  게시글 ID
+     * @param title   게시글 제목
+     * @param content 게시글 본문
+     */
+    public void upsert(Long postId, String title, String content) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        PostTokenizer.tokenize(title).forEach(token -> termFrequencies.merge(token, TITLE_WEIGHT, Integer::sum));
+        PostTokenizer.tokenize(content).forEach(token -> termFrequencies.merge(token, 1, Integer::sum));
+
+        lock.writeLock().lock();
+        try {
+            applyUpsert(postId, termFrequencies);
+            appendLog(OP_UPSERT, postId, termFrequencies);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 게시글을 색인에서 제거합니다.
+     *
+     * @param postId 게시글 ID
+     */
+    public void delete(Long postId) {
+        lock.writeLock().lock();
+        try {
+            if (applyDelete(postId))
+                appendLog(OP_DELETE, postId, Map.of());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어와 일치하는 게시글 ID를 점수 내림차순으로 반환합니다.
+     *
+     * @param query  검색어
+     * @param offset 건너뛸 결과 수
+     * @param limit  반환할 최대 결과 수
+     * @return 점수 순으로 정렬된 게시글 ID 리스트
+     */
+    public List<Long> search(String query, int offset, int limit) {
+        Set<String> queryTokens = new LinkedHashSet<>(PostTokenizer.tokenize(query));
+        if (queryTokens.isEmpty() || limit <= 0)
+            return List.of();
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            if (documentCount == 0)
+                return List.of();
+            double averageLength = (double) totalLength / documentCount;
+
+            Map<Long, Double> scores = new HashMap<>();
+            for (String token : queryTokens) {
+                Map<Long, Integer> posting = postings.get(token);
+                if (posting == null)
+                    continue;
+                double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((postId, frequency) -> {
+                    double length = documentLengths.get(postId);
+                    double score = idf * frequency * (K1 + 1) / (frequency + K1 * (1 - B + B * length / averageLength));
+                    scores.merge(postId, score, Double::sum);
+                });
+            }
+
+            // 필요한 만큼만 남기도록 크기가 제한된 최소 힙으로 상위 결과를 고름
+            int topK = offset + limit;
+            PriorityQueue<Map.Entry<Long, Double>> heap = new PriorityQueue<>(SCORE_ORDER);
+            for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                heap.offer(entry);
+                if (heap.size() > topK)
+                    heap.poll();
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(heap);
+            ranked.sort(SCORE_ORDER.reversed());
+            return ranked.stream()
+                    .skip(offset)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인된 게시글 수를 반환합니다.
+     *
+     * @return 색인된 게시글 수
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인의 모든 게시글을 지우고 빈 스냅샷을 저장합니다. 반영 위치도 처음으로 돌립니다.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            documentLengths.clear();
+            totalLength = 0;
+            writeSnapshot();
+            setAppliedChangeId(0L);
+        } catch (IOException e) {
+            throw new UncheckedIOException("SEARCH_INDEX_CLEAR_FAILED", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 색인에 반영된 마지막 DB 변경 기록 ID를 반환합니다.
+     *
+     * @return 반영된 마지막 변경 ID (반영한 적이 없으면 0)
+     */
+    public long getAppliedChangeId() {
+        return appliedChangeId;
+    }
+
+    /**
+     * 색인에 반영된 마지막 DB 변경 기록 ID를 저장합니다.
+     * 해당 변경까지의 작업이 로그에 기록된 뒤에 호출해야 재시작 후 변경을 놓치지 않습니다.
+     *
+     * @param changeId 반영된 마지막 변경 ID
+     */
+    public void setAppliedChangeId(long changeId) {
+        appliedChangeId = changeId;
+        Path tempPath = checkpointPath.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(tempPath))) {
+                out.writeLong(changeId);
+            }
+            Files.move(tempPath, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // 저장하지 못하면 재시작 후 이전 위치부터 다시 반영 (반영은 멱등)
+            log.warn("SEARCH_INDEX_CHECKPOINT_FAILED - changeId: {}, {}", changeId, e.getMessage());
+        }
+    }
+
+    /**
+     * 현재 색인을 스냅샷 파일로 저장하고 작업 로그를 비웁니다.
+     * 스냅샷은 임시 파일에 먼저 쓴 뒤 교체하므로 저장 중 종료되어도 기존 스냅샷이 유지됩니다.
+     */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            if (pendingLogOps > 0)
+                writeSnapshot();
+        } catch (IOException e) {
+            log.warn("SEARCH_INDEX_COMPACT_FAILED - {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 스냅샷 이후 로그에 쌓인 작업 수를 반환합니다.
+     *
+     * @return 스냅샷에 반영되지 않은 작업 수
+     */
+    public int getPendingLogOps() {
+        return pendingLogOps;
+    }
+
+    @PreDestroy
+    public void close() {
+        compact();
+        try {
+            logWriter.close();
+        } catch (IOException e) {
+            log.warn("SEARCH_INDEX_CLOSE_FAILED - {}", e.getMessage());
+        }
+    }
+
+    private void load() throws IOException {
+        if (Files.exists(checkpointPath)) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(checkpointPath))) {
+                appliedChangeId = in.readLong();
+            } catch (EOFException e) {
+                // 저장 중 잘린 파일은 처음부터 다시 반영
+                appliedChangeId = 0L;
+            }
+        }
+
+        if (Files.exists(snapshotPath)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+                int documentCount = in.readInt();
+                for (int i = 0; i < documentCount; i++) {
+                    long postId = in.readLong();
+                    applyUpsert(postId, readTermFrequencies(in));
+                }
+            }
+        }
+
+        if (Files.exists(logPath)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(logPath)))) {
+                while (true) {
+                    byte op = in.readByte();
+                    long postId = in.readLong();
+                    if (op == OP_UPSERT)
+                        applyUpsert(postId, readTermFrequencies(in));
+                    else
+                        applyDelete(postId);
+                    pendingLogOps++;
+                }
+            } catch (EOFException e) {
+                // 로그 끝 또는 비정상 종료로 잘린 마지막 작업
+            }
+        }
+        log.info("search index loaded - documents: {}, replayed ops: {}, applied change: {}",
+                documents.size(), pendingLogOps, appliedChangeId);
+    }
+
+    private void writeSnapshot() throws IOException {
+        Path tempPath = snapshotPath.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            out.writeInt(documents.size());
+            for (Map.Entry<Long, Map<String, Integer>> document : documents.entrySet())
+                writeDocument(out, document.getKey(), document.getValue());
+        }
+        Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        if (logWriter != null)
+            logWriter.close();
+        Files.deleteIfExists(logPath);
+        logWriter = openLogWriter();
+        pendingLogOps = 0;
+    }
+
+    private void applyUpsert(Long postId, Map<String, Integer> termFrequencies) {
+        applyDelete(postId);
+        if (termFrequencies.isEmpty())
+            return;
+        int length = documentLength(termFrequencies);
+        documents.put(postId, termFrequencies);
+        documentLengths.put(postId, length);
+        totalLength += length;
+        termFrequencies.forEach((token, frequency) ->
+                postings.computeIfAbsent(token, key -> new HashMap<>()).put(postId, frequency));
+    }
+
+    private boolean applyDelete(Long postId) {
+        Map<String, Integer> previous = documents.remove(postId);
+        if (previous == null)
+            return false;
+        totalLength -= documentLengths.remove(postId);
+        previous.keySet().forEach(token -> {
+            Map<Long, Integer> posting = postings.get(token);
+            if (posting != null) {
+                posting.remove(postId);
+                if (posting.isEmpty())
+                    postings.remove(token);
+            }
+        });
+        return true;
+    }
+
+    private void appendLog(byte op, Long postId, Map<String, Integer> termFrequencies) {
+        try {
+            logWriter.writeByte(op);
+            if (op == OP_UPSERT)
+                writeDocument(logWriter, postId, termFrequencies);
+            else
+                logWriter.writeLong(postId);
+            logWriter.flush();
+            pendingLogOps++;
+        } catch (IOException e) {
+            log.warn("SEARCH_INDEX_LOG_FAILED - postId: {}, {}", postId, e.getMessage());
+        }
+    }
+
+    private static void writeDocument(DataOutputStream out, Long postId, Map<String, Integer> termFrequencies) throws IOException {
+        out.writeLong(postId);
+        out.writeInt(termFrequencies.size());
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+    }
+
+    private static Map<String, Integer> readTermFrequencies(DataInputStream in) throws IOException {
+        int termCount = in.readInt();
+        Map<String, Integer> termFrequencies = new HashMap<>(termCount * 2);
+        for (int i = 0; i < termCount; i++)
+            termFrequencies.put(in.readUTF(), in.readInt());
+        return termFrequencies;
+    }
+
+    private static int documentLength(Map<String, Integer> termFrequencies) {
+        return termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private DataOutputStream openLogWriter() throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(logPath.toFile(), true)));
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.demo.service.community.search;
+
+import com.example.demo.entity.community.post.Post;
+import com.example.demo.entity.community.post.PostIndexChange;
+import com.example.demo.repository.community.post.PostIndexChangeRepository;
+import com.example.demo.repository.community.post.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * PostSearchService는 게시글 검색 색인을 게시글 변경에 맞춰 유지하는 서비스 클래스입니다.
+ * 게시글이 바뀌면 같은 트랜잭션에 변경 기록(post_index_change)만 남기고, 모든 노드가 이 기록을 주기적으로 읽어
+ * 커밋된 게시글 상태로 자신의 메모리 색인을 갱신합니다. 따라서 롤백된 변경은 색인되지 않고 노드 간 색인도 같아집니다.
+ * 공개 게시글만 색인하며, 색인이 비어 있거나 보관 기간보다 오래 반영하지 못한 노드는 DB에서 전체 색인을 다시 만듭니다.
+ */
+@Slf4j
+@Service
+public class PostSearchService {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final int SYNC_PAGE_SIZE = 500;
+    private static final int COMPACT_THRESHOLD = 1000;
+
+    private final PostSearchIndex postSearchIndex;
+    private final PostRepository postRepository;
+    private final PostIndexChangeRepository postIndexChangeRepository;
+    private final Duration commitGrace;
+    private final Duration changeRetention;
+    private final Clock clock;
+
+    // 반영 위치 이후에 이미 반영한 변경 ID와 기록 시간 (늦게 커밋될 수 있는 구간이라 위치를 넘기지 않고 다시 읽음)
+    private final Map<Long, LocalDateTime> recentChanges = new HashMap<>();
+    // 기동 시 색인 준비가 끝나기 전에는 변경을 반영하지 않음
+    private volatile boolean ready;
+
+    @Autowired
+    public PostSearchService(PostSearchIndex postSearchIndex,
+                             PostRepository postRepository,
+                             PostIndexChangeRepository postIndexChangeRepository,
+                             @Value("${community.search.commit-grace-seconds:60}") long commitGraceSeconds,
+                             @Value("${community.search.change-retention-days:7}") long changeRetentionDays) {
+        this(postSearchIndex, postRepository, postIndexChangeRepository, Duration.ofSeconds(commitGraceSeconds),
+                Duration.ofDays(changeRetentionDays), Clock.systemDefaultZone());
+    }
+
+    PostSearchService(PostSearchIndex postSearchIndex, PostRepository postRepository,
+                      PostIndexChangeRepository postIndexChangeRepository, Duration commitGrace,
+                      Duration changeRetention, Clock clock) {
+        this.postSearchIndex = postSearchIndex;
+        this.postRepository = postRepository;
+        this.postIndexChangeRepository = postIndexChangeRepository;
+        this.commitGrace = commitGrace;
+        this.changeRetention = changeRetention;
+        this.clock = clock;
+    }
+
+    /**
+     * 게시글 변경을 기록해 커밋된 뒤 모든 노드의 색인에 반영되게 합니다. 비공개 게시글은 색인에서 제거됩니다.
+     *
+     * @param post 색인할 게시글
+     */
+    public void indexPost(Post post) {
+        postIndexChangeRepository.save(PostIndexChange.of(post.getPostId()));
+    }
+
+    /**
+     * 게시글 삭제를 기록해 커밋된 뒤 모든 노드의 색인에서 제거되게 합니다.
+     *
+     * @param postId 제거할 게시글 ID
+     */
+    public void removePost(Long postId) {
+        postIndexChangeRepository.save(PostIndexChange.of(postId));
+    }
+
+    /**
+     * 검색어와 일치하는 게시글 ID를 관련도 순으로 조회합니다.
+     *
+     * @param query 검색어
+     * @param page  페이지 번호 (0부터 시작)
+     * @param size  페이지 크기
+     * @return 관련도 순 게시글 ID 리스트
+     */
+    public List<Long> searchPostIds(String query, int page, int size) {
+        return postSearchIndex.search(query, page * size, size);
+    }
+
+    /**
+     * 기동 시 색인을 준비합니다. 색인이 비어 있거나, 반영하지 못한 변경 기록이 보관 기간이 지나 삭제되었으면
+     * 공개 게시글 전체를 ID 순으로 나누어 읽어 색인을 다시 만듭니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareIndex() {
+        Long minChangeId = postIndexChangeRepository.findMinChangeId();
+        boolean changesMissed = minChangeId != null && postSearchIndex.getAppliedChangeId() + 1 < minChangeId;
+        if (changesMissed) {
+            log.warn("search index is behind the retained change log - applied: {}, oldest retained: {}",
+                    postSearchIndex.getAppliedChangeId(), minChangeId);
+            postSearchIndex.clear();
+        }
+
+        if (postSearchIndex.size() == 0 && postRepository.existsByOpen(true))
+            rebuild();
+        ready = true;
+    }
+
+    private void rebuild() {
+        // 재구성 중에 커밋되는 변경은 재구성 뒤 변경 기록으로 다시 반영
+        Long rebuildChangeId = postIndexChangeRepository.findMaxChangeIdCreatedBefore(LocalDateTime.now(clock).minus(commitGrace));
+
+        long lastPostId = 0L;
+        int indexedCount = 0;
+        List<Post> postList;
+        do {
+            postList = postRepository.findByPostIdGreaterThanOrderByPostIdAsc(lastPostId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+            for (Post post : postList) {
+                apply(post.getPostId(), post);
+                lastPostId = post.getPostId();
+                indexedCount++;
+            }
+        } while (postList.size() == REBUILD_PAGE_SIZE);
+
+        postSearchIndex.compact();
+        postSearchIndex.setAppliedChangeId(rebuildChangeId != null ? rebuildChangeId : 0L);
+        log.info("search index rebuilt - posts: {}", indexedCount);
+    }
+
+    /**
+     * 반영 위치 이후의 변경 기록을 읽어 해당 게시글의 현재 상태로 색인을 갱신합니다.
+     * 자동 증가 ID는 커밋 순서와 다를 수 있으므로, 기록된 지 유예 시간이 지나지 않은 변경은 반영하되
+     * 반영 위치는 넘기지 않고 다음 주기에 다시 읽어 늦게 커밋된 앞 번호의 변경을 놓치지 않습니다.
+     */
+    @Scheduled(fixedDelay = 2 * 1000L)
+    public void syncChanges() {
+        if (!ready)
+            return;
+
+        long appliedChangeId = postSearchIndex.getAppliedChangeId();
+        LocalDateTime settledBefore = LocalDateTime.now(clock).minus(commitGrace);
+        long settledChangeId = appliedChangeId;
+        boolean settled = true;
+
+        long afterChangeId = appliedChangeId;
+        List<PostIndexChange> changeList;
+        do {
+            changeList = postIndexChangeRepository.findByChangeIdGreaterThanOrderByChangeIdAsc(afterChangeId,
+                    PageRequest.of(0, SYNC_PAGE_SIZE));
+            Set<Long> changedPostIds = new HashSet<>();
+            for (PostIndexChange change : changeList) {
+                if (recentChanges.putIfAbsent(change.getChangeId(), change.getCreatedAt()) == null)
+                    changedPostIds.add(change.getPostId());
+
+                // 앞선 변경이 모두 유예 시간을 넘긴 구간까지만 반영 위치를 옮김
+                settled = settled && change.getCreatedAt().isBefore(settledBefore);
+                if (settled)
+                    settledChangeId = change.getChangeId();
+                afterChangeId = change.getChangeId();
+            }
+            applyAll(changedPostIds);
+        } while (changeList.size() == SYNC_PAGE_SIZE);
+
+        if (settledChangeId > appliedChangeId) {
+            postSearchIndex.setAppliedChangeId(settledChangeId);
+            long checkpoint = settledChangeId;
+            recentChanges.keySet().removeIf(changeId -> changeId <= checkpoint);
+        }
+    }
+
+    private void applyAll(Set<Long> postIds) {
+        if (postIds.isEmpty())
+            return;
+        Map<Long, Post> postMap = postRepository.findAllById(postIds).stream()
+                .collect(Collectors.toMap(Post::getPostId, Function.identity()));
+        postIds.forEach(postId -> apply(postId, postMap.get(postId)));
+    }
+
+    // 삭제되었거나 비공개인 게시글은 색인에서 제거
+    private void apply(Long postId, Post post) {
+        if (post != null && post.isOpen())
+            postSearchIndex.upsert(postId, post.getTitle(), post.getContent());
+        else
+            postSearchIndex.delete(postId);
+    }
+
+    /**
+     * 보관 기간이 지난 변경 기록을 삭제합니다. 가장 최근 기록은 남겨 두어 오래 멈춰 있던 노드가 재구성이 필요한지 알 수 있게 합니다.
+     */
+    @Scheduled(fixedDelay = 60 * 60 * 1000L)
+    public void pruneChanges() {
+        Long maxChangeId = postIndexChangeRepository.findMaxChangeId();
+        if (maxChangeId == null)
+            return;
+        int deletedCount = postIndexChangeRepository.deleteExpired(LocalDateTime.now(clock).minus(changeRetention), maxChangeId);
+        if (deletedCount > 0)
+            log.info("search index changes pruned - deleted: {}", deletedCount);
+    }
+
+    /**
+     * 작업 로그가 충분히 쌓이면 색인 스냅샷을 새로 저장합니다.
+     */
+    @Scheduled(fixedDelay = 10 * 60 * 1000L)
+    public void compactIndex() {
+        if (postSearchIndex.getPendingLogOps() >= COMPACT_THRESHOLD)
+            postSearchIndex.compact();
+    }
+}
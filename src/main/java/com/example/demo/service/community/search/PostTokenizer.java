@@ -0,0 +1,73 @@
+package com.example.demo.service.community.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * 게시글 검색용 토크나이저.
+ * 영문/숫자는 단어 단위로 소문자화하고, 한글은 조사가 붙어도 검색되도록 음절 bigram으로 분리합니다.
+ */
+public final class PostTokenizer {
+
+    private static final Pattern IMAGE_MARKDOWN_PATTERN = Pattern.compile("!\\[[^\\]]*\\]\\([^)]*\\)");
+    private static final Pattern URL_PATTERN = Pattern.compile("https?://\\S+");
+    private static final int MAX_TOKEN_LENGTH = 40;
+
+    private PostTokenizer() {
+    }
+
+    /**
+     * 텍스트를 검색 토큰 리스트로 분리합니다. 중복 토큰은 그대로 유지되어 단어 빈도 계산에 사용됩니다.
+     *
+     * @param text 분리할 텍스트
+     * @return 토큰 리스트
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank())
+            return tokens;
+
+        String cleaned = URL_PATTERN.matcher(IMAGE_MARKDOWN_PATTERN.matcher(text).replaceAll(" ")).replaceAll(" ");
+
+        StringBuilder word = new StringBuilder();
+        StringBuilder hangul = new StringBuilder();
+        cleaned.codePoints().forEach(codePoint -> {
+            if (isHangul(codePoint)) {
+                flushWord(word, tokens);
+                hangul.appendCodePoint(codePoint);
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                flushHangul(hangul, tokens);
+                word.appendCodePoint(codePoint);
+            } else {
+                flushWord(word, tokens);
+                flushHangul(hangul, tokens);
+            }
+        });
+        flushWord(word, tokens);
+        flushHangul(hangul, tokens);
+        return tokens;
+    }
+
+    private static boolean isHangul(int codePoint) {
+        return Character.UnicodeScript.of(codePoint) == Character.UnicodeScript.HANGUL;
+    }
+
+    private static void flushWord(StringBuilder word, List<String> tokens) {
+        // 한 글자 영문/숫자는 검색 변별력이 없으므로 제외
+        if (word.length() > 1 && word.length() <= MAX_TOKEN_LENGTH)
+            tokens.add(word.toString().toLowerCase(Locale.ROOT));
+        word.setLength(0);
+    }
+
+    private static void flushHangul(StringBuilder hangul, List<String> tokens) {
+        if (hangul.length() == 1) {
+            tokens.add(hangul.toString());
+        } else {
+            for (int i = 0; i + 1 < hangul.length(); i++)
+                tokens.add(hangul.substring(i, i + 2));
+        }
+        hangul.setLength(0);
+    }
+}
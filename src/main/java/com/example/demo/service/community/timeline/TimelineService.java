@@ -0,0 +1,227 @@
+package com.example.demo.service.community.timeline;
+
+import com.example.demo.entity.community.post.Post;
+import com.example.demo.repository.community.follow.FollowRepository;
+import com.example.demo.repository.community.post.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 팔로우한 작성자의 게시글로 구성된 홈 타임라인을 관리하는 서비스 클래스.
+ * 게시글이 작성되면 팔로워별 Redis 정렬 집합(점수 = 게시글 ID)에 게시글 ID를 넣어 두는 fan-out-on-write 방식이라
+ * 홈 피드 조회는 정렬 집합의 범위 조회 한 번으로 끝납니다.
+ * 팔로워가 너무 많은 작성자는 팬아웃하지 않고, 조회 시점에 DB에서 해당 작성자의 글을 읽어 합칩니다.
+ * 팬아웃은 이미 만들어진 타임라인에만 넣으므로, 타임라인이 없는 팔로워는 처음 조회할 때 DB에서 온전히 다시 만들어집니다.
+ */
+@Slf4j
+@Service
+public class TimelineService {
+
+    // 팔로워별 타임라인에 보관하는 최대 게시글 수
+    public static final int TIMELINE_SIZE = 800;
+    // 새로 팔로우했을 때 타임라인에 채워 넣는 작성자의 최근 게시글 수
+    private static final int FOLLOW_BACKFILL_SIZE = 20;
+    private static final String TIMELINE_KEY_PREFIX = "timeline:";
+    // 팬아웃하지 않고 읽기 시점에 합치는 작성자 집합
+    private static final String PULL_AUTHORS_KEY = "timeline:pull-authors";
+    // 글이 하나도 없는 타임라인도 키가 남도록 넣어 두는 표시 (게시글 ID는 1부터 시작하므로 실제 글과 겹치지 않음)
+    private static final String EMPTY_MARKER = "0";
+    // 한 번의 스크립트 호출로 팬아웃하는 팔로워 수
+    private static final int FAN_OUT_BATCH_SIZE = 500;
+
+    // 키가 있는 타임라인에만 게시글을 넣고 최대 크기로 자름 (만료된 타임라인을 일부 글만으로 되살리지 않기 위함)
+    private static final RedisScript<Long> ADD_IF_EXISTS_SCRIPT = new DefaultRedisScript<>(
+            "local added = 0 " +
+            "for _, key in ipairs(KEYS) do " +
+            "  if redis.call('exists', key) == 1 then " +
+            "    redis.call('zadd', key, ARGV[2], ARGV[1]) " +
+            "    redis.call('zremrangebyrank', key, 0, -(tonumber(ARGV[3]) + 1)) " +
+            "    added = added + 1 " +
+            "  end " +
+            "end " +
+            "return added",
+            Long.class);
+
+    private final RedisTemplate<Object, Object> redisTemplate;
+    private final FollowRepository followRepository;
+    private final PostRepository postRepository;
+    private final long fanOutThreshold;
+    private final long ttlMinutes;
+
+    public TimelineService(RedisTemplate<Object, Object> redisTemplate,
+                           FollowRepository followRepository,
+                           PostRepository postRepository,
+                           @Value("${community.timeline.fan-out-threshold:10000}") long fanOutThreshold,
+                           @Value("${community.timeline.ttl-minutes:1440}") long ttlMinutes) {
+        this.redisTemplate = redisTemplate;
+        this.followRepository = followRepository;
+        this.postRepository = postRepository;
+        this.fanOutThreshold = fanOutThreshold;
+        this.ttlMinutes = ttlMinutes;
+    }
+
+    /**
+     * 새 게시글을 작성자의 팔로워 타임라인에 넣습니다.
+     * 팔로워 수가 기준 이상인 작성자는 팬아웃하지 않고 읽기 시점 병합 대상으로 등록합니다.
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 넣으므로 롤백된 게시글은 타임라인에 들어가지 않습니다.
+     *
+     * @param post 새로 작성된 게시글
+     */
+    public void fanOutPost(Post post) {
+        if (!post.isOpen())
+            return;
+
+        Long postId = post.getPostId();
+        String authorId = post.getUser().getUserId();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            fanOut(postId, authorId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                fanOut(postId, authorId);
+            }
+        });
+    }
+
+    private void fanOut(Long postId, String authorId) {
+        try {
+            if (followRepository.countByFollowingUser_UserId(authorId) >= fanOutThreshold) {
+                redisTemplate.opsForSet().add(PULL_AUTHORS_KEY, authorId);
+                return;
+            }
+            redisTemplate.opsForSet().remove(PULL_AUTHORS_KEY, authorId);
+
+            List<String> followerIdList = followRepository.findFollowerIds(authorId);
+            if (!followerIdList.isEmpty())
+                addToTimelines(followerIdList, postId);
+        } catch (DataAccessException e) {
+            // 타임라인은 DB에서 다시 만들 수 있으므로 게시글 작성은 실패시키지 않음
+            log.warn("TIMELINE_FAN_OUT_FAILED - postId: {}, {}", postId, e.getMessage());
+        }
+    }
+
+    /**
+     * 새로 팔로우한 작성자의 최근 게시글을 팔로워의 타임라인에 채워 넣습니다.
+     *
+     * @param userId          팔로우한 사용자 ID
+     * @param followingUserId 팔로우된 작성자 ID
+     */
+    public void onFollow(String userId, String followingUserId) {
+        try {
+            // 읽기 시점에 병합되는 작성자는 채워 넣을 필요 없음
+            if (Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(PULL_AUTHORS_KEY, followingUserId)))
+                return;
+
+            String key = timelineKey(userId);
+            List<Long> postIdList = postRepository.findOpenPostIdsByUserId(followingUserId, PageRequest.of(0, FOLLOW_BACKFILL_SIZE));
+            if (postIdList.isEmpty() || !Boolean.TRUE.equals(redisTemplate.hasKey(key)))
+                return;
+
+            Set<ZSetOperations.TypedTuple<Object>> tuples = new HashSet<>();
+            postIdList.forEach(postId -> tuples.add(ZSetOperations.TypedTuple.of(postId.toString(), postId.doubleValue())));
+            redisTemplate.opsForZSet().add(key, tuples);
+            redisTemplate.opsForZSet().removeRange(key, 0, -(TIMELINE_SIZE + 1));
+        } catch (DataAccessException e) {
+            log.warn("TIMELINE_BACKFILL_FAILED - userId: {}, {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 팔로우를 취소한 작성자의 게시글을 팔로워의 타임라인에서 제거합니다.
+     *
+     * @param userId          팔로우를 취소한 사용자 ID
+     * @param followingUserId 팔로우가 취소된 작성자 ID
+     */
+    public void onUnfollow(String userId, String followingUserId) {
+        try {
+            List<Long> postIdList = postRepository.findOpenPostIdsByUserId(followingUserId, PageRequest.of(0, TIMELINE_SIZE));
+            if (!postIdList.isEmpty())
+                redisTemplate.opsForZSet().remove(timelineKey(userId), postIdList.stream().map(String::valueOf).toArray());
+        } catch (DataAccessException e) {
+            log.warn("TIMELINE_UNFOLLOW_FAILED - userId: {}, {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 홈 타임라인에서 게시글 ID를 최신순으로 조회합니다.
+     * 팬아웃된 타임라인을 범위 조회하고, 팬아웃하지 않는 작성자의 글은 DB에서 읽어 합칩니다.
+     * 타임라인이 아직 없거나 만료되었으면 팔로우 목록을 기준으로 DB에서 다시 만듭니다.
+     *
+     * @param userId 사용자 ID
+     * @param before 이 게시글 ID보다 작은 게시글만 조회 (첫 페이지면 null)
+     * @param limit  조회할 최대 게시글 수
+     * @return 최신순으로 정렬된 게시글 ID 리스트
+     */
+    public List<Long> getTimelinePostIds(String userId, Long before, int limit) {
+        String key = timelineKey(userId);
+        long upperBound = before == null ? Long.MAX_VALUE : before;
+
+        TreeSet<Long> postIds = new TreeSet<>(Comparator.reverseOrder());
+        if (before == null && !Boolean.TRUE.equals(redisTemplate.hasKey(key)))
+            postIds.addAll(rebuildTimeline(userId));
+        else
+            postIds.addAll(rangeBefore(key, upperBound, limit));
+
+        Set<Object> pullAuthors = redisTemplate.opsForSet().members(PULL_AUTHORS_KEY);
+        if (pullAuthors != null && !pullAuthors.isEmpty()) {
+            List<String> authorIdList = pullAuthors.stream().map(String::valueOf).toList();
+            postIds.addAll(postRepository.findFollowedOpenPostIdsBefore(userId, authorIdList, upperBound, PageRequest.of(0, limit)));
+        }
+
+        return postIds.stream()
+                .filter(postId -> postId < upperBound)
+                .limit(limit)
+                .toList();
+    }
+
+    private void addToTimelines(List<String> followerIdList, Long postId) {
+        String member = postId.toString();
+        String timelineSize = String.valueOf(TIMELINE_SIZE);
+        // 팔로워 수만큼의 왕복을 피하기 위해 팔로워를 묶어 스크립트 한 번으로 처리
+        for (int from = 0; from < followerIdList.size(); from += FAN_OUT_BATCH_SIZE) {
+            List<Object> keyList = followerIdList.subList(from, Math.min(from + FAN_OUT_BATCH_SIZE, followerIdList.size())).stream()
+                    .map(followerId -> (Object) timelineKey(followerId))
+                    .toList();
+            redisTemplate.execute(ADD_IF_EXISTS_SCRIPT, keyList, member, member, timelineSize);
+        }
+    }
+
+    private List<Long> rangeBefore(String key, long upperBound, int limit) {
+        // 게시글 ID는 정수이므로 upperBound - 1까지 포함하면 upperBound 미만과 같음 (점수 0인 빈 타임라인 표시는 제외)
+        Set<Object> members = redisTemplate.opsForZSet().reverseRangeByScore(key, 1, upperBound - 1, 0, limit);
+        if (members == null)
+            return List.of();
+        return members.stream().map(member -> Long.valueOf(member.toString())).toList();
+    }
+
+    // 글이 없으면 표시만 넣어 매 조회마다 다시 만들지 않게 하고, 만료되면 다음 조회 때 DB 기준으로 새로 만듦
+    private List<Long> rebuildTimeline(String userId) {
+        String key = timelineKey(userId);
+        List<Long> postIdList = postRepository.findFollowedOpenPostIds(userId, PageRequest.of(0, TIMELINE_SIZE));
+        Set<ZSetOperations.TypedTuple<Object>> tuples = new HashSet<>();
+        postIdList.forEach(postId -> tuples.add(ZSetOperations.TypedTuple.of(postId.toString(), postId.doubleValue())));
+        if (tuples.isEmpty())
+            tuples.add(ZSetOperations.TypedTuple.of(EMPTY_MARKER, 0.0));
+        redisTemplate.opsForZSet().add(key, tuples);
+        redisTemplate.expire(key, ttlMinutes, TimeUnit.MINUTES);
+        return postIdList;
+    }
+
+    private static String timelineKey(String userId) {
+        return TIMELINE_KEY_PREFIX + userId;
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.demo.service.community.trending;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 조회/좋아요/댓글 이벤트에 시간 감쇠를 적용해 인기 게시글 순위를 유지하는 랭커.
+ * 점수는 기준 시각(landmark) 대비 지수적으로 커지는 가중치로 누적하는 forward decay 방식이라
+ * 시간이 흘러도 저장된 점수를 다시 계산할 필요가 없고, 이벤트가 들어온 게시글만 순위가 바뀝니다.
+ * 상위 K개는 별도의 정렬 집합으로 유지하여 O(K)로 조회하고, 점수는 주기적으로 파일에 체크포인트합니다.
+ * 트랜잭션 안에서 기록된 이벤트와 삭제는 커밋된 뒤에 반영하므로 롤백된 좋아요/댓글/삭제는 순위에 남지 않습니다.
+ */
+@Slf4j
+@Component
+public class TrendingPostRanker {
+
+    public static final int TOP_K = 100;
+
+    private static final double VIEW_WEIGHT = 1.0;
+    private static final double LIKE_WEIGHT = 3.0;
+    private static final double COMMENT_WEIGHT = 5.0;
+    private static final long HALF_LIFE_MS = 6 * 60 * 60 * 1000L;
+    private static final double DECAY_RATE = Math.log(2) / HALF_LIFE_MS;
+    // 가중치 지수가 이 값을 넘으면 기준 시각을 옮겨 double 오버플로를 막음
+    private static final double MAX_EXPONENT = 200.0;
+    // 감쇠 후 점수가 이 값보다 작은 게시글은 체크포인트 시 정리
+    private static final double PRUNE_THRESHOLD = 0.01;
+
+    private final Clock clock;
+    private final Path checkpointPath;
+
+    private final Map<Long, Double> scores = new ConcurrentHashMap<>();
+    private final TreeSet<RankedPost> topPosts = new TreeSet<>();
+    private final Map<Long, RankedPost> topPostIndex = new HashMap<>();
+    private volatile long landmark;
+
+    @Autowired
+    public TrendingPostRanker(@Value("${community.trending.checkpoint-path:data/trending.checkpoint}") String checkpointPath) {
+        this(checkpointPath, Clock.systemUTC());
+    }
+
+    TrendingPostRanker(String checkpointPath, Clock clock) {
+        this.clock = clock;
+        this.checkpointPath = Path.of(checkpointPath);
+        this.landmark = clock.millis();
+        restore();
+    }
+
+    public void recordView(Long postId) {
+        afterCommit(() -> record(postId, VIEW_WEIGHT));
+    }
+
+    public void recordLike(Long postId) {
+        afterCommit(() -> record(postId, LIKE_WEIGHT));
+    }
+
+    public void recordComment(Long postId) {
+        afterCommit(() -> record(postId, COMMENT_WEIGHT));
+    }
+
+    /**
+     * 삭제되었거나 비공개로 바뀐 게시글을 순위에서 제거합니다.
+     *
+     * @param postId 게시글 ID
+     */
+    public void remove(Long postId) {
+        afterCommit(() -> removeNow(postId));
+    }
+
+    private synchronized void removeNow(Long postId) {
+        scores.remove(postId);
+        RankedPost rankedPost = topPostIndex.remove(postId);
+        if (rankedPost != null)
+            topPosts.remove(rankedPost);
+    }
+
+    // 트랜잭션 안에서 호출되면 커밋된 뒤에 실행하고, 아니면 바로 실행
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * 점수가 높은 순서대로 인기 게시글 ID를 반환합니다.
+     *
+     * @param limit 반환할 최대 게시글 수 (최대 TOP_K)
+     * @return 인기 게시글 ID 리스트
+     */
+    public synchronized List<Long> getTopPostIds(int limit) {
+        List<Long> postIdList = new ArrayList<>(Math.min(limit, topPosts.size()));
+        for (RankedPost rankedPost : topPosts.descendingSet()) {
+            if (postIdList.size() >= limit)
+                break;
+            postIdList.add(rankedPost.postId());
+        }
+        return postIdList;
+    }
+
+    /**
+     * 현재 시각 기준으로 감쇠가 적용된 게시글 점수를 반환합니다.
+     *
+     * @param postId 게시글 ID
+     * @return 감쇠된 점수 (이벤트가 없으면 0)
+     */
+    public double getScore(Long postId) {
+        return scores.getOrDefault(postId, 0.0) * Math.exp(-DECAY_RATE * (clock.millis() - landmark));
+    }
+
+    /**
+     * 필요하면 기준 시각을 옮기고 낮은 점수를 정리한 뒤 점수를 파일에 저장합니다.
+     */
+    @Scheduled(fixedDelay = 60 * 1000L)
+    public synchronized void checkpoint() {
+        long now = clock.millis();
+        if (DECAY_RATE * (now - landmark) > MAX_EXPONENT / 2)
+            rebase(now);
+
+        double pruneBelow = PRUNE_THRESHOLD * Math.exp(DECAY_RATE * (now - landmark));
+        scores.entrySet().removeIf(entry -> entry.getValue() < pruneBelow && !topPostIndex.containsKey(entry.getKey()));
+
+        Path tempPath = checkpointPath.resolveSibling(checkpointPath.getFileName() + ".tmp");
+        try {
+            if (checkpointPath.getParent() != null)
+                Files.createDirectories(checkpointPath.getParent());
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+                out.writeLong(landmark);
+                out.writeInt(scores.size());
+                for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                    out.writeLong(entry.getKey());
+                    out.writeDouble(entry.getValue());
+                }
+            }
+            Files.move(tempPath, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("TRENDING_CHECKPOINT_FAILED - {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        checkpoint();
+    }
+
+    private synchronized void record(Long postId, double weight) {
+        long now = clock.millis();
+        if (DECAY_RATE * (now - landmark) > MAX_EXPONENT)
+            rebase(now);
+
+        double score = scores.merge(postId, weight * Math.exp(DECAY_RATE * (now - landmark)), Double::sum);
+        updateTopPosts(postId, score);
+    }
+
+    // 점수는 늘어나기만 하므로 변경된 게시글만 상위 집합에 넣거나 위치를 옮기면 됨
+    private void updateTopPosts(Long postId, double score) {
+        RankedPost previous = topPostIndex.remove(postId);
+        if (previous != null)
+            topPosts.remove(previous);
+        else if (topPosts.size() >= TOP_K && score <= topPosts.first().score())
+            return;
+
+        RankedPost rankedPost = new RankedPost(postId, score);
+        topPosts.add(rankedPost);
+        topPostIndex.put(postId, rankedPost);
+
+        if (topPosts.size() > TOP_K)
+            topPostIndex.remove(topPosts.pollFirst().postId());
+    }
+
+    private void rebase(long now) {
+        double factor = Math.exp(-DECAY_RATE * (now - landmark));
+        scores.replaceAll((postId, score) -> score * factor);
+
+        List<RankedPost> rebased = topPosts.stream()
+                .map(rankedPost -> new RankedPost(rankedPost.postId(), rankedPost.score() * factor))
+                .toList();
+        topPosts.clear();
+        topPostIndex.clear();
+        rebased.forEach(rankedPost -> {
+            topPosts.add(rankedPost);
+            topPostIndex.put(rankedPost.postId(), rankedPost);
+        });
+        landmark = now;
+    }
+
+    private void restore() {
+        if (!Files.exists(checkpointPath))
+            return;
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointPath)))) {
+            landmark = in.readLong();
+            int size = in.readInt();
+            for (int i = 0; i < size; i++) {
+                long postId = in.readLong();
+                double score = in.readDouble();
+                scores.put(postId, score);
+                updateTopPosts(postId, score);
+            }
+            log.info("trending ranking restored - posts: {}", scores.size());
+        } catch (IOException e) {
+            log.warn("TRENDING_RESTORE_FAILED - {}", e.getMessage());
+            scores.clear();
+            topPosts.clear();
+            topPostIndex.clear();
+            landmark = clock.millis();
+        }
+    }
+
+    private record RankedPost(Long postId, double score) implements Comparable<RankedPost> {
+
+        @Override
+        public int compareTo(RankedPost other) {
+            int compared = Double.compare(score, other.score);
+            return compared != 0 ? compared : Long.compare(postId, other.postId);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.demo.service.users.alarm;
+
+import com.example.demo.event.AlarmMessage;
+import com.example.demo.repository.users.alarm.EmitterRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 여러 애플리케이션 노드에 흩어진 SSE 연결로 알람을 전달하는 컴포넌트.
+ * 사용자가 구독하면 Redis에 (사용자 -> 연결된 노드) 경로를 기록하고, 알람은 그 노드의 Redis pub/sub 채널로 보냅니다.
+ * 각 노드는 자기 채널만 구독해 받은 알람을 로컬 SseEmitter로 전송하므로, 노드를 늘려도 알람은 연결을 가진 노드 하나에만 전달됩니다.
+ * 경로가 없거나 경로의 노드가 채널을 구독하고 있지 않으면 현재 노드에서 처리합니다.
+ */
+@Slf4j
+@Component
+public class AlarmDeliveryService implements MessageListener {
+
+    private static final String ROUTE_KEY_PREFIX = "alarm:route:";
+    private static final String NODE_CHANNEL_PREFIX = "alarm:node:";
+    private static final String ALARM_NAME = "alarm";
+    // SseEmitter 타임아웃(1시간)보다 조금 길게 두어 노드가 비정상 종료되어도 경로가 남지 않게 함
+    private static final long ROUTE_TTL_MINUTES = 61L;
+
+    // 다른 연결이 같은 사용자의 경로를 덮어썼으면 지우지 않도록 값이 같을 때만 삭제
+    private static final RedisScript<Long> DELETE_IF_OWNER_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final RedisTemplate<Object, Object> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final EmitterRepository emitterRepository;
+    private final ObjectMapper objectMapper;
+    private final String nodeId;
+
+    public AlarmDeliveryService(RedisTemplate<Object, Object> redisTemplate,
+                                RedisMessageListenerContainer redisMessageListenerContainer,
+                                EmitterRepository emitterRepository,
+                                ObjectMapper objectMapper,
+                                @Value("${alarm.delivery.node-id:}") String nodeId) {
+        this.redisTemplate = redisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.emitterRepository = emitterRepository;
+        this.objectMapper = objectMapper;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+    @PostConstruct
+    void subscribeNodeChannel() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(nodeChannel(nodeId)));
+        log.info("alarm delivery channel subscribed - node: {}", nodeId);
+    }
+
+    /**
+     * 사용자의 SSE 연결이 이 노드에 있음을 기록합니다.
+     *
+     * @param userId 구독한 사용자 ID
+     */
+    public void register(String userId) {
+        redisTemplate.opsForValue().set(routeKey(userId), nodeId, ROUTE_TTL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 사용자의 경로가 이 노드를 가리키는 경우에만 경로를 지웁니다.
+     *
+     * @param userId 연결이 끊긴 사용자 ID
+     */
+    public void unregister(String userId) {
+        try {
+            redisTemplate.execute(DELETE_IF_OWNER_SCRIPT, List.<Object>of(routeKey(userId)), nodeId);
+        } catch (DataAccessException e) {
+            // 지우지 못한 경로는 TTL로 만료되고, 그동안 보낸 알람은 받는 노드에 연결이 없으면 버퍼에만 남음
+            log.warn("ALARM_ROUTE_DELETE_FAILED - userId: {}, {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 알람들을 각 수신자의 SSE 연결을 가진 노드로 전달합니다.
+     * 경로는 한 번에 조회하고, 같은 노드로 가는 알람은 하나의 메시지로 묶어 보냅니다.
+     *
+     * @param messageList 저장이 끝나 ID가 있는 알람 메시지 목록
+     */
+    public void deliverAll(List<AlarmMessage> messageList) {
+        if (messageList.isEmpty())
+            return;
+
+        List<Object> routeKeys = messageList.stream().map(message -> (Object) routeKey(message.getReceiveUserId())).toList();
+        List<Object> routes;
+        try {
+            routes = redisTemplate.opsForValue().multiGet(routeKeys);
+        } catch (DataAccessException e) {
+            log.warn("ALARM_ROUTE_LOOKUP_FAILED - {}", e.getMessage());
+            routes = null;
+        }
+
+        Map<String, List<AlarmMessage>> remoteMessages = new LinkedHashMap<>();
+        for (int i = 0; i < messageList.size(); i++) {
+            Object route = routes == null ? null : routes.get(i);
+            if (route == null || nodeId.equals(route))
+                deliverLocally(messageList.get(i));
+            else
+                remoteMessages.computeIfAbsent(route.toString(), node -> new ArrayList<>()).add(messageList.get(i));
+        }
+
+        remoteMessages.forEach(this::publish);
+    }
+
+    private void publish(String targetNodeId, List<AlarmMessage> messageList) {
+        Long receiverCount;
+        try {
+            byte[] channel = nodeChannel(targetNodeId).getBytes(StandardCharsets.UTF_8);
+            byte[] payload = objectMapper.writeValueAsBytes(messageList);
+            receiverCount = redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, payload));
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("ALARM_PUBLISH_FAILED - node: {}, {}", targetNodeId, e.getMessage());
+            receiverCount = null;
+        }
+
+        // 경로의 노드가 종료되어 채널을 듣는 노드가 없으면 이 노드의 버퍼에라도 남김
+        if (receiverCount == null || receiverCount == 0L)
+            messageList.forEach(this::deliverLocally);
+    }
+
+    /**
+     * 다른 노드가 이 노드 채널로 보낸 알람을 로컬 연결로 전송합니다.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        List<AlarmMessage> messageList;
+        try {
+            messageList = objectMapper.readValue(message.getBody(), new TypeReference<List<AlarmMessage>>() {});
+        } catch (IOException e) {
+            log.warn("ALARM_MESSAGE_DESERIALIZATION_FAILED - {}", e.getMessage());
+            return;
+        }
+        messageList.forEach(this::deliverLocally);
+    }
+
+    // 재연결 시 다시 보낼 수 있도록 기록하고, 수신자가 이 노드에 연결되어 있으면 SSE로 알람을 보냄
+    void deliverLocally(AlarmMessage alarmMessage) {
+        String receiverUserId = alarmMessage.getReceiveUserId();
+        emitterRepository.saveEvent(receiverUserId, alarmMessage);
+        emitterRepository.get(receiverUserId).ifPresentOrElse(
+                sseEmitter -> {
+                    try {
+                        sseEmitter.send(SseEmitter.event()
+                                .id(String.valueOf(alarmMessage.getId()))
+                                .name(ALARM_NAME)
+                                .data(alarmMessage.getText())
+                        );
+                    } catch (IOException e) {
+                        emitterRepository.delete(receiverUserId, sseEmitter);
+                    }
+                }, () -> log.info("No emitter found")
+        );
+    }
+
+    private static String routeKey(String userId) {
+        return ROUTE_KEY_PREFIX + userId;
+    }
+
+    private static String nodeChannel(String nodeId) {
+        return NODE_CHANNEL_PREFIX + nodeId;
+    }
+}
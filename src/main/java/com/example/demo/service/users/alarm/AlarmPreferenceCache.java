@@ -0,0 +1,179 @@
+package com.example.demo.service.users.alarm;
+
+import com.example.demo.dto.users.alarm.AlarmSettingsDto;
+import com.example.demo.entity.users.Alarm.AlarmType;
+import com.example.demo.exception.ComponentNotFoundException;
+import com.example.demo.repository.users.alarm.AlarmSettingsRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 사용자별 알림 수신 설정을 비트셋(알림 타입 순서별 1비트)으로 메모리에 보관하는 캐시.
+ * 처음 확인할 때 설정 값만 조회해 채우므로, 캐시가 채워진 뒤에는 알림 발생 경로에서 DB를 조회하지 않습니다.
+ * 설정이 바뀌면 Redis 채널로 무효화를 알려 모든 노드의 항목을 지우고, 무효화를 놓친 경우에도 TTL이 지나면 다시 읽습니다.
+ */
+@Slf4j
+@Component
+public class AlarmPreferenceCache implements MessageListener {
+
+    private static final String INVALIDATION_CHANNEL = "alarm:preference:invalidate";
+
+    private final AlarmSettingsRepository alarmSettingsRepository;
+    private final RedisTemplate<Object, Object> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final int maxUsers;
+    private final long ttlMillis;
+    private final Clock clock;
+
+    // 접근 순서 LinkedHashMap으로 가장 오래 사용되지 않은 사용자부터 제거
+    private final LinkedHashMap<String, Entry> entries;
+    // 무효화가 일어날 때마다 증가 (조회 중에 무효화된 설정을 캐시에 넣지 않기 위함)
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    @Autowired
+    public AlarmPreferenceCache(AlarmSettingsRepository alarmSettingsRepository,
+                                RedisTemplate<Object, Object> redisTemplate,
+                                RedisMessageListenerContainer redisMessageListenerContainer,
+                                @Value("${alarm.preference-cache.max-users:100000}") int maxUsers,
+                                @Value("${alarm.preference-cache.ttl-minutes:10}") long ttlMinutes) {
+        this(alarmSettingsRepository, redisTemplate, redisMessageListenerContainer, maxUsers, ttlMinutes * 60 * 1000L, Clock.systemUTC());
+    }
+
+    AlarmPreferenceCache(AlarmSettingsRepository alarmSettingsRepository, RedisTemplate<Object, Object> redisTemplate,
+                         RedisMessageListenerContainer redisMessageListenerContainer, int maxUsers, long ttlMillis, Clock clock) {
+        this.alarmSettingsRepository = alarmSettingsRepository;
+        this.redisTemplate = redisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.maxUsers = maxUsers;
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AlarmPreferenceCache.this.maxUsers;
+            }
+        };
+    }
+
+    @PostConstruct
+    void subscribeInvalidationChannel() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * 사용자가 해당 타입의 알림을 받도록 설정했는지 확인합니다.
+     *
+     * @param userId    사용자 ID
+     * @param alarmType 알림 타입
+     * @return 알림을 받도록 설정했으면 true
+     * @throws ComponentNotFoundException 사용자나 알림 설정이 없을 경우
+     */
+    public boolean isEnabled(String userId, AlarmType alarmType) {
+        return (getMask(userId) & bit(alarmType)) != 0;
+    }
+
+    private int getMask(String userId) {
+        long now = clock.millis();
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.expiresAt() > now)
+                return entry.mask();
+        }
+
+        long invalidationsBeforeLoad = invalidationCount.get();
+        AlarmSettingsDto alarmSettings = alarmSettingsRepository.findSettingsByUserId(userId)
+                .orElseThrow(() -> new ComponentNotFoundException("USER_NOT_FOUND"));
+        int mask = toMask(alarmSettings);
+
+        synchronized (entries) {
+            if (invalidationCount.get() == invalidationsBeforeLoad)
+                entries.put(userId, new Entry(mask, now + ttlMillis));
+        }
+        return mask;
+    }
+
+    /**
+     * 사용자의 알림 설정 캐시를 모든 노드에서 지웁니다.
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 지우므로 다른 노드가 바뀌기 전의 설정을 다시 읽어 두지 않습니다.
+     *
+     * @param userId 설정이 바뀐 사용자 ID
+     */
+    public void invalidate(String userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictAndBroadcast(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictAndBroadcast(userId);
+            }
+        });
+    }
+
+    private void evictAndBroadcast(String userId) {
+        evict(userId);
+        try {
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, userId);
+        } catch (DataAccessException e) {
+            // 다른 노드의 항목은 TTL이 지나면 다시 읽힘
+            log.warn("ALARM_PREFERENCE_INVALIDATION_FAILED - userId: {}, {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 다른 노드가 보낸 무효화 메시지를 받아 해당 사용자 항목을 지웁니다.
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        evict(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    void evict(String userId) {
+        synchronized (entries) {
+            invalidationCount.incrementAndGet();
+            entries.remove(userId);
+        }
+    }
+
+    static int toMask(AlarmSettingsDto alarmSettings) {
+        int mask = 0;
+        for (AlarmType alarmType : AlarmType.values()) {
+            boolean enabled = switch (alarmType) {
+                case NEW_COMMENT -> alarmSettings.isCommentAlarm();
+                case NEW_POST -> alarmSettings.isPostAlarm();
+                case NEW_LIKE -> alarmSettings.isLikeAlarm();
+                case NEW_MESSAGE -> alarmSettings.isMessageAlarm();
+                case NEW_ANNOUNCEMENT -> alarmSettings.isAnnouncementAlarm();
+                case NEW_INQUIRY -> alarmSettings.isInquiryAlarm();
+            };
+            if (enabled)
+                mask |= bit(alarmType);
+        }
+        return mask;
+    }
+
+    private static int bit(AlarmType alarmType) {
+        return 1 << alarmType.ordinal();
+    }
+
+    private record Entry(int mask, long expiresAt) {
+    }
+}
@@ -1,7 +1,8 @@
 package com.example.demo.service.users.alarm;
 
+import com.example.demo.dto.users.alarm.AlarmReplayStatsDto;
+import com.example.demo.dto.users.alarm.PostAlarmFanOutStatsDto;
 import com.example.demo.dto.users.alarm.AlarmSettingsDto;
-import com.example.demo.entity.community.follow.Follow;
 import com.example.demo.entity.users.Alarm.AlarmArgs;
 import com.example.demo.entity.users.Alarm.AlarmEntity;
 import com.example.demo.entity.users.Alarm.AlarmSettings;
@@ -11,13 +12,14 @@ import com.example.demo.event.AlarmMessage;
 import com.example.demo.exception.AlarmConnectionException;
 import com.example.demo.exception.ComponentNotFoundException;
 import com.example.demo.producer.AlarmProducer;
-import com.example.demo.repository.community.follow.FollowRepository;
 import com.example.demo.repository.users.user.UserRepository;
+import com.example.demo.repository.users.alarm.AlarmEntityBatchRepository;
 import com.example.demo.repository.users.alarm.AlarmEntityRepository;
 import com.example.demo.repository.users.alarm.AlarmSettingsRepository;
 import com.example.demo.repository.users.alarm.EmitterRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
@@ -26,6 +28,9 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -34,13 +39,17 @@ public class AlarmService {
 
     private final static Long TIMEOUT = 60L * 60 * 1000;
     private final static String ALARM_NAME = "alarm";
+    private final static int REPLAY_DB_LIMIT = 1000;
 
     private final EmitterRepository emitterRepository;
     private final AlarmEntityRepository alarmEntityRepository;
+    private final AlarmEntityBatchRepository alarmEntityBatchRepository;
     private final UserRepository userRepository;
-    private final FollowRepository followRepository;
     private final AlarmSettingsRepository alarmSettingsRepository;
     private final AlarmProducer alarmProducer;
+    private final AlarmDeliveryService alarmDeliveryService;
+    private final PostAlarmFanOutService postAlarmFanOutService;
+    private final AlarmPreferenceCache alarmPreferenceCache;
 
     /**
      * 사용자에게 알람을 전송합니다.
@@ -55,19 +64,45 @@ public class AlarmService {
         // 알람 저장
         AlarmEntity alarmEntity = alarmEntityRepository.save(AlarmEntity.of(user, type, args));
 
-        emitterRepository.get(receiverUserId).ifPresentOrElse(
-                sseEmitter -> {
-                    try {
-                        sseEmitter.send(SseEmitter.event()
-                                .id((alarmEntity.getId().toString()))
-                                .name(ALARM_NAME)
-                                .data(alarmEntity.getText())
-                        );
-                    } catch (IOException e) {
-                        emitterRepository.delete(receiverUserId);
-                    }
-                }, () -> log.info("No emitter found")
-        );
+        alarmDeliveryService.deliverAll(List.of(AlarmMessage.fromEntity(alarmEntity)));
+    }
+
+    /**
+     * Kafka에서 한 번에 받은 알람들을 일괄 저장합니다. 전송은 deliverAll로 따로 요청합니다.
+     * 수신자는 한 번의 조회로 불러오고 알람은 JDBC 배치로 저장하므로 DB 왕복 수가 알람 수에 비례하지 않습니다.
+     * 존재하지 않는 수신자의 알람은 건너뜁니다.
+     *
+     * @param messageList 알람 메시지 목록
+     * @return 저장된 알람 (알람 ID 포함)
+     */
+    public List<AlarmMessage> saveAll(List<AlarmMessage> messageList) {
+        Set<String> receiverIds = messageList.stream()
+                .map(AlarmMessage::getReceiveUserId)
+                .collect(Collectors.toSet());
+        Map<String, User> receiverMap = userRepository.findAllById(receiverIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+
+        List<AlarmEntity> alarmEntityList = new ArrayList<>(messageList.size());
+        for (AlarmMessage message : messageList) {
+            User user = receiverMap.get(message.getReceiveUserId());
+            if (user == null) {
+                log.warn("ALARM_RECEIVER_NOT_FOUND - {}", message.getReceiveUserId());
+                continue;
+            }
+            alarmEntityList.add(AlarmEntity.of(user, message.getAlarmType(), message.getAlarmArgs()));
+        }
+
+        alarmEntityBatchRepository.insertAll(alarmEntityList);
+        return alarmEntityList.stream().map(AlarmMessage::fromEntity).toList();
+    }
+
+    /**
+     * 저장된 알람을 수신자의 SSE 연결을 가진 노드로 전달합니다.
+     *
+     * @param savedMessageList saveAll로 저장된 알람 목록
+     */
+    public void deliverAll(List<AlarmMessage> savedMessageList) {
+        alarmDeliveryService.deliverAll(savedMessageList);
     }
 
     /**
@@ -81,26 +116,74 @@ public class AlarmService {
     public SseEmitter subscribeAlarm(String userId, String lastEventId) throws AlarmConnectionException {
         SseEmitter sseEmitter = new SseEmitter(TIMEOUT);
         emitterRepository.save(userId, sseEmitter);
+        alarmDeliveryService.register(userId);
 
-        sseEmitter.onCompletion(() -> emitterRepository.delete(userId));
-        sseEmitter.onTimeout(() -> emitterRepository.delete(userId));
+        sseEmitter.onCompletion(() -> disconnect(userId, sseEmitter));
+        sseEmitter.onTimeout(() -> disconnect(userId, sseEmitter));
         try {
             sseEmitter.send(SseEmitter.event().id("").name(ALARM_NAME).data("connect complete"));
         } catch (IOException e) {
             throw new AlarmConnectionException(e.getMessage());
         }
 
-        // 클라이언트가 미수신한 이벤트 목록이 존재하는 경우
-        if (!lastEventId.isEmpty()) {
-            Map<String, AlarmMessage> eventCaches = emitterRepository.getAllEventCache(userId);
-            eventCaches.entrySet().stream()
-                    .filter(entry -> lastEventId.compareTo(entry.getKey()) < 0)
-                    .forEach(entry -> send(entry.getValue().getAlarmType(), entry.getValue().getAlarmArgs(), userId));
-        }
+        // 클라이언트가 미수신한 이벤트 목록이 존재하는 경우 버퍼나 저장된 알람에서 다시 보냄 (저장은 다시 하지 않음)
+        if (!lastEventId.isEmpty())
+            replayMissedEvents(userId, lastEventId, sseEmitter);
 
         return sseEmitter;
     }
 
+    // 끝난 연결이 현재 연결일 때만 이 노드로의 경로를 지움
+    private void disconnect(String userId, SseEmitter sseEmitter) {
+        if (emitterRepository.delete(userId, sseEmitter))
+            alarmDeliveryService.unregister(userId);
+    }
+
+    private void replayMissedEvents(String userId, String lastEventId, SseEmitter sseEmitter) throws AlarmConnectionException {
+        long lastAlarmId;
+        try {
+            lastAlarmId = Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            log.info("INVALID_LAST_EVENT_ID - {}", lastEventId);
+            return;
+        }
+
+        // 버퍼로 이어 줄 수 없으면 저장된 알람에서 놓친 알람을 다시 읽음
+        List<AlarmMessage> missedEvents = emitterRepository.findEventsAfter(userId, lastAlarmId)
+                .orElseGet(() -> findMissedEvents(userId, lastAlarmId));
+        for (AlarmMessage missedEvent : missedEvents) {
+            try {
+                sseEmitter.send(SseEmitter.event()
+                        .id(String.valueOf(missedEvent.getId()))
+                        .name(ALARM_NAME)
+                        .data(missedEvent.getText()));
+            } catch (IOException e) {
+                disconnect(userId, sseEmitter);
+                throw new AlarmConnectionException(e.getMessage());
+            }
+        }
+    }
+
+    private List<AlarmMessage> findMissedEvents(String userId, long lastAlarmId) {
+        List<AlarmMessage> missedEvents = alarmEntityRepository
+                .findByUserUserIdAndIdGreaterThanOrderByIdAsc(userId, lastAlarmId, PageRequest.of(0, REPLAY_DB_LIMIT))
+                .stream()
+                .map(AlarmMessage::fromEntity)
+                .toList();
+        if (missedEvents.size() == REPLAY_DB_LIMIT)
+            log.info("ALARM_REPLAY_LIMIT_REACHED - userId: {}, lastEventId: {}", userId, lastAlarmId);
+        return missedEvents;
+    }
+
+    /**
+     * SSE 재연결용 알람 재전송 버퍼의 통계를 조회합니다.
+     *
+     * @return 재전송 버퍼 통계
+     */
+    public AlarmReplayStatsDto getReplayStats() {
+        return emitterRepository.getReplayStats();
+    }
+
     /**
      * 사용자에게 알람 목록을 가져옵니다.
      *
@@ -128,7 +211,7 @@ public class AlarmService {
      * @param postOwnerId 게시물 소유자 ID
      */
     public void createLikeAlarm(String userId, Long postId, String postOwnerId) {
-        if (validateAlarmSettings(userId, AlarmType.NEW_LIKE))
+        if (validateAlarmSettings(postOwnerId, AlarmType.NEW_LIKE))
             alarmProducer.send(new AlarmMessage(postOwnerId, AlarmType.NEW_LIKE, new AlarmArgs(userId, postId), LocalDateTime.now(), userId + " adds " + "new like."));
     }
 
@@ -140,23 +223,28 @@ public class AlarmService {
      * @param postOwnerId 게시물 소유자 ID
      */
     public void createCommentAlarm(String userId, Long postId, String postOwnerId) {
-        if (validateAlarmSettings(userId, AlarmType.NEW_COMMENT))
+        if (validateAlarmSettings(postOwnerId, AlarmType.NEW_COMMENT))
             alarmProducer.send(new AlarmMessage(postOwnerId, AlarmType.NEW_COMMENT, new AlarmArgs(userId, postId), LocalDateTime.now(), userId + " adds " + "new comment."));
     }
 
     /**
      * 팔로워들에게 게시물 생성 알람을 보냅니다.
+     * 팔로워 조회와 발행은 트랜잭션이 커밋된 뒤 백그라운드에서 처리되므로 호출한 스레드는 기다리지 않습니다.
      *
      * @param postId 게시물 ID
      * @param postOwnerId 게시물 소유자 ID
      */
     public void createFollowersCreatePostAlarm(Long postId, String postOwnerId) {
-        User user = userRepository.findById(postOwnerId).orElseThrow(() -> new ComponentNotFoundException("USER_NOT_FOUND"));
-        List<Follow> followList = followRepository.findByFollowingUser(user);
-        followList.forEach(follow -> {
-            if (validateAlarmSettings(follow.getUser().getUserId(), AlarmType.NEW_POST))
-                alarmProducer.send(new AlarmMessage(follow.getUser().getUserId(), AlarmType.NEW_POST, new AlarmArgs(postOwnerId, postId), LocalDateTime.now(), follow.getUser().getUserId() + " creates " + "new post."));
-        });
+        postAlarmFanOutService.enqueue(postId, postOwnerId);
+    }
+
+    /**
+     * 게시물 생성 알람 팬아웃의 대기 상태와 지연 시간을 조회합니다.
+     *
+     * @return 팬아웃 통계
+     */
+    public PostAlarmFanOutStatsDto getPostAlarmFanOutStats() {
+        return postAlarmFanOutService.getStats();
     }
 
     /**
@@ -179,6 +267,7 @@ public class AlarmService {
         User user = userRepository.findById(userId).orElseThrow(() -> new ComponentNotFoundException("USER_NOT_FOUND"));
         AlarmSettings alarmSettings = alarmSettingsRepository.findByUser(user);
         AlarmSettings newAlarmSettings = alarmSettingsRepository.save(AlarmSettings.fromDto(alarmSettings, alarmSettingsDto));
+        alarmPreferenceCache.invalidate(userId);
         return AlarmSettings.toDto(newAlarmSettings);
     }
 
@@ -196,20 +285,13 @@ public class AlarmService {
 
     /**
      * 알람 설정을 확인하는 함수.
+     * 사용자별 설정 캐시를 사용하므로 캐시가 채워져 있으면 DB를 조회하지 않습니다.
      *
-     * @param userId 사용자 ID
+     * @param userId 알람을 받을 사용자 ID
      * @param alarmType 알람 타입
      * @return 알람 설정 유효 여부
      */
     public boolean validateAlarmSettings(String userId, AlarmType alarmType) {
-        User user = userRepository.findById(userId).orElseThrow(() -> new ComponentNotFoundException("USER_NOT_FOUND"));
-        return switch (alarmType) {
-            case NEW_COMMENT -> user.getAlarmSettings().isCommentAlarm();
-            case NEW_POST -> user.getAlarmSettings().isPostAlarm();
-            case NEW_LIKE -> user.getAlarmSettings().isLikeAlarm();
-            case NEW_MESSAGE -> user.getAlarmSettings().isMessageAlarm();
-            case NEW_ANNOUNCEMENT -> user.getAlarmSettings().isAnnouncementAlarm();
-            case NEW_INQUIRY -> user.getAlarmSettings().isInquiryAlarm();
-        };
+        return alarmPreferenceCache.isEnabled(userId, alarmType);
     }
 }
@@ -0,0 +1,191 @@
+package com.example.demo.service.users.alarm;
+
+import com.example.demo.dto.users.alarm.PostAlarmFanOutStatsDto;
+import com.example.demo.dto.users.alarm.PostAlarmRecipientDto;
+import com.example.demo.entity.users.Alarm.AlarmArgs;
+import com.example.demo.entity.users.Alarm.AlarmType;
+import com.example.demo.event.AlarmMessage;
+import com.example.demo.producer.AlarmProducer;
+import com.example.demo.repository.community.follow.FollowRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 새 게시글 알림을 작성자의 팔로워에게 보내는 백그라운드 팬아웃 처리기.
+ * 게시글 작성 트랜잭션이 커밋된 뒤 작업을 워커 풀 큐에 넣으므로 팔로워 수와 관계없이 게시글 작성은 바로 끝납니다.
+ * 작업은 게시글 알림을 켠 팔로워를 알림 설정과 함께 페이지 단위로 조회하고, 페이지마다 알림을 Kafka로 한 번에 발행합니다.
+ * 요청부터 발행 완료까지의 지연 시간은 통계로 제공합니다.
+ */
+@Slf4j
+@Component
+public class PostAlarmFanOutService {
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10L;
+
+    private final FollowRepository followRepository;
+    private final AlarmProducer alarmProducer;
+    private final int pageSize;
+    private final Executor executor;
+    private final Clock clock;
+
+    // 아직 끝나지 않은 작업의 게시글 ID와 요청 시각 (가장 오래된 요청으로 현재 지연 시간을 계산)
+    private final Map<Long, Instant> pendingJobs = new ConcurrentHashMap<>();
+    private final AtomicLong completedJobs = new AtomicLong();
+    private final AtomicLong failedJobs = new AtomicLong();
+    private final AtomicLong droppedJobs = new AtomicLong();
+    private final AtomicLong publishedAlarms = new AtomicLong();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    @Autowired
+    public PostAlarmFanOutService(FollowRepository followRepository,
+                                  AlarmProducer alarmProducer,
+                                  @Value("${alarm.post-fan-out.page-size:1000}") int pageSize,
+                                  @Value("${alarm.post-fan-out.workers:1}") int workers,
+                                  @Value("${alarm.post-fan-out.queue-size:1000}") int queueSize) {
+        this(followRepository, alarmProducer, pageSize, newExecutor(workers, queueSize), Clock.systemDefaultZone());
+    }
+
+    PostAlarmFanOutService(FollowRepository followRepository, AlarmProducer alarmProducer,
+                           int pageSize, Executor executor, Clock clock) {
+        this.followRepository = followRepository;
+        this.alarmProducer = alarmProducer;
+        this.pageSize = pageSize;
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    private static ThreadPoolExecutor newExecutor(int workers, int queueSize) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "post-alarm-fan-out-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 게시글 작성자의 팔로워에게 보낼 알림 팬아웃을 요청합니다.
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 요청되므로 롤백된 게시글의 알림은 보내지 않습니다.
+     *
+     * @param postId   새 게시글 ID
+     * @param authorId 게시글 작성자 ID
+     */
+    public void enqueue(Long postId, String authorId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(postId, authorId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(postId, authorId);
+            }
+        });
+    }
+
+    private void submit(Long postId, String authorId) {
+        Instant requestedAt = Instant.now(clock);
+        pendingJobs.put(postId, requestedAt);
+        try {
+            executor.execute(() -> fanOut(postId, authorId, requestedAt));
+        } catch (RejectedExecutionException e) {
+            // 백프레셔: 게시글 작성은 이미 끝났으므로 알림만 포기하고 기록
+            pendingJobs.remove(postId);
+            droppedJobs.incrementAndGet();
+            log.warn("POST_ALARM_FAN_OUT_QUEUE_FULL - postId: {}", postId);
+        }
+    }
+
+    /**
+     * 게시글 알림을 켠 팔로워를 페이지 단위로 조회해 알림을 발행합니다.
+     *
+     * @param postId      새 게시글 ID
+     * @param authorId    게시글 작성자 ID
+     * @param requestedAt 팬아웃을 요청한 시각
+     */
+    void fanOut(Long postId, String authorId, Instant requestedAt) {
+        LocalDateTime createdAt = LocalDateTime.ofInstant(requestedAt, clock.getZone());
+        AlarmArgs alarmArgs = new AlarmArgs(authorId, postId);
+        String text = authorId + " creates " + "new post.";
+        long afterFollowId = 0L;
+        try {
+            while (true) {
+                List<PostAlarmRecipientDto> recipientList =
+                        followRepository.findPostAlarmRecipients(authorId, afterFollowId, PageRequest.of(0, pageSize));
+                if (recipientList.isEmpty())
+                    break;
+
+                alarmProducer.sendAll(recipientList.stream()
+                        .map(recipient -> new AlarmMessage(recipient.getUserId(), AlarmType.NEW_POST, alarmArgs, createdAt, text))
+                        .toList());
+                publishedAlarms.addAndGet(recipientList.size());
+
+                if (recipientList.size() < pageSize)
+                    break;
+                afterFollowId = recipientList.get(recipientList.size() - 1).getFollowId();
+            }
+            completedJobs.incrementAndGet();
+        } catch (RuntimeException e) {
+            // DB/Kafka 오류 모두 이미 발행한 페이지는 되돌릴 수 없으므로 나머지 팔로워만 포기하고 기록
+            failedJobs.incrementAndGet();
+            log.warn("POST_ALARM_FAN_OUT_FAILED - postId: {}, afterFollowId: {}, {}", postId, afterFollowId, e.getMessage());
+        } finally {
+            pendingJobs.remove(postId);
+            long lagMillis = Duration.between(requestedAt, Instant.now(clock)).toMillis();
+            lastLagMillis.set(lagMillis);
+            maxLagMillis.accumulateAndGet(lagMillis, Math::max);
+        }
+    }
+
+    /**
+     * 팬아웃 작업의 대기 상태와 지연 시간 통계를 조회합니다.
+     *
+     * @return 팬아웃 통계
+     */
+    public PostAlarmFanOutStatsDto getStats() {
+        Instant now = Instant.now(clock);
+        long currentLagMillis = pendingJobs.values().stream()
+                .min(Instant::compareTo)
+                .map(requestedAt -> Duration.between(requestedAt, now).toMillis())
+                .orElse(0L);
+        return new PostAlarmFanOutStatsDto(pendingJobs.size(), currentLagMillis, lastLagMillis.get(), maxLagMillis.get(),
+                completedJobs.get(), failedJobs.get(), droppedJobs.get(), publishedAlarms.get());
+    }
+
+    /**
+     * 애플리케이션 종료 시 워커 풀을 정리합니다. 끝나지 않은 팬아웃은 다시 시도하지 않습니다.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (!(executor instanceof ExecutorService executorService))
+            return;
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                executorService.shutdownNow();
+        } catch (InterruptedException e) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -2,13 +2,20 @@ package com.example.demo.service.users.user;
 
 import com.example.demo.dto.users.user.UserInfoDto;
 import com.example.demo.entity.community.post.Post;
+import com.example.demo.entity.community.post.PostStats;
+import com.example.demo.entity.users.user.Role;
 import com.example.demo.entity.users.user.User;
 import com.example.demo.exception.ComponentNotFoundException;
+import com.example.demo.exception.UnAuthorizedUserException;
+import com.example.demo.repository.community.post.PostStatsRepository;
 import com.example.demo.repository.users.user.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 사용자 관련 서비스 클래스.
@@ -19,6 +26,18 @@ import java.time.LocalDate;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final PostStatsRepository postStatsRepository;
+
+    /**
+     * 관리자용 기능(내보내기, 운영 통계 등)을 요청한 사용자가 관리자인지 확인합니다.
+     *
+     * @param user 요청한 사용자
+     * @throws UnAuthorizedUserException 관리자가 아닌 경우
+     */
+    public void checkAdmin(User user) {
+        if (user == null || user.getRole() != Role.ROLE_ADMIN)
+            throw new UnAuthorizedUserException("UNAUTHORIZED_USER");
+    }
 
     /**
      * 사용자 삭제 메소드.
@@ -42,7 +61,7 @@ public class UserService {
     public UserInfoDto getUserInfo(String userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ComponentNotFoundException("USER_NOT_FOUND"));
-        return UserInfoDto.toDto(user);
+        return UserInfoDto.toDto(user, findPostStats(user));
     }
 
     /**
@@ -58,6 +77,13 @@ public class UserService {
         User requestedUser = userRepository.findById(requestedUserId)
                 .orElseThrow(() -> new ComponentNotFoundException("USER_NOT_FOUND"));
 
-        return UserInfoDto.toDto(requestedUser);
+        return UserInfoDto.toDto(requestedUser, findPostStats(requestedUser));
+    }
+
+    // 사용자가 작성한 게시글의 카운터를 한 번에 조회
+    private Map<Long, PostStats> findPostStats(User user) {
+        return postStatsRepository.findAllById(user.getPostList().stream().map(Post::getPostId).toList())
+                .stream()
+                .collect(Collectors.toMap(PostStats::getPostId, Function.identity()));
     }
 }
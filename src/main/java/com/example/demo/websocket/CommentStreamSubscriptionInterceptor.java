@@ -0,0 +1,65 @@
+package com.example.demo.websocket;
+
+import com.example.demo.entity.users.user.User;
+import com.example.demo.repository.community.post.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.security.Principal;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 게시글 댓글 실시간 변경 경로(/sub/post/{postId}/comments)의 구독 요청을 확인하는 인터셉터.
+ * 게시글 조회와 같은 기준으로, 공개 게시글이거나 구독자가 작성자인 경우에만 구독을 허용합니다.
+ * 허용되지 않은 구독은 ERROR 프레임으로 거절됩니다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+@Component
+public class CommentStreamSubscriptionInterceptor implements ChannelInterceptor {
+
+    private static final Pattern COMMENT_STREAM_DESTINATION = Pattern.compile("^/sub/post/(\\d+)/comments$");
+
+    private final PostRepository postRepository;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.SUBSCRIBE || accessor.getDestination() == null)
+            return message;
+
+        Matcher matcher = COMMENT_STREAM_DESTINATION.matcher(accessor.getDestination());
+        if (!matcher.matches())
+            return message;
+
+        Long postId;
+        try {
+            postId = Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException e) {
+            throw new MessageDeliveryException("POST_NOT_FOUND");
+        }
+        String userId = getUserId(accessor.getUser());
+        if (!postRepository.isVisibleTo(postId, userId)) {
+            log.info("COMMENT_STREAM_SUBSCRIPTION_DENIED - postId: {}, userId: {}", postId, userId);
+            throw new MessageDeliveryException("POST_NOT_FOUND");
+        }
+        return message;
+    }
+
+    // 핸드셰이크 요청의 인증 정보 (로그인하지 않았으면 null)
+    private static String getUserId(Principal principal) {
+        if (principal instanceof Authentication authentication && authentication.getPrincipal() instanceof User user)
+            return user.getUserId();
+        return null;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.demo.websocket.config;
 
 import com.example.demo.service.jwt.JwtUtil;
+import com.example.demo.websocket.CommentStreamSubscriptionInterceptor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.server.ServerHttpRequest;
@@ -31,6 +32,12 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Value("${api.base-url}")
     private String apiBaseUrl;
 
+    private final CommentStreamSubscriptionInterceptor commentStreamSubscriptionInterceptor;
+
+    public WebSocketConfig(CommentStreamSubscriptionInterceptor commentStreamSubscriptionInterceptor) {
+        this.commentStreamSubscriptionInterceptor = commentStreamSubscriptionInterceptor;
+    }
+
     /**
      * 메시지 브로커를 구성합니다.
      * 클라이언트가 구독하는 경로와 메시지 발송 경로를 설정합니다.
@@ -41,10 +48,22 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // /sub 경로를 통해 클라이언트가 메시지를 구독할 수 있도록 설정
         config.enableSimpleBroker("/sub"); // 클라이언트 사용자의 구독경로: /sub/channel/채널아이디 /sub/channel/1
+        // 게시글 댓글 실시간 변경 구독경로: /sub/post/게시글아이디/comments (CommentStreamPublisher)
         // /pub 경로로 시작하는 메시지는 애플리케이션으로 라우팅됨
         config.setApplicationDestinationPrefixes("/pub"); // 메시지 발송할 때: public/hello (메시지에 채널아이디 포함해야 함)
     }
 
+    /**
+     * 클라이언트가 보낸 STOMP 프레임을 처리하기 전에 거칠 인터셉터를 등록합니다.
+     * 비공개 게시글의 댓글 변경 경로는 작성자만 구독할 수 있습니다.
+     *
+     * @param registration ChannelRegistration 객체
+     */
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        registration.interceptors(commentStreamSubscriptionInterceptor);
+    }
+
     /**
      * STOMP 엔드포인트를 등록합니다.
      * 클라이언트가 WebSocket 연결을 생성할 때 사용할 엔드포인트를 정의합니다.
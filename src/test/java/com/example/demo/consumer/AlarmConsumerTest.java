@@ -0,0 +1,107 @@
+package com.example.demo.consumer;
+
+import com.example.demo.entity.users.Alarm.AlarmArgs;
+import com.example.demo.entity.users.Alarm.AlarmType;
+import com.example.demo.event.AlarmMessage;
+import com.example.demo.service.users.alarm.AlarmService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AlarmConsumerTest {
+
+    @Mock
+    private AlarmService alarmService;
+
+    @Mock
+    private Acknowledgment ack;
+
+    private AlarmConsumer alarmConsumer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        alarmConsumer = new AlarmConsumer(alarmService);
+    }
+
+    @Test
+    @DisplayName("묶음 저장에 성공하면 저장된 알람을 한 번에 전송하고 커밋한다")
+    void acknowledgesSavedBatch() {
+        List<AlarmMessage> messages = List.of(message("a"), message("b"));
+        List<AlarmMessage> saved = List.of(message("a"), message("b"));
+        when(alarmService.saveAll(messages)).thenReturn(saved);
+
+        alarmConsumer.consumeAlarms(messages, ack);
+
+        verify(alarmService, times(1)).saveAll(messages);
+        verify(alarmService, times(1)).deliverAll(saved);
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("묶음 저장이 실패하면 한 건씩 저장하고, 앞서 저장한 알람은 전송한 뒤 실패한 레코드의 위치를 알린다")
+    void reportsFailingRecordIndex() {
+        AlarmMessage first = message("a");
+        AlarmMessage bad = message("bad");
+        AlarmMessage last = message("c");
+        List<AlarmMessage> messages = List.of(first, bad, last);
+        when(alarmService.saveAll(messages)).thenThrow(new DataIntegrityViolationException("bad"));
+        when(alarmService.saveAll(List.of(first))).thenReturn(List.of(first));
+        when(alarmService.saveAll(List.of(bad))).thenThrow(new DataIntegrityViolationException("bad"));
+
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> alarmConsumer.consumeAlarms(messages, ack));
+
+        assertEquals(1, exception.getIndex());
+        verify(alarmService, never()).saveAll(List.of(last));
+        verify(alarmService).deliverAll(List.of(first));
+        verify(ack, never()).acknowledge();
+    }
+
+    @Test
+    @DisplayName("한 건씩 저장해 모두 성공하면 전송하고 커밋한다")
+    void acknowledgesWhenEachRecordSucceeds() {
+        AlarmMessage first = message("a");
+        AlarmMessage second = message("b");
+        List<AlarmMessage> messages = List.of(first, second);
+        when(alarmService.saveAll(messages)).thenThrow(new DataIntegrityViolationException("bad"));
+        when(alarmService.saveAll(List.of(first))).thenReturn(List.of(first));
+        when(alarmService.saveAll(List.of(second))).thenReturn(List.of(second));
+
+        alarmConsumer.consumeAlarms(messages, ack);
+
+        verify(alarmService, times(3)).saveAll(anyList());
+        verify(alarmService).deliverAll(List.of(first, second));
+        verify(ack).acknowledge();
+    }
+
+    @Test
+    @DisplayName("전송이 실패해도 저장을 다시 하지 않고 커밋한다")
+    void doesNotSaveAgainWhenDeliveryFails() {
+        List<AlarmMessage> messages = List.of(message("a"), message("b"));
+        when(alarmService.saveAll(messages)).thenReturn(messages);
+        doThrow(new IllegalStateException("emitter completed")).when(alarmService).deliverAll(messages);
+
+        alarmConsumer.consumeAlarms(messages, ack);
+
+        verify(alarmService, times(1)).saveAll(anyList());
+        verify(ack).acknowledge();
+    }
+
+    private static AlarmMessage message(String receiverUserId) {
+        return new AlarmMessage(receiverUserId, AlarmType.NEW_COMMENT, new AlarmArgs("from", 1L),
+                LocalDateTime.of(2024, 1, 1, 0, 0), "text");
+    }
+}
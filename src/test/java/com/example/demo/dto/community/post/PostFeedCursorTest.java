@@ -0,0 +1,39 @@
+package com.example.demo.dto.community.post;
+
+import com.example.demo.exception.InvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostFeedCursorTest {
+
+    @Test
+    @DisplayName("인코딩한 커서를 디코딩하면 같은 작성 시간과 게시글 ID가 나온다")
+    void roundTrips() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 2, 3, 4, 5, 600_000_000);
+
+        PostFeedCursor decoded = PostFeedCursor.decode(new PostFeedCursor(createdAt, 42L).encode());
+
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(42L, decoded.getPostId());
+    }
+
+    @Test
+    @DisplayName("Base64가 아니거나 구분자, 시간, ID 형식이 잘못된 토큰은 InvalidCursorException을 던진다")
+    void rejectsMalformedTokens() {
+        assertThrows(InvalidCursorException.class, () -> PostFeedCursor.decode("%%%"));
+        assertThrows(InvalidCursorException.class, () -> PostFeedCursor.decode(encode("no-delimiter")));
+        assertThrows(InvalidCursorException.class, () -> PostFeedCursor.decode(encode("yesterday_1")));
+        assertThrows(InvalidCursorException.class, () -> PostFeedCursor.decode(encode("2024-01-01T00:00_abc")));
+        assertThrows(InvalidCursorException.class, () -> PostFeedCursor.decode(encode("2024-01-01T00:00_")));
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.dto.community.post;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostSummaryDtoTest {
+
+    @Test
+    @DisplayName("이미지는 제거하고 링크는 텍스트만 남기며 서식 기호와 연속 공백을 정리한다")
+    void stripsMarkdown() {
+        String content = "# 제목\n\n![](https://bucket/a.png) **굵게** 본문 [링크](https://example.com) `코드`\n> 인용";
+
+        assertEquals("제목 굵게 본문 링크 코드 인용", PostSummaryDto.toExcerpt(content));
+    }
+
+    @Test
+    @DisplayName("본문이 잘리면서 끝에 남은 닫히지 않은 이미지 마크다운은 URL 일부까지 제거한다")
+    void stripsTrailingPartialImage() {
+        assertEquals("본문", PostSummaryDto.toExcerpt("본문 ![](https://bucket/abc"));
+        assertEquals("본문", PostSummaryDto.toExcerpt("본문 ![설명"));
+        assertEquals("본문", PostSummaryDto.toExcerpt("본문 [링크](https://exa"));
+    }
+
+    @Test
+    @DisplayName("마크다운을 걷어낸 뒤 미리보기 길이로 자른다")
+    void truncatesAfterStripping() {
+        String image = "![](https://bucket/" + "x".repeat(200) + ".png)";
+        String content = image + "가".repeat(PostSummaryDto.EXCERPT_LENGTH + 10);
+
+        String excerpt = PostSummaryDto.toExcerpt(content);
+
+        assertEquals("가".repeat(PostSummaryDto.EXCERPT_LENGTH), excerpt);
+        // 목록 쿼리가 잘라오는 본문은 미리보기보다 길어야 마크다운을 걷어낸 뒤에도 미리보기를 채울 수 있음
+        assertTrue(PostSummaryDto.EXCERPT_SOURCE_LENGTH > PostSummaryDto.EXCERPT_LENGTH);
+    }
+
+    @Test
+    @DisplayName("본문이 없으면 빈 미리보기를 만든다")
+    void emptyWhenContentIsNull() {
+        assertEquals("", PostSummaryDto.toExcerpt(null));
+    }
+}
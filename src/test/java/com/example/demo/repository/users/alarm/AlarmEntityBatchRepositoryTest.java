@@ -0,0 +1,76 @@
+package com.example.demo.repository.users.alarm;
+
+import com.example.demo.entity.users.Alarm.AlarmArgs;
+import com.example.demo.entity.users.Alarm.AlarmEntity;
+import com.example.demo.entity.users.Alarm.AlarmType;
+import com.example.demo.entity.users.user.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AlarmEntityBatchRepositoryTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private AlarmEntityBatchRepository alarmEntityBatchRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        alarmEntityBatchRepository = new AlarmEntityBatchRepository(jdbcTemplate, new ObjectMapper());
+    }
+
+    @Test
+    @DisplayName("행마다 생성된 키를 알림 엔티티의 ID로 채운다")
+    void fillsGeneratedIds() {
+        givenGeneratedKeys(7L, 8L);
+        List<AlarmEntity> alarmEntityList = List.of(alarm(), alarm());
+
+        alarmEntityBatchRepository.insertAll(alarmEntityList);
+
+        assertEquals(7L, alarmEntityList.get(0).getId());
+        assertEquals(8L, alarmEntityList.get(1).getId());
+    }
+
+    @Test
+    @DisplayName("생성된 키 수가 행 수와 다르면 ID 없이 넘어가지 않고 예외를 던진다")
+    void failsWhenKeysAreMissing() {
+        givenGeneratedKeys(7L);
+        List<AlarmEntity> alarmEntityList = List.of(alarm(), alarm());
+
+        assertThrows(IncorrectResultSizeDataAccessException.class, () -> alarmEntityBatchRepository.insertAll(alarmEntityList));
+        assertNull(alarmEntityList.get(1).getId());
+    }
+
+    private void givenGeneratedKeys(Long... ids) {
+        when(jdbcTemplate.batchUpdate(any(PreparedStatementCreator.class), any(BatchPreparedStatementSetter.class), any(KeyHolder.class)))
+                .thenAnswer(invocation -> {
+                    KeyHolder keyHolder = invocation.getArgument(2);
+                    for (Long id : ids)
+                        keyHolder.getKeyList().add(Map.of("id", id));
+                    return new int[ids.length];
+                });
+    }
+
+    private static AlarmEntity alarm() {
+        User user = new User();
+        user.setUserId("user");
+        return AlarmEntity.of(user, AlarmType.NEW_COMMENT, new AlarmArgs("from", 1L));
+    }
+}
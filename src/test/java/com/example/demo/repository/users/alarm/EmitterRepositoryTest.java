@@ -0,0 +1,144 @@
+package com.example.demo.repository.users.alarm;
+
+import com.example.demo.dto.users.alarm.AlarmReplayStatsDto;
+import com.example.demo.event.AlarmMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmitterRepositoryTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+
+    @Test
+    @DisplayName("마지막으로 받은 알람 이후의 알람만 순서대로 돌려준다")
+    void returnsEventsAfterLastEventId() {
+        EmitterRepository emitterRepository = repository(10, 10, fixedClock(0));
+        for (long id = 1; id <= 5; id++)
+            emitterRepository.saveEvent("user", event(id));
+
+        assertEquals(List.of(4L, 5L), ids(emitterRepository.findEventsAfter("user", 3L)));
+        assertEquals(List.of(), ids(emitterRepository.findEventsAfter("user", 5L)));
+        // 버퍼가 없으면 이어 줄 수 없음을 알림
+        assertTrue(emitterRepository.findEventsAfter("other", 0L).isEmpty());
+        assertEquals(2L, emitterRepository.getReplayStats().getReplayedEvents());
+        assertEquals(1L, emitterRepository.getReplayStats().getMissedReplays());
+    }
+
+    @Test
+    @DisplayName("용량을 넘으면 가장 오래된 알람을 덮어쓴다")
+    void overwritesOldestEvents() {
+        EmitterRepository emitterRepository = repository(3, 10, fixedClock(0));
+        for (long id = 1; id <= 5; id++)
+            emitterRepository.saveEvent("user", event(id));
+        // 이미 기록된 알람은 다시 기록하지 않음
+        emitterRepository.saveEvent("user", event(4L));
+
+        assertEquals(List.of(3L, 4L, 5L), ids(emitterRepository.findEventsAfter("user", 2L)));
+        // 밀려난 알람 이후부터 받아야 하면 이어 줄 수 없음을 알림
+        assertTrue(emitterRepository.findEventsAfter("user", 1L).isEmpty());
+        AlarmReplayStatsDto stats = emitterRepository.getReplayStats();
+        assertEquals(3L, stats.getBufferedEvents());
+        assertEquals(2L, stats.getOverwrittenEvents());
+    }
+
+    @Test
+    @DisplayName("늦게 도착한 알람은 ID 순서 위치에 끼워 넣는다")
+    void insertsOutOfOrderEvents() {
+        EmitterRepository emitterRepository = repository(3, 10, fixedClock(0));
+        emitterRepository.saveEvent("user", event(1L));
+        emitterRepository.saveEvent("user", event(3L));
+        emitterRepository.saveEvent("user", event(2L));
+        assertEquals(List.of(1L, 2L, 3L), ids(emitterRepository.findEventsAfter("user", 0L)));
+
+        emitterRepository.saveEvent("user", event(5L));
+        emitterRepository.saveEvent("user", event(4L));
+
+        assertEquals(List.of(3L, 4L, 5L), ids(emitterRepository.findEventsAfter("user", 2L)));
+        assertTrue(emitterRepository.findEventsAfter("user", 1L).isEmpty());
+        assertEquals(2L, emitterRepository.getReplayStats().getOverwrittenEvents());
+    }
+
+    @Test
+    @DisplayName("사용자 수 제한을 넘으면 가장 오래 쓰이지 않은 사용자의 버퍼를 제거한다")
+    void evictsLeastRecentlyUsedUser() {
+        EmitterRepository emitterRepository = repository(3, 2, fixedClock(0));
+        emitterRepository.saveEvent("a", event(1L));
+        emitterRepository.saveEvent("b", event(2L));
+        emitterRepository.findEventsAfter("a", 0L);
+        emitterRepository.saveEvent("c", event(3L));
+
+        assertEquals(1, ids(emitterRepository.findEventsAfter("a", 0L)).size());
+        assertTrue(emitterRepository.findEventsAfter("b", 0L).isEmpty());
+        assertEquals(2, emitterRepository.getReplayStats().getBufferedUsers());
+        assertEquals(1L, emitterRepository.getReplayStats().getEvictedUsers());
+    }
+
+    @Test
+    @DisplayName("유휴 시간 동안 쓰이지 않은 버퍼를 제거한다")
+    void evictsIdleBuffers() {
+        MutableClock clock = new MutableClock();
+        EmitterRepository emitterRepository = new EmitterRepository(3, 10, Duration.ofMinutes(30), clock);
+        emitterRepository.saveEvent("idle", event(1L));
+        clock.millis = Duration.ofMinutes(20).toMillis();
+        emitterRepository.saveEvent("active", event(2L));
+        clock.millis = Duration.ofMinutes(40).toMillis();
+
+        emitterRepository.evictIdleBuffers();
+
+        assertEquals(1, emitterRepository.getReplayStats().getBufferedUsers());
+        assertEquals(List.of(2L), ids(emitterRepository.findEventsAfter("active", 1L)));
+    }
+
+    private static EmitterRepository repository(int capacityPerUser, int maxUsers, Clock clock) {
+        return new EmitterRepository(capacityPerUser, maxUsers, Duration.ofMinutes(30), clock);
+    }
+
+    private static Clock fixedClock(long epochMillis) {
+        return Clock.fixed(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+
+    private static AlarmMessage event(Long id) {
+        AlarmMessage message = new AlarmMessage();
+        message.setId(id);
+        message.setText("alarm " + id);
+        return message;
+    }
+
+    private static List<Long> ids(Optional<List<AlarmMessage>> events) {
+        return events.orElseThrow().stream().map(AlarmMessage::getId).toList();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private long millis;
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
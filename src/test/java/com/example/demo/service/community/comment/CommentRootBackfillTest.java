@@ -0,0 +1,115 @@
+package com.example.demo.service.community.comment;
+
+import com.example.demo.entity.community.comment.Comment;
+import com.example.demo.entity.community.post.Post;
+import com.example.demo.entity.users.user.User;
+import com.example.demo.repository.community.comment.CommentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CommentRootBackfillTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private RedisTemplate<Object, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<Object, Object> valueOperations;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CommentRootBackfill commentRootBackfill;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        commentRootBackfill = new CommentRootBackfill(commentRepository, redisTemplate, transactionManager);
+    }
+
+    @Test
+    @DisplayName("기존 답글은 부모를 따라 올라가 스레드를 채우고, 부모가 삭제된 답글은 삭제된 부모를 스레드로 쓴다")
+    void backfillsRootCommentIds() {
+        Comment root = comment(1L, null, null);
+        Comment reply = comment(2L, 1L, null);
+        Comment nested = comment(3L, 2L, null);
+        Comment orphan = comment(4L, 99L, null);
+        allowBackfill();
+        when(commentRepository.findByParentCommentIdIsNotNullAndRootCommentIdIsNullOrderByCommentIdAsc(any()))
+                .thenReturn(List.of(reply, nested, orphan));
+        when(commentRepository.findAllById(Set.of(1L, 99L))).thenReturn(List.of(root));
+
+        commentRootBackfill.backfillRootCommentIds();
+
+        assertEquals(1L, reply.getRootCommentId());
+        assertEquals(1L, nested.getRootCommentId());
+        assertEquals(99L, orphan.getRootCommentId());
+        // 조상은 단계별로 한 번에 조회
+        verify(commentRepository, times(1)).findAllById(any());
+        verify(valueOperations, times(1)).set(CommentRootBackfill.DONE_KEY, "1");
+    }
+
+    @Test
+    @DisplayName("깊은 스레드도 조상을 한 단계씩 묶어 조회하고, 스레드가 있는 조상에서 멈춘다")
+    void loadsAncestorsByLevel() {
+        Comment grandParent = comment(2L, 1L, 1L);
+        Comment parent = comment(3L, 2L, null);
+        Comment reply = comment(4L, 3L, null);
+        allowBackfill();
+        when(commentRepository.findByParentCommentIdIsNotNullAndRootCommentIdIsNullOrderByCommentIdAsc(any()))
+                .thenReturn(List.of(reply));
+        when(commentRepository.findAllById(Set.of(3L))).thenReturn(List.of(parent));
+        when(commentRepository.findAllById(Set.of(2L))).thenReturn(List.of(grandParent));
+
+        commentRootBackfill.backfillRootCommentIds();
+
+        assertEquals(1L, reply.getRootCommentId());
+        verify(commentRepository, times(2)).findAllById(any());
+    }
+
+    @Test
+    @DisplayName("이미 백필했거나 다른 노드가 실행 중이면 건너뛴다")
+    void skipsWhenDoneOrLocked() {
+        when(redisTemplate.hasKey(CommentRootBackfill.DONE_KEY)).thenReturn(true, false);
+        when(valueOperations.setIfAbsent(eq(CommentRootBackfill.LOCK_KEY), any(), anyLong(), any(TimeUnit.class))).thenReturn(false);
+
+        commentRootBackfill.backfillRootCommentIds();
+        commentRootBackfill.backfillRootCommentIds();
+
+        verifyNoInteractions(commentRepository);
+    }
+
+    private void allowBackfill() {
+        when(redisTemplate.hasKey(CommentRootBackfill.DONE_KEY)).thenReturn(false);
+        when(valueOperations.setIfAbsent(eq(CommentRootBackfill.LOCK_KEY), any(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+    }
+
+    private Comment comment(Long commentId, Long parentCommentId, Long rootCommentId) {
+        User user = new User();
+        user.setUserId("user");
+        Post post = new Post();
+        post.setPostId(1L);
+        post.setUser(user);
+        Comment comment = Comment.of(post, user, "content", parentCommentId);
+        comment.setCommentId(commentId);
+        comment.setRootCommentId(rootCommentId);
+        return comment;
+    }
+}
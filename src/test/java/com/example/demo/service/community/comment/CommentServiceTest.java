@@ -0,0 +1,245 @@
+package com.example.demo.service.community.comment;
+
+import com.example.demo.dto.community.CursorPageDto;
+import com.example.demo.dto.community.comment.CommentDeltaType;
+import com.example.demo.dto.community.comment.CommentRequestDto;
+import com.example.demo.dto.community.comment.CommentResponseDto;
+import com.example.demo.entity.community.comment.Comment;
+import com.example.demo.entity.community.post.Post;
+import com.example.demo.entity.users.user.User;
+import com.example.demo.exception.ComponentNotFoundException;
+import com.example.demo.exception.InvalidCursorException;
+import com.example.demo.repository.community.comment.CommentRepository;
+import com.example.demo.repository.community.post.PostRepository;
+import com.example.demo.repository.community.post.PostStatsRepository;
+import com.example.demo.repository.users.user.UserRepository;
+import com.example.demo.service.community.trending.TrendingPostRanker;
+import com.example.demo.service.users.alarm.AlarmService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class CommentServiceTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostStatsRepository postStatsRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AlarmService alarmService;
+
+    @Mock
+    private TrendingPostRanker trendingPostRanker;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @InjectMocks
+    private CommentService commentService;
+
+    private Post post;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        user = new User();
+        user.setUserId("user");
+        post = new Post();
+        post.setPostId(1L);
+        post.setUser(user);
+    }
+
+    @Test
+    @DisplayName("최상위 댓글을 한 개 더 조회해 다음 페이지 커서를 만든다")
+    void paginatesRootComments() {
+        when(commentRepository.findRootComments(1L, 10L, PageRequest.of(0, 3))).thenReturn(List.of(
+                new CommentResponseDto(11L, 1L, "user", "a", null, 0L, 2L),
+                new CommentResponseDto(12L, 1L, "user", "b", null, 0L, 0L),
+                new CommentResponseDto(13L, 1L, "user", "c", null, 0L, 0L)));
+
+        CursorPageDto<CommentResponseDto> page = commentService.getCommentsByPostId(1L, "10", 2);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(2L, page.getItems().get(0).getReplyCount());
+        assertEquals("12", page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("잘못된 커서는 거절한다")
+    void rejectsInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> commentService.getReplies(1L, 10L, "user", "abc", 20));
+    }
+
+    @Test
+    @DisplayName("최상위 댓글이 요청한 게시글에 있을 때만 스레드의 답글을 반환한다")
+    void repliesRequireRootOfPost() {
+        when(commentRepository.findByCommentId(10L)).thenReturn(Optional.of(comment(10L, null, null)));
+        when(commentRepository.findByCommentId(20L)).thenReturn(Optional.of(comment(20L, 10L, 10L)));
+        when(commentRepository.findReplies(10L, 0L, PageRequest.of(0, 21))).thenReturn(List.of(comment(20L, 10L, 10L)));
+
+        assertEquals(1, commentService.getReplies(1L, 10L, "user", null, 20).getItems().size());
+        // 다른 게시글의 스레드, 답글, 없는 댓글은 찾을 수 없음
+        assertNull(commentService.getReplies(2L, 10L, "user", null, 20));
+        assertNull(commentService.getReplies(1L, 20L, "user", null, 20));
+        assertNull(commentService.getReplies(1L, 30L, "user", null, 20));
+        verify(commentRepository, times(1)).findReplies(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("비공개 게시글의 답글은 게시글 작성자에게만 반환한다")
+    void hidesRepliesOfPrivatePost() {
+        when(commentRepository.findByCommentId(10L)).thenReturn(Optional.of(comment(10L, null, null)));
+
+        assertNull(commentService.getReplies(1L, 10L, "other", null, 20));
+
+        post.setOpen(true);
+        assertNotNull(commentService.getReplies(1L, 10L, "other", null, 20));
+    }
+
+    @Test
+    @DisplayName("답글에 단 답글도 최상위 댓글의 스레드에 속한다")
+    void replyToReplyJoinsRootThread() {
+        Comment reply = comment(20L, 10L, 10L);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(userRepository.findById("user")).thenReturn(Optional.of(user));
+        when(commentRepository.findByCommentId(20L)).thenReturn(Optional.of(reply));
+
+        CommentResponseDto response = commentService.createComment(CommentRequestDto.of(20L, "답글"), "user", 1L);
+
+        ArgumentCaptor<Comment> captor = ArgumentCaptor.forClass(Comment.class);
+        verify(commentRepository).save(captor.capture());
+        assertEquals(10L, captor.getValue().getRootCommentId());
+        assertEquals(10L, response.getRootCommentId());
+        verify(postStatsRepository).increaseCommentCount(1L);
+        verify(applicationEventPublisher).publishEvent(argThat((Object event) -> event instanceof CommentChangedEvent changed
+                && changed.getDelta().getType() == CommentDeltaType.CREATED));
+    }
+
+    @Test
+    @DisplayName("다른 게시글의 댓글에는 답글을 달 수 없다")
+    void rejectsParentFromOtherPost() {
+        Post otherPost = new Post();
+        otherPost.setPostId(2L);
+        Comment parent = comment(10L, null, null);
+        parent.setPost(otherPost);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post));
+        when(userRepository.findById("user")).thenReturn(Optional.of(user));
+        when(commentRepository.findByCommentId(10L)).thenReturn(Optional.of(parent));
+
+        assertThrows(ComponentNotFoundException.class,
+                () -> commentService.createComment(CommentRequestDto.of(10L, "답글"), "user", 1L));
+        verify(commentRepository, never()).save(any());
+        verifyNoInteractions(postStatsRepository);
+    }
+
+    @Test
+    @DisplayName("댓글을 실제로 삭제한 경우에만 댓글 수를 줄인다")
+    void decreasesCommentCountOnlyWhenDeleted() {
+        when(commentRepository.findByCommentId(10L)).thenReturn(Optional.of(comment(10L, null, null)));
+        when(commentRepository.deleteByCommentId(10L)).thenReturn(1).thenReturn(0);
+
+        commentService.deleteArticleComment(10L, "user");
+        commentService.deleteArticleComment(10L, "user");
+
+        verify(postStatsRepository, times(1)).decreaseCommentCount(1L);
+        verify(applicationEventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof CommentChangedEvent changed
+                && changed.getDelta().getType() == CommentDeltaType.DELETED && changed.getDelta().getCommentId() == 10L));
+    }
+
+    @Test
+    @DisplayName("최상위 댓글을 삭제하면 스레드의 답글도 삭제하고 그 수만큼 댓글 수를 줄인다")
+    void deletesThreadWithRootComment() {
+        when(commentRepository.findByCommentId(10L)).thenReturn(Optional.of(comment(10L, null, null)));
+        when(commentRepository.deleteByCommentId(10L)).thenReturn(1);
+        when(commentRepository.deleteByRootCommentId(10L)).thenReturn(3);
+
+        commentService.deleteArticleComment(10L, "user");
+
+        verify(postStatsRepository).decreaseCommentCountBy(1L, 4L);
+        verify(postStatsRepository, never()).decreaseCommentCount(any());
+    }
+
+    @Test
+    @DisplayName("답글을 삭제하면 그 답글만 삭제한다")
+    void deletesOnlyReply() {
+        when(commentRepository.findByCommentId(20L)).thenReturn(Optional.of(comment(20L, 10L, 10L)));
+        when(commentRepository.deleteByCommentId(20L)).thenReturn(1);
+
+        commentService.deleteArticleComment(20L, "user");
+
+        verify(commentRepository, never()).deleteByRootCommentId(any());
+        verify(postStatsRepository).decreaseCommentCount(1L);
+    }
+
+    @Test
+    @DisplayName("댓글은 삭제 후 다시 저장하지 않고 제자리에서 수정하며 수정 시간을 남긴다")
+    void updatesCommentInPlace() {
+        Comment comment = comment(10L, null, null);
+        when(commentRepository.findByCommentId(10L)).thenReturn(Optional.of(comment));
+
+        CommentResponseDto response = commentService.updateComment(new CommentRequestDto(null, "수정", 0L), 10L, "user");
+
+        assertEquals("수정", response.getContent());
+        assertNotNull(comment.getModifiedAt());
+        verify(commentRepository).flush();
+        verify(commentRepository, never()).deleteByCommentId(any());
+        verify(commentRepository, never()).save(any());
+        verify(applicationEventPublisher).publishEvent(argThat((Object event) -> event instanceof CommentChangedEvent changed
+                && changed.getDelta().getType() == CommentDeltaType.UPDATED));
+    }
+
+    @Test
+    @DisplayName("다른 수정이 먼저 반영되어 버전이 다르면 수정을 거절한다")
+    void rejectsStaleVersion() {
+        Comment comment = comment(10L, null, null);
+        comment.setVersion(3L);
+        when(commentRepository.findByCommentId(10L)).thenReturn(Optional.of(comment));
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> commentService.updateComment(new CommentRequestDto(null, "수정", 2L), 10L, "user"));
+        assertEquals("content", comment.getContent());
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    @Test
+    @DisplayName("본문이 바뀌지 않으면 쓰지 않는다")
+    void skipsUnchangedContent() {
+        when(commentRepository.findByCommentId(10L)).thenReturn(Optional.of(comment(10L, null, null)));
+
+        commentService.updateComment(CommentRequestDto.of("content"), 10L, "user");
+
+        verify(commentRepository, never()).flush();
+        verifyNoInteractions(applicationEventPublisher);
+    }
+
+    private Comment comment(Long commentId, Long parentCommentId, Long rootCommentId) {
+        Comment comment = Comment.of(post, user, "content", parentCommentId);
+        comment.setCommentId(commentId);
+        comment.setRootCommentId(rootCommentId);
+        return comment;
+    }
+}
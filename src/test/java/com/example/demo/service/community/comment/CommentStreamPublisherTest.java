@@ -0,0 +1,166 @@
+package com.example.demo.service.community.comment;
+
+import com.example.demo.dto.community.comment.CommentDeltaDto;
+import com.example.demo.dto.community.comment.CommentDeltaType;
+import com.example.demo.dto.community.comment.CommentResponseDto;
+import com.example.demo.dto.community.comment.CommentStreamBatchDto;
+import com.example.demo.entity.community.comment.Comment;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CommentStreamPublisherTest {
+
+    @Mock
+    private SimpMessageSendingOperations simpMessageSendingOperations;
+
+    @Mock
+    private RedisTemplate<Object, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private CommentStreamPublisher publisher;
+
+    // Redis 목의 execute는 기본으로 null을 반환하므로, 따로 설정하지 않은 테스트는 이 노드의 구독자에게 바로 전달됨
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        publisher = new CommentStreamPublisher(simpMessageSendingOperations, redisTemplate, redisMessageListenerContainer, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Redis로 발행에 성공하면 직접 보내지 않고 채널로 받은 묶음을 구독자에게 전달한다")
+    @SuppressWarnings("unchecked")
+    void relaysBatchesThroughRedis() throws Exception {
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(2L);
+        publisher.publish(1L, CommentDeltaDto.created(comment(10L, "a")));
+
+        publisher.flush();
+        verifyNoInteractions(simpMessageSendingOperations);
+
+        byte[] body = objectMapper.writeValueAsBytes(new CommentStreamBatchDto(1L, List.of(CommentDeltaDto.created(comment(10L, "a")))));
+        publisher.onMessage(new DefaultMessage("comment:stream".getBytes(StandardCharsets.UTF_8), body), null);
+
+        ArgumentCaptor<CommentStreamBatchDto> captor = ArgumentCaptor.forClass(CommentStreamBatchDto.class);
+        verify(simpMessageSendingOperations).convertAndSend(eq("/sub/post/1/comments"), captor.capture());
+        assertEquals(10L, captor.getValue().getDeltas().get(0).getCommentId());
+        assertEquals("a", captor.getValue().getDeltas().get(0).getComment().getContent());
+    }
+
+    @Test
+    @DisplayName("종료할 때 아직 보내지 않은 변경을 전송한다")
+    void flushesPendingDeltasOnShutdown() {
+        publisher.publish(1L, CommentDeltaDto.created(comment(10L, "a")));
+
+        publisher.shutdown();
+
+        verify(simpMessageSendingOperations).convertAndSend(eq("/sub/post/1/comments"), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("댓글 변경 이벤트를 받아 전송 대기열에 넣는다")
+    void consumesCommentChangedEvent() {
+        publisher.onCommentChanged(new CommentChangedEvent(1L, CommentDeltaDto.created(comment(10L, "a"))));
+
+        publisher.flush();
+
+        verify(simpMessageSendingOperations).convertAndSend(eq("/sub/post/1/comments"), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("한 주기 동안의 변경을 게시글별로 묶어 발생 순서대로 전송한다")
+    void batchesDeltasPerPost() {
+        publisher.publish(1L, CommentDeltaDto.created(comment(10L, "a")));
+        publisher.publish(2L, CommentDeltaDto.created(comment(20L, "b")));
+        publisher.publish(1L, CommentDeltaDto.updated(comment(5L, "edited")));
+
+        publisher.flush();
+
+        ArgumentCaptor<CommentStreamBatchDto> captor = ArgumentCaptor.forClass(CommentStreamBatchDto.class);
+        verify(simpMessageSendingOperations).convertAndSend(eq("/sub/post/1/comments"), captor.capture());
+        assertEquals(List.of(10L, 5L), captor.getValue().getDeltas().stream().map(CommentDeltaDto::getCommentId).toList());
+        verify(simpMessageSendingOperations).convertAndSend(eq("/sub/post/2/comments"), any(Object.class));
+
+        publisher.flush();
+        verifyNoMoreInteractions(simpMessageSendingOperations);
+    }
+
+    @Test
+    @DisplayName("전송 전 새 댓글의 수정은 생성에 합치고, 삭제되면 아무것도 보내지 않는다")
+    void coalescesUnsentComment() {
+        publisher.publish(1L, CommentDeltaDto.created(comment(10L, "a")));
+        publisher.publish(1L, CommentDeltaDto.updated(comment(10L, "b")));
+        publisher.publish(1L, CommentDeltaDto.created(comment(11L, "c")));
+        publisher.publish(1L, CommentDeltaDto.deleted(entity(11L)));
+
+        publisher.flush();
+
+        ArgumentCaptor<CommentStreamBatchDto> captor = ArgumentCaptor.forClass(CommentStreamBatchDto.class);
+        verify(simpMessageSendingOperations).convertAndSend(eq("/sub/post/1/comments"), captor.capture());
+        List<CommentDeltaDto> deltas = captor.getValue().getDeltas();
+        assertEquals(1, deltas.size());
+        assertEquals(CommentDeltaType.CREATED, deltas.get(0).getType());
+        assertEquals("b", deltas.get(0).getComment().getContent());
+    }
+
+    @Test
+    @DisplayName("이미 전송된 댓글의 삭제는 삭제 변경으로 전달한다")
+    void sendsDeleteForSentComment() {
+        publisher.publish(1L, CommentDeltaDto.updated(comment(10L, "a")));
+        publisher.publish(1L, CommentDeltaDto.deleted(entity(10L)));
+
+        publisher.flush();
+
+        ArgumentCaptor<CommentStreamBatchDto> captor = ArgumentCaptor.forClass(CommentStreamBatchDto.class);
+        verify(simpMessageSendingOperations).convertAndSend(eq("/sub/post/1/comments"), captor.capture());
+        assertEquals(CommentDeltaType.DELETED, captor.getValue().getDeltas().get(0).getType());
+        assertNull(captor.getValue().getDeltas().get(0).getComment());
+    }
+
+    @Test
+    @DisplayName("변경이 많으면 나누어 전송하고, 전송 실패는 다음 게시글 전송을 막지 않는다")
+    void splitsLargeBatchesAndSurvivesFailures() {
+        for (long id = 1; id <= 120; id++)
+            publisher.publish(1L, CommentDeltaDto.created(comment(id, "c")));
+        publisher.publish(2L, CommentDeltaDto.created(comment(500L, "c")));
+        doThrow(new MessageDeliveryException("closed"))
+                .when(simpMessageSendingOperations).convertAndSend(eq("/sub/post/1/comments"), any(Object.class));
+
+        publisher.flush();
+
+        verify(simpMessageSendingOperations, times(3)).convertAndSend(eq("/sub/post/1/comments"), any(Object.class));
+        verify(simpMessageSendingOperations).convertAndSend(eq("/sub/post/2/comments"), any(Object.class));
+    }
+
+    private static CommentResponseDto comment(Long commentId, String content) {
+        return new CommentResponseDto(commentId, null, null, 1L, "user", content, new ArrayList<>(), 0L, null, 0L);
+    }
+
+    private static Comment entity(Long commentId) {
+        Comment comment = Comment.of(null, null, "content", null);
+        comment.setCommentId(commentId);
+        return comment;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.service.community.export;
+
+import com.example.demo.dto.community.comment.CommentExportDto;
+import com.example.demo.dto.community.post.PostExportDto;
+import com.example.demo.repository.community.comment.CommentRepository;
+import com.example.demo.repository.community.post.PostRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CommunityExportServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private CommunityExportService communityExportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        communityExportService = new CommunityExportService(postRepository, commentRepository, objectMapper, transactionManager);
+    }
+
+    @Test
+    @DisplayName("게시글을 한 줄에 하나씩 NDJSON으로 쓰고 스트림을 닫는다")
+    void writesPostsAsNdjson() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(postRepository.streamAllForExport()).thenReturn(Stream.of(
+                new PostExportDto(1L, "user", "제목", "본문", null, true, LocalDateTime.of(2024, 5, 1, 0, 0), 3L, 2L, 1L),
+                new PostExportDto(2L, "user", "제목2", "본문2", null, false, LocalDateTime.of(2024, 5, 2, 0, 0), 0L, 0L, 0L))
+                .onClose(() -> closed.set(true)));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        long exportedCount = communityExportService.exportPosts(outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2L, exportedCount);
+        assertEquals(2, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1L, first.get("postId").asLong());
+        assertEquals("제목", first.get("title").asText());
+        assertEquals(1L, first.get("commentCount").asLong());
+        assertTrue(closed.get());
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("클라이언트 연결이 끊기면 IOException을 던지고 DB 스트림을 닫는다")
+    void closesStreamWhenClientDisconnects() {
+        AtomicBoolean closed = new AtomicBoolean();
+        when(commentRepository.streamAllForExport()).thenReturn(Stream.of(
+                new CommentExportDto(1L, 1L, "user", null, null, "댓글", LocalDateTime.of(2024, 5, 1, 0, 0)))
+                .onClose(() -> closed.set(true)));
+        OutputStream brokenStream = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void flush() throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // 버퍼 크기보다 작은 데이터는 마지막 flush에서 실패함
+        assertThrows(IOException.class, () -> communityExportService.exportComments(brokenStream));
+        assertTrue(closed.get());
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.demo.service.community.post;
+
+import com.example.demo.dto.community.post.OrphanSweepResultDto;
+import com.example.demo.entity.community.post.Attachment;
+import com.example.demo.entity.community.post.DerivativeStatus;
+import com.example.demo.entity.community.post.Post;
+import com.example.demo.entity.users.user.User;
+import com.example.demo.exception.ComponentNotFoundException;
+import com.example.demo.repository.community.post.AttachmentFileRepository;
+import com.example.demo.repository.community.post.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AttachmentFileServiceTest {
+
+    @Mock
+    private AttachmentFileRepository attachmentFileRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private S3DeletionQueue s3DeletionQueue;
+
+    @Mock
+    private ImageDerivativeService imageDerivativeService;
+
+    @Mock
+    private StoredObjectService storedObjectService;
+
+    @InjectMocks
+    private AttachmentFileService attachmentFileService;
+
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        User user = new User();
+        user.setUserId("user");
+        post = new Post();
+        post.setPostId(1L);
+        post.setUser(user);
+    }
+
+    @Test
+    @DisplayName("본문의 이미지 경로를 중복 없이 모아 한 번의 벌크 쿼리로 연결한다")
+    void linksAllImagesWithSingleQuery() {
+        post.setContent("![](https://s3/a.png) 텍스트 ![](https://s3/b.png)\n![](https://s3/a.png) [링크](https://s3/c.png)");
+
+        attachmentFileService.setAttachmentsByContent(post);
+
+        verify(attachmentFileRepository, times(1)).linkToPost(post, "user", Set.of("https://s3/a.png", "https://s3/b.png"));
+        verifyNoMoreInteractions(attachmentFileRepository);
+    }
+
+    @Test
+    @DisplayName("이미지가 없는 본문은 쿼리를 실행하지 않는다")
+    void skipsQueryWithoutImages() {
+        post.setContent("이미지 없는 게시글");
+
+        attachmentFileService.setAttachmentsByContent(post);
+
+        verifyNoInteractions(attachmentFileRepository);
+    }
+
+    @Test
+    @DisplayName("이미지 경로는 등장 순서대로 추출된다")
+    void extractsPathsInOrder() {
+        assertEquals(List.of("b.png", "a.png"),
+                new ArrayList<>(AttachmentFileService.extractImagePaths("![](b.png)![](a.png)![](b.png)")));
+        assertTrue(AttachmentFileService.extractImagePaths(null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("이미지 메타데이터를 저장하면 파생 이미지 생성을 요청하고, 이미지가 아니면 요청하지 않는다")
+    void submitsDerivativeJobOnlyForImages() {
+        when(attachmentFileRepository.save(any())).thenAnswer(invocation -> {
+            Attachment attachment = invocation.getArgument(0);
+            attachment.setFileId(attachment.getFileType().startsWith("image/") ? 10L : 11L);
+            return attachment;
+        });
+
+        attachmentFileService.uploadImageMetadata("https://s3/a.png", "a.png", 100L, "image/png", 1L, "user");
+        attachmentFileService.uploadImageMetadata("https://s3/b.pdf", "b.pdf", 100L, "application/pdf", 1L, "user");
+
+        verify(imageDerivativeService).submit(10L);
+        verify(imageDerivativeService, never()).submit(11L);
+    }
+
+    @Test
+    @DisplayName("첨부 파일을 저장하지 못하면 업로드 때 올린 객체 참조를 반납하고 참조가 없어진 객체는 삭제를 예약한다")
+    void releasesReferenceWhenSaveFails() {
+        when(attachmentFileRepository.save(any())).thenThrow(new DataIntegrityViolationException("fail"));
+        when(storedObjectService.release(List.of("https://s3/a.png"))).thenReturn(Set.of("https://s3/a.png"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> attachmentFileService.uploadImageMetadata(
+                "https://s3/a.png", "a.png", 100L, "image/png", 1L, "user"));
+
+        verify(storedObjectService).release(List.of("https://s3/a.png"));
+        verify(s3DeletionQueue).enqueue(Set.of("https://s3/a.png"));
+        verifyNoInteractions(imageDerivativeService);
+    }
+
+    @Test
+    @DisplayName("presigned 업로드 대기 행이 있으면 새로 만들지 않고 그 행을 채운다")
+    void completesReservedUpload() {
+        LocalDateTime reservedAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+        Attachment reserved = Attachment.builder().fileId(7L).filePath("https://s3/a.png").fileSize(0L)
+                .uploaderId("user").createdAt(reservedAt).uploadPending(true).build();
+        when(attachmentFileRepository.findFirstByFilePathAndUploaderIdAndUploadPendingTrue("https://s3/a.png", "user"))
+                .thenReturn(Optional.of(reserved));
+        when(attachmentFileRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        attachmentFileService.uploadImageMetadata("https://s3/a.png", "a.png", 100L, "image/png", 1L, "user");
+
+        ArgumentCaptor<Attachment> captor = ArgumentCaptor.forClass(Attachment.class);
+        verify(attachmentFileRepository).save(captor.capture());
+        assertEquals(7L, captor.getValue().getFileId());
+        assertEquals(100L, captor.getValue().getFileSize());
+        assertEquals(reservedAt, captor.getValue().getCreatedAt());
+        assertNull(captor.getValue().getUploadPending());
+        verify(imageDerivativeService).submit(7L);
+    }
+
+    @Test
+    @DisplayName("첨부 파일을 지우면 파생 이미지 객체도 함께 삭제를 예약한다")
+    void deletesDerivativesWithOriginal() {
+        Attachment ready = Attachment.builder().filePath("https://s3/a.png")
+                .thumbnailPath("https://s3/derivatives/thumbnail/a.jpg").mediumPath("https://s3/derivatives/medium/a.jpg")
+                .derivativeStatus(DerivativeStatus.READY).build();
+        Attachment small = Attachment.builder().filePath("https://s3/b.png")
+                .thumbnailPath("https://s3/b.png").mediumPath("https://s3/b.png")
+                .derivativeStatus(DerivativeStatus.READY).build();
+        when(attachmentFileRepository.findByPost(post)).thenReturn(List.of(ready, small));
+        when(storedObjectService.release(List.of("https://s3/a.png", "https://s3/b.png")))
+                .thenReturn(Set.of("https://s3/a.png", "https://s3/b.png"));
+
+        attachmentFileService.deleteAllAttachments(post);
+
+        verify(attachmentFileRepository).deleteByPostId(1L);
+        verify(s3DeletionQueue).enqueue(Set.of("https://s3/a.png", "https://s3/derivatives/thumbnail/a.jpg",
+                "https://s3/derivatives/medium/a.jpg", "https://s3/b.png"));
+    }
+
+    @Test
+    @DisplayName("없는 게시글의 첨부 파일을 지우려 하면 POST_NOT_FOUND로 거절한다")
+    void rejectsDeleteForMissingPost() {
+        when(postRepository.findById(2L)).thenReturn(Optional.empty());
+
+        ComponentNotFoundException exception = assertThrows(ComponentNotFoundException.class,
+                () -> attachmentFileService.deleteFileData("https://s3/a.png", 2L, "user"));
+
+        assertEquals("POST_NOT_FOUND", exception.getMessage());
+        verifyNoInteractions(s3DeletionQueue);
+    }
+
+    @Test
+    @DisplayName("다른 첨부 파일이 아직 참조하는 공유 객체는 삭제를 예약하지 않는다")
+    void keepsSharedObjects() {
+        Attachment shared = Attachment.builder().filePath("https://s3/a.png").build();
+        when(attachmentFileRepository.findByPost(post)).thenReturn(List.of(shared));
+        when(storedObjectService.release(List.of("https://s3/a.png"))).thenReturn(Set.of());
+
+        attachmentFileService.deleteAllAttachments(post);
+
+        verify(attachmentFileRepository).deleteByPostId(1L);
+        verifyNoInteractions(s3DeletionQueue);
+    }
+
+    @Test
+    @DisplayName("같은 객체의 파생 이미지가 이미 있으면 다시 만들지 않는다")
+    void reusesDerivativesOfSharedObject() {
+        Attachment existing = Attachment.builder().filePath("https://s3/a.png")
+                .thumbnailPath("https://s3/t.jpg").mediumPath("https://s3/m.jpg")
+                .derivativeStatus(DerivativeStatus.READY).build();
+        when(attachmentFileRepository.findFirstByFilePathAndDerivativeStatus("https://s3/a.png", DerivativeStatus.READY))
+                .thenReturn(Optional.of(existing));
+        when(attachmentFileRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        attachmentFileService.uploadImageMetadata("https://s3/a.png", "a.png", 100L, "image/png", 1L, "user");
+
+        ArgumentCaptor<Attachment> captor = ArgumentCaptor.forClass(Attachment.class);
+        verify(attachmentFileRepository).save(captor.capture());
+        assertEquals("https://s3/t.jpg", captor.getValue().getThumbnailPath());
+        assertEquals(DerivativeStatus.READY, captor.getValue().getDerivativeStatus());
+        assertEquals("user", captor.getValue().getUploaderId());
+        verifyNoInteractions(imageDerivativeService);
+    }
+
+    @Test
+    @DisplayName("고아 첨부 파일을 삭제하고 실제로 삭제되는 객체의 크기만 회수량으로 센다")
+    void deletesOrphansAndCountsReclaimedBytes() {
+        LocalDateTime cutoff = LocalDateTime.of(2024, 5, 1, 0, 0);
+        Attachment first = Attachment.builder().fileId(1L).filePath("https://s3/a.png").fileSize(100L).build();
+        Attachment duplicate = Attachment.builder().fileId(2L).filePath("https://s3/a.png").fileSize(100L).build();
+        Attachment shared = Attachment.builder().fileId(3L).filePath("https://s3/b.png").fileSize(50L).build();
+        when(attachmentFileRepository.findOrphans(eq(cutoff), any())).thenReturn(List.of(first, duplicate, shared));
+        when(storedObjectService.release(any())).thenReturn(Set.of("https://s3/a.png"));
+
+        OrphanSweepResultDto result = attachmentFileService.deleteOrphanedAttachments(cutoff, 10);
+
+        assertEquals(3, result.getDeletedCount());
+        assertEquals(100L, result.getReclaimedBytes());
+        verify(attachmentFileRepository).deleteByFileIds(List.of(1L, 2L, 3L));
+        verify(s3DeletionQueue).enqueue(Set.of("https://s3/a.png"));
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.demo.service.community.post;
+
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.*;
+import com.example.demo.entity.community.post.Attachment;
+import com.example.demo.entity.community.post.DerivativeStatus;
+import com.example.demo.entity.community.post.Post;
+import com.example.demo.repository.community.post.AttachmentFileRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ImageDerivativeServiceTest {
+
+    private static final String BUCKET = "test-bucket";
+    private static final String BASE_URL = "https://" + BUCKET + ".s3.amazonaws.com/";
+
+    @Mock
+    private AttachmentFileRepository attachmentFileRepository;
+
+    @Mock
+    private PostDetailCache postDetailCache;
+
+    private LocalS3 localS3;
+    private ImageDerivativeService imageDerivativeService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        localS3 = new LocalS3();
+        imageDerivativeService = new ImageDerivativeService(localS3, attachmentFileRepository, postDetailCache, BUCKET, 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        localS3.release.countDown();
+        imageDerivativeService.shutdown();
+    }
+
+    @Test
+    @DisplayName("큰 이미지는 중간 크기와 썸네일을 만들어 올리고 READY로 기록한다")
+    void createsDerivativesForLargeImage() throws IOException {
+        localS3.objects.put("uuid_cat.png", png(2000, 1000));
+        givenAttachment(1L, "uuid_cat.png", 7L);
+
+        imageDerivativeService.process(1L);
+
+        BufferedImage medium = ImageIO.read(new ByteArrayInputStream(localS3.objects.get("derivatives/medium/uuid_cat.jpg")));
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(localS3.objects.get("derivatives/thumbnail/uuid_cat.jpg")));
+        assertEquals(1080, medium.getWidth());
+        assertEquals(320, thumbnail.getWidth());
+        assertEquals(CannedAccessControlList.PublicRead, localS3.acls.get("derivatives/thumbnail/uuid_cat.jpg"));
+        verify(attachmentFileRepository).updateDerivatives(1L,
+                BASE_URL + "derivatives/thumbnail/uuid_cat.jpg", BASE_URL + "derivatives/medium/uuid_cat.jpg", DerivativeStatus.READY);
+        verify(postDetailCache).invalidate(7L);
+    }
+
+    @Test
+    @DisplayName("이미 작은 이미지는 새 객체를 올리지 않고 원본 주소를 쓴다")
+    void reusesOriginalForSmallImage() throws IOException {
+        localS3.objects.put("small.png", png(200, 100));
+        givenAttachment(1L, "small.png", null);
+
+        imageDerivativeService.process(1L);
+
+        assertEquals(1, localS3.objects.size());
+        verify(attachmentFileRepository).updateDerivatives(1L, BASE_URL + "small.png", BASE_URL + "small.png", DerivativeStatus.READY);
+        verifyNoInteractions(postDetailCache);
+    }
+
+    @Test
+    @DisplayName("디코딩할 수 없는 파일은 UNSUPPORTED로 기록한다")
+    void marksUndecodableFileUnsupported() {
+        localS3.objects.put("fake.png", "<html>".getBytes());
+        givenAttachment(1L, "fake.png", null);
+
+        imageDerivativeService.process(1L);
+
+        verify(attachmentFileRepository).updateDerivatives(1L, null, null, DerivativeStatus.UNSUPPORTED);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 선점한 첨부 파일은 처리하지 않는다")
+    void skipsAttachmentClaimedByOtherNode() throws IOException {
+        localS3.objects.put("uuid_cat.png", png(2000, 1000));
+        givenAttachment(1L, "uuid_cat.png", null);
+        when(attachmentFileRepository.claimDerivative(eq(1L), any(), any())).thenReturn(0);
+
+        imageDerivativeService.process(1L);
+
+        verify(attachmentFileRepository, never()).findByFileId(anyLong());
+        verify(attachmentFileRepository, never()).updateDerivatives(anyLong(), any(), any(), any());
+        assertEquals(1, localS3.objects.size());
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 작업을 거절하고 PENDING으로 남겨 둔다")
+    void rejectsWhenQueueIsFull() throws Exception {
+        localS3.objects.put("a.png", png(10, 10));
+        for (long fileId = 1; fileId <= 3; fileId++)
+            givenAttachment(fileId, "a.png", null);
+        localS3.release = new CountDownLatch(1);
+
+        assertTrue(imageDerivativeService.submit(1L));   // 워커가 처리 중 (S3 응답 대기)
+        assertTrue(localS3.started.await(5, TimeUnit.SECONDS));
+        assertTrue(imageDerivativeService.submit(2L));   // 큐에 대기
+        assertFalse(imageDerivativeService.submit(2L));  // 이미 큐에 있는 작업
+        assertFalse(imageDerivativeService.submit(3L));  // 큐가 가득 참
+
+        localS3.release.countDown();
+        verify(attachmentFileRepository, timeout(5000)).updateDerivatives(eq(2L), any(), any(), eq(DerivativeStatus.READY));
+        verify(attachmentFileRepository, never()).updateDerivatives(eq(3L), any(), any(), any());
+    }
+
+    private void givenAttachment(Long fileId, String key, Long postId) {
+        Post post = null;
+        if (postId != null) {
+            post = new Post();
+            post.setPostId(postId);
+        }
+        Attachment attachment = Attachment.builder()
+                .fileId(fileId)
+                .post(post)
+                .filePath(BASE_URL + key)
+                .fileType("image/png")
+                .derivativeStatus(DerivativeStatus.PENDING)
+                .build();
+        when(attachmentFileRepository.findByFileId(fileId)).thenReturn(Optional.of(attachment));
+        when(attachmentFileRepository.claimDerivative(eq(fileId), any(), any())).thenReturn(1);
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", out);
+        return out.toByteArray();
+    }
+
+    /**
+     * 테스트용 로컬 S3. GET/PUT을 메모리 버킷에 대해 처리하고, release가 열릴 때까지 GET을 지연시킬 수 있습니다.
+     */
+    private static class LocalS3 extends AbstractAmazonS3 {
+
+        private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        private final Map<String, CannedAccessControlList> acls = new ConcurrentHashMap<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private volatile CountDownLatch release = new CountDownLatch(0);
+
+        @Override
+        public S3Object getObject(String bucketName, String key) {
+            assertEquals(BUCKET, bucketName);
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            S3Object s3Object = new S3Object();
+            s3Object.setObjectContent(new ByteArrayInputStream(objects.get(key)));
+            return s3Object;
+        }
+
+        @Override
+        public PutObjectResult putObject(PutObjectRequest request) {
+            try {
+                objects.put(request.getKey(), request.getInputStream().readAllBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            acls.put(request.getKey(), request.getCannedAcl());
+            return new PutObjectResult();
+        }
+
+        @Override
+        public URL getUrl(String bucketName, String key) {
+            try {
+                return new URL("https://" + bucketName + ".s3.amazonaws.com/" + key);
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.service.community.post;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImageResizerTest {
+
+    @Test
+    @DisplayName("비율을 유지하며 최대 너비로 축소하고 작은 이미지는 확대하지 않는다")
+    void scalesDownWithoutUpscaling() {
+        BufferedImage image = new BufferedImage(2000, 1000, BufferedImage.TYPE_INT_RGB);
+
+        BufferedImage scaled = ImageResizer.scaleToWidth(image, 320);
+
+        assertEquals(320, scaled.getWidth());
+        assertEquals(160, scaled.getHeight());
+        assertSame(scaled, ImageResizer.scaleToWidth(scaled, 1080));
+    }
+
+    @Test
+    @DisplayName("큰 원본은 디코딩 단계에서 서브샘플링한다")
+    void subsamplesLargeSourceWhileDecoding() throws IOException {
+        byte[] png = png(new BufferedImage(4400, 10, BufferedImage.TYPE_INT_RGB));
+
+        BufferedImage decoded = ImageResizer.read(new ByteArrayInputStream(png), 1080);
+
+        assertEquals(2200, decoded.getWidth());
+        assertEquals(5, decoded.getHeight());
+    }
+
+    @Test
+    @DisplayName("이미지가 아닌 입력은 null을 반환한다")
+    void returnsNullForNonImage() throws IOException {
+        assertNull(ImageResizer.read(new ByteArrayInputStream("not an image".getBytes()), 1080));
+    }
+
+    @Test
+    @DisplayName("불투명 이미지는 JPEG, 투명도가 있는 이미지는 PNG로 인코딩한다")
+    void encodesJpegOrPngByAlpha() throws IOException {
+        ImageResizer.Encoded jpeg = ImageResizer.encode(new BufferedImage(10, 10, BufferedImage.TYPE_BYTE_GRAY));
+        ImageResizer.Encoded png = ImageResizer.encode(new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB));
+
+        assertEquals("image/jpeg", jpeg.contentType());
+        assertEquals("jpg", jpeg.extension());
+        assertNotNull(ImageIO.read(new ByteArrayInputStream(jpeg.bytes())));
+        assertEquals("image/png", png.contentType());
+        assertTrue(ImageIO.read(new ByteArrayInputStream(png.bytes())).getColorModel().hasAlpha());
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.demo.service.community.post;
+
+import com.example.demo.dto.community.post.OrphanSweepResultDto;
+import com.example.demo.dto.community.post.OrphanSweepStatsDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OrphanAttachmentCollectorTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-05-01T00:00:00Z"), ZONE);
+
+    @Mock
+    private AttachmentFileService attachmentFileService;
+
+    private OrphanAttachmentCollector collector;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        collector = new OrphanAttachmentCollector(attachmentFileService, Duration.ofHours(24), 2, CLOCK);
+    }
+
+    @Test
+    @DisplayName("유예 시간 이전에 올라온 고아 첨부 파일만 한 주기에 한 묶음씩 삭제한다")
+    void deletesOneBatchPerRunWithGracePeriod() {
+        when(attachmentFileService.deleteOrphanedAttachments(any(), anyInt())).thenReturn(new OrphanSweepResultDto(2, 300L));
+
+        collector.sweep();
+
+        verify(attachmentFileService, times(1))
+                .deleteOrphanedAttachments(LocalDateTime.now(CLOCK).minusHours(24), 2);
+    }
+
+    @Test
+    @DisplayName("묶음이 가득 차면 다음 주기에 이어서 정리하고, 끝나면 한 번의 정리 결과로 기록한다")
+    void recordsSweepAfterLastBatch() {
+        when(attachmentFileService.deleteOrphanedAttachments(any(), anyInt()))
+                .thenReturn(new OrphanSweepResultDto(2, 300L))
+                .thenReturn(new OrphanSweepResultDto(1, 100L))
+                .thenReturn(new OrphanSweepResultDto(0, 0L));
+
+        collector.sweep();
+        assertNull(collector.getStats().getLastSweepFinishedAt());
+        assertEquals(300L, collector.getStats().getTotalReclaimedBytes());
+
+        collector.sweep();
+        OrphanSweepStatsDto stats = collector.getStats();
+        assertEquals(LocalDateTime.now(CLOCK), stats.getLastSweepFinishedAt());
+        assertEquals(3L, stats.getLastDeletedCount());
+        assertEquals(400L, stats.getLastReclaimedBytes());
+
+        collector.sweep();
+        stats = collector.getStats();
+        assertEquals(0L, stats.getLastReclaimedBytes());
+        assertEquals(3L, stats.getTotalDeletedCount());
+        assertEquals(400L, stats.getTotalReclaimedBytes());
+    }
+
+    @Test
+    @DisplayName("기동 시 업로드 시간이 없는 미연결 첨부 파일에 현재 시각을 채운다")
+    void fillsMissingUploadTimesOnStartup() {
+        when(attachmentFileService.fillMissingUploadTimes(any()))
+                .thenReturn(3)
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        collector.fillMissingUploadTimes();
+        assertDoesNotThrow(() -> collector.fillMissingUploadTimes());
+
+        verify(attachmentFileService, times(2)).fillMissingUploadTimes(LocalDateTime.now(CLOCK));
+    }
+
+    @Test
+    @DisplayName("DB 오류가 나면 이번 주기를 건너뛰고 다음 주기에 다시 시도한다")
+    void skipsRunOnDataAccessError() {
+        when(attachmentFileService.deleteOrphanedAttachments(any(), anyInt()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new OrphanSweepResultDto(1, 10L));
+
+        collector.sweep();
+        collector.sweep();
+
+        assertEquals(1L, collector.getStats().getLastDeletedCount());
+    }
+}
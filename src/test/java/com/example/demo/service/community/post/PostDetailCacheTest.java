@@ -0,0 +1,178 @@
+package com.example.demo.service.community.post;
+
+import com.example.demo.dto.community.post.PostCacheStatsDto;
+import com.example.demo.dto.community.post.PostResponseDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostDetailCacheTest {
+
+    private MutableClock clock;
+    private PostDetailCache postDetailCache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        postDetailCache = new PostDetailCache(2, 1000L, clock);
+    }
+
+    @Test
+    @DisplayName("TTL이 지나거나 크기를 넘으면 다시 로드한다")
+    void expiresAndEvicts() {
+        AtomicInteger loads = new AtomicInteger();
+
+        postDetailCache.get(1L, () -> post(1L, loads));
+        postDetailCache.get(1L, () -> post(1L, loads));
+        assertEquals(1, loads.get());
+
+        clock.advance(1000L);
+        postDetailCache.get(1L, () -> post(1L, loads));
+        assertEquals(2, loads.get());
+
+        postDetailCache.get(2L, () -> post(2L, loads));
+        postDetailCache.get(3L, () -> post(3L, loads));
+        postDetailCache.get(1L, () -> post(1L, loads)); // 가장 오래 사용되지 않은 1번이 제거됨
+        assertEquals(5, loads.get());
+
+        PostCacheStatsDto stats = postDetailCache.getStats();
+        assertEquals(1, stats.getHitCount());
+        assertEquals(5, stats.getMissCount());
+        assertEquals(2, stats.getSize());
+    }
+
+    @Test
+    @DisplayName("같은 게시글에 대한 동시 미스는 한 번만 로드한다")
+    void collapsesConcurrentMisses() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            Future<PostResponseDto> first = executor.submit(() -> postDetailCache.get(1L, () -> {
+                loading.countDown();
+                await(release);
+                return post(1L, loads);
+            }));
+            loading.await(5, TimeUnit.SECONDS);
+            Future<PostResponseDto> second = executor.submit(() -> postDetailCache.get(1L, () -> post(1L, loads)));
+            Future<PostResponseDto> third = executor.submit(() -> postDetailCache.get(1L, () -> post(1L, loads)));
+
+            Thread.sleep(100);
+            release.countDown();
+
+            assertSame(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+            assertSame(first.get(), third.get(5, TimeUnit.SECONDS));
+            assertEquals(1, loads.get());
+            assertEquals(1, postDetailCache.getStats().getLoadCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("로드 중에 무효화되면 로드한 값을 캐시에 저장하지 않는다")
+    void invalidationDuringLoadDropsValue() {
+        AtomicInteger loads = new AtomicInteger();
+
+        postDetailCache.get(1L, () -> {
+            postDetailCache.invalidate(1L);
+            return post(1L, loads);
+        });
+        postDetailCache.get(1L, () -> post(1L, loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 무효화하면 커밋된 뒤에 항목을 지운다")
+    void invalidationWaitsForCommit() {
+        AtomicInteger loads = new AtomicInteger();
+        postDetailCache.get(1L, () -> post(1L, loads));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            postDetailCache.invalidate(1L);
+            postDetailCache.get(1L, () -> post(1L, loads));
+            assertEquals(1, loads.get());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        postDetailCache.get(1L, () -> post(1L, loads));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("조회수 반영은 항목을 지우지 않고 캐시된 조회수만 늘린다")
+    void addViewCountPatchesEntry() {
+        AtomicInteger loads = new AtomicInteger();
+        postDetailCache.get(1L, () -> post(1L, loads));
+
+        postDetailCache.addViewCount(1L, 3L);
+        postDetailCache.addViewCount(2L, 5L); // 캐시에 없는 게시글은 무시
+
+        assertEquals(3L, postDetailCache.get(1L, () -> post(1L, loads)).getViewCount());
+        assertEquals(1, loads.get());
+    }
+
+    private static PostResponseDto post(Long postId, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return new PostResponseDto(postId, "user", "title", "content", null, null, Map.of(), null, true, Set.of(), Set.of(), 0L, 0L);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(long millis) {
+            instant = instant.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
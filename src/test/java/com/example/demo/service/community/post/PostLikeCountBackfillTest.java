@@ -0,0 +1,61 @@
+package com.example.demo.service.community.post;
+
+import com.example.demo.repository.community.post.PostStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PostLikeCountBackfillTest {
+
+    @Mock
+    private PostStatsRepository postStatsRepository;
+
+    @Mock
+    private RedisTemplate<Object, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<Object, Object> valueOperations;
+
+    @InjectMocks
+    private PostLikeCountBackfill postLikeCountBackfill;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("아직 백필하지 않았으면 좋아요 수를 채우고 완료 표시를 남긴다")
+    void backfillsOnce() {
+        when(redisTemplate.hasKey(PostLikeCountBackfill.DONE_KEY)).thenReturn(false);
+        when(valueOperations.setIfAbsent(eq(PostLikeCountBackfill.LOCK_KEY), any(), anyLong(), any(TimeUnit.class))).thenReturn(true);
+
+        postLikeCountBackfill.backfillLikeCounts();
+
+        verify(postStatsRepository, times(1)).backfillLikeCounts();
+        verify(valueOperations, times(1)).set(PostLikeCountBackfill.DONE_KEY, "1");
+    }
+
+    @Test
+    @DisplayName("이미 백필했거나 다른 노드가 실행 중이면 건너뛴다")
+    void skipsWhenDoneOrLocked() {
+        when(redisTemplate.hasKey(PostLikeCountBackfill.DONE_KEY)).thenReturn(true, false);
+        when(valueOperations.setIfAbsent(eq(PostLikeCountBackfill.LOCK_KEY), any(), anyLong(), any(TimeUnit.class))).thenReturn(false);
+
+        postLikeCountBackfill.backfillLikeCounts();
+        postLikeCountBackfill.backfillLikeCounts();
+
+        verify(postStatsRepository, never()).backfillLikeCounts();
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.demo.service.community.post;
+
+import com.example.demo.dto.community.CursorPageDto;
+import com.example.demo.dto.community.post.PostFeedCursor;
+import com.example.demo.dto.community.post.PostSummaryDto;
+import com.example.demo.entity.community.post.Post;
+import com.example.demo.entity.community.post.PostStats;
+import com.example.demo.entity.users.user.User;
+import com.example.demo.exception.ComponentNotFoundException;
+import com.example.demo.exception.InvalidCursorException;
+import com.example.demo.repository.community.post.PostLikeRepository;
+import com.example.demo.repository.community.post.PostRepository;
+import com.example.demo.repository.community.post.PostStatsRepository;
+import com.example.demo.repository.users.user.UserRepository;
+import com.example.demo.service.community.search.PostSearchService;
+import com.example.demo.service.community.timeline.TimelineService;
+import com.example.demo.service.community.trending.TrendingPostRanker;
+import com.example.demo.service.users.alarm.AlarmService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PostServiceTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PostLikeRepository postLikeRepository;
+
+    @Mock
+    private AttachmentFileService attachmentFileService;
+
+    @Mock
+    private AlarmService alarmService;
+
+    @Mock
+    private PostStatsRepository postStatsRepository;
+
+    @Mock
+    private ViewCountBuffer viewCountBuffer;
+
+    @Mock
+    private PostSearchService postSearchService;
+
+    @Mock
+    private TrendingPostRanker trendingPostRanker;
+
+    @Mock
+    private TimelineService timelineService;
+
+    @Mock
+    private PostDetailCache postDetailCache;
+
+    @InjectMocks
+    private PostService postService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("첫 페이지는 한 건을 더 조회해 다음 페이지가 있으면 마지막 항목의 커서를 돌려준다")
+    void firstPageReturnsNextCursor() {
+        when(postRepository.findOpenFeed(any(Pageable.class))).thenReturn(summaries(5L, 4L, 3L));
+
+        CursorPageDto<PostSummaryDto> page = postService.getPostFeed(null, 2);
+
+        verify(postRepository).findOpenFeed(PageRequest.of(0, 3));
+        assertEquals(List.of(5L, 4L), page.getItems().stream().map(PostSummaryDto::getPostId).toList());
+        PostFeedCursor nextCursor = PostFeedCursor.decode(page.getNextCursor());
+        assertEquals(4L, nextCursor.getPostId());
+        assertEquals(page.getItems().get(1).getCreatedAt(), nextCursor.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("커서가 있으면 커서의 (작성 시간, 게시글 ID) 이전 게시글을 조회하고 마지막 페이지면 커서가 없다")
+    void nextPageUsesKeyset() {
+        PostSummaryDto last = summary(4L);
+        when(postRepository.findOpenFeedBefore(any(), anyLong(), any(Pageable.class))).thenReturn(summaries(3L));
+
+        CursorPageDto<PostSummaryDto> page = postService.getPostFeed(new PostFeedCursor(last.getCreatedAt(), 4L).encode(), 2);
+
+        verify(postRepository).findOpenFeedBefore(last.getCreatedAt(), 4L, PageRequest.of(0, 3));
+        verify(postRepository, never()).findOpenFeed(any(Pageable.class));
+        assertEquals(List.of(3L), page.getItems().stream().map(PostSummaryDto::getPostId).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("형식이 잘못된 커서는 조회 없이 InvalidCursorException을 던진다")
+    void rejectsInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> postService.getPostFeed("not-a-cursor", 10));
+        assertThrows(InvalidCursorException.class, () -> postService.getHomeFeed("user", "abc", 10));
+        verifyNoInteractions(postRepository, timelineService);
+    }
+
+    @Test
+    @DisplayName("작성자 본인이 자신의 게시글을 조회하면 비공개글을 포함해 한 페이지만 조회한다")
+    void userPostsIncludePrivateForOwner() {
+        when(userRepository.existsById("writer")).thenReturn(true);
+        when(postRepository.findSummariesByUserId(eq("writer"), eq(true), any(Pageable.class))).thenReturn(summaries(5L, 4L, 3L));
+
+        CursorPageDto<PostSummaryDto> page = postService.getPostsByUserId("writer", "writer", null, 2);
+
+        verify(postRepository).findSummariesByUserId("writer", true, PageRequest.of(0, 3));
+        assertEquals(List.of(5L, 4L), page.getItems().stream().map(PostSummaryDto::getPostId).toList());
+        assertEquals(4L, PostFeedCursor.decode(page.getNextCursor()).getPostId());
+    }
+
+    @Test
+    @DisplayName("다른 사용자의 게시글은 커서 이전의 공개글만 조회한다")
+    void userPostsNextPageUsesKeyset() {
+        PostSummaryDto last = summary(4L);
+        when(userRepository.existsById("writer")).thenReturn(true);
+        when(postRepository.findSummariesByUserIdBefore(anyString(), anyBoolean(), any(), anyLong(), any(Pageable.class)))
+                .thenReturn(summaries(3L));
+
+        CursorPageDto<PostSummaryDto> page = postService.getPostsByUserId("writer", "reader",
+                new PostFeedCursor(last.getCreatedAt(), 4L).encode(), 2);
+
+        verify(postRepository).findSummariesByUserIdBefore("writer", false, last.getCreatedAt(), 4L, PageRequest.of(0, 3));
+        assertEquals(List.of(3L), page.getItems().stream().map(PostSummaryDto::getPostId).toList());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("없는 사용자의 게시글을 조회하면 USER_NOT_FOUND 예외를 던진다")
+    void userPostsRejectMissingUser() {
+        when(userRepository.existsById("missing")).thenReturn(false);
+
+        ComponentNotFoundException exception = assertThrows(ComponentNotFoundException.class,
+                () -> postService.getPostsByUserId("missing", "reader", null, 10));
+
+        assertEquals("USER_NOT_FOUND", exception.getMessage());
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    @DisplayName("인기 게시글은 요청한 수만큼씩 나누어 조회하며 비공개 게시글을 빼고 요청한 수가 차면 멈춘다")
+    void hotPostsSkipPrivatePosts() {
+        when(trendingPostRanker.getTopPostIds(TrendingPostRanker.TOP_K)).thenReturn(List.of(1L, 2L, 3L, 4L, 5L, 6L));
+        // 2번은 비공개라 공개 게시글 조회 결과에 없음
+        when(postRepository.findOpenSummariesByPostIds(List.of(1L, 2L))).thenReturn(summaries(1L));
+        when(postRepository.findOpenSummariesByPostIds(List.of(3L, 4L))).thenReturn(summaries(4L, 3L));
+
+        List<PostSummaryDto> hotPosts = postService.getHotPosts(2);
+
+        assertEquals(List.of(1L, 3L), hotPosts.stream().map(PostSummaryDto::getPostId).toList());
+        // 요청한 수가 찼으므로 나머지 묶음은 조회하지 않음
+        verify(postRepository, never()).findOpenSummariesByPostIds(List.of(5L, 6L));
+    }
+
+    @Test
+    @DisplayName("새 좋아요가 삽입되면 카운터를 올리고 알람을 보낸다")
+    void increasesLikeOnce() {
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post(1L, "owner")));
+        when(postLikeRepository.insertIgnore(eq(1L), eq("liker"), any())).thenReturn(1);
+        when(postStatsRepository.findById(1L)).thenReturn(Optional.of(stats(1L, 3L)));
+
+        assertEquals(3L, postService.increaseLike(1L, "liker"));
+
+        verify(postStatsRepository, times(1)).increaseLikeCount(1L);
+        verify(alarmService, times(1)).createLikeAlarm("liker", 1L, "owner");
+    }
+
+    @Test
+    @DisplayName("이미 좋아요한 게시글은 INSERT IGNORE가 무시되어 카운터와 알람이 그대로다")
+    void ignoresDuplicateLike() {
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post(1L, "owner")));
+        when(postLikeRepository.insertIgnore(eq(1L), eq("liker"), any())).thenReturn(0);
+        when(postStatsRepository.findById(1L)).thenReturn(Optional.of(stats(1L, 3L)));
+
+        assertEquals(3L, postService.increaseLike(1L, "liker"));
+
+        verify(postStatsRepository, never()).increaseLikeCount(anyLong());
+        verifyNoInteractions(alarmService);
+    }
+
+    @Test
+    @DisplayName("좋아요 행이 삭제된 경우에만 카운터를 내린다")
+    void decreasesLikeOnlyWhenDeleted() {
+        when(postRepository.existsById(1L)).thenReturn(true);
+        when(postLikeRepository.deleteByPostIdAndUserId(1L, "liker")).thenReturn(1, 0);
+
+        postService.decreaseLike(1L, "liker");
+        postService.decreaseLike(1L, "liker");
+
+        verify(postStatsRepository, times(1)).decreaseLikeCount(1L);
+    }
+
+    @Test
+    @DisplayName("없는 게시글의 좋아요를 취소하면 POST_NOT_FOUND 예외를 던진다")
+    void decreaseLikeRejectsMissingPost() {
+        when(postRepository.existsById(1L)).thenReturn(false);
+
+        ComponentNotFoundException exception =
+                assertThrows(ComponentNotFoundException.class, () -> postService.decreaseLike(1L, "liker"));
+
+        assertEquals("POST_NOT_FOUND", exception.getMessage());
+        verifyNoInteractions(postLikeRepository);
+    }
+
+    private static List<PostSummaryDto> summaries(Long... postIds) {
+        List<PostSummaryDto> summaryList = new ArrayList<>();
+        for (Long postId : postIds)
+            summaryList.add(summary(postId));
+        return summaryList;
+    }
+
+    // 게시글 ID가 클수록 최근 게시글
+    private static PostSummaryDto summary(Long postId) {
+        return new PostSummaryDto(postId, "user", "nickname", "title " + postId, "content", null, null,
+                BASE_TIME.plusMinutes(postId), 0L, 0L, 0L);
+    }
+
+    private static Post post(Long postId, String ownerId) {
+        User owner = new User();
+        owner.setUserId(ownerId);
+        Post post = new Post();
+        post.setPostId(postId);
+        post.setUser(owner);
+        return post;
+    }
+
+    private static PostStats stats(Long postId, long likeCount) {
+        PostStats postStats = PostStats.of(postId);
+        postStats.setLikeCount(likeCount);
+        return postStats;
+    }
+}
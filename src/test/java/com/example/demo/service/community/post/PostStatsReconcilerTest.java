@@ -0,0 +1,79 @@
+package com.example.demo.service.community.post;
+
+import com.example.demo.repository.community.post.PostRepository;
+import com.example.demo.repository.community.post.PostStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PostStatsReconcilerTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-05-01T00:00:00Z"), ZoneId.of("Asia/Seoul"));
+
+    @Mock
+    private PostStatsRepository postStatsRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    private PostStatsReconciler reconciler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        reconciler = new PostStatsReconciler(postStatsRepository, postRepository, 100, Duration.ofMinutes(60), CLOCK);
+    }
+
+    @Test
+    @DisplayName("한 주기에 게시글 ID 한 구간씩 점검하고, 마지막 구간 이후에는 다음 점검 주기까지 쉰다")
+    void reconcilesOneChunkPerRun() {
+        when(postRepository.findMaxPostId()).thenReturn(150L);
+
+        reconciler.reconcile();
+        reconciler.reconcile();
+        reconciler.reconcile();
+
+        verify(postStatsRepository).insertMissing(0L, 100L);
+        verify(postStatsRepository).reconcileCounts(0L, 100L);
+        verify(postStatsRepository).reconcileCounts(100L, 200L);
+        verify(postStatsRepository, times(2)).reconcileCounts(anyLong(), anyLong());
+        verify(postRepository, times(1)).findMaxPostId();
+    }
+
+    @Test
+    @DisplayName("점검에 실패한 구간은 다음 주기에 다시 점검한다")
+    void retriesFailedChunk() {
+        when(postRepository.findMaxPostId()).thenReturn(150L);
+        when(postStatsRepository.reconcileCounts(0L, 100L))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(3);
+
+        reconciler.reconcile();
+        reconciler.reconcile();
+
+        verify(postStatsRepository, times(2)).reconcileCounts(0L, 100L);
+        verify(postStatsRepository, never()).reconcileCounts(100L, 200L);
+    }
+
+    @Test
+    @DisplayName("게시글이 없으면 한 구간만 확인하고 점검을 마친다")
+    void finishesImmediatelyWithoutPosts() {
+        when(postRepository.findMaxPostId()).thenReturn(null);
+
+        reconciler.reconcile();
+        reconciler.reconcile();
+
+        verify(postStatsRepository, times(1)).reconcileCounts(0L, 100L);
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.demo.service.community.post;
+
+import com.amazonaws.HttpMethod;
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.*;
+import com.example.demo.dto.community.post.PresignedUploadRequestDto;
+import com.example.demo.dto.community.post.PresignedUploadResponseDto;
+import com.example.demo.dto.community.post.UploadCompleteRequestDto;
+import com.example.demo.entity.community.post.Post;
+import com.example.demo.entity.users.user.User;
+import com.example.demo.exception.ComponentNotFoundException;
+import com.example.demo.exception.InvalidUploadException;
+import com.example.demo.exception.UnAuthorizedUserException;
+import com.example.demo.repository.community.post.PostRepository;
+import com.example.demo.service.RedisUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PresignedUploadServiceTest {
+
+    private static final String BUCKET = "test-bucket";
+    private static final String USER_ID = "user1";
+
+    @Mock
+    private AttachmentFileService attachmentFileService;
+
+    @Mock
+    private S3DeletionQueue s3DeletionQueue;
+
+    @Mock
+    private StoredObjectService storedObjectService;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private RedisUtil redisUtil;
+
+    private LocalS3 localS3;
+    private PresignedUploadService presignedUploadService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        localS3 = new LocalS3();
+        S3ImageService s3ImageService = new S3ImageService(localS3, storedObjectService);
+        s3ImageService.bucketName = BUCKET;
+        ReflectionTestUtils.setField(s3ImageService, "presignedUrlExpirationSeconds", 600L);
+        presignedUploadService = new PresignedUploadService(s3ImageService, attachmentFileService, s3DeletionQueue,
+                storedObjectService, postRepository, redisUtil, 1024L);
+        when(postRepository.findById(1L)).thenReturn(Optional.of(post(1L, USER_ID)));
+    }
+
+    @Test
+    @DisplayName("Content-Type이 서명된 PUT presigned URL을 발급하고 대기 기록을 남긴다")
+    void issuesPresignedPutUrl() {
+        PresignedUploadResponseDto response = presignedUploadService.issueUploadUrl(
+                new PresignedUploadRequestDto("a/../cat.png", "image/png"), 1L, USER_ID);
+
+        assertTrue(response.getKey().endsWith("a_.._cat.png"));
+        assertEquals(HttpMethod.PUT, localS3.presignRequest.getMethod());
+        assertEquals("image/png", localS3.presignRequest.getContentType());
+        assertEquals(response.getExpiresAt(), localS3.presignRequest.getExpiration());
+        verify(redisUtil).setData(eq("presigned-upload:" + USER_ID + ":1:" + response.getKey()), eq("image/png"),
+                longThat(ttl -> ttl > 600_000L), eq(TimeUnit.MILLISECONDS));
+        // 완료되지 않아도 고아 첨부 파일로 정리되도록 대기 행을 남김
+        verify(attachmentFileService).reserveUpload("https://test-bucket.s3.amazonaws.com/" + response.getKey(),
+                "a/../cat.png", "image/png", USER_ID);
+    }
+
+    @Test
+    @DisplayName("없는 게시글이나 다른 사용자의 게시글에는 URL을 발급하지 않는다")
+    void rejectsForeignOrMissingPost() {
+        when(postRepository.findById(2L)).thenReturn(Optional.of(post(2L, "other")));
+
+        assertThrows(UnAuthorizedUserException.class, () -> presignedUploadService.issueUploadUrl(
+                new PresignedUploadRequestDto("cat.png", "image/png"), 2L, USER_ID));
+        assertThrows(ComponentNotFoundException.class, () -> presignedUploadService.issueUploadUrl(
+                new PresignedUploadRequestDto("cat.png", "image/png"), 3L, USER_ID));
+        assertNull(localS3.presignRequest);
+        verifyNoInteractions(attachmentFileService, redisUtil);
+    }
+
+    @Test
+    @DisplayName("허용되지 않은 확장자는 URL을 발급하지 않는다")
+    void rejectsInvalidExtension() {
+        assertThrows(InvalidUploadException.class, () -> presignedUploadService.issueUploadUrl(
+                new PresignedUploadRequestDto("run.sh", "text/x-sh"), 1L, USER_ID));
+        verifyNoInteractions(redisUtil);
+    }
+
+    @Test
+    @DisplayName("이미지가 아닌 확장자나 확장자와 다른 Content-Type은 URL을 발급하지 않는다")
+    void rejectsNonImageOrMismatchedContentType() {
+        assertThrows(InvalidUploadException.class, () -> presignedUploadService.issueUploadUrl(
+                new PresignedUploadRequestDto("doc.pdf", "application/pdf"), 1L, USER_ID));
+        assertThrows(InvalidUploadException.class, () -> presignedUploadService.issueUploadUrl(
+                new PresignedUploadRequestDto("cat.png", "text/html"), 1L, USER_ID));
+        assertThrows(InvalidUploadException.class, () -> presignedUploadService.issueUploadUrl(
+                new PresignedUploadRequestDto("cat.png", "image/gif"), 1L, USER_ID));
+        verifyNoInteractions(redisUtil);
+        assertNull(localS3.presignRequest);
+    }
+
+    @Test
+    @DisplayName("업로드 완료 시 HEAD로 확인한 크기와 타입으로 메타데이터를 저장하고 공개로 전환한다")
+    void completesVerifiedUpload() {
+        when(redisUtil.getData("presigned-upload:" + USER_ID + ":1:key.png")).thenReturn("image/png");
+        when(redisUtil.getAndDeleteData("presigned-upload:" + USER_ID + ":1:key.png")).thenReturn("image/png");
+        localS3.upload("key.png", 512L, "image/png");
+
+        String imageAddress = presignedUploadService.completeUpload(new UploadCompleteRequestDto("key.png", "cat.png"), 1L, USER_ID);
+
+        assertEquals("https://test-bucket.s3.amazonaws.com/key.png", imageAddress);
+        assertEquals(CannedAccessControlList.PublicRead, localS3.acls.get("key.png"));
+        verify(storedObjectService).register(null, imageAddress, 512L);
+        verify(attachmentFileService).uploadImageMetadata(imageAddress, "cat.png", 512L, "image/png", 1L, USER_ID);
+        verify(redisUtil).getAndDeleteData("presigned-upload:" + USER_ID + ":1:key.png");
+    }
+
+    @Test
+    @DisplayName("같은 키로 동시에 완료 요청이 오면 대기 기록을 가져간 요청만 등록한다")
+    void registersOnlyOnceForConcurrentCompletes() {
+        when(redisUtil.getData(anyString())).thenReturn("image/png");
+        when(redisUtil.getAndDeleteData(anyString())).thenReturn("image/png", (String) null);
+        localS3.upload("key.png", 512L, "image/png");
+
+        presignedUploadService.completeUpload(new UploadCompleteRequestDto("key.png", "cat.png"), 1L, USER_ID);
+        assertThrows(InvalidUploadException.class, () -> presignedUploadService.completeUpload(
+                new UploadCompleteRequestDto("key.png", "cat.png"), 1L, USER_ID));
+
+        verify(storedObjectService, times(1)).register(any(), anyString(), anyLong());
+        verify(attachmentFileService, times(1)).uploadImageMetadata(anyString(), anyString(), anyLong(), anyString(), anyLong(), anyString());
+    }
+
+    @Test
+    @DisplayName("발급할 때와 다른 게시글로 완료를 요청하면 거절한다")
+    void rejectsCompleteForOtherPost() {
+        when(redisUtil.getData("presigned-upload:" + USER_ID + ":1:key.png")).thenReturn("image/png");
+        localS3.upload("key.png", 512L, "image/png");
+
+        assertThrows(InvalidUploadException.class, () -> presignedUploadService.completeUpload(
+                new UploadCompleteRequestDto("key.png", "cat.png"), 2L, USER_ID));
+        verifyNoInteractions(attachmentFileService, storedObjectService);
+    }
+
+    @Test
+    @DisplayName("크기 제한을 넘거나 타입이 다른 객체는 삭제를 예약하고 거절한다")
+    @SuppressWarnings("unchecked")
+    void rejectsMismatchedUpload() {
+        when(redisUtil.getData(anyString())).thenReturn("image/png");
+        when(redisUtil.getAndDeleteData(anyString())).thenReturn("image/png");
+        localS3.upload("big.png", 4096L, "image/png");
+        localS3.upload("fake.png", 10L, "text/html");
+
+        assertThrows(InvalidUploadException.class, () -> presignedUploadService.completeUpload(
+                new UploadCompleteRequestDto("big.png", "big.png"), 1L, USER_ID));
+        assertThrows(InvalidUploadException.class, () -> presignedUploadService.completeUpload(
+                new UploadCompleteRequestDto("fake.png", "fake.png"), 1L, USER_ID));
+
+        ArgumentCaptor<List<String>> captor = ArgumentCaptor.forClass(List.class);
+        verify(s3DeletionQueue, times(2)).enqueue(captor.capture());
+        assertEquals(List.of("https://test-bucket.s3.amazonaws.com/big.png"), captor.getAllValues().get(0));
+        verifyNoInteractions(attachmentFileService, storedObjectService);
+        assertTrue(localS3.acls.isEmpty());
+    }
+
+    @Test
+    @DisplayName("발급하지 않았거나 아직 올라오지 않은 객체는 거절한다")
+    void rejectsUnknownOrMissingUpload() {
+        assertThrows(InvalidUploadException.class, () -> presignedUploadService.completeUpload(
+                new UploadCompleteRequestDto("other.png", "other.png"), 1L, USER_ID));
+
+        when(redisUtil.getData(anyString())).thenReturn("image/png");
+        assertThrows(InvalidUploadException.class, () -> presignedUploadService.completeUpload(
+                new UploadCompleteRequestDto("missing.png", "missing.png"), 1L, USER_ID));
+        verify(redisUtil, never()).getAndDeleteData(anyString());
+        verifyNoInteractions(attachmentFileService);
+    }
+
+    private static Post post(Long postId, String userId) {
+        User user = new User();
+        user.setUserId(userId);
+        Post post = new Post();
+        post.setPostId(postId);
+        post.setUser(user);
+        return post;
+    }
+
+    /**
+     * 테스트용 로컬 S3. presigned URL 발급, HEAD, ACL 변경만 메모리 버킷에 대해 처리합니다.
+     */
+    private static class LocalS3 extends AbstractAmazonS3 {
+
+        private final Map<String, ObjectMetadata> objects = new HashMap<>();
+        private final Map<String, CannedAccessControlList> acls = new HashMap<>();
+        private GeneratePresignedUrlRequest presignRequest;
+
+        void upload(String key, long size, String contentType) {
+            ObjectMetadata metadata = new ObjectMetadata();
+            metadata.setContentLength(size);
+            metadata.setContentType(contentType);
+            objects.put(key, metadata);
+        }
+
+        @Override
+        public URL generatePresignedUrl(GeneratePresignedUrlRequest request) {
+            presignRequest = request;
+            return url(request.getBucketName(), request.getKey() + "?X-Amz-Signature=local");
+        }
+
+        @Override
+        public ObjectMetadata getObjectMetadata(String bucketName, String key) {
+            assertEquals(BUCKET, bucketName);
+            ObjectMetadata metadata = objects.get(key);
+            if (metadata == null) {
+                AmazonS3Exception exception = new AmazonS3Exception("Not Found");
+                exception.setStatusCode(404);
+                throw exception;
+            }
+            return metadata;
+        }
+
+        @Override
+        public void setObjectAcl(String bucketName, String key, CannedAccessControlList acl) {
+            acls.put(key, acl);
+        }
+
+        @Override
+        public URL getUrl(String bucketName, String key) {
+            return url(bucketName, key);
+        }
+
+        private static URL url(String bucketName, String path) {
+            try {
+                return new URL("https://" + bucketName + ".s3.amazonaws.com/" + path);
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+    }
+}
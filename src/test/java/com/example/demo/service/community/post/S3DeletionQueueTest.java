@@ -0,0 +1,188 @@
+package com.example.demo.service.community.post;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.DeleteObjectsRequest;
+import com.amazonaws.services.s3.model.DeleteObjectsResult;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
+import com.example.demo.entity.community.post.S3DeletionTask;
+import com.example.demo.repository.community.post.S3DeletionTaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class S3DeletionQueueTest {
+
+    private static final String BUCKET = "test-bucket";
+
+    @Mock
+    private S3DeletionTaskRepository s3DeletionTaskRepository;
+
+    private LocalS3 localS3;
+    private S3DeletionQueue s3DeletionQueue;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        localS3 = new LocalS3();
+        s3DeletionQueue = new S3DeletionQueue(localS3, s3DeletionTaskRepository, BUCKET);
+    }
+
+    @Test
+    @DisplayName("이미지 주소를 S3 키로 바꿔 삭제 작업으로 저장한다")
+    @SuppressWarnings("unchecked")
+    void enqueueStoresObjectKeys() {
+        s3DeletionQueue.enqueue(List.of(
+                "https://test-bucket.s3.amazonaws.com/abc%20photo.png",
+                "not a url"));
+
+        ArgumentCaptor<List<S3DeletionTask>> captor = ArgumentCaptor.forClass(List.class);
+        verify(s3DeletionTaskRepository).saveAll(captor.capture());
+        assertEquals(List.of("abc photo.png"),
+                captor.getValue().stream().map(S3DeletionTask::getObjectKey).toList());
+    }
+
+    @Test
+    @DisplayName("작업을 최대 1000개씩 묶어 다중 객체 삭제로 처리한다")
+    void deletesInBatches() {
+        List<S3DeletionTask> first = tasks(0, S3DeletionQueue.MAX_BATCH_SIZE);
+        List<S3DeletionTask> second = tasks(S3DeletionQueue.MAX_BATCH_SIZE, 200);
+        first.forEach(task -> localS3.objects.add(task.getObjectKey()));
+        second.forEach(task -> localS3.objects.add(task.getObjectKey()));
+        when(s3DeletionTaskRepository.claimDue(any(), any(), anyString(), anyInt()))
+                .thenReturn(S3DeletionQueue.MAX_BATCH_SIZE, 200);
+        when(s3DeletionTaskRepository.findByClaimToken(anyString())).thenReturn(first, second);
+
+        s3DeletionQueue.processPending();
+
+        assertEquals(List.of(S3DeletionQueue.MAX_BATCH_SIZE, 200), localS3.requestSizes);
+        assertTrue(localS3.objects.isEmpty());
+        verify(s3DeletionTaskRepository).deleteAllInBatch(first);
+        verify(s3DeletionTaskRepository).deleteAllInBatch(second);
+    }
+
+    @Test
+    @DisplayName("일부 키 삭제에 실패하면 실패한 작업만 백오프 후 다시 시도한다")
+    @SuppressWarnings("unchecked")
+    void retriesFailedKeys() {
+        List<S3DeletionTask> batch = tasks(0, 3);
+        localS3.failingKeys.add("key-1");
+        when(s3DeletionTaskRepository.claimDue(any(), any(), anyString(), anyInt())).thenReturn(3, 0);
+        when(s3DeletionTaskRepository.findByClaimToken(anyString())).thenReturn(batch);
+
+        s3DeletionQueue.processPending();
+
+        ArgumentCaptor<List<S3DeletionTask>> deleted = ArgumentCaptor.forClass(List.class);
+        verify(s3DeletionTaskRepository, atLeastOnce()).deleteAllInBatch(deleted.capture());
+        assertEquals(List.of("key-0", "key-2"),
+                deleted.getAllValues().get(0).stream().map(S3DeletionTask::getObjectKey).toList());
+
+        ArgumentCaptor<List<S3DeletionTask>> retried = ArgumentCaptor.forClass(List.class);
+        verify(s3DeletionTaskRepository).saveAll(retried.capture());
+        S3DeletionTask retriedTask = retried.getValue().get(0);
+        assertEquals("key-1", retriedTask.getObjectKey());
+        assertEquals(1, retriedTask.getAttempts());
+        assertTrue(retriedTask.getNextAttemptAt().isAfter(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("S3에 연결할 수 없으면 이번 주기의 처리를 멈추고 작업을 보존한다")
+    void stopsOnClientFailure() {
+        List<S3DeletionTask> batch = tasks(0, S3DeletionQueue.MAX_BATCH_SIZE);
+        localS3.unavailable = true;
+        when(s3DeletionTaskRepository.claimDue(any(), any(), anyString(), anyInt())).thenReturn(S3DeletionQueue.MAX_BATCH_SIZE);
+        when(s3DeletionTaskRepository.findByClaimToken(anyString())).thenReturn(batch);
+
+        s3DeletionQueue.processPending();
+
+        verify(s3DeletionTaskRepository, times(1)).claimDue(any(), any(), anyString(), anyInt());
+        verify(s3DeletionTaskRepository).saveAll(batch);
+        assertTrue(batch.stream().allMatch(task -> task.getAttempts() == 1));
+    }
+
+    @Test
+    @DisplayName("작업은 매 회차 새 토큰과 임대 시간으로 선점한 뒤 그 토큰으로 선점된 작업만 처리한다")
+    void claimsBeforeProcessing() {
+        List<S3DeletionTask> batch = tasks(0, 2);
+        ArgumentCaptor<String> claimToken = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> leaseUntil = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(s3DeletionTaskRepository.claimDue(any(), any(), anyString(), anyInt())).thenReturn(2);
+        when(s3DeletionTaskRepository.findByClaimToken(anyString())).thenReturn(batch);
+
+        s3DeletionQueue.processPending();
+
+        verify(s3DeletionTaskRepository).claimDue(now.capture(), leaseUntil.capture(), claimToken.capture(),
+                eq(S3DeletionQueue.MAX_BATCH_SIZE));
+        verify(s3DeletionTaskRepository).findByClaimToken(claimToken.getValue());
+        assertTrue(leaseUntil.getValue().isAfter(now.getValue()));
+        verify(s3DeletionTaskRepository).deleteAllInBatch(batch);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 이미 선점해 가져올 작업이 없으면 아무것도 삭제하지 않는다")
+    void skipsWhenNothingClaimed() {
+        when(s3DeletionTaskRepository.claimDue(any(), any(), anyString(), anyInt())).thenReturn(0);
+
+        s3DeletionQueue.processPending();
+
+        verify(s3DeletionTaskRepository, never()).findByClaimToken(anyString());
+        assertTrue(localS3.requestSizes.isEmpty());
+    }
+
+    private static List<S3DeletionTask> tasks(int from, int count) {
+        return IntStream.range(from, from + count)
+                .mapToObj(i -> S3DeletionTask.of("key-" + i))
+                .toList();
+    }
+
+    /**
+     * 테스트용 로컬 S3. 다중 객체 삭제 요청만 메모리 버킷에 대해 처리합니다.
+     */
+    private static class LocalS3 extends AbstractAmazonS3 {
+
+        private final Set<String> objects = new HashSet<>();
+        private final Set<String> failingKeys = new HashSet<>();
+        private final List<Integer> requestSizes = new ArrayList<>();
+        private boolean unavailable;
+
+        @Override
+        public DeleteObjectsResult deleteObjects(DeleteObjectsRequest request) {
+            if (unavailable)
+                throw new SdkClientException("Unable to execute HTTP request");
+            assertEquals(BUCKET, request.getBucketName());
+            requestSizes.add(request.getKeys().size());
+
+            List<DeleteObjectsResult.DeletedObject> deletedObjects = new ArrayList<>();
+            List<MultiObjectDeleteException.DeleteError> errors = new ArrayList<>();
+            for (DeleteObjectsRequest.KeyVersion keyVersion : request.getKeys()) {
+                if (failingKeys.contains(keyVersion.getKey())) {
+                    MultiObjectDeleteException.DeleteError error = new MultiObjectDeleteException.DeleteError();
+                    error.setKey(keyVersion.getKey());
+                    error.setCode("InternalError");
+                    errors.add(error);
+                } else {
+                    objects.remove(keyVersion.getKey());
+                    DeleteObjectsResult.DeletedObject deletedObject = new DeleteObjectsResult.DeletedObject();
+                    deletedObject.setKey(keyVersion.getKey());
+                    deletedObjects.add(deletedObject);
+                }
+            }
+
+            if (!errors.isEmpty())
+                throw new MultiObjectDeleteException(errors, deletedObjects);
+            return new DeleteObjectsResult(deletedObjects);
+        }
+    }
+}
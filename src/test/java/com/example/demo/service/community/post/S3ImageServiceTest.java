@@ -0,0 +1,237 @@
+package com.example.demo.service.community.post;
+
+import com.amazonaws.services.s3.AbstractAmazonS3;
+import com.amazonaws.services.s3.model.*;
+import com.example.demo.exception.InvalidUploadException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class S3ImageServiceTest {
+
+    private static final String BUCKET = "test-bucket";
+    private static final int PART_SIZE = 1024;
+
+    @Mock
+    private StoredObjectService storedObjectService;
+
+    private LocalS3 localS3;
+    private S3ImageService s3ImageService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        localS3 = new LocalS3();
+        s3ImageService = new S3ImageService(localS3, storedObjectService);
+        s3ImageService.bucketName = BUCKET;
+        ReflectionTestUtils.setField(s3ImageService, "multipartThreshold", 4L * PART_SIZE);
+        ReflectionTestUtils.setField(s3ImageService, "partSize", PART_SIZE);
+    }
+
+    @Test
+    @DisplayName("작은 파일은 한 번의 PUT으로 업로드한다")
+    void uploadsSmallFileDirectly() throws IOException {
+        byte[] content = bytes(100);
+        MockMultipartFile image = new MockMultipartFile("image", "cat.png", "image/png", content);
+
+        String url = s3ImageService.uploadImageToS3(image);
+
+        String key = url.substring(url.lastIndexOf('/') + 1);
+        assertTrue(key.endsWith("cat.png"));
+        assertArrayEquals(content, localS3.objects.get(key));
+        assertEquals("image/png", localS3.contentTypes.get(key));
+        assertEquals(0, localS3.partSizes.size());
+    }
+
+    @Test
+    @DisplayName("큰 파일은 파트 크기로 나눠 멀티파트 업로드한다")
+    void uploadsLargeFileInParts() throws IOException {
+        byte[] content = bytes(PART_SIZE * 5 + 10);
+        MockMultipartFile image = new MockMultipartFile("image", "doc.pdf", "application/pdf", content);
+
+        String url = s3ImageService.uploadImageToS3(image);
+
+        String key = url.substring(url.lastIndexOf('/') + 1);
+        assertArrayEquals(content, localS3.objects.get(key));
+        assertEquals(List.of((long) PART_SIZE, (long) PART_SIZE, (long) PART_SIZE, (long) PART_SIZE, (long) PART_SIZE, 10L),
+                localS3.partSizes);
+        assertTrue(localS3.uploads.isEmpty());
+    }
+
+    @Test
+    @DisplayName("클라이언트가 보낸 Content-Type 대신 확장자에 맞는 Content-Type으로 저장한다")
+    void storesContentTypeFromExtension() throws IOException {
+        MockMultipartFile image = new MockMultipartFile("image", "cat.png", "text/html", bytes(100));
+
+        String url = s3ImageService.uploadImageToS3(image);
+
+        assertEquals("image/png", localS3.contentTypes.get(url.substring(url.lastIndexOf('/') + 1)));
+        assertEquals("image/jpeg", S3ImageService.resolveContentType("cat.JPG"));
+        assertThrows(InvalidUploadException.class, () -> S3ImageService.resolveContentType("page.html"));
+    }
+
+    @Test
+    @DisplayName("파트 크기가 S3 최소 파트 크기보다 작으면 기동 시 거부한다")
+    void rejectsSmallPartSize() {
+        assertThrows(IllegalStateException.class, () -> s3ImageService.validatePartSize());
+
+        ReflectionTestUtils.setField(s3ImageService, "partSize", (int) S3ImageService.MIN_PART_SIZE);
+        assertDoesNotThrow(() -> s3ImageService.validatePartSize());
+    }
+
+    @Test
+    @DisplayName("파트 업로드에 실패하면 멀티파트 업로드를 중단한다")
+    void abortsFailedMultipartUpload() {
+        localS3.failOnPart = 3;
+        MockMultipartFile image = new MockMultipartFile("image", "doc.pdf", "application/pdf", bytes(PART_SIZE * 5));
+
+        assertThrows(RuntimeException.class, () -> s3ImageService.uploadImageToS3(image));
+        assertEquals(1, localS3.abortedUploads);
+        assertTrue(localS3.uploads.isEmpty());
+        assertTrue(localS3.objects.isEmpty());
+    }
+
+    @Test
+    @DisplayName("같은 내용의 객체가 이미 있으면 업로드하지 않고 기존 주소를 반환한다")
+    void reusesObjectWithSameContent() throws IOException {
+        MockMultipartFile image = new MockMultipartFile("image", "cat.png", "image/png", bytes(100));
+        String contentHash = S3ImageService.hashContent(image);
+        when(storedObjectService.acquire(contentHash)).thenReturn("https://test-bucket.s3.amazonaws.com/old_cat.png");
+
+        assertEquals("https://test-bucket.s3.amazonaws.com/old_cat.png", s3ImageService.upload(image));
+        assertTrue(localS3.objects.isEmpty());
+        verify(storedObjectService, never()).register(any(), any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("파일을 읽지 못하면 업로드 오류로 알린다")
+    void rejectsUnreadableFile() {
+        MockMultipartFile image = new MockMultipartFile("image", "cat.png", "image/png", bytes(100)) {
+            @Override
+            public InputStream getInputStream() throws IOException {
+                throw new IOException("closed");
+            }
+        };
+
+        InvalidUploadException exception = assertThrows(InvalidUploadException.class, () -> s3ImageService.upload(image));
+
+        assertEquals("FILE_READ_FAILED", exception.getMessage());
+        assertTrue(localS3.objects.isEmpty());
+    }
+
+    @Test
+    @DisplayName("처음 보는 내용은 업로드한 뒤 해시와 함께 등록한다")
+    void registersNewContentWithHash() throws IOException {
+        MockMultipartFile image = new MockMultipartFile("image", "cat.png", "image/png", bytes(100));
+        when(storedObjectService.register(anyString(), anyString(), anyLong())).thenAnswer(invocation -> invocation.getArgument(1));
+
+        String url = s3ImageService.upload(image);
+
+        assertEquals(1, localS3.objects.size());
+        verify(storedObjectService).register(S3ImageService.hashContent(image), url, 100L);
+        assertEquals(64, S3ImageService.hashContent(image).length());
+        assertNotEquals(S3ImageService.hashContent(image),
+                S3ImageService.hashContent(new MockMultipartFile("image", "cat.png", "image/png", bytes(101))));
+    }
+
+    private static byte[] bytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * 테스트용 로컬 S3. 단일 업로드와 멀티파트 업로드를 메모리 버킷에 저장합니다.
+     */
+    private static class LocalS3 extends AbstractAmazonS3 {
+
+        private final Map<String, byte[]> objects = new HashMap<>();
+        private final Map<String, String> contentTypes = new HashMap<>();
+        private final Map<String, SortedMap<Integer, byte[]>> uploads = new HashMap<>();
+        private final List<Long> partSizes = new ArrayList<>();
+        private int failOnPart;
+        private int abortedUploads;
+
+        @Override
+        public PutObjectResult putObject(PutObjectRequest request) {
+            assertEquals(BUCKET, request.getBucketName());
+            objects.put(request.getKey(), read(request.getInputStream()));
+            contentTypes.put(request.getKey(), request.getMetadata().getContentType());
+            return new PutObjectResult();
+        }
+
+        @Override
+        public InitiateMultipartUploadResult initiateMultipartUpload(InitiateMultipartUploadRequest request) {
+            String uploadId = UUID.randomUUID().toString();
+            uploads.put(uploadId, new TreeMap<>());
+            contentTypes.put(request.getKey(), request.getObjectMetadata().getContentType());
+            InitiateMultipartUploadResult result = new InitiateMultipartUploadResult();
+            result.setUploadId(uploadId);
+            return result;
+        }
+
+        @Override
+        public UploadPartResult uploadPart(UploadPartRequest request) {
+            if (request.getPartNumber() == failOnPart)
+                throw new AmazonS3Exception("InternalError");
+            byte[] part = read(request.getInputStream());
+            assertEquals(request.getPartSize(), part.length);
+            uploads.get(request.getUploadId()).put(request.getPartNumber(), part);
+            partSizes.add(request.getPartSize());
+
+            UploadPartResult result = new UploadPartResult();
+            result.setPartNumber(request.getPartNumber());
+            result.setETag("etag-" + request.getPartNumber());
+            return result;
+        }
+
+        @Override
+        public CompleteMultipartUploadResult completeMultipartUpload(CompleteMultipartUploadRequest request) {
+            SortedMap<Integer, byte[]> parts = uploads.remove(request.getUploadId());
+            assertEquals(parts.size(), request.getPartETags().size());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            parts.values().forEach(out::writeBytes);
+            objects.put(request.getKey(), out.toByteArray());
+            return new CompleteMultipartUploadResult();
+        }
+
+        @Override
+        public void abortMultipartUpload(AbortMultipartUploadRequest request) {
+            uploads.remove(request.getUploadId());
+            abortedUploads++;
+        }
+
+        @Override
+        public URL getUrl(String bucketName, String key) {
+            try {
+                return new URL("https://" + bucketName + ".s3.amazonaws.com/" + key);
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException(e);
+            }
+        }
+
+        private static byte[] read(InputStream inputStream) {
+            try {
+                return inputStream.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
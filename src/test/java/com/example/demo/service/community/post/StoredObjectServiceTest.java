@@ -0,0 +1,74 @@
+package com.example.demo.service.community.post;
+
+import com.example.demo.entity.community.post.StoredObject;
+import com.example.demo.repository.community.post.StoredObjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class StoredObjectServiceTest {
+
+    @Mock
+    private StoredObjectRepository storedObjectRepository;
+
+    @Mock
+    private S3DeletionQueue s3DeletionQueue;
+
+    @InjectMocks
+    private StoredObjectService storedObjectService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("참조 중인 같은 내용의 객체가 있으면 참조 수를 올리고 주소를 반환한다")
+    void acquiresExistingObject() {
+        when(storedObjectRepository.acquire("hash")).thenReturn(1);
+        when(storedObjectRepository.findByContentHash("hash")).thenReturn(Optional.of(StoredObject.of("hash", "https://s3/a.png", 10L)));
+
+        assertEquals("https://s3/a.png", storedObjectService.acquire("hash"));
+        assertNull(storedObjectService.acquire("other"));
+    }
+
+    @Test
+    @DisplayName("동시에 같은 내용이 등록되면 나중에 올린 객체는 삭제를 예약하고 먼저 등록된 객체를 쓴다")
+    void mergesConcurrentDuplicateUpload() {
+        when(storedObjectRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+        when(storedObjectRepository.acquire("hash")).thenReturn(1);
+        when(storedObjectRepository.findByContentHash("hash")).thenReturn(Optional.of(StoredObject.of("hash", "https://s3/a.png", 10L)));
+
+        assertEquals("https://s3/a.png", storedObjectService.register("hash", "https://s3/b.png", 10L));
+        verify(s3DeletionQueue).enqueue(List.of("https://s3/b.png"));
+    }
+
+    @Test
+    @DisplayName("참조 수가 0이 된 객체와 등록되지 않은 이전 객체만 삭제 대상으로 반환한다")
+    void returnsOnlyUnreferencedObjects() {
+        when(storedObjectRepository.findByFilePathIn(any())).thenReturn(List.of(
+                StoredObject.of("h1", "https://s3/shared.png", 10L),
+                StoredObject.of("h2", "https://s3/last.png", 10L)));
+        when(storedObjectRepository.findUnreferencedFilePaths(any())).thenReturn(List.of("https://s3/last.png"));
+
+        Set<String> unreferenced = storedObjectService.release(
+                List.of("https://s3/shared.png", "https://s3/shared.png", "https://s3/last.png", "https://s3/legacy.png"));
+
+        assertEquals(Set.of("https://s3/last.png", "https://s3/legacy.png"), unreferenced);
+        verify(storedObjectRepository).release("https://s3/shared.png", 2);
+        verify(storedObjectRepository).release("https://s3/last.png", 1);
+        verify(storedObjectRepository).deleteUnreferenced(List.of("https://s3/last.png"));
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.demo.service.community.post;
+
+import com.example.demo.repository.community.post.PostRepository;
+import com.example.demo.repository.community.post.PostStatsRepository;
+import com.example.demo.repository.community.post.ViewRepository;
+import com.example.demo.repository.users.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ViewCountBufferTest {
+
+    @Mock
+    private ViewRepository viewRepository;
+
+    @Mock
+    private PostStatsRepository postStatsRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PostDetailCache postDetailCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ViewCountBuffer viewCountBuffer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        viewCountBuffer = buffer(1000);
+    }
+
+    @Test
+    @DisplayName("같은 사용자가 같은 게시글을 다시 조회하면 집계하지 않는다")
+    void deduplicatesViews() {
+        assertTrue(viewCountBuffer.record(1L, "a"));
+        assertFalse(viewCountBuffer.record(1L, "a"));
+        assertTrue(viewCountBuffer.record(1L, "b"));
+
+        assertEquals(2L, viewCountBuffer.getPendingCount(1L));
+    }
+
+    @Test
+    @DisplayName("반영하는 동안에는 버퍼의 조회수를 유지하고, 반영이 끝나면 반영한 만큼만 뺀다")
+    void keepsPendingCountUntilWritten() {
+        viewCountBuffer.record(1L, "a");
+        viewCountBuffer.record(1L, "b");
+        when(postRepository.findExistingPostIds(anyCollection())).thenReturn(List.of(1L));
+        when(postStatsRepository.increaseViewCount(1L, 2L)).thenAnswer(invocation -> {
+            assertEquals(2L, viewCountBuffer.getPendingCount(1L));
+            // 반영 중에 새로 들어온 조회
+            viewCountBuffer.record(1L, "c");
+            return 1;
+        });
+        doAnswer(invocation -> {
+            // 반영한 만큼만 빠지고 반영 중에 들어온 조회는 남아 있음
+            assertEquals(1L, viewCountBuffer.getPendingCount(1L));
+            return null;
+        }).when(postDetailCache).addViewCount(1L, 2L);
+
+        viewCountBuffer.flush();
+
+        verify(postStatsRepository, times(1)).increaseViewCount(1L, 2L);
+        // 캐시된 상세 응답은 지우지 않고 반영한 조회수만 옮김
+        verify(postDetailCache, times(1)).addViewCount(1L, 2L);
+        verify(postDetailCache, never()).invalidate(anyLong());
+    }
+
+    @Test
+    @DisplayName("반영에 실패한 조회수는 버퍼에 남아 다음 주기에 다시 반영한다")
+    void retriesFailedWrites() {
+        viewCountBuffer.record(1L, "a");
+        when(postRepository.findExistingPostIds(anyCollection())).thenReturn(List.of(1L));
+        when(postStatsRepository.increaseViewCount(1L, 1L))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(1);
+
+        viewCountBuffer.flush();
+        assertEquals(1L, viewCountBuffer.getPendingCount(1L));
+
+        viewCountBuffer.flush();
+        assertEquals(0L, viewCountBuffer.getPendingCount(1L));
+        verify(postStatsRepository, times(2)).increaseViewCount(1L, 1L);
+    }
+
+    @Test
+    @DisplayName("게시글 존재 확인이 실패해도 꺼낸 조회를 잃지 않고 다음 주기에 조회 기록과 조회수를 함께 반영한다")
+    void requeuesViewsWhenLookupFails() {
+        viewCountBuffer.record(1L, "a");
+        when(postRepository.findExistingPostIds(anyCollection()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(List.of(1L));
+
+        assertDoesNotThrow(() -> viewCountBuffer.flush());
+        verify(viewRepository, never()).saveAll(anyList());
+        verify(postStatsRepository, never()).increaseViewCount(anyLong(), anyLong());
+        assertEquals(1L, viewCountBuffer.getPendingCount(1L));
+
+        viewCountBuffer.flush();
+        verify(viewRepository, times(1)).saveAll(argThat(views -> ((List<?>) views).size() == 1));
+        verify(postStatsRepository, times(1)).increaseViewCount(1L, 1L);
+        assertEquals(0L, viewCountBuffer.getPendingCount(1L));
+    }
+
+    @Test
+    @DisplayName("최대 횟수만큼 반영에 실패한 조회는 버리고 버퍼의 조회수에서도 뺀다")
+    void dropsViewsAfterMaxAttempts() {
+        viewCountBuffer.record(1L, "a");
+        when(postRepository.findExistingPostIds(anyCollection())).thenThrow(new QueryTimeoutException("timeout"));
+
+        viewCountBuffer.flush();
+        viewCountBuffer.flush();
+        viewCountBuffer.flush();
+        viewCountBuffer.flush();
+
+        verify(postRepository, times(3)).findExistingPostIds(anyCollection());
+        assertEquals(0L, viewCountBuffer.getPendingCount(1L));
+    }
+
+    @Test
+    @DisplayName("버퍼에 있는 동안 삭제된 게시글의 조회수는 집계 행을 만들지 않고 버린다")
+    void dropsCountsOfDeletedPosts() {
+        viewCountBuffer.record(1L, "a");
+        viewCountBuffer.record(2L, "a");
+        when(postRepository.findExistingPostIds(anyCollection())).thenReturn(List.of(1L));
+
+        viewCountBuffer.flush();
+
+        verify(postStatsRepository, times(1)).increaseViewCount(1L, 1L);
+        verify(postStatsRepository, never()).increaseViewCount(eq(2L), anyLong());
+        assertEquals(0L, viewCountBuffer.getPendingCount(2L));
+    }
+
+    @Test
+    @DisplayName("중복 확인 키가 최대 개수를 넘으면 가장 오래된 세대의 키부터 잊는다")
+    void boundsDedupKeys() {
+        ViewCountBuffer boundedBuffer = buffer(2);
+
+        assertTrue(boundedBuffer.record(1L, "a"));
+        assertTrue(boundedBuffer.record(1L, "b"));
+        // 이전 세대에 남아 있는 키는 여전히 중복으로 처리
+        assertFalse(boundedBuffer.record(1L, "a"));
+        assertTrue(boundedBuffer.record(1L, "c"));
+        // 두 세대가 지나 버려진 키는 다시 집계
+        assertTrue(boundedBuffer.record(1L, "a"));
+    }
+
+    private ViewCountBuffer buffer(int maxDedupKeys) {
+        return new ViewCountBuffer(viewRepository, postStatsRepository, postRepository, userRepository, postDetailCache, transactionManager, maxDedupKeys);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.service.community.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostSearchIndexTest {
+
+    @TempDir
+    Path indexDir;
+
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        postSearchIndex = new PostSearchIndex(indexDir.toString());
+    }
+
+    @Test
+    @DisplayName("한글 토큰은 조사가 붙어 있어도 bigram으로 검색된다")
+    void search_koreanWithParticle() {
+        postSearchIndex.upsert(1L, "제주도 여행", "제주도에서 3박 4일 동안 머물렀습니다.");
+        postSearchIndex.upsert(2L, "부산 맛집", "해운대 근처 식당 후기");
+
+        assertEquals(List.of(1L), postSearchIndex.search("제주", 0, 10));
+        assertEquals(List.of(2L), postSearchIndex.search("해운대", 0, 10));
+    }
+
+    @Test
+    @DisplayName("영문은 대소문자 구분 없이 검색되고 제목 일치가 더 높은 점수를 받는다")
+    void search_titleRankedHigher() {
+        postSearchIndex.upsert(1L, "Travel log", "Tokyo was great");
+        postSearchIndex.upsert(2L, "Tokyo trip", "first day in the city");
+
+        assertEquals(List.of(2L, 1L), postSearchIndex.search("TOKYO", 0, 10));
+        assertEquals(List.of(1L), postSearchIndex.search("tokyo", 1, 10));
+    }
+
+    @Test
+    @DisplayName("수정과 삭제가 색인에 반영된다")
+    void upsertAndDelete() {
+        postSearchIndex.upsert(1L, "서울 여행", "경복궁");
+        postSearchIndex.upsert(1L, "서울 여행", "남산타워");
+        assertTrue(postSearchIndex.search("경복궁", 0, 10).isEmpty());
+        assertEquals(List.of(1L), postSearchIndex.search("남산", 0, 10));
+
+        postSearchIndex.delete(1L);
+        assertTrue(postSearchIndex.search("서울", 0, 10).isEmpty());
+        assertEquals(0, postSearchIndex.size());
+    }
+
+    @Test
+    @DisplayName("재시작 시 스냅샷과 작업 로그로 색인이 복구된다")
+    void reload_fromSnapshotAndLog() {
+        postSearchIndex.upsert(1L, "Jeju", "beach");
+        postSearchIndex.compact();
+        postSearchIndex.upsert(2L, "Busan", "beach");
+        postSearchIndex.delete(1L);
+
+        // close 없이 다시 열어 비정상 종료 후 작업 로그 재생을 확인
+        PostSearchIndex reloaded = new PostSearchIndex(indexDir.toString());
+        assertEquals(1, reloaded.size());
+        assertEquals(List.of(2L), reloaded.search("beach", 0, 10));
+        reloaded.close();
+    }
+
+    @Test
+    @DisplayName("변경 기록 반영 위치는 재시작 후에도 유지되고 색인을 비우면 처음으로 돌아간다")
+    void appliedChangeId_persistedAndReset() {
+        postSearchIndex.upsert(1L, "Jeju", "beach");
+        postSearchIndex.setAppliedChangeId(42L);
+
+        PostSearchIndex reloaded = new PostSearchIndex(indexDir.toString());
+        assertEquals(42L, reloaded.getAppliedChangeId());
+
+        reloaded.clear();
+        assertEquals(0, reloaded.size());
+        assertEquals(0L, reloaded.getAppliedChangeId());
+        reloaded.close();
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.demo.service.community.search;
+
+import com.example.demo.entity.community.post.Post;
+import com.example.demo.entity.community.post.PostIndexChange;
+import com.example.demo.repository.community.post.PostIndexChangeRepository;
+import com.example.demo.repository.community.post.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.file.Path;
+import java.time.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PostSearchServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-01T12:00:00Z"), ZoneOffset.UTC);
+    private static final LocalDateTime NOW = LocalDateTime.now(CLOCK);
+
+    @TempDir
+    Path indexDir;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostIndexChangeRepository postIndexChangeRepository;
+
+    private PostSearchIndex postSearchIndex;
+
+    private PostSearchService postSearchService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        postSearchIndex = new PostSearchIndex(indexDir.toString());
+        postSearchService = new PostSearchService(postSearchIndex, postRepository, postIndexChangeRepository,
+                Duration.ofSeconds(60), Duration.ofDays(7), CLOCK);
+    }
+
+    @Test
+    @DisplayName("게시글 변경은 색인을 바로 바꾸지 않고 변경 기록만 저장한다")
+    void indexPostOnlyRecordsChange() {
+        postSearchService.indexPost(post(1L, true, "제주 여행"));
+        postSearchService.removePost(2L);
+
+        verify(postIndexChangeRepository, times(2)).save(any(PostIndexChange.class));
+        assertEquals(0, postSearchIndex.size());
+    }
+
+    @Test
+    @DisplayName("변경 기록을 읽어 커밋된 게시글 상태로 색인을 갱신하고 삭제되거나 비공개인 게시글은 제거한다")
+    void syncAppliesCommittedState() {
+        postSearchIndex.upsert(2L, "부산 맛집", "해운대");
+        postSearchIndex.upsert(3L, "서울 여행", "경복궁");
+        when(postIndexChangeRepository.findMinChangeId()).thenReturn(1L);
+        when(postRepository.existsByOpen(true)).thenReturn(true);
+        postSearchService.prepareIndex();
+
+        when(postIndexChangeRepository.findByChangeIdGreaterThanOrderByChangeIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(change(1L, 1L, NOW.minusMinutes(5)), change(2L, 2L, NOW.minusMinutes(5)),
+                        change(3L, 3L, NOW.minusMinutes(5))));
+        when(postRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(post(1L, true, "제주 여행"), post(3L, false, "서울 여행")));
+
+        postSearchService.syncChanges();
+
+        assertEquals(List.of(1L), postSearchIndex.search("제주", 0, 10));
+        assertTrue(postSearchIndex.search("해운대", 0, 10).isEmpty());
+        assertTrue(postSearchIndex.search("서울", 0, 10).isEmpty());
+        assertEquals(3L, postSearchIndex.getAppliedChangeId());
+    }
+
+    @Test
+    @DisplayName("유예 시간이 지나지 않은 변경은 반영하되 반영 위치를 넘기지 않고, 다시 읽어도 중복 반영하지 않는다")
+    void recentChangesKeepCheckpoint() {
+        when(postIndexChangeRepository.findMinChangeId()).thenReturn(null);
+        postSearchService.prepareIndex();
+
+        when(postIndexChangeRepository.findByChangeIdGreaterThanOrderByChangeIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(change(1L, 1L, NOW.minusMinutes(5)), change(2L, 2L, NOW.minusSeconds(5))));
+        when(postRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(post(1L, true, "제주 여행"), post(2L, true, "부산 맛집")));
+
+        postSearchService.syncChanges();
+        assertEquals(1L, postSearchIndex.getAppliedChangeId());
+        assertEquals(2, postSearchIndex.size());
+
+        // 늦게 커밋된 앞 번호의 변경이 없어도 최근 변경은 다시 읽히지만 이미 반영한 변경은 건너뜀
+        when(postIndexChangeRepository.findByChangeIdGreaterThanOrderByChangeIdAsc(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(change(2L, 2L, NOW.minusSeconds(5))));
+        postSearchService.syncChanges();
+
+        verify(postRepository, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    @DisplayName("반영하지 못한 변경 기록이 보관 기간이 지나 삭제되었으면 색인을 비우고 다시 만든다")
+    void rebuildsWhenChangesWerePruned() {
+        postSearchIndex.upsert(9L, "삭제된 글", "오래된 색인");
+        when(postIndexChangeRepository.findMinChangeId()).thenReturn(50L);
+        when(postIndexChangeRepository.findMaxChangeIdCreatedBefore(any())).thenReturn(70L);
+        when(postRepository.existsByOpen(true)).thenReturn(true);
+        when(postRepository.findByPostIdGreaterThanOrderByPostIdAsc(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(post(1L, true, "제주 여행")));
+
+        postSearchService.prepareIndex();
+
+        assertTrue(postSearchIndex.search("오래된", 0, 10).isEmpty());
+        assertEquals(List.of(1L), postSearchIndex.search("제주", 0, 10));
+        assertEquals(70L, postSearchIndex.getAppliedChangeId());
+    }
+
+    @Test
+    @DisplayName("기동 시 색인 준비가 끝나기 전에는 변경을 반영하지 않는다")
+    void syncWaitsForPreparation() {
+        postSearchService.syncChanges();
+
+        verifyNoInteractions(postIndexChangeRepository, postRepository);
+    }
+
+    private static Post post(Long postId, boolean open, String title) {
+        return Post.builder()
+                .postId(postId)
+                .title(title)
+                .content(title + " 후기")
+                .open(open)
+                .build();
+    }
+
+    private static PostIndexChange change(Long changeId, Long postId, LocalDateTime createdAt) {
+        return new PostIndexChange(changeId, postId, createdAt);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.demo.service.community.timeline;
+
+import com.example.demo.entity.community.post.Post;
+import com.example.demo.entity.users.user.User;
+import com.example.demo.repository.community.follow.FollowRepository;
+import com.example.demo.repository.community.post.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TimelineServiceTest {
+
+    private static final long FAN_OUT_THRESHOLD = 3L;
+    private static final String PULL_AUTHORS_KEY = "timeline:pull-authors";
+
+    @Mock
+    private RedisTemplate<Object, Object> redisTemplate;
+
+    @Mock
+    private SetOperations<Object, Object> setOperations;
+
+    @Mock
+    private ZSetOperations<Object, Object> zSetOperations;
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    private TimelineService timelineService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        timelineService = new TimelineService(redisTemplate, followRepository, postRepository, FAN_OUT_THRESHOLD, 60L);
+    }
+
+    @Test
+    @DisplayName("팔로워 수가 기준 미만이면 팔로워 타임라인 키를 묶어 키가 있는 타임라인에만 넣는 스크립트를 실행한다")
+    @SuppressWarnings("unchecked")
+    void fansOutToExistingTimelines() {
+        when(followRepository.countByFollowingUser_UserId("author")).thenReturn(2L);
+        when(followRepository.findFollowerIds("author")).thenReturn(List.of("a", "b"));
+
+        timelineService.fanOutPost(post(10L, "author", true));
+
+        ArgumentCaptor<List<Object>> keyCaptor = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), keyCaptor.capture(), eq("10"), eq("10"), eq(String.valueOf(TimelineService.TIMELINE_SIZE)));
+        assertEquals(List.of("timeline:a", "timeline:b"), keyCaptor.getValue());
+        verify(setOperations).remove(PULL_AUTHORS_KEY, "author");
+        verify(zSetOperations, never()).add(any(), any(), anyDouble());
+    }
+
+    @Test
+    @DisplayName("팔로워 수가 기준 이상이면 팬아웃하지 않고 읽기 시점 병합 대상으로 등록한다")
+    @SuppressWarnings("unchecked")
+    void registersPullAuthorOverThreshold() {
+        when(followRepository.countByFollowingUser_UserId("author")).thenReturn(FAN_OUT_THRESHOLD);
+
+        timelineService.fanOutPost(post(10L, "author", true));
+
+        verify(setOperations).add(PULL_AUTHORS_KEY, "author");
+        verify(followRepository, never()).findFollowerIds(anyString());
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 작성된 게시글은 커밋된 뒤에 팬아웃한다")
+    void fansOutAfterCommit() {
+        when(followRepository.countByFollowingUser_UserId("author")).thenReturn(FAN_OUT_THRESHOLD);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            timelineService.fanOutPost(post(10L, "author", true));
+            verifyNoInteractions(followRepository);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(setOperations).add(PULL_AUTHORS_KEY, "author");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("팬아웃된 타임라인과 읽기 시점 병합 작성자의 글을 합쳐 최신순으로 limit개 반환한다")
+    void mergesPullAuthorPosts() {
+        when(redisTemplate.hasKey("timeline:reader")).thenReturn(true);
+        when(zSetOperations.reverseRangeByScore(eq("timeline:reader"), eq(1.0), anyDouble(), eq(0L), eq(3L)))
+                .thenReturn(new LinkedHashSet<>(List.of("9", "5", "2")));
+        when(setOperations.members(PULL_AUTHORS_KEY)).thenReturn(Set.of("celebrity"));
+        when(postRepository.findFollowedOpenPostIdsBefore(eq("reader"), eq(List.of("celebrity")), eq(Long.MAX_VALUE), any(Pageable.class)))
+                .thenReturn(List.of(7L, 3L));
+
+        assertEquals(List.of(9L, 7L, 5L), timelineService.getTimelinePostIds("reader", null, 3));
+    }
+
+    @Test
+    @DisplayName("타임라인이 없으면 DB에서 다시 만들고, 글이 없으면 빈 표시를 넣어 만료 시간까지 다시 만들지 않는다")
+    @SuppressWarnings("unchecked")
+    void rebuildsWithEmptyMarker() {
+        when(redisTemplate.hasKey("timeline:reader")).thenReturn(false);
+        when(postRepository.findFollowedOpenPostIds(eq("reader"), any(Pageable.class))).thenReturn(List.of());
+
+        assertTrue(timelineService.getTimelinePostIds("reader", null, 10).isEmpty());
+
+        ArgumentCaptor<Set<ZSetOperations.TypedTuple<Object>>> tupleCaptor = ArgumentCaptor.forClass(Set.class);
+        verify(zSetOperations).add(eq("timeline:reader"), tupleCaptor.capture());
+        assertEquals(Set.of(ZSetOperations.TypedTuple.of("0", 0.0)), tupleCaptor.getValue());
+        verify(redisTemplate).expire("timeline:reader", 60L, TimeUnit.MINUTES);
+    }
+
+    @Test
+    @DisplayName("타임라인을 다시 만들면 DB에서 읽은 게시글을 넣고 만료 시간을 건다")
+    @SuppressWarnings("unchecked")
+    void rebuildsFromDatabase() {
+        when(redisTemplate.hasKey("timeline:reader")).thenReturn(false);
+        when(postRepository.findFollowedOpenPostIds(eq("reader"), any(Pageable.class))).thenReturn(List.of(8L, 4L));
+
+        assertEquals(List.of(8L, 4L), timelineService.getTimelinePostIds("reader", null, 10));
+
+        ArgumentCaptor<Set<ZSetOperations.TypedTuple<Object>>> tupleCaptor = ArgumentCaptor.forClass(Set.class);
+        verify(zSetOperations).add(eq("timeline:reader"), tupleCaptor.capture());
+        assertEquals(Set.of(ZSetOperations.TypedTuple.of("8", 8.0), ZSetOperations.TypedTuple.of("4", 4.0)), tupleCaptor.getValue());
+        verify(redisTemplate).expire("timeline:reader", 60L, TimeUnit.MINUTES);
+    }
+
+    private static Post post(Long postId, String authorId, boolean open) {
+        User author = new User();
+        author.setUserId(authorId);
+        return Post.builder()
+                .postId(postId)
+                .user(author)
+                .title("title")
+                .content("content")
+                .open(open)
+                .build();
+    }
+}
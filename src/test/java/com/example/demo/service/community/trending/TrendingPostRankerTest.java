@@ -0,0 +1,130 @@
+package com.example.demo.service.community.trending;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrendingPostRankerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MutableClock clock;
+    private String checkpointPath;
+    private TrendingPostRanker trendingPostRanker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        checkpointPath = tempDir.resolve("trending.checkpoint").toString();
+        trendingPostRanker = new TrendingPostRanker(checkpointPath, clock);
+    }
+
+    @Test
+    @DisplayName("오래된 이벤트는 감쇠되어 최근 이벤트보다 낮은 순위를 받는다")
+    void olderEventsDecay() {
+        trendingPostRanker.recordComment(1L); // 5점
+        clock.advance(Duration.ofHours(12)); // 반감기 두 번 -> 1.25점
+        trendingPostRanker.recordLike(2L);   // 3점
+
+        assertEquals(List.of(2L, 1L), trendingPostRanker.getTopPostIds(10));
+        assertEquals(1.25, trendingPostRanker.getScore(1L), 1e-9);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 기록한 좋아요와 삭제는 커밋된 뒤에만 반영되고 롤백되면 버려진다")
+    void defersUntilCommit() {
+        trendingPostRanker.recordLike(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            trendingPostRanker.recordLike(2L);
+            trendingPostRanker.remove(1L);
+            assertEquals(List.of(1L), trendingPostRanker.getTopPostIds(10));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(List.of(2L), trendingPostRanker.getTopPostIds(10));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            trendingPostRanker.recordLike(3L);
+        } finally {
+            // 롤백: afterCommit 없이 정리
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(2L), trendingPostRanker.getTopPostIds(10));
+    }
+
+    @Test
+    @DisplayName("상위 K개만 유지하며 점수가 오른 게시글은 다시 진입한다")
+    void keepsOnlyTopK() {
+        for (long postId = 1; postId <= TrendingPostRanker.TOP_K + 1; postId++)
+            trendingPostRanker.recordLike(postId);
+        trendingPostRanker.recordView(TrendingPostRanker.TOP_K + 1L);
+
+        List<Long> topPostIds = trendingPostRanker.getTopPostIds(TrendingPostRanker.TOP_K + 10);
+        assertEquals(TrendingPostRanker.TOP_K, topPostIds.size());
+        assertEquals(TrendingPostRanker.TOP_K + 1L, topPostIds.get(0));
+        assertFalse(topPostIds.contains(1L));
+
+        trendingPostRanker.recordComment(1L);
+        assertEquals(1L, trendingPostRanker.getTopPostIds(1).get(0));
+    }
+
+    @Test
+    @DisplayName("체크포인트에서 순위를 복구한다")
+    void restoresFromCheckpoint() {
+        trendingPostRanker.recordView(1L);
+        trendingPostRanker.recordComment(2L);
+        trendingPostRanker.remove(1L);
+        trendingPostRanker.checkpoint();
+
+        TrendingPostRanker restored = new TrendingPostRanker(checkpointPath, clock);
+        assertEquals(List.of(2L), restored.getTopPostIds(10));
+        assertEquals(5.0, restored.getScore(2L), 1e-9);
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.demo.service.users.alarm;
+
+import com.example.demo.entity.users.Alarm.AlarmArgs;
+import com.example.demo.entity.users.Alarm.AlarmType;
+import com.example.demo.event.AlarmMessage;
+import com.example.demo.repository.users.alarm.EmitterRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AlarmDeliveryServiceTest {
+
+    private static final String NODE_ID = "node-a";
+
+    @Mock
+    private RedisTemplate<Object, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<Object, Object> valueOperations;
+
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Mock
+    private EmitterRepository emitterRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private AlarmDeliveryService alarmDeliveryService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(emitterRepository.get(anyString())).thenReturn(Optional.empty());
+        alarmDeliveryService = new AlarmDeliveryService(redisTemplate, redisMessageListenerContainer, emitterRepository, objectMapper, NODE_ID);
+    }
+
+    @Test
+    @DisplayName("경로가 없거나 현재 노드를 가리키는 알람은 이 노드에서 바로 전달한다")
+    void deliversLocallyWhenRouteIsThisNode() {
+        when(valueOperations.multiGet(anyCollection())).thenReturn(Arrays.asList(NODE_ID, null));
+        AlarmMessage first = message(1L, "a");
+        AlarmMessage second = message(2L, "b");
+
+        alarmDeliveryService.deliverAll(List.of(first, second));
+
+        verify(emitterRepository, times(1)).saveEvent("a", first);
+        verify(emitterRepository, times(1)).saveEvent("b", second);
+        verify(redisTemplate, never()).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("다른 노드로 가는 알람은 노드별로 묶어 한 번씩 발행한다")
+    @SuppressWarnings("unchecked")
+    void publishesOncePerRemoteNode() {
+        when(valueOperations.multiGet(anyCollection())).thenReturn(List.of("node-b", "node-b", "node-c"));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(1L);
+
+        alarmDeliveryService.deliverAll(List.of(message(1L, "a"), message(2L, "b"), message(3L, "c")));
+
+        verify(redisTemplate, times(2)).execute(any(RedisCallback.class));
+        verify(emitterRepository, never()).saveEvent(anyString(), any());
+    }
+
+    @Test
+    @DisplayName("경로의 노드가 채널을 구독하고 있지 않으면 이 노드에서 전달한다")
+    @SuppressWarnings("unchecked")
+    void fallsBackToLocalWhenNoSubscriber() {
+        when(valueOperations.multiGet(anyCollection())).thenReturn(List.of("node-b"));
+        when(redisTemplate.execute(any(RedisCallback.class))).thenReturn(0L);
+        AlarmMessage alarmMessage = message(1L, "a");
+
+        alarmDeliveryService.deliverAll(List.of(alarmMessage));
+
+        verify(emitterRepository, times(1)).saveEvent("a", alarmMessage);
+    }
+
+    @Test
+    @DisplayName("다른 노드가 보낸 알람 묶음을 받아 로컬 연결로 전달한다")
+    void deliversReceivedMessages() throws Exception {
+        List<AlarmMessage> messageList = List.of(message(1L, "a"), message(2L, "b"));
+        byte[] body = objectMapper.writeValueAsBytes(messageList);
+
+        alarmDeliveryService.onMessage(new DefaultMessage("alarm:node:node-a".getBytes(StandardCharsets.UTF_8), body), null);
+
+        verify(emitterRepository, times(1)).saveEvent("a", messageList.get(0));
+        verify(emitterRepository, times(1)).saveEvent("b", messageList.get(1));
+    }
+
+    private static AlarmMessage message(Long id, String receiverUserId) {
+        return new AlarmMessage(id, receiverUserId, AlarmType.NEW_COMMENT, new AlarmArgs("from", 1L),
+                LocalDateTime.of(2024, 1, 1, 0, 0), "text");
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.service.users.alarm;
+
+import com.example.demo.dto.users.alarm.AlarmSettingsDto;
+import com.example.demo.entity.users.Alarm.AlarmType;
+import com.example.demo.exception.ComponentNotFoundException;
+import com.example.demo.repository.users.alarm.AlarmSettingsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AlarmPreferenceCacheTest {
+
+    @Mock
+    private AlarmSettingsRepository alarmSettingsRepository;
+
+    @Mock
+    private RedisTemplate<Object, Object> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final MutableClock clock = new MutableClock();
+
+    private AlarmPreferenceCache alarmPreferenceCache;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        alarmPreferenceCache = new AlarmPreferenceCache(alarmSettingsRepository, redisTemplate, redisMessageListenerContainer, 2, 60_000L, clock);
+        when(alarmSettingsRepository.findSettingsByUserId("a"))
+                .thenReturn(Optional.of(new AlarmSettingsDto(true, true, false, true, true, true)));
+    }
+
+    @Test
+    @DisplayName("한 번 읽은 설정은 DB를 다시 조회하지 않고 캐시에서 확인한다")
+    void readsFromCacheAfterFirstLoad() {
+        assertTrue(alarmPreferenceCache.isEnabled("a", AlarmType.NEW_LIKE));
+        assertFalse(alarmPreferenceCache.isEnabled("a", AlarmType.NEW_POST));
+        assertTrue(alarmPreferenceCache.isEnabled("a", AlarmType.NEW_COMMENT));
+
+        verify(alarmSettingsRepository, times(1)).findSettingsByUserId("a");
+    }
+
+    @Test
+    @DisplayName("설정이 바뀌면 로컬 항목을 지우고 다른 노드에 무효화를 알린다")
+    void invalidatesAndBroadcasts() {
+        alarmPreferenceCache.isEnabled("a", AlarmType.NEW_LIKE);
+
+        alarmPreferenceCache.invalidate("a");
+        alarmPreferenceCache.isEnabled("a", AlarmType.NEW_LIKE);
+
+        verify(redisTemplate, times(1)).convertAndSend(anyString(), eq("a"));
+        verify(alarmSettingsRepository, times(2)).findSettingsByUserId("a");
+    }
+
+    @Test
+    @DisplayName("다른 노드의 무효화 메시지를 받으면 해당 사용자 항목을 지운다")
+    void evictsOnInvalidationMessage() {
+        alarmPreferenceCache.isEnabled("a", AlarmType.NEW_LIKE);
+
+        alarmPreferenceCache.onMessage(new DefaultMessage("alarm:preference:invalidate".getBytes(StandardCharsets.UTF_8),
+                "a".getBytes(StandardCharsets.UTF_8)), null);
+        alarmPreferenceCache.isEnabled("a", AlarmType.NEW_LIKE);
+
+        verify(alarmSettingsRepository, times(2)).findSettingsByUserId("a");
+    }
+
+    @Test
+    @DisplayName("TTL이 지난 항목은 다시 읽는다")
+    void reloadsAfterTtl() {
+        alarmPreferenceCache.isEnabled("a", AlarmType.NEW_LIKE);
+
+        clock.millis = Duration.ofMinutes(2).toMillis();
+        alarmPreferenceCache.isEnabled("a", AlarmType.NEW_LIKE);
+
+        verify(alarmSettingsRepository, times(2)).findSettingsByUserId("a");
+    }
+
+    @Test
+    @DisplayName("사용자나 설정이 없으면 예외를 던지고 캐시에 넣지 않는다")
+    void throwsWhenSettingsMissing() {
+        when(alarmSettingsRepository.findSettingsByUserId("missing")).thenReturn(Optional.empty());
+
+        assertThrows(ComponentNotFoundException.class, () -> alarmPreferenceCache.isEnabled("missing", AlarmType.NEW_LIKE));
+        assertThrows(ComponentNotFoundException.class, () -> alarmPreferenceCache.isEnabled("missing", AlarmType.NEW_LIKE));
+        verify(alarmSettingsRepository, times(2)).findSettingsByUserId("missing");
+    }
+
+    private static class MutableClock extends Clock {
+
+        private long millis;
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
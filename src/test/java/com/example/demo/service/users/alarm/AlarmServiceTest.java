@@ -0,0 +1,131 @@
+package com.example.demo.service.users.alarm;
+
+import com.example.demo.entity.users.Alarm.AlarmArgs;
+import com.example.demo.entity.users.Alarm.AlarmEntity;
+import com.example.demo.entity.users.Alarm.AlarmType;
+import com.example.demo.entity.users.user.User;
+import com.example.demo.event.AlarmMessage;
+import com.example.demo.producer.AlarmProducer;
+import com.example.demo.repository.users.alarm.AlarmEntityBatchRepository;
+import com.example.demo.repository.users.alarm.AlarmEntityRepository;
+import com.example.demo.repository.users.alarm.AlarmSettingsRepository;
+import com.example.demo.repository.users.alarm.EmitterRepository;
+import com.example.demo.repository.users.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class AlarmServiceTest {
+
+    @Mock
+    private EmitterRepository emitterRepository;
+
+    @Mock
+    private AlarmEntityRepository alarmEntityRepository;
+
+    @Mock
+    private AlarmEntityBatchRepository alarmEntityBatchRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AlarmSettingsRepository alarmSettingsRepository;
+
+    @Mock
+    private AlarmProducer alarmProducer;
+
+    @Mock
+    private AlarmDeliveryService alarmDeliveryService;
+
+    @Mock
+    private PostAlarmFanOutService postAlarmFanOutService;
+
+    @Mock
+    private AlarmPreferenceCache alarmPreferenceCache;
+
+    @InjectMocks
+    private AlarmService alarmService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("묶음으로 받은 알람의 수신자를 한 번에 조회하고 배치로 저장한 뒤 ID가 담긴 알람을 돌려준다")
+    @SuppressWarnings("unchecked")
+    void savesAlarmsInBatch() {
+        when(userRepository.findAllById(any())).thenReturn(List.of(user("a"), user("b")));
+        doAnswer(invocation -> {
+            List<AlarmEntity> alarmEntityList = invocation.getArgument(0);
+            for (int i = 0; i < alarmEntityList.size(); i++)
+                alarmEntityList.get(i).setId(100L + i);
+            return null;
+        }).when(alarmEntityBatchRepository).insertAll(anyList());
+
+        List<AlarmMessage> savedMessages = alarmService.saveAll(List.of(message("a"), message("b"), message("a"), message("missing")));
+
+        ArgumentCaptor<Iterable<String>> idCaptor = ArgumentCaptor.forClass(Iterable.class);
+        verify(userRepository, times(1)).findAllById(idCaptor.capture());
+        assertEquals(Set.of("a", "b", "missing"), idCaptor.getValue());
+        ArgumentCaptor<List<AlarmEntity>> entityCaptor = ArgumentCaptor.forClass(List.class);
+        verify(alarmEntityBatchRepository, times(1)).insertAll(entityCaptor.capture());
+        assertEquals(List.of("a", "b", "a"), entityCaptor.getValue().stream().map(alarm -> alarm.getUser().getUserId()).toList());
+        assertEquals(List.of(100L, 101L, 102L), savedMessages.stream().map(AlarmMessage::getId).toList());
+        // 전송은 저장과 따로 요청됨
+        verifyNoInteractions(alarmDeliveryService);
+        verify(userRepository, never()).findById(anyString());
+        verifyNoInteractions(alarmEntityRepository);
+    }
+
+    @Test
+    @DisplayName("재전송 버퍼로 이어 줄 수 없으면 마지막 알람 이후의 알람을 DB에서 읽어 보낸다")
+    void replaysFromDatabaseWhenBufferMissed() throws Exception {
+        when(emitterRepository.findEventsAfter("a", 3L)).thenReturn(Optional.empty());
+        AlarmEntity missedAlarm = AlarmEntity.of(user("a"), AlarmType.NEW_COMMENT, new AlarmArgs("from", 1L));
+        missedAlarm.setId(7L);
+        when(alarmEntityRepository.findByUserUserIdAndIdGreaterThanOrderByIdAsc(eq("a"), eq(3L), any(Pageable.class)))
+                .thenReturn(List.of(missedAlarm));
+
+        alarmService.subscribeAlarm("a", "3");
+
+        verify(alarmEntityRepository, times(1)).findByUserUserIdAndIdGreaterThanOrderByIdAsc(eq("a"), eq(3L), any(Pageable.class));
+    }
+
+    @Test
+    @DisplayName("재전송 버퍼로 이어 줄 수 있으면 DB를 조회하지 않는다")
+    void replaysFromBuffer() throws Exception {
+        AlarmMessage bufferedAlarm = message("a");
+        bufferedAlarm.setId(7L);
+        when(emitterRepository.findEventsAfter("a", 3L)).thenReturn(Optional.of(List.of(bufferedAlarm)));
+
+        alarmService.subscribeAlarm("a", "3");
+
+        verifyNoInteractions(alarmEntityRepository);
+    }
+
+    private static User user(String userId) {
+        User user = new User();
+        user.setUserId(userId);
+        return user;
+    }
+
+    private static AlarmMessage message(String receiverUserId) {
+        return new AlarmMessage(receiverUserId, AlarmType.NEW_COMMENT, new AlarmArgs("from", 1L), LocalDateTime.now(), "text");
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.demo.service.users.alarm;
+
+import com.example.demo.dto.users.alarm.PostAlarmFanOutStatsDto;
+import com.example.demo.dto.users.alarm.PostAlarmRecipientDto;
+import com.example.demo.event.AlarmMessage;
+import com.example.demo.producer.AlarmProducer;
+import com.example.demo.repository.community.follow.FollowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PostAlarmFanOutServiceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Mock
+    private FollowRepository followRepository;
+
+    @Mock
+    private AlarmProducer alarmProducer;
+
+    // 요청한 스레드에서 바로 실행
+    private final Executor directExecutor = Runnable::run;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("팔로워를 팔로우 ID 커서로 페이지 단위 조회해 페이지마다 한 번에 발행한다")
+    @SuppressWarnings("unchecked")
+    void publishesFollowersPageByPage() {
+        PostAlarmFanOutService fanOutService = new PostAlarmFanOutService(followRepository, alarmProducer, 2, directExecutor, CLOCK);
+        when(followRepository.findPostAlarmRecipients(eq("author"), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(recipient(3L, "a"), recipient(5L, "b")));
+        when(followRepository.findPostAlarmRecipients(eq("author"), eq(5L), any(Pageable.class)))
+                .thenReturn(List.of(recipient(9L, "c")));
+
+        fanOutService.enqueue(1L, "author");
+
+        ArgumentCaptor<List<AlarmMessage>> messageCaptor = ArgumentCaptor.forClass(List.class);
+        verify(alarmProducer, times(2)).sendAll(messageCaptor.capture());
+        List<String> receivers = new ArrayList<>();
+        messageCaptor.getAllValues().forEach(batch -> batch.forEach(message -> receivers.add(message.getReceiveUserId())));
+        assertEquals(List.of("a", "b", "c"), receivers);
+        assertEquals(1L, messageCaptor.getValue().get(0).getAlarmArgs().getTargetId());
+        // 마지막 페이지가 가득 차지 않았으면 더 조회하지 않음
+        verify(followRepository, times(2)).findPostAlarmRecipients(anyString(), anyLong(), any(Pageable.class));
+
+        PostAlarmFanOutStatsDto stats = fanOutService.getStats();
+        assertEquals(0, stats.getPendingJobs());
+        assertEquals(1L, stats.getCompletedJobs());
+        assertEquals(3L, stats.getPublishedAlarms());
+    }
+
+    @Test
+    @DisplayName("조회에 실패하면 작업을 실패로 기록하고 대기 목록에서 뺀다")
+    void recordsFailure() {
+        PostAlarmFanOutService fanOutService = new PostAlarmFanOutService(followRepository, alarmProducer, 2, directExecutor, CLOCK);
+        when(followRepository.findPostAlarmRecipients(anyString(), anyLong(), any(Pageable.class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        fanOutService.enqueue(1L, "author");
+
+        PostAlarmFanOutStatsDto stats = fanOutService.getStats();
+        assertEquals(0, stats.getPendingJobs());
+        assertEquals(1L, stats.getFailedJobs());
+        verifyNoInteractions(alarmProducer);
+    }
+
+    @Test
+    @DisplayName("큐가 가득 차면 작업을 버리고 버린 수를 기록한다")
+    void dropsWhenQueueIsFull() {
+        Executor rejectingExecutor = runnable -> {
+            throw new RejectedExecutionException();
+        };
+        PostAlarmFanOutService fanOutService = new PostAlarmFanOutService(followRepository, alarmProducer, 2, rejectingExecutor, CLOCK);
+
+        fanOutService.enqueue(1L, "author");
+
+        PostAlarmFanOutStatsDto stats = fanOutService.getStats();
+        assertEquals(0, stats.getPendingJobs());
+        assertEquals(1L, stats.getDroppedJobs());
+        verifyNoInteractions(followRepository);
+    }
+
+    private static PostAlarmRecipientDto recipient(Long followId, String userId) {
+        return new PostAlarmRecipientDto(followId, userId);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.service.users.user;
+
+import com.example.demo.entity.users.user.Role;
+import com.example.demo.entity.users.user.User;
+import com.example.demo.exception.UnAuthorizedUserException;
+import com.example.demo.repository.community.post.PostStatsRepository;
+import com.example.demo.repository.users.user.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PostStatsRepository postStatsRepository;
+
+    @InjectMocks
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("관리자가 아니면 관리자용 기능을 거절한다")
+    void rejectsNonAdmin() {
+        User user = new User();
+        user.setRole(Role.ROLE_USER);
+        assertThrows(UnAuthorizedUserException.class, () -> userService.checkAdmin(user));
+        assertThrows(UnAuthorizedUserException.class, () -> userService.checkAdmin(null));
+
+        user.setRole(Role.ROLE_ADMIN);
+        assertDoesNotThrow(() -> userService.checkAdmin(user));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.websocket;
+
+import com.example.demo.entity.users.user.User;
+import com.example.demo.repository.community.post.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CommentStreamSubscriptionInterceptorTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private MessageChannel messageChannel;
+
+    @InjectMocks
+    private CommentStreamSubscriptionInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("볼 수 있는 게시글의 댓글 경로는 구독을 허용한다")
+    void allowsVisiblePost() {
+        when(postRepository.isVisibleTo(1L, "owner")).thenReturn(true);
+        Message<byte[]> message = subscribe("/sub/post/1/comments", "owner");
+
+        assertSame(message, interceptor.preSend(message, messageChannel));
+    }
+
+    @Test
+    @DisplayName("작성자가 아닌 사용자가 비공개 게시글의 댓글 경로를 구독하면 거절한다")
+    void rejectsPrivatePost() {
+        when(postRepository.isVisibleTo(1L, "other")).thenReturn(false);
+
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(subscribe("/sub/post/1/comments", "other"), messageChannel));
+    }
+
+    @Test
+    @DisplayName("로그인하지 않은 구독자는 공개 게시글만 구독할 수 있다")
+    void checksAnonymousSubscriberAsPublic() {
+        when(postRepository.isVisibleTo(1L, null)).thenReturn(false);
+
+        assertThrows(MessageDeliveryException.class,
+                () -> interceptor.preSend(subscribe("/sub/post/1/comments", null), messageChannel));
+    }
+
+    @Test
+    @DisplayName("댓글 경로가 아닌 구독은 확인하지 않는다")
+    void ignoresOtherDestinations() {
+        Message<byte[]> message = subscribe("/sub/channel/1", "other");
+
+        assertSame(message, interceptor.preSend(message, messageChannel));
+        verify(postRepository, never()).isVisibleTo(anyLong(), any());
+    }
+
+    private static Message<byte[]> subscribe(String destination, String userId) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setDestination(destination);
+        if (userId != null) {
+            User user = new User();
+            user.setUserId(userId);
+            accessor.setUser(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        }
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+}